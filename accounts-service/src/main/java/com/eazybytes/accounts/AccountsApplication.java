@@ -1,12 +1,14 @@
 package com.kurobytes.accounts;
 
+import com.kurobytes.accounts.customer360.Customer360Properties;
 import com.kurobytes.accounts.dto.AccountsContactInfoDto;
+import com.kurobytes.accounts.service.client.DownstreamClientProperties;
+import com.kurobytes.common.startup.BufferedStartup;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
-import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -16,7 +18,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 @EnableJpaRepositories("com.kurobytes.accounts.repository")
 @EntityScan("com.kurobytes.accounts.model")*/
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = {AccountsContactInfoDto.class})
+@EnableConfigurationProperties(value = {AccountsContactInfoDto.class, Customer360Properties.class,
+		DownstreamClientProperties.class})
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Accounts microservice REST API Documentation",
@@ -40,7 +43,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 public class AccountsApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(AccountsApplication.class, args);
+		BufferedStartup.application(AccountsApplication.class).run(args);
 	}
 
 }
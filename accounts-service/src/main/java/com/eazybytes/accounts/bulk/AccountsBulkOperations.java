@@ -0,0 +1,104 @@
+package com.kurobytes.accounts.bulk;
+
+import com.kurobytes.accounts.customer360.CustomerProjection;
+import com.kurobytes.accounts.entity.Accounts;
+import com.kurobytes.accounts.entity.Customer;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Set-based updates and deletes of accounts and customers, one statement per table for up to
+ * {@value #CHUNK_SIZE} keys, without loading the entities.
+ * <p>
+ * The statements bypass the JPA auditing listener and the persistence context, so the audit columns are set here
+ * and callers must not keep using entities they loaded for the same rows. The changed entities are evicted from
+ * the second-level cache once the transaction commits. Call inside a transaction; a delete also clears the
+ * customers from {@code customer_360} so details are not served for them afterwards.
+ */
+@Component
+public class AccountsBulkOperations {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final CustomerProjection customerProjection;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    public AccountsBulkOperations(JdbcTemplate jdbcTemplate, AuditorAware<String> auditorAware,
+                                  CustomerProjection customerProjection, EntityCacheEvictor entityCacheEvictor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+        this.customerProjection = customerProjection;
+        this.entityCacheEvictor = entityCacheEvictor;
+    }
+
+    /**
+     * @param accountNumbers - Accounts the communication was sent for
+     * @return the number of accounts found and updated
+     */
+    public int markCommunicationSent(Collection<Long> accountNumbers) {
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        String updatedBy = auditorAware.getCurrentAuditor().orElse(null);
+        int updated = 0;
+        for (List<Long> chunk : chunks(accountNumbers)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(updatedAt);
+            args.add(updatedBy);
+            args.addAll(chunk);
+            updated += jdbcTemplate.update("update accounts set communication_sw = 1, updated_at = ?, "
+                    + "updated_by = ? where account_number in (" + placeholders(chunk.size()) + ")",
+                    args.toArray());
+            entityCacheEvictor.evict(Accounts.class, chunk);
+        }
+        return updated;
+    }
+
+    /**
+     * Deletes the customers with their accounts.
+     *
+     * @param customerIds - Customers to delete
+     * @return the number of customers found and deleted
+     */
+    public int deleteCustomers(Collection<Long> customerIds) {
+        int deleted = 0;
+        for (List<Long> chunk : chunks(customerIds)) {
+            String in = placeholders(chunk.size());
+            Object[] args = chunk.toArray();
+            jdbcTemplate.update("delete from accounts where customer_id in (" + in + ")", args);
+            List<String> mobileNumbers = jdbcTemplate.queryForList("delete from customer where customer_id in ("
+                    + in + ") returning mobile_number", String.class, args);
+            customerProjection.removeCustomers(mobileNumbers);
+            deleted += mobileNumbers.size();
+        }
+        if (deleted > 0) {
+            entityCacheEvictor.evictAll(Accounts.class);
+            entityCacheEvictor.evictAll(Customer.class);
+        }
+        return deleted;
+    }
+
+    private static <T> List<List<T>> chunks(Collection<T> keys) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        List<List<T>> chunks = new ArrayList<>((distinct.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+}
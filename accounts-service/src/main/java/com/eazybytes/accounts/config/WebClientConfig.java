@@ -0,0 +1,51 @@
+package com.kurobytes.accounts.config;
+
+import com.kurobytes.accounts.service.client.DownstreamClientProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Same service-id resolution as the load balanced RestTemplate. Boot's customizers are applied so codecs and
+     * request observations stay as they would be on the auto-configured builder.
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(DownstreamClientProperties properties,
+                                                          ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder().clientConnector(connector(properties));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+
+    /**
+     * Waiting calls queue for a connection instead of being rejected, so a burst larger than the pool is slowed
+     * down rather than failed.
+     *
+     * @param properties - Timeouts and pool size
+     * @return a connector on the shared Reactor Netty event loop
+     */
+    public static ClientHttpConnector connector(DownstreamClientProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("accounts-downstream")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+}
@@ -18,6 +18,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(
         name = "REST API for Customers in KuroBank",
         description = "REST APIs in KuroBank to FETCH customer details"
@@ -54,17 +56,17 @@ public class CustomerController {
     }
     )
     @GetMapping("/fetchCustomerDetails")
-    public ResponseEntity<CustomerDetailsDto> fetchCustomerDetails(@RequestHeader("kurobank-correlation-id")
-                                                                       String correlationId,
-                                                                    @RequestParam @Pattern(regexp="(^$|[0-9]{10})",
-                                                                            message = "Mobile number must be 10 digits")
-                                                                   String mobileNumber) {
+    public CompletableFuture<ResponseEntity<CustomerDetailsDto>> fetchCustomerDetails(
+            @RequestHeader("kurobank-correlation-id") String correlationId,
+            @RequestParam @Pattern(regexp="(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+            String mobileNumber) {
         logger.debug("fetchCustomerDetails method start");
-        CustomerDetailsDto customerDetailsDto = iCustomersService.fetchCustomerDetails(mobileNumber, correlationId);
-        logger.debug("fetchCustomerDetails method end");
-        return ResponseEntity.status(HttpStatus.SC_OK).body(customerDetailsDto);
-
+        // リクエストスレッドはここで解放され、応答は future の完了時に書き込まれる
+        return iCustomersService.fetchCustomerDetails(mobileNumber, correlationId)
+                .thenApply(customerDetailsDto -> {
+                    logger.debug("fetchCustomerDetails method end");
+                    return ResponseEntity.status(HttpStatus.SC_OK).body(customerDetailsDto);
+                });
     }
 
-
 }
@@ -0,0 +1,42 @@
+package com.kurobytes.accounts.customer360;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/customer360}: projection lag and the last rebuild on read, start of a full rebuild on write.
+ */
+@Component
+@Endpoint(id = "customer360")
+public class Customer360Endpoint {
+
+    private final CustomerProjection projection;
+    private final CustomerProjectionRebuilder rebuilder;
+
+    public Customer360Endpoint(CustomerProjection projection, CustomerProjectionRebuilder rebuilder) {
+        this.projection = projection;
+        this.rebuilder = rebuilder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("readable", projection.isReadable());
+        status.put("customers", projection.count());
+        status.put("lag", projection.lag());
+        status.put("rebuildRunning", rebuilder.isRunning());
+        status.put("lastRebuild", rebuilder.lastRebuild().orElse(null));
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("started", rebuilder.start());
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.kurobytes.accounts.customer360;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kurobank.accounts.customer360")
+@Getter @Setter
+public class Customer360Properties {
+
+    /**
+     * Serve customer details from {@code customer_360} once it has been rebuilt at least once; when false, or
+     * before the first rebuild, details are assembled from the local tables and the cards and loans services.
+     */
+    private boolean readEnabled = true;
+
+    /**
+     * Cards and loans fetched per request while rebuilding the projection.
+     */
+    private int rebuildPageSize = 500;
+
+}
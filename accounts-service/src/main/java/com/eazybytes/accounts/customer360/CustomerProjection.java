@@ -0,0 +1,348 @@
+package com.kurobytes.accounts.customer360;
+
+import com.kurobytes.accounts.dto.AccountsDto;
+import com.kurobytes.accounts.dto.CardChangedEvent;
+import com.kurobytes.accounts.dto.CardsDto;
+import com.kurobytes.accounts.dto.CustomerDetailsDto;
+import com.kurobytes.accounts.dto.LoanChangedEvent;
+import com.kurobytes.accounts.dto.LoansDto;
+import com.kurobytes.accounts.entity.Accounts;
+import com.kurobytes.accounts.entity.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code customer_360}: one row per mobile number holding the customer, account, card and loan, so customer
+ * details are a single primary key read.
+ * <p>
+ * The customer and account columns are written in the accounts transaction that changes them. The card and loan
+ * columns are written from the change events of the cards and loans services; each section carries the time of
+ * the change it holds and an upsert only wins when its event is not older, so redelivered or reordered events
+ * never roll a section back. A deleted card or loan leaves its time behind with empty columns, which keeps a late
+ * update from resurrecting it.
+ */
+@Component
+public class CustomerProjection {
+
+    static final String CARD_SQL = "insert into customer_360 (mobile_number, card_number, card_type, "
+            + "card_total_limit, card_amount_used, card_available_amount, card_event_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "on conflict (mobile_number) do update set card_number = excluded.card_number, "
+            + "card_type = excluded.card_type, card_total_limit = excluded.card_total_limit, "
+            + "card_amount_used = excluded.card_amount_used, card_available_amount = excluded.card_available_amount, "
+            + "card_event_at = excluded.card_event_at, updated_at = excluded.updated_at "
+            + "where customer_360.card_event_at is null or customer_360.card_event_at <= excluded.card_event_at";
+    static final String LOAN_SQL = "insert into customer_360 (mobile_number, loan_number, loan_type, "
+            + "loan_total_loan, loan_amount_paid, loan_outstanding_amount, loan_event_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "on conflict (mobile_number) do update set loan_number = excluded.loan_number, "
+            + "loan_type = excluded.loan_type, loan_total_loan = excluded.loan_total_loan, "
+            + "loan_amount_paid = excluded.loan_amount_paid, "
+            + "loan_outstanding_amount = excluded.loan_outstanding_amount, "
+            + "loan_event_at = excluded.loan_event_at, updated_at = excluded.updated_at "
+            + "where customer_360.loan_event_at is null or customer_360.loan_event_at <= excluded.loan_event_at";
+    private static final String CUSTOMER_COLUMNS = "customer_id, name, email, account_number, account_type, "
+            + "branch_address";
+    private static final String CUSTOMER_UPDATE = "customer_id = excluded.customer_id, name = excluded.name, "
+            + "email = excluded.email, account_number = excluded.account_number, "
+            + "account_type = excluded.account_type, branch_address = excluded.branch_address, "
+            + "updated_at = excluded.updated_at";
+    private static final String CUSTOMER_SQL = "insert into customer_360 (mobile_number, " + CUSTOMER_COLUMNS
+            + ", updated_at) values (?, ?, ?, ?, ?, ?, ?, ?) on conflict (mobile_number) do update set "
+            + CUSTOMER_UPDATE;
+    private static final String REMOVE_CUSTOMER_SQL = "update customer_360 set customer_id = null, name = null, "
+            + "email = null, account_number = null, account_type = null, branch_address = null, updated_at = ? ";
+    private static final String FIND_SQL = "select mobile_number, " + CUSTOMER_COLUMNS + ", card_number, "
+            + "card_type, card_total_limit, card_amount_used, card_available_amount, loan_number, loan_type, "
+            + "loan_total_loan, loan_amount_paid, loan_outstanding_amount from customer_360 "
+            + "where mobile_number = ? and customer_id is not null";
+
+    private static final RowMapper<CustomerDetailsDto> MAPPER = CustomerProjection::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Customer360Properties properties;
+    private final Map<ProjectionSource, SourceStats> stats = new EnumMap<>(ProjectionSource.class);
+    private volatile boolean rebuilt;
+
+    public CustomerProjection(JdbcTemplate jdbcTemplate, Customer360Properties properties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        for (ProjectionSource source : ProjectionSource.values()) {
+            stats.put(source, new SourceStats(source, meterRegistry));
+        }
+    }
+
+    /**
+     * @param event - Card change from the cards service
+     * @return true when applied, false when the projection already held a newer card state
+     */
+    public boolean apply(CardChangedEvent event) {
+        CardsDto card = event.getCardsDto();
+        long eventAt = event.getOccurredAt().toEpochMilli();
+        int updated = card == null
+                ? jdbcTemplate.update(CARD_SQL, event.getMobileNumber(), null, null, null, null, null, eventAt,
+                System.currentTimeMillis())
+                : jdbcTemplate.update(CARD_SQL, event.getMobileNumber(), card.getCardNumber(), card.getCardType(),
+                card.getTotalLimit(), card.getAmountUsed(), card.getAvailableAmount(), eventAt,
+                System.currentTimeMillis());
+        return stats.get(ProjectionSource.CARDS).record(event.getOccurredAt(), updated > 0);
+    }
+
+    /**
+     * @param event - Loan change from the loans service
+     * @return true when applied, false when the projection already held a newer loan state
+     */
+    public boolean apply(LoanChangedEvent event) {
+        LoansDto loan = event.getLoansDto();
+        long eventAt = event.getOccurredAt().toEpochMilli();
+        int updated = loan == null
+                ? jdbcTemplate.update(LOAN_SQL, event.getMobileNumber(), null, null, null, null, null, eventAt,
+                System.currentTimeMillis())
+                : jdbcTemplate.update(LOAN_SQL, event.getMobileNumber(), loan.getLoanNumber(), loan.getLoanType(),
+                loan.getTotalLoan(), loan.getAmountPaid(), loan.getOutstandingAmount(), eventAt,
+                System.currentTimeMillis());
+        return stats.get(ProjectionSource.LOANS).record(event.getOccurredAt(), updated > 0);
+    }
+
+    /**
+     * Writes the customer section; call inside the transaction that saves the customer and account.
+     *
+     * @param customer - Saved customer
+     * @param accounts - Saved account of the customer
+     */
+    public void upsertCustomer(Customer customer, Accounts accounts) {
+        jdbcTemplate.update(CUSTOMER_SQL, customer.getMobileNumber(), customer.getCustomerId(), customer.getName(),
+                customer.getEmail(), accounts.getAccountNumber(), accounts.getAccountType(),
+                accounts.getBranchAddress(), System.currentTimeMillis());
+    }
+
+    /**
+     * Clears the customer section; the card and loan sections stay until their own delete events arrive.
+     *
+     * @param mobileNumber - Mobile Number of the deleted customer
+     */
+    public void removeCustomer(String mobileNumber) {
+        jdbcTemplate.update(REMOVE_CUSTOMER_SQL + "where mobile_number = ?", System.currentTimeMillis(),
+                mobileNumber);
+    }
+
+    /**
+     * Clears the customer section of every given mobile number in one statement, as {@link #removeCustomer}.
+     *
+     * @param mobileNumbers - Mobile Numbers of the deleted customers
+     */
+    public void removeCustomers(Collection<String> mobileNumbers) {
+        if (mobileNumbers.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(mobileNumbers.size() + 1);
+        args.add(System.currentTimeMillis());
+        args.addAll(mobileNumbers);
+        jdbcTemplate.update(REMOVE_CUSTOMER_SQL + "where mobile_number in ("
+                + String.join(", ", Collections.nCopies(mobileNumbers.size(), "?")) + ")", args.toArray());
+    }
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return customer details from the projection, empty when it is not readable yet or holds no such customer
+     */
+    public Optional<CustomerDetailsDto> find(String mobileNumber) {
+        if (!isReadable()) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(FIND_SQL, MAPPER, mobileNumber).stream().findFirst();
+    }
+
+    /**
+     * @return true when reads are enabled and a rebuild has completed, so every customer is in the projection
+     */
+    public boolean isReadable() {
+        if (!properties.isReadEnabled()) {
+            return false;
+        }
+        if (!rebuilt) {
+            rebuilt = Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists (select 1 "
+                    + "from customer_360_rebuild where status = 'COMPLETED')", Boolean.class));
+        }
+        return rebuilt;
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("select count(*) from customer_360 where customer_id is not null",
+                Long.class);
+    }
+
+    /**
+     * @return event lag and counts per source
+     */
+    public Map<ProjectionSource, SourceLag> lag() {
+        Map<ProjectionSource, SourceLag> lag = new EnumMap<>(ProjectionSource.class);
+        stats.forEach((source, sourceStats) -> lag.put(source, sourceStats.snapshot()));
+        return lag;
+    }
+
+    /**
+     * Copies every customer and account from the local tables in one statement, and clears the customer section
+     * of rows whose customer no longer exists.
+     *
+     * @param rebuildAt - Start of the rebuild
+     * @return customers copied
+     */
+    int rebuildCustomers(long rebuildAt) {
+        int customers = jdbcTemplate.update("insert into customer_360 (mobile_number, " + CUSTOMER_COLUMNS
+                + ", updated_at) select c.mobile_number, c.customer_id, c.name, c.email, a.account_number, "
+                + "a.account_type, a.branch_address, ? from customer c join accounts a "
+                + "on a.customer_id = c.customer_id where true on conflict (mobile_number) do update set "
+                + CUSTOMER_UPDATE, rebuildAt);
+        jdbcTemplate.update(REMOVE_CUSTOMER_SQL + "where customer_id is not null and not exists "
+                + "(select 1 from customer c where c.mobile_number = customer_360.mobile_number)", rebuildAt);
+        return customers;
+    }
+
+    /**
+     * @param cards     - Cards read from the cards service
+     * @param rebuildAt - Start of the rebuild, the change time written with every card
+     */
+    void rebuildCards(List<CardsDto> cards, long rebuildAt) {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.batchUpdate(CARD_SQL, cards, cards.size(), (statement, card) -> {
+            statement.setString(1, card.getMobileNumber());
+            statement.setString(2, card.getCardNumber());
+            statement.setString(3, card.getCardType());
+            statement.setInt(4, card.getTotalLimit());
+            statement.setInt(5, card.getAmountUsed());
+            statement.setInt(6, card.getAvailableAmount());
+            statement.setLong(7, rebuildAt);
+            statement.setLong(8, now);
+        });
+    }
+
+    /**
+     * @param loans     - Loans read from the loans service
+     * @param rebuildAt - Start of the rebuild, the change time written with every loan
+     */
+    void rebuildLoans(List<LoansDto> loans, long rebuildAt) {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.batchUpdate(LOAN_SQL, loans, loans.size(), (statement, loan) -> {
+            statement.setString(1, loan.getMobileNumber());
+            statement.setString(2, loan.getLoanNumber());
+            statement.setString(3, loan.getLoanType());
+            statement.setInt(4, loan.getTotalLoan());
+            statement.setInt(5, loan.getAmountPaid());
+            statement.setInt(6, loan.getOutstandingAmount());
+            statement.setLong(7, rebuildAt);
+            statement.setLong(8, now);
+        });
+    }
+
+    /**
+     * Clears the card and loan sections the rebuild did not see and no later event wrote: their card or loan
+     * no longer exists, and the delete event was lost. Rows left with nothing in them are dropped.
+     *
+     * @param rebuildAt - Start of the rebuild
+     */
+    void clearUnseen(long rebuildAt) {
+        jdbcTemplate.update("update customer_360 set card_number = null, card_type = null, card_total_limit = null, "
+                + "card_amount_used = null, card_available_amount = null, card_event_at = ? "
+                + "where card_event_at < ?", rebuildAt, rebuildAt);
+        jdbcTemplate.update("update customer_360 set loan_number = null, loan_type = null, loan_total_loan = null, "
+                + "loan_amount_paid = null, loan_outstanding_amount = null, loan_event_at = ? "
+                + "where loan_event_at < ?", rebuildAt, rebuildAt);
+        jdbcTemplate.update("delete from customer_360 where customer_id is null and card_number is null "
+                + "and loan_number is null and coalesce(card_event_at, 0) <= ? and coalesce(loan_event_at, 0) <= ?",
+                rebuildAt, rebuildAt);
+    }
+
+    private static CustomerDetailsDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        CustomerDetailsDto customerDetailsDto = new CustomerDetailsDto();
+        customerDetailsDto.setMobileNumber(rs.getString("mobile_number"));
+        customerDetailsDto.setName(rs.getString("name"));
+        customerDetailsDto.setEmail(rs.getString("email"));
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(rs.getLong("account_number"));
+        accountsDto.setAccountType(rs.getString("account_type"));
+        accountsDto.setBranchAddress(rs.getString("branch_address"));
+        customerDetailsDto.setAccountsDto(accountsDto);
+        if (rs.getString("card_number") != null) {
+            CardsDto cardsDto = new CardsDto();
+            cardsDto.setMobileNumber(customerDetailsDto.getMobileNumber());
+            cardsDto.setCardNumber(rs.getString("card_number"));
+            cardsDto.setCardType(rs.getString("card_type"));
+            cardsDto.setTotalLimit(rs.getInt("card_total_limit"));
+            cardsDto.setAmountUsed(rs.getInt("card_amount_used"));
+            cardsDto.setAvailableAmount(rs.getInt("card_available_amount"));
+            customerDetailsDto.setCardsDto(cardsDto);
+        }
+        if (rs.getString("loan_number") != null) {
+            LoansDto loansDto = new LoansDto();
+            loansDto.setMobileNumber(customerDetailsDto.getMobileNumber());
+            loansDto.setLoanNumber(rs.getString("loan_number"));
+            loansDto.setLoanType(rs.getString("loan_type"));
+            loansDto.setTotalLoan(rs.getInt("loan_total_loan"));
+            loansDto.setAmountPaid(rs.getInt("loan_amount_paid"));
+            loansDto.setOutstandingAmount(rs.getInt("loan_outstanding_amount"));
+            customerDetailsDto.setLoansDto(loansDto);
+        }
+        return customerDetailsDto;
+    }
+
+    private static final class SourceStats {
+
+        private final AtomicLong lagMillis = new AtomicLong();
+        private final AtomicLong lastEventAt = new AtomicLong(-1);
+        private final Counter applied;
+        private final Counter stale;
+
+        private SourceStats(ProjectionSource source, MeterRegistry meterRegistry) {
+            String tag = source.name().toLowerCase();
+            Gauge.builder("accounts.customer360.lag", lagMillis, AtomicLong::get)
+                    .tag("source", tag)
+                    .baseUnit("milliseconds")
+                    .description("Time between a change and its event being applied, for the last event")
+                    .register(meterRegistry);
+            this.applied = Counter.builder("accounts.customer360.events")
+                    .tag("source", tag)
+                    .tag("outcome", "applied")
+                    .description("Change events received by the customer 360 projection")
+                    .register(meterRegistry);
+            this.stale = Counter.builder("accounts.customer360.events")
+                    .tag("source", tag)
+                    .tag("outcome", "stale")
+                    .description("Change events received by the customer 360 projection")
+                    .register(meterRegistry);
+        }
+
+        private boolean record(Instant occurredAt, boolean wasApplied) {
+            // 他サービスの時計との差で負になることがあるので0で止める
+            lagMillis.set(Math.max(0, System.currentTimeMillis() - occurredAt.toEpochMilli()));
+            lastEventAt.accumulateAndGet(occurredAt.toEpochMilli(), Math::max);
+            (wasApplied ? applied : stale).increment();
+            return wasApplied;
+        }
+
+        private SourceLag snapshot() {
+            long last = lastEventAt.get();
+            return new SourceLag(lagMillis.get(), last < 0 ? null : Instant.ofEpochMilli(last),
+                    (long) applied.count(), (long) stale.count());
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.kurobytes.accounts.customer360;
+
+import com.kurobytes.accounts.dto.CardsPageDto;
+import com.kurobytes.accounts.dto.LoansPageDto;
+import com.kurobytes.accounts.service.client.CardsRestClient;
+import com.kurobytes.accounts.service.client.LoansRestClient;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds {@code customer_360} from the local tables and the {@code /api/fetch-all} pages of the cards and loans
+ * services, while events keep being applied.
+ * <p>
+ * Every card and loan is written with the start of the rebuild as its change time, so an event for a change
+ * after that start is never overwritten, and sections the rebuild did not see are cleared at the end. A failed
+ * page stops the rebuild before anything is cleared; the projection is then left as it was, plus what the
+ * rebuild had written.
+ */
+@Component
+public class CustomerProjectionRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerProjectionRebuilder.class);
+
+    private static final RowMapper<ProjectionRebuild> MAPPER = (rs, rowNum) -> new ProjectionRebuild(
+            rs.getLong(1), RebuildStatus.valueOf(rs.getString(2)), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+            rs.getTimestamp(6).toLocalDateTime(),
+            rs.getTimestamp(7) == null ? null : rs.getTimestamp(7).toLocalDateTime());
+
+    private final CustomerProjection projection;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CardsRestClient cardsRestClient;
+    private final LoansRestClient loansRestClient;
+    private final int pageSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "accounts-customer360-rebuild"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CustomerProjectionRebuilder(CustomerProjection projection, JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       CardsRestClient cardsRestClient, LoansRestClient loansRestClient,
+                                       Customer360Properties properties) {
+        this.projection = projection;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cardsRestClient = cardsRestClient;
+        this.loansRestClient = loansRestClient;
+        this.pageSize = properties.getRebuildPageSize();
+    }
+
+    /**
+     * @return false when a rebuild is already running
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                logger.error("Customer 360 rebuild failed", ex);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Optional<ProjectionRebuild> lastRebuild() {
+        return jdbcTemplate.query("select rebuild_id, status, customers, cards, loans, started_at, finished_at "
+                + "from customer_360_rebuild order by rebuild_id desc limit 1", MAPPER).stream().findFirst();
+    }
+
+    /**
+     * @return the finished rebuild
+     */
+    public ProjectionRebuild rebuild() {
+        long rebuildAt = System.currentTimeMillis();
+        long rebuildId = begin(rebuildAt);
+        long customers = 0;
+        long cards = 0;
+        long loans = 0;
+        try {
+            customers = transactionTemplate.execute(status -> projection.rebuildCustomers(rebuildAt));
+            Long afterCardId = 0L;
+            while (afterCardId != null) {
+                CardsPageDto page = requirePage(cardsRestClient.fetchCardsPage(afterCardId, pageSize), "cards");
+                transactionTemplate.executeWithoutResult(status -> projection.rebuildCards(page.getCards(), rebuildAt));
+                cards += page.getCards().size();
+                afterCardId = page.getNextAfterCardId();
+            }
+            Long afterLoanId = 0L;
+            while (afterLoanId != null) {
+                LoansPageDto page = requirePage(loansRestClient.fetchLoansPage(afterLoanId, pageSize), "loans");
+                transactionTemplate.executeWithoutResult(status -> projection.rebuildLoans(page.getLoans(), rebuildAt));
+                loans += page.getLoans().size();
+                afterLoanId = page.getNextAfterLoanId();
+            }
+            transactionTemplate.executeWithoutResult(status -> projection.clearUnseen(rebuildAt));
+        } catch (RuntimeException ex) {
+            finish(rebuildId, RebuildStatus.FAILED, customers, cards, loans);
+            throw ex;
+        }
+        finish(rebuildId, RebuildStatus.COMPLETED, customers, cards, loans);
+        logger.info("Rebuilt customer 360 with {} customers, {} cards and {} loans in {} ms", customers, cards, loans,
+                System.currentTimeMillis() - rebuildAt);
+        return lastRebuild().orElseThrow();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private long begin(long rebuildAt) {
+        // 前回プロセスが途中で落ちた再構築は失敗扱いにする
+        jdbcTemplate.update("update customer_360_rebuild set status = ? where status = ?",
+                RebuildStatus.FAILED.name(), RebuildStatus.RUNNING.name());
+        return jdbcTemplate.queryForObject("insert into customer_360_rebuild (status, customers, cards, loans, "
+                        + "started_at) values (?, 0, 0, 0, ?) returning rebuild_id", Long.class,
+                RebuildStatus.RUNNING.name(), new Timestamp(rebuildAt));
+    }
+
+    private void finish(long rebuildId, RebuildStatus status, long customers, long cards, long loans) {
+        jdbcTemplate.update("update customer_360_rebuild set status = ?, customers = ?, cards = ?, loans = ?, "
+                        + "finished_at = ? where rebuild_id = ?", status.name(), customers, cards, loans,
+                new Timestamp(System.currentTimeMillis()), rebuildId);
+    }
+
+    private static <T> T requirePage(T page, String source) {
+        if (page == null) {
+            throw new IllegalStateException("Empty response while paging " + source);
+        }
+        return page;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.kurobytes.accounts.customer360;
+
+import java.time.LocalDateTime;
+
+/**
+ * One rebuild of {@code customer_360}.
+ *
+ * @param rebuildId   - Rebuild ID
+ * @param status      - Rebuild status
+ * @param customers   - Customers copied from the local tables
+ * @param cards       - Cards fetched from the cards service
+ * @param loans       - Loans fetched from the loans service
+ * @param startedAt   - Start of the rebuild; events older than this were superseded by it
+ * @param finishedAt  - End of the rebuild, null while running
+ */
+public record ProjectionRebuild(long rebuildId, RebuildStatus status, long customers, long cards, long loans,
+                                LocalDateTime startedAt, LocalDateTime finishedAt) {
+}
@@ -0,0 +1,9 @@
+package com.kurobytes.accounts.customer360;
+
+/**
+ * Services whose change events feed {@code customer_360}.
+ */
+public enum ProjectionSource {
+    CARDS,
+    LOANS
+}
@@ -0,0 +1,7 @@
+package com.kurobytes.accounts.customer360;
+
+public enum RebuildStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package com.kurobytes.accounts.customer360;
+
+import java.time.Instant;
+
+/**
+ * Event lag of one {@link ProjectionSource}.
+ *
+ * @param lagMillis    - Time between the change and its event being applied, for the last event received
+ * @param lastEventAt  - When the last received event's change happened, null before the first event
+ * @param applied      - Events applied since start
+ * @param stale        - Events skipped since start because the projection already held a newer state
+ */
+public record SourceLag(long lagMillis, Instant lastEventAt, long applied, long stale) {
+}
@@ -0,0 +1,21 @@
+package com.kurobytes.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Consumed from {@code card-events}; {@code cardsDto} is null for {@code CARD_DELETED}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardChangedEvent {
+    private String eventId;
+    private String eventType;
+    private Instant occurredAt;
+    private String mobileNumber;
+    private CardsDto cardsDto;
+}
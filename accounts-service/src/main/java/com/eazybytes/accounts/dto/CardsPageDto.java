@@ -0,0 +1,15 @@
+package com.kurobytes.accounts.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CardsPageDto {
+
+    private List<CardsDto> cards = new ArrayList<>();
+
+    private Long nextAfterCardId;
+
+}
@@ -0,0 +1,104 @@
+package com.kurobytes.accounts.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kurobytes.common.json.StreamingSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes the whole customer details tree, the accounts, loans and cards parts included, in one pass.
+ */
+@JsonComponent
+@ConditionalOnProperty(prefix = "kurobank.json", name = "streaming-serializers", havingValue = "true")
+public class CustomerDetailsDtoSerializer extends StreamingSerializer<CustomerDetailsDto> {
+
+    private static final SerializedString NAME = name("name");
+    private static final SerializedString EMAIL = name("email");
+    private static final SerializedString MOBILE_NUMBER = name("mobileNumber");
+    private static final SerializedString ACCOUNTS_DTO = name("accountsDto");
+    private static final SerializedString LOANS_DTO = name("loansDto");
+    private static final SerializedString CARDS_DTO = name("cardsDto");
+
+    private static final SerializedString ACCOUNT_NUMBER = name("accountNumber");
+    private static final SerializedString ACCOUNT_TYPE = name("accountType");
+    private static final SerializedString BRANCH_ADDRESS = name("branchAddress");
+
+    private static final SerializedString LOAN_NUMBER = name("loanNumber");
+    private static final SerializedString LOAN_TYPE = name("loanType");
+    private static final SerializedString TOTAL_LOAN = name("totalLoan");
+    private static final SerializedString AMOUNT_PAID = name("amountPaid");
+    private static final SerializedString OUTSTANDING_AMOUNT = name("outstandingAmount");
+
+    private static final SerializedString CARD_NUMBER = name("cardNumber");
+    private static final SerializedString CARD_TYPE = name("cardType");
+    private static final SerializedString TOTAL_LIMIT = name("totalLimit");
+    private static final SerializedString AMOUNT_USED = name("amountUsed");
+    private static final SerializedString AVAILABLE_AMOUNT = name("availableAmount");
+
+    public CustomerDetailsDtoSerializer() {
+        super(CustomerDetailsDto.class);
+    }
+
+    @Override
+    public void serialize(CustomerDetailsDto value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, NAME, value.getName());
+        writeString(gen, EMAIL, value.getEmail());
+        writeString(gen, MOBILE_NUMBER, value.getMobileNumber());
+        gen.writeFieldName(ACCOUNTS_DTO);
+        writeAccounts(gen, value.getAccountsDto());
+        gen.writeFieldName(LOANS_DTO);
+        writeLoans(gen, value.getLoansDto());
+        gen.writeFieldName(CARDS_DTO);
+        writeCards(gen, value.getCardsDto());
+        gen.writeEndObject();
+    }
+
+    private static void writeAccounts(JsonGenerator gen, AccountsDto accounts) throws IOException {
+        if (accounts == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(accounts);
+        writeNumber(gen, ACCOUNT_NUMBER, accounts.getAccountNumber());
+        writeString(gen, ACCOUNT_TYPE, accounts.getAccountType());
+        writeString(gen, BRANCH_ADDRESS, accounts.getBranchAddress());
+        gen.writeEndObject();
+    }
+
+    private static void writeLoans(JsonGenerator gen, LoansDto loans) throws IOException {
+        if (loans == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(loans);
+        writeString(gen, MOBILE_NUMBER, loans.getMobileNumber());
+        writeString(gen, LOAN_NUMBER, loans.getLoanNumber());
+        writeString(gen, LOAN_TYPE, loans.getLoanType());
+        writeNumber(gen, TOTAL_LOAN, loans.getTotalLoan());
+        writeNumber(gen, AMOUNT_PAID, loans.getAmountPaid());
+        writeNumber(gen, OUTSTANDING_AMOUNT, loans.getOutstandingAmount());
+        gen.writeEndObject();
+    }
+
+    private static void writeCards(JsonGenerator gen, CardsDto cards) throws IOException {
+        if (cards == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(cards);
+        writeString(gen, MOBILE_NUMBER, cards.getMobileNumber());
+        writeString(gen, CARD_NUMBER, cards.getCardNumber());
+        writeString(gen, CARD_TYPE, cards.getCardType());
+        writeNumber(gen, TOTAL_LIMIT, cards.getTotalLimit());
+        writeNumber(gen, AMOUNT_USED, cards.getAmountUsed());
+        writeNumber(gen, AVAILABLE_AMOUNT, cards.getAvailableAmount());
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.kurobytes.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Consumed from {@code loan-events}; {@code loansDto} is null for {@code LOAN_DELETED}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanChangedEvent {
+    private String eventId;
+    private String eventType;
+    private Instant occurredAt;
+    private String mobileNumber;
+    private LoansDto loansDto;
+}
@@ -2,11 +2,19 @@ package com.kurobytes.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
+@NaturalIdCache(region = "accounts-natural-id")
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Accounts extends  BaseEntity {
 
+    @NaturalId
     @Column(name="customer_id")
     private Long customerId;
 
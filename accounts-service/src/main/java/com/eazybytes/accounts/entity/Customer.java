@@ -1,9 +1,17 @@
 package com.kurobytes.accounts.entity;
 
+import com.kurobytes.common.id.PooledId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
+@NaturalIdCache(region = "customer-natural-id")
 @Getter
 @Setter
 @ToString
@@ -12,7 +20,7 @@ import lombok.*;
 public class Customer extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(name = "customer")
     @Column(name = "customer_id")
     private Long customerId;
 
@@ -20,6 +28,7 @@ public class Customer extends BaseEntity {
 
     private String email;
 
+    @NaturalId(mutable = true)
     @Column(name = "mobile_number")
     private String mobileNumber;
 
@@ -1,10 +1,8 @@
 package com.kurobytes.accounts.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import com.kurobytes.common.exception.ResourceAlreadyExistsException;
 
-@ResponseStatus(value = HttpStatus.BAD_REQUEST)
-public class CustomerAlreadyExistsException extends RuntimeException {
+public class CustomerAlreadyExistsException extends ResourceAlreadyExistsException {
 
     public CustomerAlreadyExistsException(String message) {
         super(message);
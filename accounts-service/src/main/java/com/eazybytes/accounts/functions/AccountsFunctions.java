@@ -1,5 +1,8 @@
 package com.kurobytes.accounts.functions;
 
+import com.kurobytes.accounts.customer360.CustomerProjection;
+import com.kurobytes.accounts.dto.CardChangedEvent;
+import com.kurobytes.accounts.dto.LoanChangedEvent;
 import com.kurobytes.accounts.service.IAccountsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,4 +24,24 @@ public class AccountsFunctions {
         };
     }
 
+    @Bean
+    public Consumer<CardChangedEvent> cardChanged(CustomerProjection customerProjection) {
+        return event -> {
+            if (!customerProjection.apply(event)) {
+                log.debug("Skipped stale {} {} for mobile number {}", event.getEventType(), event.getEventId(),
+                        event.getMobileNumber());
+            }
+        };
+    }
+
+    @Bean
+    public Consumer<LoanChangedEvent> loanChanged(CustomerProjection customerProjection) {
+        return event -> {
+            if (!customerProjection.apply(event)) {
+                log.debug("Skipped stale {} {} for mobile number {}", event.getEventType(), event.getEventId(),
+                        event.getMobileNumber());
+            }
+        };
+    }
+
 }
@@ -1,9 +1,10 @@
 package com.kurobytes.accounts.repository;
 
 import com.kurobytes.accounts.entity.Accounts;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,10 +12,7 @@ import java.util.Optional;
 @Repository
 public interface AccountsRepository extends JpaRepository<Accounts, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Accounts> findByCustomerId(Long customerId);
 
-    @Transactional
-    @Modifying
-    void deleteByCustomerId(Long customerId);
-
 }
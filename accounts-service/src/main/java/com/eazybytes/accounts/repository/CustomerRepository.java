@@ -1,8 +1,11 @@
 package com.kurobytes.accounts.repository;
 
 import com.kurobytes.accounts.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +17,7 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Customer> findByMobileNumber(String mobileNumber);
 
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.accounts WHERE c.mobileNumber = :mobileNumber")
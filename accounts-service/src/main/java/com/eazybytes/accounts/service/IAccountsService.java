@@ -2,6 +2,8 @@ package com.kurobytes.accounts.service;
 
 import com.kurobytes.accounts.dto.CustomerDto;
 
+import java.util.Collection;
+
 public interface IAccountsService {
 
     /**
@@ -38,4 +40,18 @@ public interface IAccountsService {
      */
     boolean updateCommunicationStatus(Long accountNumber);
 
+    /**
+     *
+     * @param accountNumbers - Accounts the communication was sent for
+     * @return the number of accounts updated; unknown account numbers are skipped
+     */
+    int updateCommunicationStatus(Collection<Long> accountNumbers);
+
+    /**
+     *
+     * @param customerIds - Customers to delete with their accounts
+     * @return the number of customers deleted
+     */
+    int deleteAccounts(Collection<Long> customerIds);
+
 }
@@ -2,12 +2,14 @@ package com.kurobytes.accounts.service;
 
 import com.kurobytes.accounts.dto.CustomerDetailsDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface ICustomersService {
 
     /**
      * @param mobileNumber - Input Mobile Number
      * @param correlationId - Correlation ID value generated at Edge server
-     * @return Customer Details based on a given mobileNumber
+     * @return Customer Details based on a given mobileNumber, completed once the cards and loans calls answer
      */
-    CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId);
+    CompletableFuture<CustomerDetailsDto> fetchCustomerDetails(String mobileNumber, String correlationId);
 }
@@ -0,0 +1,30 @@
+package com.kurobytes.accounts.service.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.accounts.clients")
+@Getter @Setter
+public class DownstreamClientProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Time allowed for each attempt to answer; a slower attempt fails and is retried like a refused connection.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Connections kept open to all cards and loans instances together.
+     */
+    private int maxConnections = 500;
+
+    /**
+     * Time a call may wait for a free connection once all of them are in use.
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+}
@@ -1,79 +1,91 @@
 package com.kurobytes.accounts.service.client;
 
 import com.kurobytes.accounts.dto.LoansDto;
-import com.kurobytes.common.dto.ErrorResponseDto;
+import com.kurobytes.accounts.dto.LoansPageDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.time.LocalDateTime;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import org.springframework.scheduling.annotation.Async;
+import reactor.core.publisher.Mono;
+
 import java.util.concurrent.CompletableFuture;
-import org.springframework.web.client.ResourceAccessException;
 
 @Component
 public class LoansRestClient {
 
     private static final Logger log = LoggerFactory.getLogger(LoansRestClient.class);
 
+    private static final String RESILIENCE_NAME = "loans-service";
+
+    private final WebClient webClient;
     private final RestTemplate restTemplate;
-    
-    @Value("${microservices.loans.url:http://loans:8090}")
-    private String loansServiceUrl;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+    private final String loansServiceUrl;
 
-    public LoansRestClient(RestTemplate restTemplate) {
+    public LoansRestClient(WebClient.Builder webClientBuilder, RestTemplate restTemplate,
+                           RetryRegistry retryRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+                           @Value("${microservices.loans.service-url:http://loans}") String loansServiceUrl) {
+        this.webClient = webClientBuilder.build();
         this.restTemplate = restTemplate;
+        this.retry = retryRegistry.retry(RESILIENCE_NAME);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_NAME);
+        this.loansServiceUrl = loansServiceUrl;
     }
 
-    public ResponseEntity<LoansDto> fetchLoanDetails(String correlationId, String mobileNumber) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("kurobank-correlation-id", correlationId);
-        
-        String url = UriComponentsBuilder.fromHttpUrl(loansServiceUrl + "/api/fetch")
-                .queryParam("mobileNumber", mobileNumber)
+    /**
+     * Pages through all loans for a read model rebuild. Failures are not swallowed: a rebuild must stop rather
+     * than treat a missing page as "no loans".
+     *
+     * @param afterLoanId - ID after which the page starts, 0 for the first page
+     * @param limit - Maximum number of loans in the page
+     * @return the page, with the ID to continue after unset on the last page
+     */
+    public LoansPageDto fetchLoansPage(long afterLoanId, int limit) {
+        String url = UriComponentsBuilder.fromHttpUrl(loansServiceUrl + "/api/fetch-all")
+                .queryParam("afterLoanId", afterLoanId)
+                .queryParam("limit", limit)
                 .toUriString();
-        
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        
-        try {
-            return restTemplate.exchange(url, HttpMethod.GET, entity, LoansDto.class);
-        } catch (Exception e) {
-            log.error("Failed to fetch loan details from {}: {}", url, e.getMessage(), e);
-            ErrorResponseDto error = new ErrorResponseDto(
-                url,
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                "Failed to fetch loan details",
-                LocalDateTime.now()
-            );
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null); // 実際のAPI設計に応じてErrorResponseDto返却も可
-        }
+        return restTemplate.getForObject(url, LoansPageDto.class);
     }
 
-    @Async("taskExecutor")
-    @Retry(name = "loans-service", maxAttempts = 3)
-    @CircuitBreaker(name = "loans-service", fallbackMethod = "getDefaultLoansData")
+    /**
+     * Runs on the event loop end to end: no thread waits for the loans service, retries are scheduled rather
+     * than slept, and every attempt is recorded by the circuit breaker. Asks for CBOR, smaller and cheaper to
+     * read than JSON, and takes JSON from a loans instance that does not offer it yet.
+     *
+     * @param correlationId - Forwarded as {@code kurobank-correlation-id}
+     * @param mobileNumber - Mobile number of the customer
+     * @return the loans, null when the customer has none, or the default data once retries are exhausted or the
+     * circuit is open
+     */
     public CompletableFuture<LoansDto> fetchLoanDetailsAsync(String correlationId, String mobileNumber) {
-        try {
-            ResponseEntity<LoansDto> response = fetchLoanDetails(correlationId, mobileNumber);
-            return CompletableFuture.completedFuture(response.getBody());
-        } catch (Exception e) {
-            log.warn("Failed to fetch loans for mobile: {}", mobileNumber, e);
-            return CompletableFuture.completedFuture(null);
-        }
+        return webClient.get()
+                .uri(loansServiceUrl + "/api/fetch?mobileNumber={mobileNumber}", mobileNumber)
+                .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON)
+                .header("kurobank-correlation-id", correlationId)
+                .retrieve()
+                .bodyToMono(LoansDto.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty())
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorResume(ex -> Mono.just(getDefaultLoansData(mobileNumber, ex)))
+                .toFuture();
     }
 
-    public CompletableFuture<LoansDto> getDefaultLoansData(String correlationId, String mobileNumber, Throwable ex) {
-        log.warn("Circuit breaker activated for loans service: {}", ex.getMessage());
-        LoansDto defaultLoans = new LoansDto(); // 必要に応じてデフォルト値をセット
-        return CompletableFuture.completedFuture(defaultLoans);
+    private LoansDto getDefaultLoansData(String mobileNumber, Throwable ex) {
+        log.warn("Falling back to default loans for mobile {}: {}", mobileNumber, ex.toString());
+        return new LoansDto(); // 必要に応じてデフォルト値をセット
     }
 }
@@ -1,18 +1,21 @@
 package com.kurobytes.accounts.service.impl;
 
+import com.kurobytes.accounts.bulk.AccountsBulkOperations;
 import com.kurobytes.accounts.constants.AccountsConstants;
+import com.kurobytes.accounts.customer360.CustomerProjection;
 import com.kurobytes.accounts.dto.AccountsDto;
 import com.kurobytes.accounts.dto.AccountsMsgDto;
 import com.kurobytes.accounts.dto.CustomerDto;
 import com.kurobytes.accounts.entity.Accounts;
 import com.kurobytes.accounts.entity.Customer;
 import com.kurobytes.accounts.exception.CustomerAlreadyExistsException;
-import com.kurobytes.accounts.exception.ResourceNotFoundException;
 import com.kurobytes.accounts.mapper.AccountsMapper;
 import com.kurobytes.accounts.mapper.CustomerMapper;
 import com.kurobytes.accounts.repository.AccountsRepository;
 import com.kurobytes.accounts.repository.CustomerRepository;
 import com.kurobytes.accounts.service.IAccountsService;
+import com.kurobytes.common.cache.NaturalIdLookup;
+import com.kurobytes.common.exception.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +30,8 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
@@ -43,15 +48,24 @@ public class AccountsServiceImpl  implements IAccountsService {
     private final StreamBridge streamBridge;
     private final MeterRegistry meterRegistry;
     private final Counter accountCreationCounter;
+    private final CustomerProjection customerProjection;
+    private final AccountsBulkOperations accountsBulkOperations;
+    private final NaturalIdLookup naturalIdLookup;
 
     public AccountsServiceImpl(AccountsRepository accountsRepository,
                                CustomerRepository customerRepository,
                                StreamBridge streamBridge,
-                               MeterRegistry meterRegistry) {
+                               MeterRegistry meterRegistry,
+                               CustomerProjection customerProjection,
+                               AccountsBulkOperations accountsBulkOperations,
+                               NaturalIdLookup naturalIdLookup) {
         this.accountsRepository = accountsRepository;
         this.customerRepository = customerRepository;
         this.streamBridge = streamBridge;
         this.meterRegistry = meterRegistry;
+        this.customerProjection = customerProjection;
+        this.accountsBulkOperations = accountsBulkOperations;
+        this.naturalIdLookup = naturalIdLookup;
         this.accountCreationCounter = Counter.builder("accounts.created")
             .description("Number of accounts created")
             .register(meterRegistry);
@@ -73,6 +87,7 @@ public class AccountsServiceImpl  implements IAccountsService {
             }
             Customer savedCustomer = customerRepository.save(customer);
             Accounts savedAccount = accountsRepository.save(createNewAccount(savedCustomer));
+            customerProjection.upsertCustomer(savedCustomer, savedAccount);
             // 非同期通知（トランザクション外）
             sendCommunicationAsync(savedAccount, savedCustomer);
             // メトリクス記録
@@ -121,10 +136,10 @@ public class AccountsServiceImpl  implements IAccountsService {
     @Override
     @Transactional(readOnly = true, timeout = 5) // 読み取り専用 + タイムアウト
     public CustomerDto fetchAccount(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        Customer customer = naturalIdLookup.find(Customer.class, mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
+        Accounts accounts = naturalIdLookup.find(Accounts.class, customer.getCustomerId()).orElseThrow(
                 () -> new ResourceNotFoundException("Account", "customerId", customer.getCustomerId().toString())
         );
         CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
@@ -137,6 +152,7 @@ public class AccountsServiceImpl  implements IAccountsService {
      * @return boolean indicating if the update of Account details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateAccount(CustomerDto customerDto) {
         boolean isUpdated = false;
         AccountsDto accountsDto = customerDto.getAccountsDto();
@@ -151,8 +167,13 @@ public class AccountsServiceImpl  implements IAccountsService {
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
+            String previousMobileNumber = customer.getMobileNumber();
             CustomerMapper.mapToCustomer(customerDto,customer);
             customerRepository.save(customer);
+            if (!previousMobileNumber.equals(customer.getMobileNumber())) {
+                customerProjection.removeCustomer(previousMobileNumber);
+            }
+            customerProjection.upsertCustomer(customer, accounts);
             isUpdated = true;
         }
         return  isUpdated;
@@ -163,32 +184,51 @@ public class AccountsServiceImpl  implements IAccountsService {
      * @return boolean indicating if the delete of Account details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteAccount(String mobileNumber) {
         Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
-        accountsRepository.deleteByCustomerId(customer.getCustomerId());
-        customerRepository.deleteById(customer.getCustomerId());
+        accountsBulkOperations.deleteCustomers(List.of(customer.getCustomerId()));
         return true;
     }
 
+    /**
+     * @param customerIds - Customers to delete with their accounts
+     * @return the number of customers deleted
+     */
+    @Override
+    @Transactional
+    public int deleteAccounts(Collection<Long> customerIds) {
+        return accountsBulkOperations.deleteCustomers(customerIds);
+    }
+
     /**
      * @param accountNumber - Long
      * @return boolean indicating if the update of communication status is successful or not
      */
     @Override
+    @Transactional
     public boolean updateCommunicationStatus(Long accountNumber) {
         boolean isUpdated = false;
         if(accountNumber !=null ){
-            Accounts accounts = accountsRepository.findById(accountNumber).orElseThrow(
-                    () -> new ResourceNotFoundException("Account", "AccountNumber", accountNumber.toString())
-            );
-            accounts.setCommunicationSw(true);
-            accountsRepository.save(accounts);
+            if (accountsBulkOperations.markCommunicationSent(List.of(accountNumber)) == 0) {
+                throw new ResourceNotFoundException("Account", "AccountNumber", accountNumber.toString());
+            }
             isUpdated = true;
         }
         return  isUpdated;
     }
 
+    /**
+     * @param accountNumbers - Accounts the communication was sent for
+     * @return the number of accounts updated; unknown account numbers are skipped
+     */
+    @Override
+    @Transactional
+    public int updateCommunicationStatus(Collection<Long> accountNumbers) {
+        return accountsBulkOperations.markCommunicationSent(accountNumbers);
+    }
+
 
 }
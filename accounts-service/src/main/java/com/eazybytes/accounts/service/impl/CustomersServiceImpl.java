@@ -1,12 +1,12 @@
 package com.kurobytes.accounts.service.impl;
 
+import com.kurobytes.accounts.customer360.CustomerProjection;
 import com.kurobytes.accounts.dto.AccountsDto;
 import com.kurobytes.accounts.dto.CardsDto;
 import com.kurobytes.accounts.dto.CustomerDetailsDto;
 import com.kurobytes.accounts.dto.LoansDto;
 import com.kurobytes.accounts.entity.Accounts;
 import com.kurobytes.accounts.entity.Customer;
-import com.kurobytes.accounts.exception.ResourceNotFoundException;
 import com.kurobytes.accounts.mapper.AccountsMapper;
 import com.kurobytes.accounts.mapper.CustomerMapper;
 import com.kurobytes.accounts.repository.AccountsRepository;
@@ -14,13 +14,17 @@ import com.kurobytes.accounts.repository.CustomerRepository;
 import com.kurobytes.accounts.service.ICustomersService;
 import com.kurobytes.accounts.service.client.CardsRestClient;
 import com.kurobytes.accounts.service.client.LoansRestClient;
+import com.kurobytes.common.exception.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -28,20 +32,31 @@ import java.util.concurrent.CompletableFuture;
 @CacheConfig(cacheNames = "customers")
 public class CustomersServiceImpl implements ICustomersService {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomersServiceImpl.class);
+
     private AccountsRepository accountsRepository;
     private CustomerRepository customerRepository;
     private CardsRestClient cardsRestClient;
     private LoansRestClient loansRestClient;
+    private CustomerProjection customerProjection;
 
     /**
+     * Reads the customer and account on the calling thread and composes the cards and loans calls without
+     * waiting for them, so a request thread is not held while the other services answer.
+     *
      * @param mobileNumber - Input Mobile Number
      *  @param correlationId - Correlation ID value generated at Edge server
-     * @return Customer Details based on a given mobileNumber
+     * @return Customer Details based on a given mobileNumber, from the customer 360 projection when it holds the
+     * customer, otherwise assembled from the local tables and the cards and loans services
      */
     @Override
     @Cacheable(key = "#mobileNumber", unless = "#result == null")
     @Transactional(readOnly = true, timeout = 10)
-    public CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId) {
+    public CompletableFuture<CustomerDetailsDto> fetchCustomerDetails(String mobileNumber, String correlationId) {
+        Optional<CustomerDetailsDto> projected = customerProjection.find(mobileNumber);
+        if (projected.isPresent()) {
+            return CompletableFuture.completedFuture(projected.get());
+        }
         Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
@@ -52,24 +67,22 @@ public class CustomersServiceImpl implements ICustomersService {
         CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(customer, new CustomerDetailsDto());
         customerDetailsDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
 
-        // 完全非同期・レジリエンス対応
-        CompletableFuture<LoansDto> loansFuture = loansRestClient.fetchLoanDetailsAsync(correlationId, mobileNumber);
-        CompletableFuture<CardsDto> cardsFuture = cardsRestClient.fetchCardDetailsAsync(correlationId, mobileNumber);
-        CompletableFuture.allOf(loansFuture, cardsFuture).join();
-
-        try {
-            LoansDto loansDto = loansFuture.get();
-            if(loansDto != null) {
-                customerDetailsDto.setLoansDto(loansDto);
-            }
-            CardsDto cardsDto = cardsFuture.get();
-            if(cardsDto != null) {
-                customerDetailsDto.setCardsDto(cardsDto);
-            }
-        } catch (Exception e) {
-            // ログ出力のみ、キャッシュ本体には影響なし
-        }
-        return customerDetailsDto;
+        // join せずに合成する。片方が失敗してももう片方の結果で応答する
+        CompletableFuture<LoansDto> loansFuture = loansRestClient.fetchLoanDetailsAsync(correlationId, mobileNumber)
+                .exceptionally(ex -> {
+                    log.warn("Loans unavailable for customer details: {}", ex.getMessage());
+                    return null;
+                });
+        CompletableFuture<CardsDto> cardsFuture = cardsRestClient.fetchCardDetailsAsync(correlationId, mobileNumber)
+                .exceptionally(ex -> {
+                    log.warn("Cards unavailable for customer details: {}", ex.getMessage());
+                    return null;
+                });
+        return loansFuture.thenCombine(cardsFuture, (loansDto, cardsDto) -> {
+            customerDetailsDto.setLoansDto(loansDto);
+            customerDetailsDto.setCardsDto(cardsDto);
+            return customerDetailsDto;
+        });
     }
 
     @CacheEvict(key = "#customerDto.mobileNumber")
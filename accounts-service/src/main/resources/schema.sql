@@ -19,4 +19,47 @@ CREATE TABLE IF NOT EXISTS `accounts` (
    `created_by` varchar(20) NOT NULL,
    `updated_at` date DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS `customer_360` (
+  `mobile_number` varchar(20) NOT NULL PRIMARY KEY,
+  `customer_id` int DEFAULT NULL,
+  `name` varchar(100) DEFAULT NULL,
+  `email` varchar(100) DEFAULT NULL,
+  `account_number` int DEFAULT NULL,
+  `account_type` varchar(100) DEFAULT NULL,
+  `branch_address` varchar(200) DEFAULT NULL,
+  `card_number` varchar(100) DEFAULT NULL,
+  `card_type` varchar(100) DEFAULT NULL,
+  `card_total_limit` int DEFAULT NULL,
+  `card_amount_used` int DEFAULT NULL,
+  `card_available_amount` int DEFAULT NULL,
+  `card_event_at` bigint DEFAULT NULL,
+  `loan_number` varchar(100) DEFAULT NULL,
+  `loan_type` varchar(100) DEFAULT NULL,
+  `loan_total_loan` int DEFAULT NULL,
+  `loan_amount_paid` int DEFAULT NULL,
+  `loan_outstanding_amount` int DEFAULT NULL,
+  `loan_event_at` bigint DEFAULT NULL,
+  `updated_at` bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `customer_360_rebuild` (
+  `rebuild_id` integer PRIMARY KEY AUTOINCREMENT,
+  `status` varchar(20) NOT NULL,
+  `customers` int NOT NULL,
+  `cards` int NOT NULL,
+  `loans` int NOT NULL,
+  `started_at` date NOT NULL,
+  `finished_at` date DEFAULT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `hibernate_sequences` (
+  `sequence_name` varchar(100) NOT NULL PRIMARY KEY,
+  `next_val` bigint NOT NULL
+);
+
+-- 毎回の起動で MAX(id) + 1 まで引き上げる（ロールバックで next_val が採番済みの ID より下に残ることがある）
+INSERT INTO `hibernate_sequences` (`sequence_name`, `next_val`)
+  SELECT 'customer', COALESCE(MAX(`customer_id`), 0) + 1 FROM `customer` WHERE true
+  ON CONFLICT(`sequence_name`) DO UPDATE SET `next_val` = MAX(`next_val`, excluded.`next_val`);
@@ -0,0 +1,154 @@
+package com.kurobytes.accounts.benchmark;
+
+import com.kurobytes.accounts.customer360.CustomerProjection;
+import com.kurobytes.accounts.dto.CardsDto;
+import com.kurobytes.accounts.dto.LoansDto;
+import com.kurobytes.accounts.entity.Accounts;
+import com.kurobytes.accounts.entity.Customer;
+import com.kurobytes.accounts.repository.AccountsRepository;
+import com.kurobytes.accounts.repository.CustomerRepository;
+import com.kurobytes.accounts.service.client.CardsRestClient;
+import com.kurobytes.accounts.service.client.LoansRestClient;
+import com.kurobytes.accounts.service.impl.CustomersServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Time to answer {@code concurrency} simultaneous customer detail requests on a 200-thread request pool (Tomcat's
+ * default), with cards and loans each answering after {@code downstreamMillis}.
+ * <ul>
+ *     <li>{@code blocking} - the previous setup: the request thread joins both calls, which run on a 10-20
+ *     thread pool with a 100 slot queue that runs overflow on the caller</li>
+ *     <li>{@code async} - the request thread returns the composed future and the calls run on virtual threads</li>
+ * </ul>
+ * A batch that takes about {@code downstreamMillis} is sustained at that concurrency; requests/s is
+ * {@code concurrency} divided by the batch time. Blocking flattens out near 200 in-flight requests, async keeps
+ * going until the downstream services saturate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CustomerDetailsConcurrencyBenchmark {
+
+    private static final String MOBILE_NUMBER = "4354437687";
+    private static final int REQUEST_THREADS = 200;
+
+    @Param({"blocking", "async"})
+    public String mode;
+
+    @Param({"200", "1000", "5000"})
+    public int concurrency;
+
+    @Param({"50"})
+    public int downstreamMillis;
+
+    private ExecutorService requestPool;
+    private ExecutorService clientPool;
+    private CustomersServiceImpl customersService;
+
+    @Setup(Level.Trial)
+    public void createService() {
+        requestPool = Executors.newFixedThreadPool(REQUEST_THREADS);
+        clientPool = "blocking".equals(mode)
+                ? new ThreadPoolExecutor(10, 20, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100), new ThreadPoolExecutor.CallerRunsPolicy())
+                : Executors.newVirtualThreadPerTaskExecutor();
+
+        Customer customer = new Customer();
+        customer.setCustomerId(1L);
+        customer.setName("Kuro Bytes");
+        customer.setEmail("tutor@kurobytes.com");
+        customer.setMobileNumber(MOBILE_NUMBER);
+        Accounts accounts = new Accounts();
+        accounts.setCustomerId(1L);
+        accounts.setAccountNumber(1000000001L);
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        when(customerRepository.findByMobileNumber(anyString())).thenReturn(Optional.of(customer));
+        AccountsRepository accountsRepository = mock(AccountsRepository.class);
+        when(accountsRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(accounts));
+        CustomerProjection customerProjection = mock(CustomerProjection.class);
+        when(customerProjection.find(anyString())).thenReturn(Optional.empty());
+        CardsRestClient cardsRestClient = mock(CardsRestClient.class);
+        when(cardsRestClient.fetchCardDetailsAsync(anyString(), anyString()))
+                .thenAnswer(invocation -> downstream(CardsDto::new));
+        LoansRestClient loansRestClient = mock(LoansRestClient.class);
+        when(loansRestClient.fetchLoanDetailsAsync(anyString(), anyString()))
+                .thenAnswer(invocation -> downstream(LoansDto::new));
+        customersService = new CustomersServiceImpl(accountsRepository, customerRepository, cardsRestClient,
+                loansRestClient, customerProjection);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        requestPool.shutdownNow();
+        clientPool.shutdownNow();
+    }
+
+    @Benchmark
+    public void requests() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(concurrency);
+        boolean blocking = "blocking".equals(mode);
+        for (int i = 0; i < concurrency; i++) {
+            requestPool.execute(() -> {
+                CompletableFuture<?> response = customersService.fetchCustomerDetails(MOBILE_NUMBER, "bench");
+                if (blocking) {
+                    response.join();
+                    answered.countDown();
+                } else {
+                    response.thenRun(answered::countDown);
+                }
+            });
+        }
+        answered.await();
+    }
+
+    private <T> CompletableFuture<T> downstream(Supplier<T> response) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(downstreamMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return response.get();
+        }, clientPool);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerDetailsConcurrencyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
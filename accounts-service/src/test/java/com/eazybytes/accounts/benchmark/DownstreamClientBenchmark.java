@@ -0,0 +1,167 @@
+package com.kurobytes.accounts.benchmark;
+
+import com.kurobytes.accounts.config.WebClientConfig;
+import com.kurobytes.accounts.dto.CardsDto;
+import com.kurobytes.accounts.service.client.CardsRestClient;
+import com.kurobytes.accounts.service.client.DownstreamClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time for {@code concurrency} simultaneous cards calls against a local stub that answers after
+ * {@code downstreamMillis}, with the threads it took.
+ * <ul>
+ *     <li>{@code rest-template} - the previous client: each call is handed to a virtual thread that blocks in
+ *     RestTemplate until the answer arrives</li>
+ *     <li>{@code webclient} - {@link CardsRestClient} as wired in the service, with retry and circuit breaker,
+ *     on the Reactor Netty event loop</li>
+ * </ul>
+ * {@code peakPlatformThreads} is the JVM peak during the iteration, stub server included; virtual threads are not
+ * in it, so {@code peakBlockedThreads} counts the client threads parked on a response at the same time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class DownstreamClientBenchmark {
+
+    private static final String MOBILE_NUMBER = "4354437687";
+    private static final byte[] CARDS_JSON = ("{\"mobileNumber\":\"" + MOBILE_NUMBER + "\",\"cardNumber\":"
+            + "\"100646930341\",\"cardType\":\"Credit Card\",\"totalLimit\":100000,\"amountUsed\":1000,"
+            + "\"availableAmount\":99000}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"rest-template", "webclient"})
+    public String mode;
+
+    @Param({"5000"})
+    public int concurrency;
+
+    @Param({"50"})
+    public int downstreamMillis;
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private ExecutorService asyncExecutor;
+    private RestTemplate restTemplate;
+    private CardsRestClient cardsRestClient;
+    private String cardsUrl;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final AtomicInteger blocked = new AtomicInteger();
+    private final AtomicInteger peakBlocked = new AtomicInteger();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Threads {
+
+        public long peakPlatformThreads;
+        public long peakBlockedThreads;
+
+    }
+
+    @Setup(Level.Trial)
+    public void startStub() throws IOException {
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), concurrency * 2);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/api/fetch", exchange -> {
+            try {
+                Thread.sleep(downstreamMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, CARDS_JSON.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(CARDS_JSON);
+            }
+        });
+        stub.start();
+        cardsUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        restTemplate = new RestTemplate();
+        DownstreamClientProperties properties = new DownstreamClientProperties();
+        properties.setMaxConnections(concurrency);
+        cardsRestClient = new CardsRestClient(
+                WebClient.builder().clientConnector(WebClientConfig.connector(properties)), restTemplate,
+                RetryRegistry.ofDefaults(), CircuitBreakerRegistry.ofDefaults(), cardsUrl);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStub() {
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+        asyncExecutor.shutdownNow();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeaks() {
+        threadMXBean.resetPeakThreadCount();
+        peakBlocked.set(0);
+    }
+
+    @Benchmark
+    public void calls(Threads threads) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[concurrency];
+        boolean blocking = "rest-template".equals(mode);
+        for (int i = 0; i < concurrency; i++) {
+            calls[i] = blocking
+                    ? CompletableFuture.supplyAsync(this::blockingCall, asyncExecutor)
+                    : cardsRestClient.fetchCardDetailsAsync("bench", MOBILE_NUMBER);
+        }
+        CompletableFuture.allOf(calls).join();
+        threads.peakPlatformThreads = threadMXBean.getPeakThreadCount();
+        threads.peakBlockedThreads = peakBlocked.get();
+    }
+
+    private CardsDto blockingCall() {
+        peakBlocked.accumulateAndGet(blocked.incrementAndGet(), Math::max);
+        try {
+            return restTemplate.getForObject(cardsUrl + "/api/fetch?mobileNumber={mobileNumber}", CardsDto.class,
+                    MOBILE_NUMBER);
+        } finally {
+            blocked.decrementAndGet();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DownstreamClientBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
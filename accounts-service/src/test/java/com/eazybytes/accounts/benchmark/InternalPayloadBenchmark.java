@@ -0,0 +1,105 @@
+package com.kurobytes.accounts.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kurobytes.accounts.dto.CardsDto;
+import com.kurobytes.accounts.dto.LoansDto;
+import com.kurobytes.common.json.JsonProperties;
+import com.kurobytes.common.json.TunedJacksonCustomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cards and loans bodies of a customer details request, in each {@code format} the services negotiate, with
+ * the mappers configured as in the services. {@code write*} is the CPU the cards or loans service spends per call,
+ * {@code read*} what accounts spends; the payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class InternalPayloadBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private CardsDto cards;
+    private LoansDto loans;
+    private byte[] cardsBody;
+    private byte[] loansBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JsonProperties properties = new JsonProperties();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new TunedJacksonCustomizer(properties).customize(builder);
+        if ("cbor".equals(format)) {
+            builder.factory(TunedJacksonCustomizer.tune(CBORFactory.builder(), properties).build());
+        }
+        objectMapper = builder.build();
+        cards = new CardsDto();
+        cards.setMobileNumber("4354437687");
+        cards.setCardNumber("100646930341");
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAmountUsed(1000);
+        cards.setAvailableAmount(99000);
+        loans = new LoansDto();
+        loans.setMobileNumber("4354437687");
+        loans.setLoanNumber("548732457654");
+        loans.setLoanType("Home Loan");
+        loans.setTotalLoan(100000);
+        loans.setAmountPaid(1000);
+        loans.setOutstandingAmount(99000);
+        cardsBody = objectMapper.writeValueAsBytes(cards);
+        loansBody = objectMapper.writeValueAsBytes(loans);
+        System.out.printf("%s payload: cards %d bytes, loans %d bytes%n", format, cardsBody.length,
+                loansBody.length);
+    }
+
+    @Benchmark
+    public byte[] writeCards() throws Exception {
+        return objectMapper.writeValueAsBytes(cards);
+    }
+
+    @Benchmark
+    public CardsDto readCards() throws Exception {
+        return objectMapper.readValue(cardsBody, CardsDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeLoans() throws Exception {
+        return objectMapper.writeValueAsBytes(loans);
+    }
+
+    @Benchmark
+    public LoansDto readLoans() throws Exception {
+        return objectMapper.readValue(loansBody, LoansDto.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InternalPayloadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
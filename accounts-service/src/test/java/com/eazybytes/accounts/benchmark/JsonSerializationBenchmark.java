@@ -0,0 +1,146 @@
+package com.kurobytes.accounts.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kurobytes.accounts.dto.AccountsDto;
+import com.kurobytes.accounts.dto.CardsDto;
+import com.kurobytes.accounts.dto.CustomerDetailsDto;
+import com.kurobytes.accounts.dto.CustomerDetailsDtoSerializer;
+import com.kurobytes.accounts.dto.LoansDto;
+import com.kurobytes.common.dto.ErrorResponseDto;
+import com.kurobytes.common.json.JsonProperties;
+import com.kurobytes.common.json.TunedJacksonCustomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cost of the JSON the services write and read most, for each step of the common mapper tuning.
+ * <ul>
+ *     <li>{@code default} - Boot's mapper as the services had it</li>
+ *     <li>{@code blackbird} - plus {@link TunedJacksonCustomizer}'s factory settings and Blackbird, buffers still
+ *     per thread</li>
+ *     <li>{@code shared-pool} - plus the shared buffer pool: the default {@code kurobank.json} settings</li>
+ *     <li>{@code streaming} - plus {@code kurobank.json.streaming-serializers=true}</li>
+ * </ul>
+ * {@code customerDetailsOnVirtualThread} writes from a new virtual thread each time, as a request handled on one
+ * does: that is where a per-thread buffer pool never gets reused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"default", "blackbird", "shared-pool", "streaming"})
+    public String mode;
+
+    private ObjectMapper objectMapper;
+    private CustomerDetailsDto customerDetails;
+    private ErrorResponseDto errorResponse;
+    private byte[] cardsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!"default".equals(mode)) {
+            JsonProperties properties = new JsonProperties();
+            properties.setRecyclerPool("blackbird".equals(mode)
+                    ? JsonProperties.RecyclerPool.THREAD_LOCAL : JsonProperties.RecyclerPool.SHARED);
+            properties.setStreamingSerializers("streaming".equals(mode));
+            new TunedJacksonCustomizer(properties).customize(builder);
+        }
+        if ("streaming".equals(mode)) {
+            builder.serializerByType(CustomerDetailsDto.class, new CustomerDetailsDtoSerializer());
+        }
+        objectMapper = builder.build();
+        customerDetails = sampleCustomerDetails();
+        errorResponse = ErrorResponseDto.of("uri=/api/fetchCustomerDetails", HttpStatus.NOT_FOUND,
+                "Customer not found with the given input data mobileNumber : '4354437687'");
+        cardsJson = objectMapper.writeValueAsBytes(customerDetails.getCardsDto());
+    }
+
+    @Benchmark
+    public byte[] customerDetails() throws Exception {
+        return objectMapper.writeValueAsBytes(customerDetails);
+    }
+
+    @Benchmark
+    public byte[] customerDetailsOnVirtualThread() throws Exception {
+        AtomicReference<byte[]> json = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                json.set(objectMapper.writeValueAsBytes(customerDetails));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).join();
+        return json.get();
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+
+    @Benchmark
+    public CardsDto readCards() throws Exception {
+        return objectMapper.readValue(cardsJson, CardsDto.class);
+    }
+
+    private static CustomerDetailsDto sampleCustomerDetails() {
+        AccountsDto accounts = new AccountsDto();
+        accounts.setAccountNumber(1234567890L);
+        accounts.setAccountType("Savings");
+        accounts.setBranchAddress("123 Main Street, New York");
+        LoansDto loans = new LoansDto();
+        loans.setMobileNumber("4354437687");
+        loans.setLoanNumber("548732457654");
+        loans.setLoanType("Home Loan");
+        loans.setTotalLoan(100000);
+        loans.setAmountPaid(1000);
+        loans.setOutstandingAmount(99000);
+        CardsDto cards = new CardsDto();
+        cards.setMobileNumber("4354437687");
+        cards.setCardNumber("100646930341");
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAmountUsed(1000);
+        cards.setAvailableAmount(99000);
+        CustomerDetailsDto customerDetails = new CustomerDetailsDto();
+        customerDetails.setName("Madan Reddy");
+        customerDetails.setEmail("tutor@kurobytes.com");
+        customerDetails.setMobileNumber("4354437687");
+        customerDetails.setAccountsDto(accounts);
+        customerDetails.setLoansDto(loans);
+        customerDetails.setCardsDto(cards);
+        return customerDetails;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
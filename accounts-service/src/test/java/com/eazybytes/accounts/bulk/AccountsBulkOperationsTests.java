@@ -0,0 +1,143 @@
+package com.kurobytes.accounts.bulk;
+
+import com.kurobytes.accounts.customer360.Customer360Properties;
+import com.kurobytes.accounts.customer360.CustomerProjection;
+import com.kurobytes.accounts.entity.Accounts;
+import com.kurobytes.accounts.entity.Customer;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AccountsBulkOperationsTests {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CustomerProjection projection;
+    private AccountsBulkOperations bulkOperations;
+    private final AtomicInteger statements = new AtomicInteger();
+
+    @BeforeEach
+    void createTables() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(countingStatements(dataSource));
+        jdbcTemplate.execute("CREATE TABLE customer (customer_id integer PRIMARY KEY, name varchar(100), "
+                + "email varchar(100), mobile_number varchar(20))");
+        jdbcTemplate.execute("CREATE TABLE accounts (customer_id int, account_number integer PRIMARY KEY, "
+                + "account_type varchar(100), branch_address varchar(200), communication_sw BOOLEAN, "
+                + "updated_at date, updated_by varchar(20))");
+        jdbcTemplate.execute("CREATE TABLE customer_360 (mobile_number varchar(20) NOT NULL PRIMARY KEY, "
+                + "customer_id int, name varchar(100), email varchar(100), account_number int, "
+                + "account_type varchar(100), branch_address varchar(200), card_number varchar(100), "
+                + "card_type varchar(100), card_total_limit int, card_amount_used int, card_available_amount int, "
+                + "card_event_at bigint, loan_number varchar(100), loan_type varchar(100), loan_total_loan int, "
+                + "loan_amount_paid int, loan_outstanding_amount int, loan_event_at bigint, "
+                + "updated_at bigint NOT NULL)");
+        projection = new CustomerProjection(jdbcTemplate, new Customer360Properties(), new SimpleMeterRegistry());
+        for (long customerId = 1; customerId <= 3; customerId++) {
+            insertCustomer(customerId);
+        }
+        bulkOperations = new AccountsBulkOperations(jdbcTemplate, () -> Optional.of("ACCOUNTS_MS"), projection,
+                mock(EntityCacheEvictor.class));
+        statements.set(0);
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void marksCommunicationSentInOneStatement() {
+        int updated = bulkOperations.markCommunicationSent(List.of(1000000001L, 1000000003L, 1000000003L, 42L));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(statements).hasValue(1);
+        assertThat(jdbcTemplate.queryForList("select account_number from accounts where communication_sw = 1 "
+                + "and updated_by = 'ACCOUNTS_MS' and updated_at is not null order by account_number", Long.class))
+                .containsExactly(1000000001L, 1000000003L);
+    }
+
+    @Test
+    void splitsLargeUpdatesIntoChunks() {
+        List<Long> accountNumbers = LongStream.range(0, AccountsBulkOperations.CHUNK_SIZE * 2L + 1)
+                .map(i -> 1000000001L + i).boxed().toList();
+
+        assertThat(bulkOperations.markCommunicationSent(accountNumbers)).isEqualTo(3);
+        assertThat(statements).hasValue(3);
+    }
+
+    @Test
+    void deletesCustomersWithAccountsAndProjection() {
+        int deleted = bulkOperations.deleteCustomers(List.of(1L, 2L, 99L));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(statements).hasValue(3);
+        assertThat(jdbcTemplate.queryForList("select customer_id from customer", Long.class)).containsExactly(3L);
+        assertThat(jdbcTemplate.queryForList("select customer_id from accounts", Long.class)).containsExactly(3L);
+        assertThat(jdbcTemplate.queryForList("select mobile_number from customer_360 where customer_id is not null",
+                String.class)).containsExactly("4354437003");
+    }
+
+    @Test
+    void skipsTheProjectionWhenNothingWasDeleted() {
+        assertThat(bulkOperations.deleteCustomers(List.of(99L))).isZero();
+        assertThat(statements).hasValue(2);
+    }
+
+    private void insertCustomer(long customerId) {
+        Customer customer = new Customer(customerId, "Customer " + customerId, "customer@kurobytes.com",
+                "4354437" + String.format("%03d", customerId));
+        Accounts accounts = new Accounts(customerId, 1000000000L + customerId, "Savings", "123 Main Street", false);
+        jdbcTemplate.update("insert into customer values (?, ?, ?, ?)", customer.getCustomerId(), customer.getName(),
+                customer.getEmail(), customer.getMobileNumber());
+        jdbcTemplate.update("insert into accounts (customer_id, account_number, account_type, branch_address, "
+                        + "communication_sw) values (?, ?, ?, ?, ?)", accounts.getCustomerId(),
+                accounts.getAccountNumber(), accounts.getAccountType(), accounts.getBranchAddress(),
+                accounts.getCommunicationSw());
+        projection.upsertCustomer(customer, accounts);
+    }
+
+    private DataSource countingStatements(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? countingStatements(connection) : result;
+                });
+    }
+
+    private Connection countingStatements(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                        statements.incrementAndGet();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+}
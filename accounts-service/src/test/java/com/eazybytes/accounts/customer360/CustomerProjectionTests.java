@@ -0,0 +1,158 @@
+package com.kurobytes.accounts.customer360;
+
+import com.kurobytes.accounts.dto.CardChangedEvent;
+import com.kurobytes.accounts.dto.CardsDto;
+import com.kurobytes.accounts.dto.CardsPageDto;
+import com.kurobytes.accounts.dto.CustomerDetailsDto;
+import com.kurobytes.accounts.dto.LoanChangedEvent;
+import com.kurobytes.accounts.dto.LoansDto;
+import com.kurobytes.accounts.dto.LoansPageDto;
+import com.kurobytes.accounts.service.client.CardsRestClient;
+import com.kurobytes.accounts.service.client.LoansRestClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerProjectionTests {
+
+    private static final String MOBILE_NUMBER = "4354437687";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CustomerProjection projection;
+    private CardsRestClient cardsRestClient;
+    private LoansRestClient loansRestClient;
+    private CustomerProjectionRebuilder rebuilder;
+
+    @BeforeEach
+    void createTables() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE customer (customer_id integer PRIMARY KEY, name varchar(100), "
+                + "email varchar(100), mobile_number varchar(20))");
+        jdbcTemplate.execute("CREATE TABLE accounts (customer_id int, account_number integer PRIMARY KEY, "
+                + "account_type varchar(100), branch_address varchar(200))");
+        jdbcTemplate.execute("CREATE TABLE customer_360 (mobile_number varchar(20) NOT NULL PRIMARY KEY, "
+                + "customer_id int, name varchar(100), email varchar(100), account_number int, "
+                + "account_type varchar(100), branch_address varchar(200), card_number varchar(100), "
+                + "card_type varchar(100), card_total_limit int, card_amount_used int, card_available_amount int, "
+                + "card_event_at bigint, loan_number varchar(100), loan_type varchar(100), loan_total_loan int, "
+                + "loan_amount_paid int, loan_outstanding_amount int, loan_event_at bigint, "
+                + "updated_at bigint NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE customer_360_rebuild (rebuild_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "status varchar(20) NOT NULL, customers int NOT NULL, cards int NOT NULL, loans int NOT NULL, "
+                + "started_at date NOT NULL, finished_at date)");
+        jdbcTemplate.update("insert into customer values (1, 'Kuro Bytes', 'tutor@kurobytes.com', ?)", MOBILE_NUMBER);
+        jdbcTemplate.update("insert into accounts values (1, 1000000001, 'Savings', '123 Main Street')");
+
+        Customer360Properties properties = new Customer360Properties();
+        properties.setRebuildPageSize(2);
+        projection = new CustomerProjection(jdbcTemplate, properties, new SimpleMeterRegistry());
+        cardsRestClient = mock(CardsRestClient.class);
+        loansRestClient = mock(LoansRestClient.class);
+        rebuilder = new CustomerProjectionRebuilder(projection, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), cardsRestClient, loansRestClient, properties);
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        rebuilder.shutdown();
+        dataSource.destroy();
+    }
+
+    @Test
+    void isNotReadBeforeTheFirstRebuild() {
+        projection.apply(cardEvent(1_000, 500));
+
+        assertThat(projection.isReadable()).isFalse();
+        assertThat(projection.find(MOBILE_NUMBER)).isEmpty();
+    }
+
+    @Test
+    void skipsEventsOlderThanTheHeldState() {
+        rebuildWith(new CardsPageDto(), new LoansPageDto());
+        long now = System.currentTimeMillis();
+
+        assertThat(projection.apply(cardEvent(now + 2, 700))).isTrue();
+        assertThat(projection.apply(cardEvent(now + 1, 300))).isFalse();
+
+        assertThat(projection.find(MOBILE_NUMBER).orElseThrow().getCardsDto().getAmountUsed()).isEqualTo(700);
+        assertThat(projection.lag().get(ProjectionSource.CARDS).stale()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsDeletesAgainstLateUpdates() {
+        rebuildWith(new CardsPageDto(), new LoansPageDto());
+        long now = System.currentTimeMillis();
+
+        projection.apply(new LoanChangedEvent("2", "LOAN_DELETED", Instant.ofEpochMilli(now + 2), MOBILE_NUMBER,
+                null));
+        assertThat(projection.apply(loanEvent(now + 1))).isFalse();
+
+        assertThat(projection.find(MOBILE_NUMBER).orElseThrow().getLoansDto()).isNull();
+    }
+
+    @Test
+    void rebuildCopiesEverySourceAndClearsWhatItDidNotSee() {
+        long before = System.currentTimeMillis() - 60_000;
+        projection.apply(cardEvent(before, 100));
+        jdbcTemplate.update("insert into customer_360 (mobile_number, customer_id, name, updated_at) "
+                + "values ('9999999999', 2, 'Gone Customer', 0)");
+        LoansPageDto loans = new LoansPageDto();
+        loans.getLoans().add(loanEvent(0).getLoansDto());
+
+        ProjectionRebuild rebuild = rebuildWith(new CardsPageDto(), loans);
+
+        assertThat(rebuild.status()).isEqualTo(RebuildStatus.COMPLETED);
+        assertThat(rebuild.customers()).isEqualTo(1);
+        assertThat(rebuild.loans()).isEqualTo(1);
+        CustomerDetailsDto details = projection.find(MOBILE_NUMBER).orElseThrow();
+        assertThat(details.getName()).isEqualTo("Kuro Bytes");
+        assertThat(details.getAccountsDto().getAccountNumber()).isEqualTo(1000000001L);
+        assertThat(details.getCardsDto()).isNull();
+        assertThat(details.getLoansDto().getOutstandingAmount()).isEqualTo(90_000);
+        assertThat(projection.find("9999999999")).isEmpty();
+        assertThat(projection.count()).isEqualTo(1);
+    }
+
+    private ProjectionRebuild rebuildWith(CardsPageDto cards, LoansPageDto loans) {
+        when(cardsRestClient.fetchCardsPage(anyLong(), anyInt())).thenReturn(cards);
+        when(loansRestClient.fetchLoansPage(anyLong(), anyInt())).thenReturn(loans);
+        return rebuilder.rebuild();
+    }
+
+    private static CardChangedEvent cardEvent(long occurredAt, int amountUsed) {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(MOBILE_NUMBER);
+        cardsDto.setCardNumber("100646930341");
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100_000);
+        cardsDto.setAmountUsed(amountUsed);
+        cardsDto.setAvailableAmount(100_000 - amountUsed);
+        return new CardChangedEvent("1", "CARD_UPDATED", Instant.ofEpochMilli(occurredAt), MOBILE_NUMBER, cardsDto);
+    }
+
+    private static LoanChangedEvent loanEvent(long occurredAt) {
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber(MOBILE_NUMBER);
+        loansDto.setLoanNumber("548732457654");
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100_000);
+        loansDto.setAmountPaid(10_000);
+        loansDto.setOutstandingAmount(90_000);
+        return new LoanChangedEvent("3", "LOAN_UPDATED", Instant.ofEpochMilli(occurredAt), MOBILE_NUMBER, loansDto);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.kurobytes.accounts.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerDetailsDtoSerializerTests {
+
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper streamingMapper = Jackson2ObjectMapperBuilder.json()
+            .serializerByType(CustomerDetailsDto.class, new CustomerDetailsDtoSerializer())
+            .build();
+
+    @Test
+    void writesTheSameJsonAsTheBeanSerializer() throws Exception {
+        CustomerDetailsDto customerDetails = customerDetails();
+        AccountsDto accounts = new AccountsDto();
+        accounts.setAccountNumber(1234567890L);
+        accounts.setAccountType("Savings");
+        accounts.setBranchAddress("123 Main Street, New York");
+        LoansDto loans = new LoansDto();
+        loans.setMobileNumber("4354437687");
+        loans.setLoanNumber("548732457654");
+        loans.setLoanType("Home Loan");
+        loans.setTotalLoan(100000);
+        loans.setAmountPaid(1000);
+        loans.setOutstandingAmount(99000);
+        CardsDto cards = new CardsDto();
+        cards.setMobileNumber("4354437687");
+        cards.setCardNumber("100646930341");
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAmountUsed(1000);
+        cards.setAvailableAmount(99000);
+        customerDetails.setAccountsDto(accounts);
+        customerDetails.setLoansDto(loans);
+        customerDetails.setCardsDto(cards);
+
+        assertThat(streamingMapper.writeValueAsString(customerDetails))
+                .isEqualTo(beanMapper.writeValueAsString(customerDetails));
+    }
+
+    @Test
+    void writesMissingPartsAsNull() throws Exception {
+        CustomerDetailsDto customerDetails = customerDetails();
+        customerDetails.setAccountsDto(new AccountsDto());
+
+        assertThat(streamingMapper.writeValueAsString(customerDetails))
+                .isEqualTo(beanMapper.writeValueAsString(customerDetails));
+    }
+
+    private static CustomerDetailsDto customerDetails() {
+        CustomerDetailsDto customerDetails = new CustomerDetailsDto();
+        customerDetails.setName("Madan Reddy");
+        customerDetails.setEmail("tutor@kurobytes.com");
+        customerDetails.setMobileNumber("4354437687");
+        return customerDetails;
+    }
+
+}
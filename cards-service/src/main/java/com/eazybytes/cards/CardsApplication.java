@@ -1,22 +1,27 @@
 package com.kurobytes.cards;
 
 import com.kurobytes.cards.dto.CardsContactInfoDto;
+import com.kurobytes.cards.ledger.CardLedgerProperties;
+import com.kurobytes.cards.statement.StatementProperties;
+import com.kurobytes.common.startup.BufferedStartup;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
-import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 /*@ComponentScans({ @ComponentScan("com.kurobytes.cards.controller") })
 @EnableJpaRepositories("com.kurobytes.cards.repository")
 @EntityScan("com.kurobytes.cards.model")*/
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = {CardsContactInfoDto.class})
+@EnableScheduling
+@EnableConfigurationProperties(value = {CardsContactInfoDto.class, CardLedgerProperties.class,
+		StatementProperties.class})
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Cards microservice REST API Documentation",
@@ -40,6 +45,6 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 public class CardsApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(CardsApplication.class, args);
+		BufferedStartup.application(CardsApplication.class).run(args);
 	}
 }
@@ -15,6 +15,8 @@ public final class CardsConstants {
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final String  MESSAGE_200_CHARGE = "Charge applied successfully";
+    public static final String  MESSAGE_200_PAYMENT = "Payment applied successfully";
     // public static final String  STATUS_500 = "500";
     // public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 
@@ -1,8 +1,11 @@
 package com.kurobytes.cards.controller;
 
 import com.kurobytes.cards.constants.CardsConstants;
+import com.kurobytes.cards.dto.CardBalanceDto;
+import com.kurobytes.cards.dto.CardTransactionDto;
 import com.kurobytes.cards.dto.CardsContactInfoDto;
 import com.kurobytes.cards.dto.CardsDto;
+import com.kurobytes.cards.dto.CardsPageDto;
 import com.kurobytes.cards.dto.ResponseDto;
 import com.kurobytes.cards.service.ICardsService;
 import com.kurobytes.common.dto.ErrorResponseDto;
@@ -13,6 +16,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +39,7 @@ import org.springframework.web.bind.annotation.*;
         description = "CRUD REST APIs in KuroBank to CREATE, UPDATE, FETCH AND DELETE card details"
 )
 @RestController
-@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @Validated
 public class CardsController {
 
@@ -111,6 +116,35 @@ public class CardsController {
         return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
     }
 
+    @Operation(
+            summary = "Fetch All Cards REST API",
+            description = "REST API to page through all cards ordered by card ID, used to rebuild read models"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/fetch-all")
+    public ResponseEntity<CardsPageDto> fetchAllCards(@RequestParam(defaultValue = "0")
+                                                      @Min(value = 0, message = "afterCardId must not be negative")
+                                                      long afterCardId,
+                                                      @RequestParam(defaultValue = "500")
+                                                      @Min(value = 1, message = "limit must be at least 1")
+                                                      @Max(value = 1000, message = "limit must be at most 1000")
+                                                      int limit) {
+        CardsPageDto cardsPageDto = iCardsService.fetchCardsPage(afterCardId, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(cardsPageDto);
+    }
+
     @Operation(
             summary = "Update Card Details REST API",
             description = "REST API to update card details based on a card number"
@@ -120,6 +154,13 @@ public class CardsController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status Conflict",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "417",
                     description = "Expectation Failed"
@@ -146,6 +187,109 @@ public class CardsController {
         }
     }
 
+    @Operation(
+            summary = "Charge Card REST API",
+            description = "REST API to charge an amount to a card, rejected when the available amount is too low"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "HTTP Status Unprocessable Entity",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/charge")
+    public ResponseEntity<ResponseDto> chargeCard(@Valid @RequestBody CardTransactionDto cardTransactionDto) {
+        iCardsService.charge(cardTransactionDto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200_CHARGE));
+    }
+
+    @Operation(
+            summary = "Card Payment REST API",
+            description = "REST API to pay back an amount on a card, rejected when it exceeds the amount used"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "HTTP Status Unprocessable Entity",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/payment")
+    public ResponseEntity<ResponseDto> cardPayment(@Valid @RequestBody CardTransactionDto cardTransactionDto) {
+        iCardsService.payment(cardTransactionDto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200_PAYMENT));
+    }
+
+    @Operation(
+            summary = "Fetch Card Ledger Balance REST API",
+            description = "REST API to fetch the amount used of a card as derived from its transaction ledger"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/balance")
+    public ResponseEntity<CardBalanceDto> fetchLedgerBalance(@RequestParam
+                                                             @Pattern(regexp="(^$|[0-9]{12})",message = "CardNumber must be 12 digits")
+                                                             String cardNumber) {
+        CardBalanceDto cardBalanceDto = iCardsService.fetchLedgerBalance(cardNumber);
+        return ResponseEntity.status(HttpStatus.OK).body(cardBalanceDto);
+    }
+
     @Operation(
             summary = "Delete Card Details REST API",
             description = "REST API to delete Card details based on a mobile number"
@@ -0,0 +1,34 @@
+package com.kurobytes.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "CardBalance",
+        description = "Schema to hold the amount used of a card as derived from the transaction ledger"
+)
+@Data @AllArgsConstructor @NoArgsConstructor
+public class CardBalanceDto {
+
+    @Schema(
+            description = "Card Number of the customer", example = "100646930341"
+    )
+    private String cardNumber;
+
+    @Schema(
+            description = "Latest balance snapshot plus the ledger entries written after it", example = "1000"
+    )
+    private long amountUsed;
+
+    @Schema(
+            description = "Newest ledger entry included in the amount used", example = "42"
+    )
+    private long lastTransactionId;
+
+    @Schema(
+            description = "Ledger entries replayed on top of the snapshot", example = "3"
+    )
+    private long replayedEntries;
+
+}
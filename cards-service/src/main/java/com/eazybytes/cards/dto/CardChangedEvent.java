@@ -0,0 +1,26 @@
+package com.kurobytes.cards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Published on {@code card-events}, keyed by mobile number so that the events of one customer stay in order.
+ * {@code cardsDto} is the full card state after the change and is null for {@code CARD_DELETED}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardChangedEvent {
+    public static final String CARD_CREATED = "CARD_CREATED";
+    public static final String CARD_UPDATED = "CARD_UPDATED";
+    public static final String CARD_DELETED = "CARD_DELETED";
+
+    private String eventId;
+    private String eventType;
+    private Instant occurredAt;
+    private String mobileNumber;
+    private CardsDto cardsDto;
+}
@@ -0,0 +1,28 @@
+package com.kurobytes.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Schema(name = "CardTransaction",
+        description = "Schema to hold a charge or payment against a card"
+)
+@Data
+public class CardTransactionDto {
+
+    @NotEmpty(message = "Card Number can not be a null or empty")
+    @Pattern(regexp="(^$|[0-9]{12})",message = "CardNumber must be 12 digits")
+    @Schema(
+            description = "Card Number of the customer", example = "100646930341"
+    )
+    private String cardNumber;
+
+    @Positive(message = "Amount should be greater than zero")
+    @Schema(
+            description = "Amount to charge to or pay back on the card", example = "500"
+    )
+    private int amount;
+
+}
@@ -0,0 +1,39 @@
+package com.kurobytes.cards.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kurobytes.common.json.StreamingSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+@JsonComponent
+@ConditionalOnProperty(prefix = "kurobank.json", name = "streaming-serializers", havingValue = "true")
+public class CardsDtoSerializer extends StreamingSerializer<CardsDto> {
+
+    private static final SerializedString MOBILE_NUMBER = name("mobileNumber");
+    private static final SerializedString CARD_NUMBER = name("cardNumber");
+    private static final SerializedString CARD_TYPE = name("cardType");
+    private static final SerializedString TOTAL_LIMIT = name("totalLimit");
+    private static final SerializedString AMOUNT_USED = name("amountUsed");
+    private static final SerializedString AVAILABLE_AMOUNT = name("availableAmount");
+
+    public CardsDtoSerializer() {
+        super(CardsDto.class);
+    }
+
+    @Override
+    public void serialize(CardsDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, MOBILE_NUMBER, value.getMobileNumber());
+        writeString(gen, CARD_NUMBER, value.getCardNumber());
+        writeString(gen, CARD_TYPE, value.getCardType());
+        writeNumber(gen, TOTAL_LIMIT, value.getTotalLimit());
+        writeNumber(gen, AMOUNT_USED, value.getAmountUsed());
+        writeNumber(gen, AVAILABLE_AMOUNT, value.getAvailableAmount());
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.kurobytes.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(name = "CardsPage",
+        description = "Schema to hold one page of cards ordered by card ID"
+)
+@Data
+public class CardsPageDto {
+
+    @Schema(
+            description = "Cards in the page"
+    )
+    private List<CardsDto> cards = new ArrayList<>();
+
+    @Schema(
+            description = "Card ID to pass as afterCardId for the next page, absent on the last page", example = "500"
+    )
+    private Long nextAfterCardId;
+
+}
@@ -1,12 +1,20 @@
 package com.kurobytes.cards.entity;
 
+import com.kurobytes.common.id.PooledId;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
+@NaturalIdCache(region = "cards-natural-id")
 @Getter
 @Setter
 @ToString
@@ -15,19 +23,23 @@ import lombok.*;
 public class Cards extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(name = "cards")
     private Long cardId;
 
     private String mobileNumber;
 
+    @NaturalId
     private String cardNumber;
 
     private String cardType;
 
     private int totalLimit;
 
+    /** Written on insert only; afterwards {@code CardLedger} owns the balance columns */
+    @Column(updatable = false)
     private int amountUsed;
 
+    @Column(updatable = false)
     private int availableAmount;
 
 }
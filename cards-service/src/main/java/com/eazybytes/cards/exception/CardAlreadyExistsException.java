@@ -1,12 +1,10 @@
 package com.kurobytes.cards.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import com.kurobytes.common.exception.ResourceAlreadyExistsException;
 
-@ResponseStatus(value = HttpStatus.BAD_REQUEST)
-public class CardAlreadyExistsException extends RuntimeException {
+public class CardAlreadyExistsException extends ResourceAlreadyExistsException {
 
-    public CardAlreadyExistsException(String message){
+    public CardAlreadyExistsException(String message) {
         super(message);
     }
 
@@ -0,0 +1,12 @@
+package com.kurobytes.cards.exception;
+
+import com.kurobytes.common.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+
+public class CardBalanceChangedException extends BusinessException {
+
+    public CardBalanceChangedException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+
+}
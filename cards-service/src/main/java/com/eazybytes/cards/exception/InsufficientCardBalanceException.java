@@ -0,0 +1,12 @@
+package com.kurobytes.cards.exception;
+
+import com.kurobytes.common.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+
+public class InsufficientCardBalanceException extends BusinessException {
+
+    public InsufficientCardBalanceException(String message) {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, message);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.kurobytes.cards.ledger;
+
+import com.kurobytes.cards.dto.CardBalanceDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compacts the ledger into {@code card_balance_snapshot} and reads balances as snapshot plus tail replay.
+ * <p>
+ * Every compaction folds the entries after the watermark (the highest {@code last_transaction_id} of all
+ * snapshots) into the snapshots, so a balance read only replays the entries written since the last compaction.
+ */
+@Component
+public class CardBalanceSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardBalanceSnapshots.class);
+
+    private static final String HEAD_SQL = "select coalesce(max(transaction_id), 0) from card_transactions";
+    private static final String WATERMARK_SQL =
+            "select coalesce(max(last_transaction_id), 0) from card_balance_snapshot";
+    private static final String COMPACT_SQL = "insert into card_balance_snapshot "
+            + "(card_number, last_transaction_id, amount_used, snapshot_at) "
+            + "select t.card_number, ?, coalesce((select s.amount_used from card_balance_snapshot s "
+            + "where s.card_number = t.card_number), 0) + sum(t.amount), ? "
+            + "from card_transactions t where t.transaction_id > ? and t.transaction_id <= ? "
+            + "group by t.card_number "
+            + "on conflict(card_number) do update set last_transaction_id = excluded.last_transaction_id, "
+            + "amount_used = excluded.amount_used, snapshot_at = excluded.snapshot_at";
+    private static final String BALANCE_SQL = "with s as (select amount_used, last_transaction_id "
+            + "from card_balance_snapshot where card_number = ?) "
+            + "select coalesce((select amount_used from s), 0) + coalesce(sum(t.amount), 0), "
+            + "coalesce(max(t.transaction_id), (select last_transaction_id from s), 0), count(t.transaction_id) "
+            + "from card_transactions t "
+            + "where t.card_number = ? and t.transaction_id > coalesce((select last_transaction_id from s), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Timer compactionTimer;
+    private final Timer rebuildTimer;
+    private final DistributionSummary foldedEntries;
+
+    private long watermark = -1;
+    private volatile long lastCompaction = System.nanoTime();
+
+    public CardBalanceSnapshots(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                CardLedgerProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.getCompactionChunkSize();
+        this.compactionTimer = Timer.builder("cards.ledger.compaction")
+                .description("Time to fold new ledger entries into the balance snapshots")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("cards.ledger.rebuild")
+                .description("Time to rebuild every balance snapshot from the full ledger")
+                .register(meterRegistry);
+        this.foldedEntries = DistributionSummary.builder("cards.ledger.compaction.entries")
+                .description("Ledger entries behind the snapshots when a compaction starts")
+                .register(meterRegistry);
+        Gauge.builder("cards.ledger.snapshot.age", this,
+                        snapshots -> (System.nanoTime() - snapshots.lastCompaction) / 1e9)
+                .description("Seconds since the snapshots last caught up with the ledger")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Folds every entry up to the current head of the ledger into the snapshots, one chunk per transaction.
+     *
+     * @return number of ledger entries folded
+     */
+    @Scheduled(fixedDelayString = "${kurobank.cards.ledger.snapshot-interval:PT30S}")
+    public synchronized long compact() {
+        if (watermark < 0) {
+            watermark = jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class);
+        }
+        long head = head();
+        long lag = head - watermark;
+        foldedEntries.record(lag);
+        if (lag > 0) {
+            compactionTimer.record(() -> foldTo(head));
+        }
+        lastCompaction = System.nanoTime();
+        return lag;
+    }
+
+    /**
+     * Drops every snapshot and folds the whole ledger again.
+     *
+     * @return elapsed time in milliseconds
+     */
+    public synchronized long rebuild() {
+        long start = System.nanoTime();
+        rebuildTimer.record(() -> {
+            jdbcTemplate.update("delete from card_balance_snapshot");
+            watermark = 0;
+            foldTo(head());
+        });
+        lastCompaction = System.nanoTime();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Rebuilt card balance snapshots up to transaction {} in {} ms", watermark, elapsed);
+        return elapsed;
+    }
+
+    /**
+     * @param cardNumber - Card Number
+     * @return snapshot plus the ledger entries written after it, evaluated in one statement
+     */
+    public CardBalanceDto balance(String cardNumber) {
+        return jdbcTemplate.queryForObject(BALANCE_SQL, (rs, rowNum) -> new CardBalanceDto(cardNumber,
+                rs.getLong(1), rs.getLong(2), rs.getLong(3)), cardNumber, cardNumber);
+    }
+
+    /**
+     * @return id of the newest ledger entry
+     */
+    public long head() {
+        return jdbcTemplate.queryForObject(HEAD_SQL, Long.class);
+    }
+
+    /**
+     * @return id of the newest ledger entry folded into the snapshots, -1 before the first compaction
+     */
+    public synchronized long watermark() {
+        return watermark;
+    }
+
+    private void foldTo(long head) {
+        while (watermark < head) {
+            long from = watermark;
+            long to = Math.min(head, from + chunkSize);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(COMPACT_SQL, to,
+                    new Timestamp(System.currentTimeMillis()), from, to));
+            watermark = to;
+        }
+    }
+
+}
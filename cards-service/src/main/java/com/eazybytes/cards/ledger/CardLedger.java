@@ -0,0 +1,292 @@
+package com.kurobytes.cards.ledger;
+
+import com.kurobytes.cards.entity.Cards;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer for card balances and the {@code card_transactions} ledger.
+ * <p>
+ * Charges and payments are queued and committed in groups: one JDBC batch of conditional UPDATEs on
+ * {@code cards}, then one batch INSERT of the accepted entries, in the same transaction. SQLite admits one writer
+ * at a time anyway, so queueing here replaces lock contention between request threads with a single commit per
+ * batch. The futures returned by {@link #submit} complete only after that commit, by which time the changed cards
+ * have been evicted from the second-level cache.
+ * <p>
+ * The writer owns {@code amount_used} and {@code available_amount}: adjustments made through {@code updateCard}
+ * are queued here as well, so they are ordered with charges and payments instead of racing them.
+ */
+@Component
+public class CardLedger implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardLedger.class);
+
+    /** The guards keep available_amount and amount_used from going negative for a signed delta */
+    static final String APPLY_SQL = "update cards set amount_used = amount_used + ?, "
+            + "available_amount = available_amount - ?, updated_at = ?, updated_by = ? "
+            + "where card_number = ? and available_amount >= ? and amount_used + ? >= 0";
+    /** Applies an adjustment only if nothing changed the amount used since the caller read it */
+    static final String ADJUST_SQL = "update cards set amount_used = amount_used + ?, "
+            + "available_amount = ?, updated_at = ?, updated_by = ? "
+            + "where card_number = ? and amount_used = ?";
+    static final String APPEND_SQL = "insert into card_transactions "
+            + "(card_number, transaction_type, amount, created_at, created_by) values (?, ?, ?, ?, ?)";
+    private static final String OPENING_SQL = "insert into card_transactions "
+            + "(card_number, transaction_type, amount, created_at, created_by) "
+            + "select c.card_number, '" + TransactionType.OPENING + "', c.amount_used, ?, ? from cards c "
+            + "where c.amount_used <> 0 and not exists "
+            + "(select 1 from card_transactions t where t.card_number = c.card_number)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final BlockingQueue<Operation> queue;
+    private final int batchSize;
+    private final long submitTimeoutNanos;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter appended;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CardLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      AuditorAware<String> auditorAware, EntityCacheEvictor entityCacheEvictor,
+                      CardLedgerProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditorAware = auditorAware;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.submitTimeoutNanos = properties.getSubmitTimeout().toNanos();
+        this.batchTimer = Timer.builder("cards.ledger.batch")
+                .description("Time to apply and commit one batch of charges and payments")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("cards.ledger.batch.size")
+                .description("Operations committed per batch")
+                .register(meterRegistry);
+        this.appended = Counter.builder("cards.ledger.entries")
+                .description("Entries appended to the card ledger")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("cards.ledger.rejected")
+                .description("Charges, payments and adjustments rejected by the balance guard")
+                .register(meterRegistry);
+        Gauge.builder("cards.ledger.queue", queue, BlockingQueue::size)
+                .description("Charges and payments waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param cardNumber - Card Number
+     * @param type       - CHARGE or PAYMENT
+     * @param delta      - Signed change of the amount used
+     * @return completes with true once the entry is committed, false when the balance guard rejected it
+     */
+    public CompletableFuture<Boolean> submit(String cardNumber, TransactionType type, int delta) {
+        return enqueue(new Operation(cardNumber, type, delta, 0, 0, new CompletableFuture<>()));
+    }
+
+    /**
+     * Sets the amount used and available amount of a card, as long as the amount used is still the one the caller
+     * read. The change of the amount used is appended as an {@link TransactionType#ADJUSTMENT} entry.
+     *
+     * @param cardNumber         - Card Number
+     * @param expectedAmountUsed - Amount used the new values were computed from
+     * @param amountUsed         - New amount used
+     * @param availableAmount    - New available amount
+     * @return completes with true once the adjustment is committed, false when the amount used had changed
+     */
+    public CompletableFuture<Boolean> submitAdjustment(String cardNumber, int expectedAmountUsed, int amountUsed,
+                                                       int availableAmount) {
+        return enqueue(new Operation(cardNumber, TransactionType.ADJUSTMENT, amountUsed - expectedAmountUsed,
+                expectedAmountUsed, availableAmount, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Boolean> enqueue(Operation operation) {
+        try {
+            if (!queue.offer(operation, submitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                operation.result.completeExceptionally(new RejectedExecutionException("Card ledger queue is full"));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            operation.result.completeExceptionally(ex);
+        }
+        return operation.result;
+    }
+
+    /**
+     * @return how long callers should wait for {@link #submit}
+     */
+    public long submitTimeoutNanos() {
+        return submitTimeoutNanos;
+    }
+
+    @Override
+    public void start() {
+        // 台帳導入前から残高を持つカードには開始残高を1件だけ書く
+        int opened = jdbcTemplate.update(OPENING_SQL, new Timestamp(System.currentTimeMillis()), currentAuditor());
+        if (opened > 0) {
+            logger.info("Wrote opening ledger entries for {} cards", opened);
+        }
+        running = true;
+        thread = new Thread(this::run, "cards-ledger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<Operation> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Operation first = running ? queue.take() : queue.poll();
+                if (first == null) {
+                    break;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Operation> batch) {
+        long start = System.nanoTime();
+        boolean[] accepted;
+        try {
+            accepted = transactionTemplate.execute(status -> apply(batch));
+        } catch (RuntimeException ex) {
+            logger.warn("Card ledger batch of {} failed: {}", batch.size(), ex.toString());
+            batch.forEach(operation -> operation.result.completeExceptionally(ex));
+            return;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(accepted[i]);
+        }
+    }
+
+    private boolean[] apply(List<Operation> batch) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String auditor = currentAuditor();
+        // バッチ内は順に実行されるので、同じカードへの連続した操作もガードが正しく効く
+        int[] counts = new int[batch.size()];
+        int from = 0;
+        while (from < batch.size()) {
+            boolean adjustment = batch.get(from).type == TransactionType.ADJUSTMENT;
+            int to = from + 1;
+            while (to < batch.size() && (batch.get(to).type == TransactionType.ADJUSTMENT) == adjustment) {
+                to++;
+            }
+            List<Object[]> updates = new ArrayList<>(to - from);
+            for (Operation operation : batch.subList(from, to)) {
+                updates.add(adjustment
+                        ? new Object[]{operation.delta, operation.availableAmount, now, auditor, operation.cardNumber,
+                        operation.expectedAmountUsed}
+                        : new Object[]{operation.delta, operation.delta, now, auditor, operation.cardNumber,
+                        operation.delta, operation.delta});
+            }
+            int[] runCounts = jdbcTemplate.batchUpdate(adjustment ? ADJUST_SQL : APPLY_SQL, updates);
+            System.arraycopy(runCounts, 0, counts, from, runCounts.length);
+            from = to;
+        }
+
+        boolean[] accepted = new boolean[batch.size()];
+        List<Object[]> entries = new ArrayList<>(batch.size());
+        Set<String> changedCards = new LinkedHashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Operation operation = batch.get(i);
+            accepted[i] = counts[i] > 0;
+            if (accepted[i]) {
+                if (operation.delta != 0) {
+                    entries.add(new Object[]{operation.cardNumber, operation.type.name(), operation.delta, now,
+                            auditor});
+                }
+                changedCards.add(operation.cardNumber);
+            }
+        }
+        if (!entries.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPEND_SQL, entries);
+        }
+        if (!changedCards.isEmpty()) {
+            evict(changedCards);
+        }
+        appended.increment(entries.size());
+        int acceptedCount = 0;
+        for (boolean applied : accepted) {
+            acceptedCount += applied ? 1 : 0;
+        }
+        rejected.increment(batch.size() - acceptedCount);
+        return accepted;
+    }
+
+    /**
+     * The UPDATE bypasses Hibernate, so the cached cards are evicted by ID once the batch commits.
+     */
+    private void evict(Set<String> cardNumbers) {
+        List<Long> cardIds = jdbcTemplate.queryForList("select card_id from cards where card_number in ("
+                + String.join(", ", Collections.nCopies(cardNumbers.size(), "?")) + ")", Long.class,
+                cardNumbers.toArray());
+        entityCacheEvictor.evict(Cards.class, cardIds);
+    }
+
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    /**
+     * @param expectedAmountUsed - Amount used an adjustment is conditional on, unused for charges and payments
+     * @param availableAmount    - Available amount an adjustment sets, unused for charges and payments
+     */
+    private record Operation(String cardNumber, TransactionType type, int delta, int expectedAmountUsed,
+                             int availableAmount, CompletableFuture<Boolean> result) {
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.kurobytes.cards.ledger;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/cardledger}: snapshot lag on read, full snapshot rebuild on write.
+ */
+@Component
+@Endpoint(id = "cardledger")
+public class CardLedgerEndpoint {
+
+    private final CardBalanceSnapshots snapshots;
+
+    public CardLedgerEndpoint(CardBalanceSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @ReadOperation
+    public Map<String, Long> lag() {
+        long head = snapshots.head();
+        long watermark = snapshots.watermark();
+        return Map.of("head", head, "watermark", watermark, "lagEntries", watermark < 0 ? head : head - watermark);
+    }
+
+    @WriteOperation
+    public Map<String, Long> rebuild() {
+        long elapsed = snapshots.rebuild();
+        return Map.of("watermark", snapshots.watermark(), "elapsedMillis", elapsed);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.kurobytes.cards.ledger;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.cards.ledger")
+@Getter @Setter
+public class CardLedgerProperties {
+
+    /**
+     * Maximum number of charges and payments committed in one transaction.
+     */
+    private int batchSize = 256;
+
+    /**
+     * Capacity of the queue in front of the writer thread; submissions beyond it are rejected.
+     */
+    private int queueCapacity = 8192;
+
+    /**
+     * How long a charge or payment waits for its batch to commit.
+     */
+    private Duration submitTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Delay between two compactions of the ledger into {@code card_balance_snapshot}.
+     */
+    private Duration snapshotInterval = Duration.ofSeconds(30);
+
+    /**
+     * Ledger entries folded into snapshots per transaction, bounding how long a compaction holds the write lock.
+     */
+    private int compactionChunkSize = 1_000_000;
+
+}
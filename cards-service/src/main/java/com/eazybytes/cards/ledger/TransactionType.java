@@ -0,0 +1,14 @@
+package com.kurobytes.cards.ledger;
+
+/**
+ * Kind of a {@code card_transactions} entry. The entry amount is always the signed change of the amount used.
+ */
+public enum TransactionType {
+
+    CHARGE,
+    PAYMENT,
+    ADJUSTMENT,
+    /** Amount used of a card that existed before the ledger, written once at startup */
+    OPENING
+
+}
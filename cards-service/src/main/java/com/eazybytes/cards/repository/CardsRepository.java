@@ -1,16 +1,27 @@
 package com.kurobytes.cards.repository;
 
 import com.kurobytes.cards.entity.Cards;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CardsRepository extends JpaRepository<Cards, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Cards> findByMobileNumber(String mobileNumber);
 
-    Optional<Cards> findByCardNumber(String cardNumber);
+    boolean existsByCardNumber(String cardNumber);
+
+    List<Cards> findByCardNumberIn(Collection<String> cardNumbers);
+
+    List<Cards> findByCardIdGreaterThanOrderByCardIdAsc(Long cardId, Limit limit);
 
 }
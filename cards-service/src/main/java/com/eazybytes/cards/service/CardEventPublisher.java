@@ -0,0 +1,125 @@
+package com.kurobytes.cards.service;
+
+import com.kurobytes.cards.dto.CardChangedEvent;
+import com.kurobytes.cards.dto.CardsDto;
+import com.kurobytes.cards.entity.Cards;
+import com.kurobytes.cards.mapper.CardsMapper;
+import com.kurobytes.cards.repository.CardsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes {@link CardChangedEvent}s for the customer 360 read model in accounts.
+ * <p>
+ * Events are sent after the change commits and {@code occurredAt} is taken at that point, so an event never
+ * carries a time older than the state it describes. Charges and payments only mark the card; the marked cards
+ * are read back and published by {@link #flushBalances()}, which coalesces a burst of ledger writes into one
+ * event per card. Sending is best effort: a lost event is repaired by the read model's rebuild.
+ */
+@Service
+public class CardEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardEventPublisher.class);
+
+    public static final String BINDING = "card-events";
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final StreamBridge streamBridge;
+    private final CardsRepository cardsRepository;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> changedBalances = ConcurrentHashMap.newKeySet();
+
+    public CardEventPublisher(StreamBridge streamBridge, CardsRepository cardsRepository,
+                              MeterRegistry meterRegistry) {
+        this.streamBridge = streamBridge;
+        this.cardsRepository = cardsRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param eventType - {@link CardChangedEvent#CARD_CREATED} or {@link CardChangedEvent#CARD_UPDATED}
+     * @param cards     - Card state as written by the current transaction
+     */
+    public void cardChanged(String eventType, Cards cards) {
+        CardsDto cardsDto = CardsMapper.mapToCardsDto(cards, new CardsDto());
+        afterCommit(() -> send(eventType, Instant.now(), cardsDto.getMobileNumber(), cardsDto));
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted card
+     */
+    public void cardDeleted(String mobileNumber) {
+        afterCommit(() -> send(CardChangedEvent.CARD_DELETED, Instant.now(), mobileNumber, null));
+    }
+
+    /**
+     * @param cardNumber - Card whose amount used changed in a committed ledger batch
+     */
+    public void balanceChanged(String cardNumber) {
+        changedBalances.add(cardNumber);
+    }
+
+    @Scheduled(fixedDelayString = "${kurobank.cards.events.balance-flush-interval:PT0.2S}")
+    public void flushBalances() {
+        if (changedBalances.isEmpty()) {
+            return;
+        }
+        List<String> cardNumbers = new ArrayList<>(changedBalances);
+        changedBalances.removeAll(cardNumbers);
+        // 読み取り前に時刻を採る：読んだ行はこの時刻以降の状態なので、古いイベントが新しい状態を上書きしない
+        Instant readAt = Instant.now();
+        for (int from = 0; from < cardNumbers.size(); from += FLUSH_CHUNK_SIZE) {
+            List<String> chunk = cardNumbers.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, cardNumbers.size()));
+            for (Cards cards : cardsRepository.findByCardNumberIn(chunk)) {
+                send(CardChangedEvent.CARD_UPDATED, readAt, cards.getMobileNumber(),
+                        CardsMapper.mapToCardsDto(cards, new CardsDto()));
+            }
+        }
+    }
+
+    private void send(String eventType, Instant occurredAt, String mobileNumber, CardsDto cardsDto) {
+        CardChangedEvent event = new CardChangedEvent(UUID.randomUUID().toString(), eventType, occurredAt,
+                mobileNumber, cardsDto);
+        boolean sent;
+        try {
+            sent = streamBridge.send(BINDING, MessageBuilder.withPayload(event)
+                    .setHeader(KafkaHeaders.KEY, mobileNumber.getBytes(StandardCharsets.UTF_8))
+                    .build());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to publish {} for mobile number {}", eventType, mobileNumber, ex);
+            sent = false;
+        }
+        meterRegistry.counter(sent ? "events.published" : "events.failed", "event.type", eventType).increment();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.kurobytes.cards.service;
 
+import com.kurobytes.cards.dto.CardBalanceDto;
+import com.kurobytes.cards.dto.CardTransactionDto;
 import com.kurobytes.cards.dto.CardsDto;
+import com.kurobytes.cards.dto.CardsPageDto;
 
 public interface ICardsService {
 
@@ -31,4 +34,31 @@ public interface ICardsService {
      */
     boolean deleteCard(String mobileNumber);
 
+    /**
+     *
+     * @param cardTransactionDto - Card Number and amount to charge
+     */
+    void charge(CardTransactionDto cardTransactionDto);
+
+    /**
+     *
+     * @param cardTransactionDto - Card Number and amount to pay back
+     */
+    void payment(CardTransactionDto cardTransactionDto);
+
+    /**
+     *
+     * @param cardNumber - Input Card Number
+     * @return amount used of the card as derived from the transaction ledger
+     */
+    CardBalanceDto fetchLedgerBalance(String cardNumber);
+
+    /**
+     *
+     * @param afterCardId - Card ID after which the page starts, 0 for the first page
+     * @param limit - Maximum number of cards in the page
+     * @return cards ordered by card ID, used to rebuild read models in other services
+     */
+    CardsPageDto fetchCardsPage(long afterCardId, int limit);
+
 }
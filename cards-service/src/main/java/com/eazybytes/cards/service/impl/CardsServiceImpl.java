@@ -1,18 +1,35 @@
 package com.kurobytes.cards.service.impl;
 
 import com.kurobytes.cards.constants.CardsConstants;
+import com.kurobytes.cards.dto.CardBalanceDto;
+import com.kurobytes.cards.dto.CardChangedEvent;
+import com.kurobytes.cards.dto.CardTransactionDto;
 import com.kurobytes.cards.dto.CardsDto;
+import com.kurobytes.cards.dto.CardsPageDto;
 import com.kurobytes.cards.entity.Cards;
 import com.kurobytes.cards.exception.CardAlreadyExistsException;
-import com.kurobytes.cards.exception.ResourceNotFoundException;
+import com.kurobytes.cards.exception.CardBalanceChangedException;
+import com.kurobytes.cards.exception.InsufficientCardBalanceException;
+import com.kurobytes.cards.ledger.CardBalanceSnapshots;
+import com.kurobytes.cards.ledger.CardLedger;
+import com.kurobytes.cards.ledger.TransactionType;
 import com.kurobytes.cards.mapper.CardsMapper;
 import com.kurobytes.cards.repository.CardsRepository;
+import com.kurobytes.cards.service.CardEventPublisher;
 import com.kurobytes.cards.service.ICardsService;
+import com.kurobytes.common.cache.NaturalIdLookup;
+import com.kurobytes.common.exception.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @AllArgsConstructor
@@ -20,6 +37,14 @@ public class CardsServiceImpl implements ICardsService {
 
     private CardsRepository cardsRepository;
 
+    private CardLedger cardLedger;
+
+    private CardBalanceSnapshots cardBalanceSnapshots;
+
+    private CardEventPublisher cardEventPublisher;
+
+    private NaturalIdLookup naturalIdLookup;
+
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
@@ -29,7 +54,8 @@ public class CardsServiceImpl implements ICardsService {
         if(optionalCards.isPresent()){
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
         }
-        cardsRepository.save(createNewCard(mobileNumber));
+        Cards savedCard = cardsRepository.save(createNewCard(mobileNumber));
+        cardEventPublisher.cardChanged(CardChangedEvent.CARD_CREATED, savedCard);
     }
 
     /**
@@ -62,16 +88,28 @@ public class CardsServiceImpl implements ICardsService {
     }
 
     /**
+     * A balance change is queued on the {@link CardLedger} as an adjustment conditional on the amount used read
+     * here, so a charge or payment committed in between is never overwritten. The other fields are saved
+     * afterwards; the balance columns are not updatable through JPA.
      *
      * @param cardsDto - CardsDto Object
      * @return boolean indicating if the update of card details is successful or not
      */
     @Override
     public boolean updateCard(CardsDto cardsDto) {
-        Cards cards = cardsRepository.findByCardNumber(cardsDto.getCardNumber()).orElseThrow(
+        Cards cards = naturalIdLookup.find(Cards.class, cardsDto.getCardNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber()));
+        if (cardsDto.getAmountUsed() != cards.getAmountUsed()
+                || cardsDto.getAvailableAmount() != cards.getAvailableAmount()) {
+            if (!await(cardLedger.submitAdjustment(cards.getCardNumber(), cards.getAmountUsed(),
+                    cardsDto.getAmountUsed(), cardsDto.getAvailableAmount()))) {
+                throw new CardBalanceChangedException("Amount used of card " + cards.getCardNumber()
+                        + " changed since it was read");
+            }
+        }
         CardsMapper.mapToCards(cardsDto, cards);
         cardsRepository.save(cards);
+        cardEventPublisher.cardChanged(CardChangedEvent.CARD_UPDATED, cards);
         return  true;
     }
 
@@ -85,8 +123,88 @@ public class CardsServiceImpl implements ICardsService {
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
         cardsRepository.deleteById(cards.getCardId());
+        cardEventPublisher.cardDeleted(mobileNumber);
         return true;
     }
 
+    /**
+     * Queues the charge on the {@link CardLedger}, which applies it with a conditional UPDATE and appends the
+     * ledger entry in the same batch transaction, so concurrent charges on one card are never lost.
+     *
+     * @param cardTransactionDto - Card Number and amount to charge
+     */
+    @Override
+    public void charge(CardTransactionDto cardTransactionDto) {
+        String cardNumber = cardTransactionDto.getCardNumber();
+        if (!apply(cardNumber, TransactionType.CHARGE, cardTransactionDto.getAmount())) {
+            // 拒否されたときだけ原因を調べる（ホットパスでは追加のSELECTをしない）
+            throw rejected(cardNumber, "Available amount is lower than the charge for card " + cardNumber);
+        }
+        cardEventPublisher.balanceChanged(cardNumber);
+    }
+
+    /**
+     * @param cardTransactionDto - Card Number and amount to pay back
+     */
+    @Override
+    public void payment(CardTransactionDto cardTransactionDto) {
+        String cardNumber = cardTransactionDto.getCardNumber();
+        if (!apply(cardNumber, TransactionType.PAYMENT, -cardTransactionDto.getAmount())) {
+            throw rejected(cardNumber, "Payment exceeds the amount used for card " + cardNumber);
+        }
+        cardEventPublisher.balanceChanged(cardNumber);
+    }
+
+    /**
+     * @param cardNumber - Card Number
+     * @return amount used derived from the latest balance snapshot and the ledger entries after it
+     */
+    @Override
+    public CardBalanceDto fetchLedgerBalance(String cardNumber) {
+        if (!cardsRepository.existsByCardNumber(cardNumber)) {
+            throw new ResourceNotFoundException("Card", "CardNumber", cardNumber);
+        }
+        return cardBalanceSnapshots.balance(cardNumber);
+    }
+
+    /**
+     * @param afterCardId - Card ID after which the page starts, 0 for the first page
+     * @param limit - Maximum number of cards in the page
+     * @return cards ordered by card ID with the ID to continue after, null on the last page
+     */
+    @Override
+    public CardsPageDto fetchCardsPage(long afterCardId, int limit) {
+        List<Cards> page = cardsRepository.findByCardIdGreaterThanOrderByCardIdAsc(afterCardId, Limit.of(limit));
+        CardsPageDto cardsPageDto = new CardsPageDto();
+        page.forEach(cards -> cardsPageDto.getCards().add(CardsMapper.mapToCardsDto(cards, new CardsDto())));
+        if (page.size() == limit) {
+            cardsPageDto.setNextAfterCardId(page.get(page.size() - 1).getCardId());
+        }
+        return cardsPageDto;
+    }
+
+    private boolean apply(String cardNumber, TransactionType type, int delta) {
+        return await(cardLedger.submit(cardNumber, type, delta));
+    }
+
+    private boolean await(CompletableFuture<Boolean> committed) {
+        try {
+            return committed.get(cardLedger.submitTimeoutNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the card ledger", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Card ledger write failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Card ledger did not commit in time", ex);
+        }
+    }
+
+    private RuntimeException rejected(String cardNumber, String message) {
+        if (!cardsRepository.existsByCardNumber(cardNumber)) {
+            return new ResourceNotFoundException("Card", "CardNumber", cardNumber);
+        }
+        return new InsufficientCardBalanceException(message);
+    }
 
 }
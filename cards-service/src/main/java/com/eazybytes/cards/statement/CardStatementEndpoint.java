@@ -0,0 +1,63 @@
+package com.kurobytes.cards.statement;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/cardstatements}: run report of a month on read (previous month by default), start or resume of
+ * its run on write.
+ */
+@Component
+@Endpoint(id = "cardstatements")
+public class CardStatementEndpoint {
+
+    private final StatementJob statementJob;
+    private final StatementRuns statementRuns;
+    private final StatementThrottle throttle;
+
+    public CardStatementEndpoint(StatementJob statementJob, StatementRuns statementRuns, StatementThrottle throttle) {
+        this.statementJob = statementJob;
+        this.statementRuns = statementRuns;
+        this.throttle = throttle;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report(@Nullable String month) {
+        String statementMonth = resolve(month).toString();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("statementMonth", statementMonth);
+        report.put("activeMonth", statementJob.activeMonth().orElse(null));
+        report.put("throttlePauseMillis", throttle.pause().toMillis());
+        statementRuns.find(statementMonth).ifPresent(run -> {
+            report.put("status", run.status());
+            report.put("partitions", run.partitions());
+            report.put("completedPartitions", run.completedPartitions());
+            report.put("statements", run.cards());
+            report.put("elapsedMillis", run.elapsedMillis());
+            report.put("cardsPerSecond", run.cardsPerSecond());
+            report.put("onlineLatencyBeforeMicros", run.onlineLatencyBeforeUs());
+            report.put("onlineLatencyDuringMicros", run.onlineLatencyDuringUs());
+            report.put("startedAt", run.startedAt());
+            report.put("updatedAt", run.updatedAt());
+        });
+        return report;
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String month) {
+        YearMonth statementMonth = resolve(month);
+        return Map.of("statementMonth", statementMonth.toString(), "started", statementJob.start(statementMonth));
+    }
+
+    private static YearMonth resolve(String month) {
+        return month == null ? YearMonth.now().minusMonths(1) : YearMonth.parse(month);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.kurobytes.cards.statement;
+
+/**
+ * Cumulative count and total time of the online requests watched by the {@link StatementThrottle}.
+ */
+record LatencySample(long count, long totalNanos) {
+
+    /**
+     * @return mean latency in microseconds of the requests since {@code earlier}, null when there were none
+     */
+    Long meanMicrosSince(LatencySample earlier) {
+        long requests = count - earlier.count;
+        return requests <= 0 ? null : (totalNanos - earlier.totalNanos) / requests / 1000;
+    }
+
+    /**
+     * @return mean latency in microseconds of every request so far, null when there were none
+     */
+    Long meanMicros() {
+        return meanMicrosSince(new LatencySample(0, 0));
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.kurobytes.cards.statement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Month-end statement generation.
+ * <p>
+ * The card id space is split into {@code partitions} ranges when a run is created. {@code workers} virtual threads
+ * take pending partitions off a shared queue and walk each one with keyset queries of {@code page-size} cards.
+ * Each query reads the cards together with their ledger totals for the month. Each page is upserted into
+ * {@code card_statement} in one transaction. Every page waits for the {@link StatementThrottle} first.
+ * <p>
+ * A partition is marked completed once its last page is committed. A restarted run (after a crash, a shutdown or
+ * a failure) only processes the partitions that are still pending. Cards created after a run was created fall
+ * outside its partitions and get their first statement in the next month.
+ */
+@Component
+public class StatementJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementJob.class);
+
+    private static final String BOUNDS_SQL = "select min(card_id), max(card_id) from cards";
+    private static final String PAGE_SQL = "with page as (select card_id, card_number, mobile_number, total_limit "
+            + "from cards where card_id > ? and card_id <= ? order by card_id limit ?) "
+            + "select p.card_id, p.card_number, p.mobile_number, p.total_limit, "
+            + "coalesce(sum(case when t.created_at < ? then t.amount end), 0), "
+            + "coalesce(sum(case when t.created_at >= ? and t.transaction_type = 'CHARGE' then t.amount end), 0), "
+            + "coalesce(sum(case when t.created_at >= ? and t.transaction_type = 'PAYMENT' then -t.amount end), 0), "
+            + "coalesce(sum(case when t.created_at >= ? and t.transaction_type not in ('CHARGE', 'PAYMENT') "
+            + "then t.amount end), 0), "
+            + "count(case when t.created_at >= ? then 1 end) "
+            + "from page p left join card_transactions t on t.card_number = p.card_number and t.created_at < ? "
+            + "group by p.card_id order by p.card_id";
+    private static final String UPSERT_SQL = "insert into card_statement (statement_month, card_id, card_number, "
+            + "mobile_number, total_limit, opening_balance, charges, payments, adjustments, closing_balance, "
+            + "transaction_count, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "on conflict(statement_month, card_id) do update set opening_balance = excluded.opening_balance, "
+            + "charges = excluded.charges, payments = excluded.payments, adjustments = excluded.adjustments, "
+            + "closing_balance = excluded.closing_balance, transaction_count = excluded.transaction_count, "
+            + "created_at = excluded.created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatementRuns statementRuns;
+    private final StatementThrottle throttle;
+    private final int partitions;
+    private final int workers;
+    private final int pageSize;
+    private final Timer pageTimer;
+    private final Counter statementCounter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "cards-statement-job"));
+    private final AtomicReference<String> activeMonth = new AtomicReference<>();
+    private volatile boolean stopping;
+
+    public StatementJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        StatementRuns statementRuns, StatementThrottle throttle, StatementProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statementRuns = statementRuns;
+        this.throttle = throttle;
+        this.partitions = properties.getPartitions();
+        this.workers = properties.getWorkers();
+        this.pageSize = properties.getPageSize();
+        this.pageTimer = Timer.builder("cards.statement.page")
+                .description("Time to read and write the statements of one page of cards, throttle excluded")
+                .register(meterRegistry);
+        this.statementCounter = Counter.builder("cards.statement.statements")
+                .description("Card statements written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generates the statements of the previous month.
+     */
+    @Scheduled(cron = "${kurobank.cards.statements.cron:0 0 2 1 * *}")
+    public void generatePreviousMonth() {
+        start(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Resumes the run that was still in progress when the service stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRuns() {
+        for (StatementRun run : statementRuns.findByStatus(StatementRunStatus.RUNNING)) {
+            start(YearMonth.parse(run.statementMonth()));
+        }
+    }
+
+    /**
+     * Runs {@link #generate(YearMonth)} in the background.
+     *
+     * @return false when a run is already in progress
+     */
+    public boolean start(YearMonth month) {
+        if (!activeMonth.compareAndSet(null, month.toString())) {
+            logger.info("Statement run for {} not started, {} is in progress", month, activeMonth.get());
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                generate(month);
+            } catch (RuntimeException ex) {
+                logger.error("Statement run for {} failed", month, ex);
+            } finally {
+                activeMonth.set(null);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * @return month of the run in progress
+     */
+    public Optional<String> activeMonth() {
+        return Optional.ofNullable(activeMonth.get());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 処理中のページをコミットさせて止める。未完了のパーティションは次回起動時に再開される
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Statement run did not stop in time; it resumes from its completed partitions");
+        }
+    }
+
+    /**
+     * Writes the statements of every card of the month, continuing a previous run of the month when there is one.
+     *
+     * @param month - Statement month
+     * @return run report
+     */
+    public StatementRun generate(YearMonth month) {
+        String statementMonth = month.toString();
+        Optional<StatementRun> previous = statementRuns.find(statementMonth);
+        if (previous.isPresent() && previous.get().status() == StatementRunStatus.COMPLETED) {
+            return previous.get();
+        }
+        LatencySample before = throttle.sample();
+        if (previous.isPresent()) {
+            statementRuns.restart(statementMonth);
+        } else {
+            transactionTemplate.executeWithoutResult(status ->
+                    statementRuns.create(statementMonth, partition(), before.meanMicros()));
+        }
+        List<StatementPartition> pending = statementRuns.pendingPartitions(statementMonth);
+        logger.info("Statement run for {}: {} partitions to process", statementMonth, pending.size());
+
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        Queue<StatementPartition> queue = new ConcurrentLinkedQueue<>(pending);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+        try (ExecutorService workerPool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < Math.min(workers, pending.size()); i++) {
+                workerPool.execute(() -> {
+                    StatementPartition partition;
+                    while (failure.get() == null && !stopping && (partition = queue.poll()) != null) {
+                        try {
+                            if (process(statementMonth, partition, from, to)) {
+                                completed.incrementAndGet();
+                            }
+                        } catch (Throwable ex) {
+                            failure.compareAndSet(null, ex);
+                        }
+                    }
+                });
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        StatementRunStatus status = failure.get() != null ? StatementRunStatus.FAILED
+                : completed.get() == pending.size() ? StatementRunStatus.COMPLETED : StatementRunStatus.RUNNING;
+        statementRuns.finish(statementMonth, status, elapsedMillis, throttle.sample().meanMicrosSince(before));
+        StatementRun run = statementRuns.find(statementMonth).orElseThrow();
+        if (failure.get() != null) {
+            logger.error("Statement run for {} failed after {} of {} partitions", statementMonth,
+                    run.completedPartitions(), run.partitions(), failure.get());
+        } else {
+            logger.info("Statement run for {} {}: {} statements, {} cards/s, online latency {} us before, {} us during",
+                    statementMonth, status, run.cards(), run.cardsPerSecond(), run.onlineLatencyBeforeUs(),
+                    run.onlineLatencyDuringUs());
+        }
+        return run;
+    }
+
+    /**
+     * @return false when the run is stopping and the partition was left pending
+     */
+    private boolean process(String statementMonth, StatementPartition partition, Timestamp from, Timestamp to)
+            throws InterruptedException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        RowMapper<Object[]> mapper = (rs, rowNum) -> {
+            long opening = rs.getLong(5);
+            long charges = rs.getLong(6);
+            long payments = rs.getLong(7);
+            long adjustments = rs.getLong(8);
+            return new Object[]{statementMonth, rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+                    opening, charges, payments, adjustments, opening + charges - payments + adjustments,
+                    rs.getInt(9), now};
+        };
+        long after = partition.fromCardId();
+        long cards = 0;
+        while (!stopping) {
+            throttle.acquire(pageSize);
+            long start = System.nanoTime();
+            List<Object[]> rows = jdbcTemplate.query(PAGE_SQL, mapper, after, partition.toCardId(), pageSize,
+                    from, from, from, from, from, to);
+            if (!rows.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+                cards += rows.size();
+                after = (Long) rows.get(rows.size() - 1)[1];
+                statementCounter.increment(rows.size());
+            }
+            pageTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (rows.size() < pageSize) {
+                statementRuns.completePartition(statementMonth, partition.partitionNo(), cards);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return equal card id ranges covering every card that exists now
+     */
+    private List<StatementPartition> partition() {
+        List<StatementPartition> ranges = new ArrayList<>();
+        long[] bounds = jdbcTemplate.query(BOUNDS_SQL, rs -> rs.next() && rs.getObject(1) != null
+                ? new long[]{rs.getLong(1) - 1, rs.getLong(2)} : null);
+        if (bounds == null) {
+            return ranges;
+        }
+        long low = bounds[0];
+        long high = bounds[1];
+        long span = high - low;
+        int count = (int) Math.min(partitions, span);
+        for (int i = 0; i < count; i++) {
+            ranges.add(new StatementPartition(i, low + span * i / count, low + span * (i + 1) / count));
+        }
+        return ranges;
+    }
+
+}
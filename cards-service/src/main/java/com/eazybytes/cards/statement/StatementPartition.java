@@ -0,0 +1,11 @@
+package com.kurobytes.cards.statement;
+
+/**
+ * Card id range of a statement run.
+ *
+ * @param partitionNo - Position of the range in the run
+ * @param fromCardId  - Exclusive lower bound
+ * @param toCardId    - Inclusive upper bound
+ */
+public record StatementPartition(int partitionNo, long fromCardId, long toCardId) {
+}
@@ -0,0 +1,48 @@
+package com.kurobytes.cards.statement;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.cards.statements")
+@Getter @Setter
+public class StatementProperties {
+
+    /**
+     * Card id ranges a run is split into; a restarted run skips the completed ones.
+     */
+    private int partitions = 64;
+
+    /**
+     * Partitions processed at the same time, each on its own virtual thread.
+     */
+    private int workers = 4;
+
+    /**
+     * Cards read with one keyset query and written in one transaction.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Upper bound on cards per second over all workers; 0 leaves only the latency throttle.
+     */
+    private int maxCardsPerSecond = 0;
+
+    /**
+     * Mean latency of online {@code /api/fetch} requests the job backs off to stay under.
+     */
+    private Duration onlineLatencyTarget = Duration.ofMillis(50);
+
+    /**
+     * Longest pause the latency throttle inserts between two pages.
+     */
+    private Duration maxPause = Duration.ofSeconds(1);
+
+    /**
+     * When the statements of the previous month are generated.
+     */
+    private String cron = "0 0 2 1 * *";
+
+}
@@ -0,0 +1,30 @@
+package com.kurobytes.cards.statement;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress and report of the statement run of one month.
+ *
+ * @param statementMonth          - Month of the statements, yyyy-MM
+ * @param status                  - Run status
+ * @param partitions              - Partitions of the run
+ * @param completedPartitions     - Partitions whose statements are all written
+ * @param cards                   - Statements written by the completed partitions
+ * @param elapsedMillis           - Processing time, summed over restarts
+ * @param onlineLatencyBeforeUs   - Mean online {@code /api/fetch} latency before the run, null without traffic
+ * @param onlineLatencyDuringUs   - Mean online {@code /api/fetch} latency while the run was processing
+ * @param startedAt               - When the run was first started
+ * @param updatedAt               - Last progress
+ */
+public record StatementRun(String statementMonth, StatementRunStatus status, int partitions,
+                           int completedPartitions, long cards, long elapsedMillis, Long onlineLatencyBeforeUs,
+                           Long onlineLatencyDuringUs, LocalDateTime startedAt, LocalDateTime updatedAt) {
+
+    /**
+     * @return statements written per second of processing time
+     */
+    public long cardsPerSecond() {
+        return elapsedMillis == 0 ? 0 : cards * 1000 / elapsedMillis;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.kurobytes.cards.statement;
+
+public enum StatementRunStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED
+
+}
@@ -0,0 +1,105 @@
+package com.kurobytes.cards.statement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code card_statement_run} and {@code card_statement_partition} access. A partition is only marked completed
+ * after all of its statements are committed, so a restarted run redoes at most the partitions that were in
+ * flight; statements are upserted, so redoing one is harmless.
+ */
+@Component
+public class StatementRuns {
+
+    private static final String PENDING = "PENDING";
+    private static final String COMPLETED = "COMPLETED";
+
+    private static final String RUN_SQL = "select r.statement_month, r.status, "
+            + "(select count(*) from card_statement_partition p where p.statement_month = r.statement_month), "
+            + "(select count(*) from card_statement_partition p where p.statement_month = r.statement_month "
+            + "and p.status = 'COMPLETED'), "
+            + "(select coalesce(sum(p.cards), 0) from card_statement_partition p "
+            + "where p.statement_month = r.statement_month), "
+            + "r.elapsed_ms, r.online_latency_before_us, r.online_latency_during_us, r.started_at, r.updated_at "
+            + "from card_statement_run r";
+    private static final RowMapper<StatementRun> MAPPER = (rs, rowNum) -> new StatementRun(
+            rs.getString(1), StatementRunStatus.valueOf(rs.getString(2)), rs.getInt(3), rs.getInt(4),
+            rs.getLong(5), rs.getLong(6), nullableLong(rs, 7), nullableLong(rs, 8),
+            rs.getTimestamp(9).toLocalDateTime(), rs.getTimestamp(10).toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatementRuns(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * sqlite-jdbc cannot convert a NULL to {@code Long} through {@code getObject(int, Class)}; the latency columns
+     * stay NULL when no online traffic was sampled during the run.
+     */
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    public Optional<StatementRun> find(String statementMonth) {
+        return jdbcTemplate.query(RUN_SQL + " where r.statement_month = ?", MAPPER, statementMonth)
+                .stream().findFirst();
+    }
+
+    public List<StatementRun> findByStatus(StatementRunStatus status) {
+        return jdbcTemplate.query(RUN_SQL + " where r.status = ?", MAPPER, status.name());
+    }
+
+    void create(String statementMonth, List<StatementPartition> partitions, Long onlineLatencyBeforeUs) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("insert into card_statement_run (statement_month, status, cards, elapsed_ms, "
+                        + "online_latency_before_us, started_at, updated_at) values (?, ?, 0, 0, ?, ?, ?)",
+                statementMonth, StatementRunStatus.RUNNING.name(), onlineLatencyBeforeUs, now, now);
+        List<Object[]> rows = new ArrayList<>(partitions.size());
+        for (StatementPartition partition : partitions) {
+            rows.add(new Object[]{statementMonth, partition.partitionNo(), partition.fromCardId(),
+                    partition.toCardId(), PENDING, now});
+        }
+        jdbcTemplate.batchUpdate("insert into card_statement_partition (statement_month, partition_no, "
+                + "from_card_id, to_card_id, status, cards, updated_at) values (?, ?, ?, ?, ?, 0, ?)", rows);
+    }
+
+    void restart(String statementMonth) {
+        jdbcTemplate.update("update card_statement_run set status = ?, updated_at = ? where statement_month = ?",
+                StatementRunStatus.RUNNING.name(), new Timestamp(System.currentTimeMillis()), statementMonth);
+    }
+
+    List<StatementPartition> pendingPartitions(String statementMonth) {
+        return jdbcTemplate.query("select partition_no, from_card_id, to_card_id from card_statement_partition "
+                        + "where statement_month = ? and status = ? order by partition_no",
+                (rs, rowNum) -> new StatementPartition(rs.getInt(1), rs.getLong(2), rs.getLong(3)),
+                statementMonth, PENDING);
+    }
+
+    void completePartition(String statementMonth, int partitionNo, long cards) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("update card_statement_partition set status = ?, cards = ?, updated_at = ? "
+                + "where statement_month = ? and partition_no = ?", COMPLETED, cards, now, statementMonth, partitionNo);
+        jdbcTemplate.update("update card_statement_run set updated_at = ? where statement_month = ?",
+                now, statementMonth);
+    }
+
+    void finish(String statementMonth, StatementRunStatus status, long elapsedMillis, Long onlineLatencyDuringUs) {
+        jdbcTemplate.update("update card_statement_run set status = ?, elapsed_ms = elapsed_ms + ?, "
+                        + "cards = (select coalesce(sum(cards), 0) from card_statement_partition "
+                        + "where statement_month = ?), online_latency_during_us = coalesce(?, online_latency_during_us), "
+                        + "updated_at = ? where statement_month = ?",
+                status.name(), elapsedMillis, statementMonth, onlineLatencyDuringUs,
+                new Timestamp(System.currentTimeMillis()), statementMonth);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.kurobytes.cards.statement;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the statement workers so online card lookups keep their latency while a run is in progress.
+ * <p>
+ * Every worker asks for a slot before reading a page. Slots are spaced by the {@code max-cards-per-second}
+ * cap plus an adaptive pause. Once a second the pause is adjusted from the mean latency of the
+ * {@code /api/fetch} requests served since the previous adjustment, as recorded in {@code http.server.requests}.
+ * Above the target the pause doubles, up to {@code max-pause}. Below 80% of the target it halves.
+ */
+@Component
+public class StatementThrottle {
+
+    static final String ONLINE_URI = "/api/fetch";
+
+    private static final long SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final MeterRegistry meterRegistry;
+    private final long targetNanos;
+    private final long maxPauseNanos;
+    private final long nanosPerCard;
+
+    private long nextSlot = System.nanoTime();
+    private long pauseNanos;
+    private long lastSampleAt = System.nanoTime();
+    private LatencySample lastSample;
+
+    public StatementThrottle(MeterRegistry meterRegistry, StatementProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.targetNanos = properties.getOnlineLatencyTarget().toNanos();
+        this.maxPauseNanos = properties.getMaxPause().toNanos();
+        this.nanosPerCard = properties.getMaxCardsPerSecond() > 0
+                ? TimeUnit.SECONDS.toNanos(1) / properties.getMaxCardsPerSecond() : 0;
+        Gauge.builder("cards.statement.throttle.pause", this, throttle -> throttle.pause().toNanos() / 1e6)
+                .description("Pause the statement job currently inserts between two pages")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until the caller may process {@code cards} more cards.
+     */
+    public void acquire(int cards) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            adapt(now);
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + cards * nanosPerCard + pauseNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            Thread.sleep(Duration.ofNanos(waitNanos));
+        }
+    }
+
+    public synchronized Duration pause() {
+        return Duration.ofNanos(pauseNanos);
+    }
+
+    /**
+     * @return online request count and total time so far
+     */
+    LatencySample sample() {
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").tag("uri", ONLINE_URI).timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        return new LatencySample(count, (long) totalNanos);
+    }
+
+    private void adapt(long now) {
+        if (now - lastSampleAt < SAMPLE_NANOS) {
+            return;
+        }
+        LatencySample current = sample();
+        Long meanMicros = lastSample == null ? null : current.meanMicrosSince(lastSample);
+        lastSample = current;
+        lastSampleAt = now;
+        if (meanMicros != null && meanMicros * 1000 > targetNanos) {
+            pauseNanos = Math.min(maxPauseNanos, Math.max(MIN_PAUSE_NANOS, pauseNanos * 2));
+        } else if (meanMicros == null || meanMicros * 1000 < targetNanos * 4 / 5) {
+            // オンライン負荷がない、または目標を十分下回っている間は徐々に元の速度へ戻す
+            pauseNanos = pauseNanos / 2 < MIN_PAUSE_NANOS ? 0 : pauseNanos / 2;
+        }
+    }
+
+}
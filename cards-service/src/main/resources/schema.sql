@@ -11,4 +11,70 @@ CREATE TABLE IF NOT EXISTS `cards` (
   `updated_at` date DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
   PRIMARY KEY (`card_id`)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS `card_transactions` (
+  `transaction_id` integer PRIMARY KEY AUTOINCREMENT,
+  `card_number` varchar(100) NOT NULL,
+  `transaction_type` varchar(20) NOT NULL,
+  `amount` int NOT NULL,
+  `created_at` date NOT NULL,
+  `created_by` varchar(20) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS `card_transactions_card_number` ON `card_transactions` (`card_number`, `transaction_id`);
+
+CREATE TABLE IF NOT EXISTS `card_balance_snapshot` (
+  `card_number` varchar(100) NOT NULL PRIMARY KEY,
+  `last_transaction_id` integer NOT NULL,
+  `amount_used` int NOT NULL,
+  `snapshot_at` date NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `card_statement` (
+  `statement_month` varchar(7) NOT NULL,
+  `card_id` int NOT NULL,
+  `card_number` varchar(100) NOT NULL,
+  `mobile_number` varchar(15) NOT NULL,
+  `total_limit` int NOT NULL,
+  `opening_balance` int NOT NULL,
+  `charges` int NOT NULL,
+  `payments` int NOT NULL,
+  `adjustments` int NOT NULL,
+  `closing_balance` int NOT NULL,
+  `transaction_count` int NOT NULL,
+  `created_at` date NOT NULL,
+  PRIMARY KEY (`statement_month`, `card_id`)
+);
+
+CREATE TABLE IF NOT EXISTS `card_statement_run` (
+  `statement_month` varchar(7) NOT NULL PRIMARY KEY,
+  `status` varchar(20) NOT NULL,
+  `cards` bigint NOT NULL,
+  `elapsed_ms` bigint NOT NULL,
+  `online_latency_before_us` bigint,
+  `online_latency_during_us` bigint,
+  `started_at` date NOT NULL,
+  `updated_at` date NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `card_statement_partition` (
+  `statement_month` varchar(7) NOT NULL,
+  `partition_no` int NOT NULL,
+  `from_card_id` int NOT NULL,
+  `to_card_id` int NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `cards` bigint NOT NULL,
+  `updated_at` date NOT NULL,
+  PRIMARY KEY (`statement_month`, `partition_no`)
+);
+
+CREATE TABLE IF NOT EXISTS `hibernate_sequences` (
+  `sequence_name` varchar(100) NOT NULL PRIMARY KEY,
+  `next_val` bigint NOT NULL
+);
+
+-- 毎回の起動で MAX(id) + 1 まで引き上げる（ロールバックで next_val が採番済みの ID より下に残ることがある）
+INSERT INTO `hibernate_sequences` (`sequence_name`, `next_val`)
+  SELECT 'cards', COALESCE(MAX(`card_id`), 0) + 1 FROM `cards` WHERE true
+  ON CONFLICT(`sequence_name`) DO UPDATE SET `next_val` = MAX(`next_val`, excluded.`next_val`);
@@ -0,0 +1,151 @@
+package com.kurobytes.cards.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 64 threads charging the same card, comparing a per-request conditional UPDATE (the guard {@code CardLedger}
+ * applies in its batches) with the read-modify-write that {@code updateCard} does.
+ * <p>
+ * At the end of each trial the amount used on the card is compared with the sum of the accepted charges and
+ * the difference is printed as lost updates. It must be 0 for {@link #conditionalUpdate()}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class CardBalanceContentionBenchmark {
+
+    private static final String CARD_NUMBER = "100646930341";
+    private static final int AMOUNT = 1;
+
+    private static final String CHARGE_SQL = "update cards set amount_used = amount_used + ?, "
+            + "available_amount = available_amount - ?, updated_at = ?, updated_by = ? "
+            + "where card_number = ? and available_amount >= ?";
+    private static final String SELECT_SQL = "select amount_used, available_amount from cards where card_number = ?";
+    private static final String UPDATE_SQL = "update cards set amount_used = ?, available_amount = ?, "
+            + "updated_at = ?, updated_by = ? where card_number = ?";
+
+    private Path databaseFile;
+    private HikariDataSource dataSource;
+    private final LongAdder accepted = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void createCard() throws Exception {
+        databaseFile = Files.createTempFile("cards-contention", ".db");
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:" + databaseFile + "?journal_mode=WAL&synchronous=NORMAL&busy_timeout=5000");
+        config.setMaximumPoolSize(16);
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE cards (card_id integer PRIMARY KEY AUTOINCREMENT, mobile_number varchar(15) NOT NULL,
+                      card_number varchar(100) NOT NULL, card_type varchar(100) NOT NULL, total_limit int NOT NULL,
+                      amount_used int NOT NULL, available_amount int NOT NULL, created_at date NOT NULL,
+                      created_by varchar(20) NOT NULL, updated_at date DEFAULT NULL, updated_by varchar(20) DEFAULT NULL)""");
+            statement.execute("CREATE UNIQUE INDEX cards_card_number ON cards (card_number)");
+            statement.execute("INSERT INTO cards (mobile_number, card_number, card_type, total_limit, amount_used, "
+                    + "available_amount, created_at, created_by) VALUES ('4354437687', '" + CARD_NUMBER
+                    + "', 'Credit Card', 1000000000, 0, 1000000000, CURRENT_TIMESTAMP, 'BENCH')");
+        }
+        accepted.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyAndDrop() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+            select.setString(1, CARD_NUMBER);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                long amountUsed = rs.getLong(1);
+                System.out.printf("%naccepted=%d amount_used=%d lost_updates=%d%n",
+                        accepted.sum(), amountUsed, accepted.sum() - amountUsed);
+            }
+        }
+        dataSource.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public int conditionalUpdate() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement charge = connection.prepareStatement(CHARGE_SQL)) {
+            charge.setInt(1, AMOUNT);
+            charge.setInt(2, AMOUNT);
+            charge.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            charge.setString(4, "CARDS_MS");
+            charge.setString(5, CARD_NUMBER);
+            charge.setInt(6, AMOUNT);
+            int updated = charge.executeUpdate();
+            if (updated == 1) {
+                accepted.add(AMOUNT);
+            }
+            return updated;
+        }
+    }
+
+    @Benchmark
+    public int readModifyWrite() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            select.setString(1, CARD_NUMBER);
+            int amountUsed;
+            int availableAmount;
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                amountUsed = rs.getInt(1);
+                availableAmount = rs.getInt(2);
+            }
+            if (availableAmount < AMOUNT) {
+                return 0;
+            }
+            update.setInt(1, amountUsed + AMOUNT);
+            update.setInt(2, availableAmount - AMOUNT);
+            update.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            update.setString(4, "CARDS_MS");
+            update.setString(5, CARD_NUMBER);
+            int updated = update.executeUpdate();
+            accepted.add(AMOUNT);
+            return updated;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardBalanceContentionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.kurobytes.cards.benchmark;
+
+import com.kurobytes.cards.entity.Cards;
+import com.kurobytes.common.dialect.SQLiteDialect;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists {@code rows} cards in one transaction with Hibernate batching at 25, the setting the services use.
+ * <ul>
+ *     <li>{@code identity} - the previous mapping: {@code GenerationType.IDENTITY}, one insert per row</li>
+ *     <li>{@code pooled} - {@link Cards} as mapped now, with {@code @PooledId}: batched inserts plus one
+ *     {@code hibernate_sequences} upsert per 50 rows</li>
+ * </ul>
+ * Rows/s = ops/s x {@code rows}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CardInsertBenchmark {
+
+    @Param({"identity", "pooled"})
+    public String mode;
+
+    @Param({"1000"})
+    public int rows;
+
+    private Path databaseFile;
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private final AtomicLong cardNumbers = new AtomicLong(100000000000L);
+
+    @Setup(Level.Trial)
+    public void buildSessionFactory() throws Exception {
+        databaseFile = Files.createTempFile("cards-insert", ".db");
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:" + databaseFile + "?journal_mode=WAL&synchronous=NORMAL&busy_timeout=5000");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Cards.class)
+                .addAnnotatedClass(IdentityCards.class)
+                .setProperty(AvailableSettings.DIALECT, SQLiteDialect.class.getName())
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "25")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        sessionFactory.close();
+        dataSource.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public void insert() {
+        boolean identity = "identity".equals(mode);
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                String cardNumber = Long.toString(cardNumbers.incrementAndGet());
+                session.persist(identity ? new IdentityCards(cardNumber) : card(cardNumber));
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    private static Cards card(String cardNumber) {
+        Cards cards = new Cards();
+        cards.setMobileNumber("4354437687");
+        cards.setCardNumber(cardNumber);
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAvailableAmount(100000);
+        return cards;
+    }
+
+    @Entity
+    @Table(name = "identity_cards")
+    static class IdentityCards {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long cardId;
+
+        String mobileNumber = "4354437687";
+
+        String cardNumber;
+
+        String cardType = "Credit Card";
+
+        int totalLimit = 100000;
+
+        int amountUsed;
+
+        int availableAmount = 100000;
+
+        IdentityCards() {
+        }
+
+        IdentityCards(String cardNumber) {
+            this.cardNumber = cardNumber;
+        }
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.kurobytes.cards.benchmark;
+
+import com.kurobytes.cards.ledger.CardBalanceSnapshots;
+import com.kurobytes.cards.ledger.CardLedger;
+import com.kurobytes.cards.ledger.CardLedgerProperties;
+import com.kurobytes.cards.ledger.TransactionType;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Card ledger costs on a ledger pre-filled with {@code entries} rows spread over {@code cards} cards.
+ * <ul>
+ *     <li>{@link #append()} - charges through {@link CardLedger} from 64 threads; entries/s = ops/s</li>
+ *     <li>{@link #balanceRead()} - snapshot plus a tail of {@code tailEntries} entries</li>
+ *     <li>{@link #rebuild()} - every snapshot rebuilt from the full ledger</li>
+ * </ul>
+ * The seeding rate is printed once per trial. For the 100M figures run with {@code -p entries=100000000} and
+ * enough disk for a ~6 GB database.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class CardLedgerBenchmark {
+
+    private static final String SEED_SQL = "insert into card_transactions "
+            + "(card_number, transaction_type, amount, created_at, created_by) "
+            + "with recursive seq(n) as (select 0 union all select n + 1 from seq where n < ? - 1) "
+            + "select printf('%012d', 100000000000 + n % ?), 'CHARGE', 1, CURRENT_TIMESTAMP, 'BENCH' from seq";
+    private static final String CARDS_SQL = "insert into cards (mobile_number, card_number, card_type, total_limit, "
+            + "amount_used, available_amount, created_at, created_by) "
+            + "with recursive seq(n) as (select 0 union all select n + 1 from seq where n < ? - 1) "
+            + "select printf('%010d', n), printf('%012d', 100000000000 + n), 'Credit Card', 2000000000, 0, "
+            + "2000000000, CURRENT_TIMESTAMP, 'BENCH' from seq";
+
+    @Param({"1000000"})
+    public long entries;
+
+    @Param({"10000"})
+    public int cards;
+
+    @Param({"1000"})
+    public int tailEntries;
+
+    private Path databaseFile;
+    private HikariDataSource dataSource;
+    private CardLedger ledger;
+    private CardBalanceSnapshots snapshots;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        databaseFile = Files.createTempFile("cards-ledger", ".db");
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:" + databaseFile + "?journal_mode=WAL&synchronous=NORMAL&busy_timeout=5000");
+        config.setMaximumPoolSize(8);
+        dataSource = new HikariDataSource(config);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE cards (card_id integer PRIMARY KEY AUTOINCREMENT, mobile_number varchar(15) NOT NULL,
+                  card_number varchar(100) NOT NULL, card_type varchar(100) NOT NULL, total_limit int NOT NULL,
+                  amount_used int NOT NULL, available_amount int NOT NULL, created_at date NOT NULL,
+                  created_by varchar(20) NOT NULL, updated_at date DEFAULT NULL, updated_by varchar(20) DEFAULT NULL)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX cards_card_number ON cards (card_number)");
+        jdbcTemplate.execute("""
+                CREATE TABLE card_transactions (transaction_id integer PRIMARY KEY AUTOINCREMENT,
+                  card_number varchar(100) NOT NULL, transaction_type varchar(20) NOT NULL, amount int NOT NULL,
+                  created_at date NOT NULL, created_by varchar(20) NOT NULL)""");
+        jdbcTemplate.execute("CREATE INDEX card_transactions_card_number "
+                + "ON card_transactions (card_number, transaction_id)");
+        jdbcTemplate.execute("""
+                CREATE TABLE card_balance_snapshot (card_number varchar(100) NOT NULL PRIMARY KEY,
+                  last_transaction_id integer NOT NULL, amount_used int NOT NULL, snapshot_at date NOT NULL)""");
+        jdbcTemplate.update(CARDS_SQL, cards);
+        long start = System.nanoTime();
+        jdbcTemplate.update(SEED_SQL, entries, cards);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%nseeded %d ledger entries in %.1f s (%.0f entries/s)%n", entries, seconds,
+                entries / seconds);
+
+        CardLedgerProperties properties = new CardLedgerProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        ledger = new CardLedger(jdbcTemplate, transactionManager, () -> Optional.of("BENCH"),
+                mock(EntityCacheEvictor.class), properties, meterRegistry);
+        snapshots = new CardBalanceSnapshots(jdbcTemplate, transactionManager, properties, meterRegistry);
+        snapshots.compact();
+        jdbcTemplate.update(SEED_SQL, tailEntries, cards);
+        ledger.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void drop() throws Exception {
+        ledger.stop();
+        dataSource.close();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+        Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+    }
+
+    @Benchmark
+    @Threads(64)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean append() throws Exception {
+        return ledger.submit(randomCard(), TransactionType.CHARGE, 1).get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object balanceRead() {
+        return snapshots.balance(randomCard());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public long rebuild() {
+        return snapshots.rebuild();
+    }
+
+    private String randomCard() {
+        return Long.toString(100000000000L + ThreadLocalRandom.current().nextInt(cards));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardLedgerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
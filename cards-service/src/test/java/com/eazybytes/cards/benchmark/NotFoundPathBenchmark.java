@@ -0,0 +1,111 @@
+package com.kurobytes.cards.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kurobytes.common.exception.GlobalExceptionHandler;
+import com.kurobytes.common.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code /api/fetch} for a mobile number with no card, from the throw in the service to the JSON error body,
+ * thrown {@code stackDepth} frames below the handler as it would be under the MVC dispatch and proxies.
+ * <ul>
+ *     <li>{@code before} - the previous per-service exception: stack trace filled, message from
+ *     {@code String.format}, body with {@code HttpStatus} and {@code LocalDateTime} fields</li>
+ *     <li>{@code after} - the common {@link ResourceNotFoundException} and {@link GlobalExceptionHandler}</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    @Param({"before", "after"})
+    public String mode;
+
+    @Param({"80"})
+    public int stackDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private ObjectMapper objectMapper;
+    private ServletWebRequest webRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fetch");
+        request.setParameter("mobileNumber", "4354437687");
+        webRequest = new ServletWebRequest(request);
+    }
+
+    @Benchmark
+    public byte[] notFound() throws Exception {
+        boolean before = "before".equals(mode);
+        try {
+            fetch(stackDepth, before);
+            throw new IllegalStateException("card found");
+        } catch (LegacyResourceNotFoundException exception) {
+            return objectMapper.writeValueAsBytes(new LegacyErrorResponseDto(webRequest.getDescription(false),
+                    HttpStatus.NOT_FOUND, exception.getMessage(), LocalDateTime.now()));
+        } catch (ResourceNotFoundException exception) {
+            return objectMapper.writeValueAsBytes(handler.handleBusinessException(exception, webRequest).getBody());
+        }
+    }
+
+    private static void fetch(int depth, boolean before) {
+        if (depth > 0) {
+            fetch(depth - 1, before);
+            return;
+        }
+        if (before) {
+            throw new LegacyResourceNotFoundException("Card", "mobileNumber", "4354437687");
+        }
+        throw new ResourceNotFoundException("Card", "mobileNumber", "4354437687");
+    }
+
+    static class LegacyResourceNotFoundException extends RuntimeException {
+
+        LegacyResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
+            super(String.format("%s not found with the given input data %s : '%s'", resourceName, fieldName,
+                    fieldValue));
+        }
+
+    }
+
+    public record LegacyErrorResponseDto(String apiPath, HttpStatus errorCode, String errorMessage,
+                                         LocalDateTime errorTime) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotFoundPathBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
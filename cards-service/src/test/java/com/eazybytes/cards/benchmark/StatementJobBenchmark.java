@@ -0,0 +1,173 @@
+package com.kurobytes.cards.benchmark;
+
+import com.kurobytes.cards.statement.StatementJob;
+import com.kurobytes.cards.statement.StatementProperties;
+import com.kurobytes.cards.statement.StatementRun;
+import com.kurobytes.cards.statement.StatementRuns;
+import com.kurobytes.cards.statement.StatementThrottle;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online card lookups ({@code fetchCardDetails} queries) while the statement job runs in a loop in the
+ * background, compared with {@code job=false}. Lookups are recorded in the {@code http.server.requests} timer
+ * the throttle watches, so {@code onlineLatencyTarget} acts as in the service. Per trial the job's
+ * cards/s is printed, next to the mean lookup latency before and during the runs as the job reported it.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class StatementJobBenchmark {
+
+    private static final String CARDS_SQL = "insert into cards (mobile_number, card_number, card_type, total_limit, "
+            + "amount_used, available_amount, created_at, created_by) "
+            + "with recursive seq(n) as (select 0 union all select n + 1 from seq where n < ? - 1) "
+            + "select printf('%010d', n), printf('%012d', 100000000000 + n), 'Credit Card', 100000, 0, 100000, "
+            + "CURRENT_TIMESTAMP, 'BENCH' from seq";
+    private static final String LEDGER_SQL = "insert into card_transactions "
+            + "(card_number, transaction_type, amount, created_at, created_by) "
+            + "with recursive seq(n) as (select 0 union all select n + 1 from seq where n < ? - 1) "
+            + "select printf('%012d', 100000000000 + n % ?), case n % 4 when 0 then 'PAYMENT' else 'CHARGE' end, "
+            + "case n % 4 when 0 then -10 else 10 end, 1788220800000 + n * 2591 % 2592000000, 'BENCH' from seq";
+
+    @Param({"100000"})
+    public int cards;
+
+    @Param({"1000000"})
+    public int entries;
+
+    @Param({"false", "true"})
+    public boolean job;
+
+    @Param({"4"})
+    public int workers;
+
+    @Param({"2000", "1000000"})
+    public int onlineLatencyTargetMicros;
+
+    private Path databaseFile;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Timer onlineTimer;
+    private Thread jobThread;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        databaseFile = Files.createTempFile("cards-statements", ".db");
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:sqlite:" + databaseFile + "?journal_mode=WAL&synchronous=NORMAL&busy_timeout=5000");
+        config.setMaximumPoolSize(16);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cards (card_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "mobile_number varchar(15) NOT NULL, card_number varchar(100) NOT NULL, "
+                + "card_type varchar(100) NOT NULL, total_limit int NOT NULL, amount_used int NOT NULL, "
+                + "available_amount int NOT NULL, created_at date NOT NULL, created_by varchar(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE card_transactions (transaction_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "card_number varchar(100) NOT NULL, transaction_type varchar(20) NOT NULL, amount int NOT NULL, "
+                + "created_at date NOT NULL, created_by varchar(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX card_transactions_card_number ON card_transactions "
+                + "(card_number, transaction_id)");
+        jdbcTemplate.execute("CREATE TABLE card_statement (statement_month varchar(7) NOT NULL, card_id int NOT NULL, "
+                + "card_number varchar(100) NOT NULL, mobile_number varchar(15) NOT NULL, total_limit int NOT NULL, "
+                + "opening_balance int NOT NULL, charges int NOT NULL, payments int NOT NULL, "
+                + "adjustments int NOT NULL, closing_balance int NOT NULL, transaction_count int NOT NULL, "
+                + "created_at date NOT NULL, PRIMARY KEY (statement_month, card_id))");
+        jdbcTemplate.execute("CREATE TABLE card_statement_run (statement_month varchar(7) NOT NULL PRIMARY KEY, "
+                + "status varchar(20) NOT NULL, cards bigint NOT NULL, elapsed_ms bigint NOT NULL, "
+                + "online_latency_before_us bigint, online_latency_during_us bigint, started_at date NOT NULL, "
+                + "updated_at date NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE card_statement_partition (statement_month varchar(7) NOT NULL, "
+                + "partition_no int NOT NULL, from_card_id int NOT NULL, to_card_id int NOT NULL, "
+                + "status varchar(20) NOT NULL, cards bigint NOT NULL, updated_at date NOT NULL, "
+                + "PRIMARY KEY (statement_month, partition_no))");
+        jdbcTemplate.update(CARDS_SQL, cards);
+        jdbcTemplate.update(LEDGER_SQL, entries, cards);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        onlineTimer = Timer.builder("http.server.requests").tag("uri", "/api/fetch").register(meterRegistry);
+        StatementProperties properties = new StatementProperties();
+        properties.setWorkers(workers);
+        properties.setOnlineLatencyTarget(Duration.ofNanos(onlineLatencyTargetMicros * 1000L));
+        StatementJob statementJob = new StatementJob(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new StatementRuns(jdbcTemplate), new StatementThrottle(meterRegistry, properties), properties,
+                meterRegistry);
+        if (job) {
+            running = true;
+            jobThread = new Thread(() -> {
+                YearMonth month = YearMonth.of(2026, 9);
+                while (running) {
+                    jdbcTemplate.update("delete from card_statement_run");
+                    jdbcTemplate.update("delete from card_statement_partition");
+                    StatementRun run = statementJob.generate(month);
+                    System.out.printf("%nstatement run: %d statements, %d cards/s, online %s us before, %s us during%n",
+                            run.cards(), run.cardsPerSecond(), run.onlineLatencyBeforeUs(),
+                            run.onlineLatencyDuringUs());
+                }
+            }, "statement-job");
+            jobThread.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        running = false;
+        if (jobThread != null) {
+            jobThread.join();
+        }
+        dataSource.close();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+        Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+    }
+
+    @Benchmark
+    public Object onlineFetch() {
+        String mobileNumber = String.format("%010d", ThreadLocalRandom.current().nextInt(cards));
+        long start = System.nanoTime();
+        Object card = jdbcTemplate.queryForMap("select card_number, card_type, total_limit, amount_used, "
+                + "available_amount from cards where mobile_number = ?", mobileNumber);
+        onlineTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return card;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StatementJobBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.kurobytes.cards.cache;
+
+import com.kurobytes.cards.audit.AuditAwareImpl;
+import com.kurobytes.cards.dto.CardsDto;
+import com.kurobytes.cards.entity.Cards;
+import com.kurobytes.cards.ledger.CardBalanceSnapshots;
+import com.kurobytes.cards.ledger.CardLedger;
+import com.kurobytes.cards.repository.CardsRepository;
+import com.kurobytes.cards.service.CardEventPublisher;
+import com.kurobytes.cards.service.impl.CardsServiceImpl;
+import com.kurobytes.common.cache.EntityCacheAutoConfiguration;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import com.kurobytes.common.cache.NaturalIdLookup;
+import com.kurobytes.common.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:cards-entity-cache?mode=memory&cache=shared",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=com.kurobytes.common.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "kurobank.entity-cache.regions.cards.max-entries=100",
+        "kurobank.entity-cache.regions.cards-natural-id.max-entries=100"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(EntityCacheAutoConfiguration.class)
+@Import(AuditAwareImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardsEntityCacheTests {
+
+    private static final String MOBILE_NUMBER = "4354437687";
+    private static final String CARD_NUMBER = "100646930341";
+
+    @Autowired
+    private CardsRepository cardsRepository;
+
+    @Autowired
+    private NaturalIdLookup naturalIdLookup;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private CardsServiceImpl cardsService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void createCard() {
+        cardsRepository.deleteAll();
+        Cards cards = new Cards();
+        cards.setMobileNumber(MOBILE_NUMBER);
+        cards.setCardNumber(CARD_NUMBER);
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAmountUsed(1000);
+        cards.setAvailableAmount(99000);
+        cardsRepository.save(cards);
+        entityManagerFactory.getCache().evictAll();
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        CardLedger cardLedger = mock(CardLedger.class);
+        when(cardLedger.submitAdjustment(anyString(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        cardsService = new CardsServiceImpl(cardsRepository, cardLedger, mock(CardBalanceSnapshots.class),
+                mock(CardEventPublisher.class), naturalIdLookup);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void servesRepeatedNaturalIdReadsFromTheCache() {
+        naturalIdLookup.find(Cards.class, CARD_NUMBER);
+        long statements = statistics.getPrepareStatementCount();
+
+        Cards cards = naturalIdLookup.find(Cards.class, CARD_NUMBER).orElseThrow();
+
+        assertThat(cards.getAmountUsed()).isEqualTo(1000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getCacheRegionStatistics("cards").getHitCount()).isPositive();
+        assertThat(statistics.getCacheRegionStatistics("cards-natural-id").getHitCount()).isPositive();
+    }
+
+    @Test
+    void updateCardReplacesTheCachedEntity() {
+        naturalIdLookup.find(Cards.class, CARD_NUMBER);
+
+        transactionTemplate.execute(status -> cardsService.updateCard(cardsDto("Debit Card", 50000)));
+
+        Cards cards = naturalIdLookup.find(Cards.class, CARD_NUMBER).orElseThrow();
+        assertThat(cards.getCardType()).isEqualTo("Debit Card");
+        assertThat(cards.getTotalLimit()).isEqualTo(50000);
+        assertThat(cardsService.fetchCard(MOBILE_NUMBER).getCardType()).isEqualTo("Debit Card");
+    }
+
+    @Test
+    void deleteCardEvictsTheEntityNaturalIdAndQueryResult() {
+        naturalIdLookup.find(Cards.class, CARD_NUMBER);
+        cardsService.fetchCard(MOBILE_NUMBER);
+
+        cardsService.deleteCard(MOBILE_NUMBER);
+
+        assertThat(naturalIdLookup.find(Cards.class, CARD_NUMBER)).isEmpty();
+        assertThatThrownBy(() -> cardsService.fetchCard(MOBILE_NUMBER))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void evictsRowsChangedBySqlAfterCommit() {
+        Cards cached = naturalIdLookup.find(Cards.class, CARD_NUMBER).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("update cards set amount_used = 2000, available_amount = 98000 "
+                    + "where card_number = ?", CARD_NUMBER);
+            entityCacheEvictor.evict(Cards.class, List.of(cached.getCardId()));
+            assertThat(entityManagerFactory.getCache().contains(Cards.class, cached.getCardId())).isTrue();
+        });
+
+        assertThat(entityManagerFactory.getCache().contains(Cards.class, cached.getCardId())).isFalse();
+        assertThat(naturalIdLookup.find(Cards.class, CARD_NUMBER).orElseThrow().getAmountUsed()).isEqualTo(2000);
+    }
+
+    private static CardsDto cardsDto(String cardType, int totalLimit) {
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber(MOBILE_NUMBER);
+        cardsDto.setCardNumber(CARD_NUMBER);
+        cardsDto.setCardType(cardType);
+        cardsDto.setTotalLimit(totalLimit);
+        cardsDto.setAmountUsed(1000);
+        cardsDto.setAvailableAmount(totalLimit - 1000);
+        return cardsDto;
+    }
+
+}
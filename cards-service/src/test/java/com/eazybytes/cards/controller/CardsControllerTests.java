@@ -0,0 +1,166 @@
+package com.kurobytes.cards.controller;
+
+import com.kurobytes.cards.constants.CardsConstants;
+import com.kurobytes.cards.ledger.CardBalanceSnapshots;
+import com.kurobytes.cards.ledger.CardLedger;
+import com.kurobytes.cards.ledger.CardLedgerProperties;
+import com.kurobytes.cards.repository.CardsRepository;
+import com.kurobytes.cards.service.CardEventPublisher;
+import com.kurobytes.cards.service.impl.CardsServiceImpl;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import com.kurobytes.common.cache.NaturalIdLookup;
+import com.kurobytes.common.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Charge and payment endpoints against a real {@link CardLedger} on a SQLite file.
+ */
+class CardsControllerTests {
+
+    private static final String CARD = "100646930341";
+    private static final String UNKNOWN_CARD = "999999999999";
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private CardLedger cardLedger;
+    private CardEventPublisher cardEventPublisher;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void createController() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("app.db"));
+        dataSource.setJournalMode("WAL");
+        dataSource.setBusyTimeout(5000);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cards (card_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "card_number varchar(100) NOT NULL, amount_used int NOT NULL, available_amount int NOT NULL, "
+                + "updated_at date, updated_by varchar(20))");
+        jdbcTemplate.execute("CREATE TABLE card_transactions (transaction_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "card_number varchar(100) NOT NULL, transaction_type varchar(20) NOT NULL, amount int NOT NULL, "
+                + "created_at date NOT NULL, created_by varchar(20) NOT NULL)");
+        jdbcTemplate.update("insert into cards (card_number, amount_used, available_amount) values (?, 1000, 99000)",
+                CARD);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cardLedger = new CardLedger(jdbcTemplate, transactionManager, () -> Optional.of("TEST"),
+                mock(EntityCacheEvictor.class), new CardLedgerProperties(), meterRegistry);
+        cardLedger.start();
+
+        CardsRepository cardsRepository = mock(CardsRepository.class);
+        when(cardsRepository.existsByCardNumber(anyString())).thenAnswer(invocation -> jdbcTemplate.queryForObject(
+                "select count(*) > 0 from cards where card_number = ?", Boolean.class,
+                invocation.<String>getArgument(0)));
+        cardEventPublisher = mock(CardEventPublisher.class);
+        CardsServiceImpl cardsService = new CardsServiceImpl(cardsRepository, cardLedger,
+                mock(CardBalanceSnapshots.class), cardEventPublisher, mock(NaturalIdLookup.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(new CardsController(cardsService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void stopLedger() {
+        cardLedger.stop();
+    }
+
+    @Test
+    void chargesTheCard() throws Exception {
+        send("/api/charge", CARD, 500)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(CardsConstants.STATUS_200))
+                .andExpect(jsonPath("$.statusMsg").value(CardsConstants.MESSAGE_200_CHARGE));
+
+        assertThat(amountUsed()).isEqualTo(1500);
+        assertThat(lastEntry()).isEqualTo("CHARGE 500");
+        verify(cardEventPublisher).balanceChanged(CARD);
+    }
+
+    @Test
+    void appliesAPayment() throws Exception {
+        send("/api/payment", CARD, 400)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusMsg").value(CardsConstants.MESSAGE_200_PAYMENT));
+
+        assertThat(amountUsed()).isEqualTo(600);
+        assertThat(lastEntry()).isEqualTo("PAYMENT -400");
+    }
+
+    @Test
+    void answersNotFoundForAnUnknownCard() throws Exception {
+        send("/api/charge", UNKNOWN_CARD, 500)
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("NOT_FOUND"));
+        send("/api/payment", UNKNOWN_CARD, 500).andExpect(status().isNotFound());
+
+        verify(cardEventPublisher, never()).balanceChanged(anyString());
+    }
+
+    @Test
+    void answersUnprocessableEntityForAChargeOverTheLimit() throws Exception {
+        send("/api/charge", CARD, 99001)
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("UNPROCESSABLE_ENTITY"));
+
+        assertThat(amountUsed()).isEqualTo(1000);
+        assertThat(lastEntry()).isEqualTo("OPENING 1000");
+    }
+
+    @Test
+    void answersUnprocessableEntityForAPaymentOverTheAmountUsed() throws Exception {
+        send("/api/payment", CARD, 1001).andExpect(status().isUnprocessableEntity());
+
+        assertThat(amountUsed()).isEqualTo(1000);
+        verify(cardEventPublisher, never()).balanceChanged(anyString());
+    }
+
+    @Test
+    void rejectsANonPositiveAmount() throws Exception {
+        send("/api/charge", CARD, 0).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions send(String path, String cardNumber, int amount) throws Exception {
+        return mockMvc.perform(post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("{\"cardNumber\":\"" + cardNumber + "\",\"amount\":" + amount + "}"));
+    }
+
+    private int amountUsed() {
+        return jdbcTemplate.queryForObject("select amount_used from cards where card_number = ?", Integer.class,
+                CARD);
+    }
+
+    private String lastEntry() {
+        return jdbcTemplate.query("select transaction_type || ' ' || amount from card_transactions "
+                + "order by transaction_id desc limit 1", rs -> rs.next() ? rs.getString(1) : null);
+    }
+
+}
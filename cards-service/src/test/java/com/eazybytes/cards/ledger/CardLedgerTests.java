@@ -0,0 +1,187 @@
+package com.kurobytes.cards.ledger;
+
+import com.kurobytes.cards.dto.CardBalanceDto;
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CardLedgerTests {
+
+    private static final String CARD = "100000000000";
+    private static final String OTHER_CARD = "100000000001";
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private CardLedgerProperties properties;
+    private CardLedger ledger;
+    private CardBalanceSnapshots snapshots;
+
+    @BeforeEach
+    void createTables() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("app.db"));
+        dataSource.setJournalMode("WAL");
+        dataSource.setBusyTimeout(5000);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cards (card_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "card_number varchar(100) NOT NULL, amount_used int NOT NULL, available_amount int NOT NULL, "
+                + "updated_at date, updated_by varchar(20))");
+        jdbcTemplate.execute("CREATE TABLE card_transactions (transaction_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "card_number varchar(100) NOT NULL, transaction_type varchar(20) NOT NULL, amount int NOT NULL, "
+                + "created_at date NOT NULL, created_by varchar(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE card_balance_snapshot (card_number varchar(100) NOT NULL PRIMARY KEY, "
+                + "last_transaction_id integer NOT NULL, amount_used int NOT NULL, snapshot_at date NOT NULL)");
+        jdbcTemplate.update("insert into cards (card_number, amount_used, available_amount) values (?, 0, 1000)",
+                CARD);
+        jdbcTemplate.update("insert into cards (card_number, amount_used, available_amount) values (?, 300, 700)",
+                OTHER_CARD);
+
+        properties = new CardLedgerProperties();
+        properties.setCompactionChunkSize(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ledger = new CardLedger(jdbcTemplate, transactionManager, () -> Optional.of("TEST"),
+                mock(EntityCacheEvictor.class), properties, meterRegistry);
+        snapshots = new CardBalanceSnapshots(jdbcTemplate, transactionManager, properties, meterRegistry);
+        ledger.start();
+    }
+
+    @AfterEach
+    void stopLedger() {
+        ledger.stop();
+    }
+
+    @Test
+    void writesOneOpeningEntryForCardsThatAlreadyHaveABalance() {
+        assertThat(entries(OTHER_CARD)).containsExactly(Map.of("transaction_type", "OPENING", "amount", 300));
+        assertThat(entries(CARD)).isEmpty();
+
+        ledger.stop();
+        ledger = new CardLedger(jdbcTemplate, transactionManager, () -> Optional.of("TEST"),
+                mock(EntityCacheEvictor.class), properties, new SimpleMeterRegistry());
+        ledger.start();
+
+        assertThat(entries(OTHER_CARD)).hasSize(1);
+    }
+
+    @Test
+    void appliesChargesAndPaymentsAndAppendsTheirEntries() {
+        assertThat(await(ledger.submit(CARD, TransactionType.CHARGE, 400))).isTrue();
+        assertThat(await(ledger.submit(CARD, TransactionType.PAYMENT, -150))).isTrue();
+
+        assertThat(card(CARD)).containsEntry("amount_used", 250).containsEntry("available_amount", 750);
+        assertThat(entries(CARD)).containsExactly(Map.of("transaction_type", "CHARGE", "amount", 400),
+                Map.of("transaction_type", "PAYMENT", "amount", -150));
+    }
+
+    @Test
+    void rejectsOperationsTheGuardDoesNotAllow() {
+        assertThat(await(ledger.submit(CARD, TransactionType.CHARGE, 1001))).isFalse();
+        assertThat(await(ledger.submit(CARD, TransactionType.PAYMENT, -1))).isFalse();
+        assertThat(await(ledger.submit("999999999999", TransactionType.CHARGE, 1))).isFalse();
+
+        assertThat(card(CARD)).containsEntry("amount_used", 0).containsEntry("available_amount", 1000);
+        assertThat(entries(CARD)).isEmpty();
+    }
+
+    @Test
+    void guardsEveryOperationOfABatchAgainstTheOnesBeforeIt() {
+        List<CompletableFuture<Boolean>> results = List.of(
+                ledger.submit(CARD, TransactionType.CHARGE, 600),
+                ledger.submit(CARD, TransactionType.CHARGE, 600),
+                ledger.submit(CARD, TransactionType.CHARGE, 400));
+
+        assertThat(results).extracting(CardLedgerTests::await).containsExactly(true, false, true);
+        assertThat(card(CARD)).containsEntry("amount_used", 1000).containsEntry("available_amount", 0);
+        assertThat(entries(CARD)).hasSize(2);
+    }
+
+    @Test
+    void appliesAnAdjustmentOnlyWhileTheAmountUsedIsUnchanged() {
+        assertThat(await(ledger.submitAdjustment(OTHER_CARD, 300, 500, 500))).isTrue();
+        assertThat(card(OTHER_CARD)).containsEntry("amount_used", 500).containsEntry("available_amount", 500);
+
+        // computed from the amount used before the adjustment above
+        assertThat(await(ledger.submitAdjustment(OTHER_CARD, 300, 100, 900))).isFalse();
+
+        assertThat(card(OTHER_CARD)).containsEntry("amount_used", 500).containsEntry("available_amount", 500);
+        assertThat(entries(OTHER_CARD)).containsExactly(Map.of("transaction_type", "OPENING", "amount", 300),
+                Map.of("transaction_type", "ADJUSTMENT", "amount", 200));
+    }
+
+    @Test
+    void doesNotLoseAChargeCommittedBetweenReadAndAdjustment() {
+        int amountUsedRead = (int) card(OTHER_CARD).get("amount_used");
+        assertThat(await(ledger.submit(OTHER_CARD, TransactionType.CHARGE, 50))).isTrue();
+
+        assertThat(await(ledger.submitAdjustment(OTHER_CARD, amountUsedRead, 0, 1000))).isFalse();
+
+        assertThat(card(OTHER_CARD)).containsEntry("amount_used", 350);
+        assertThat(snapshots.balance(OTHER_CARD).getAmountUsed()).isEqualTo(350);
+    }
+
+    @Test
+    void compactsUpToTheHeadAndReadsBalancesAsSnapshotPlusTail() {
+        await(ledger.submit(CARD, TransactionType.CHARGE, 100));
+        await(ledger.submit(CARD, TransactionType.CHARGE, 200));
+        await(ledger.submit(OTHER_CARD, TransactionType.PAYMENT, -100));
+
+        assertThat(snapshots.watermark()).isEqualTo(-1);
+        assertThat(snapshots.compact()).isEqualTo(4);
+        assertThat(snapshots.watermark()).isEqualTo(snapshots.head());
+        assertThat(snapshots.compact()).isZero();
+
+        await(ledger.submit(CARD, TransactionType.PAYMENT, -50));
+        CardBalanceDto balance = snapshots.balance(CARD);
+
+        assertThat(balance.getAmountUsed()).isEqualTo(250);
+        assertThat(card(CARD)).containsEntry("amount_used", 250);
+        assertThat(balance.getReplayedEntries()).isEqualTo(1);
+        assertThat(balance.getLastTransactionId()).isEqualTo(snapshots.head());
+        assertThat(snapshots.balance(OTHER_CARD).getAmountUsed()).isEqualTo(200);
+
+        snapshots.rebuild();
+
+        assertThat(snapshots.watermark()).isEqualTo(snapshots.head());
+        assertThat(snapshots.balance(CARD).getAmountUsed()).isEqualTo(250);
+        assertThat(snapshots.balance(CARD).getReplayedEntries()).isZero();
+    }
+
+    private Map<String, Object> card(String cardNumber) {
+        return jdbcTemplate.queryForMap("select amount_used, available_amount from cards where card_number = ?",
+                cardNumber);
+    }
+
+    private List<Map<String, Object>> entries(String cardNumber) {
+        return jdbcTemplate.queryForList("select transaction_type, amount from card_transactions "
+                + "where card_number = ? order by transaction_id", cardNumber);
+    }
+
+    private static boolean await(CompletableFuture<Boolean> result) {
+        try {
+            return result.get(5, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.kurobytes.cards.statement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementJobTests {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 9);
+    private static final int CARDS = 100;
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private StatementJob statementJob;
+
+    @BeforeEach
+    void createTables() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("app.db"));
+        dataSource.setJournalMode("WAL");
+        dataSource.setBusyTimeout(5000);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cards (card_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "mobile_number varchar(15) NOT NULL, card_number varchar(100) NOT NULL, "
+                + "total_limit int NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE card_transactions (transaction_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "card_number varchar(100) NOT NULL, transaction_type varchar(20) NOT NULL, amount int NOT NULL, "
+                + "created_at date NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE card_statement (statement_month varchar(7) NOT NULL, card_id int NOT NULL, "
+                + "card_number varchar(100) NOT NULL, mobile_number varchar(15) NOT NULL, total_limit int NOT NULL, "
+                + "opening_balance int NOT NULL, charges int NOT NULL, payments int NOT NULL, "
+                + "adjustments int NOT NULL, closing_balance int NOT NULL, transaction_count int NOT NULL, "
+                + "created_at date NOT NULL, PRIMARY KEY (statement_month, card_id))");
+        jdbcTemplate.execute("CREATE TABLE card_statement_run (statement_month varchar(7) NOT NULL PRIMARY KEY, "
+                + "status varchar(20) NOT NULL, cards bigint NOT NULL, elapsed_ms bigint NOT NULL, "
+                + "online_latency_before_us bigint, online_latency_during_us bigint, started_at date NOT NULL, "
+                + "updated_at date NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE card_statement_partition (statement_month varchar(7) NOT NULL, "
+                + "partition_no int NOT NULL, from_card_id int NOT NULL, to_card_id int NOT NULL, "
+                + "status varchar(20) NOT NULL, cards bigint NOT NULL, updated_at date NOT NULL, "
+                + "PRIMARY KEY (statement_month, partition_no))");
+        for (int i = 0; i < CARDS; i++) {
+            jdbcTemplate.update("insert into cards (mobile_number, card_number, total_limit) values (?, ?, 100000)",
+                    Long.toString(4354437000L + i), Long.toString(100000000000L + i));
+        }
+
+        StatementProperties properties = new StatementProperties();
+        properties.setPartitions(8);
+        properties.setWorkers(3);
+        properties.setPageSize(7);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        statementJob = new StatementJob(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new StatementRuns(jdbcTemplate), new StatementThrottle(meterRegistry, properties), properties,
+                meterRegistry);
+    }
+
+    @Test
+    void statementTotalsComeFromTheLedgerEntriesOfTheMonth() {
+        transaction("100000000000", "OPENING", 1000, LocalDateTime.of(2026, 8, 20, 12, 0));
+        transaction("100000000000", "CHARGE", 500, LocalDateTime.of(2026, 9, 1, 0, 0));
+        transaction("100000000000", "PAYMENT", -300, LocalDateTime.of(2026, 9, 15, 9, 30));
+        transaction("100000000000", "ADJUSTMENT", 25, LocalDateTime.of(2026, 9, 30, 23, 59));
+        transaction("100000000000", "CHARGE", 700, LocalDateTime.of(2026, 10, 1, 0, 0));
+
+        StatementRun run = statementJob.generate(MONTH);
+
+        assertThat(run.status()).isEqualTo(StatementRunStatus.COMPLETED);
+        assertThat(run.partitions()).isEqualTo(8);
+        assertThat(run.cards()).isEqualTo(CARDS);
+        assertThat(count()).isEqualTo(CARDS);
+        Map<String, Object> statement = jdbcTemplate.queryForMap("select opening_balance, charges, payments, "
+                + "adjustments, closing_balance, transaction_count from card_statement where card_number = ?",
+                "100000000000");
+        assertThat(statement).containsEntry("opening_balance", 1000).containsEntry("charges", 500)
+                .containsEntry("payments", 300).containsEntry("adjustments", 25)
+                .containsEntry("closing_balance", 1225).containsEntry("transaction_count", 3);
+    }
+
+    @Test
+    void restartedRunOnlyProcessesPendingPartitions() {
+        statementJob.generate(MONTH);
+        // 後半のパーティションが未完了のまま停止した状態を再現する
+        jdbcTemplate.update("update card_statement_run set status = 'RUNNING'");
+        jdbcTemplate.update("update card_statement_partition set status = 'PENDING', cards = 0 where partition_no >= 4");
+        jdbcTemplate.update("delete from card_statement where card_id > (select to_card_id "
+                + "from card_statement_partition where partition_no = 3)");
+        jdbcTemplate.update("update card_statement set transaction_count = -1");
+
+        StatementRun run = statementJob.generate(MONTH);
+
+        assertThat(run.status()).isEqualTo(StatementRunStatus.COMPLETED);
+        assertThat(run.cards()).isEqualTo(CARDS);
+        assertThat(count()).isEqualTo(CARDS);
+        Integer untouched = jdbcTemplate.queryForObject(
+                "select count(*) from card_statement where transaction_count = -1", Integer.class);
+        assertThat(untouched).isEqualTo(CARDS / 2);
+        assertThat(statementJob.generate(MONTH).status()).isEqualTo(StatementRunStatus.COMPLETED);
+    }
+
+    private void transaction(String cardNumber, String type, int amount, LocalDateTime createdAt) {
+        jdbcTemplate.update("insert into card_transactions (card_number, transaction_type, amount, created_at) "
+                + "values (?, ?, ?, ?)", cardNumber, type, amount, Timestamp.valueOf(createdAt));
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from card_statement", Integer.class);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.kurobytes.common.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Turns on Hibernate's second-level, natural-id and query caches for every service with JPA on its classpath,
+ * backed by bounded Caffeine caches. Only entities annotated with {@code @Cache} are cached; their regions are
+ * listed under {@code kurobank.entity-cache.regions}. Set {@code kurobank.entity-cache.enabled=false} to read
+ * everything from the database again; {@link NaturalIdLookup} and {@link EntityCacheEvictor} keep working.
+ */
+@AutoConfiguration(before = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass({EntityManagerFactory.class, SessionFactory.class})
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheAutoConfiguration {
+
+    @Bean
+    public EntityCacheEvictor entityCacheEvictor(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return new EntityCacheEvictor(entityManagerFactory);
+    }
+
+    @Bean
+    public NaturalIdLookup naturalIdLookup(EntityManager entityManager) {
+        return new NaturalIdLookup(entityManager);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({ConfigSettings.class, CaffeineCachingProvider.class})
+    @ConditionalOnProperty(prefix = "kurobank.entity-cache", name = "enabled", matchIfMissing = true)
+    static class SecondLevelCacheConfiguration {
+
+        @Bean(destroyMethod = "close")
+        public CacheManager entityCacheManager(EntityCacheProperties properties) {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            // 既定の URI だと JVM 内で共有されるので、コンテキストごとに別の CacheManager にする（テストでは複数並ぶ）
+            CacheManager cacheManager = provider.getCacheManager(
+                    URI.create(EntityCacheAutoConfiguration.class.getName() + "/" + UUID.randomUUID()),
+                    EntityCacheAutoConfiguration.class.getClassLoader());
+            for (String region : regions(properties)) {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(properties.maxEntries(region)));
+                configuration.setExpireAfterWrite(OptionalLong.of(properties.timeToLive(region).toNanos()));
+                cacheManager.createCache(region, configuration);
+            }
+            // 更新タイムスタンプは失効させるとクエリキャッシュが古い結果を返しうるので上限も TTL も付けない
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    new CaffeineConfiguration<>());
+            return cacheManager;
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+            return hibernateProperties -> {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+                hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            };
+        }
+
+        /**
+         * @return the configured regions plus the query results region, which is bounded like them
+         */
+        static List<String> regions(EntityCacheProperties properties) {
+            List<String> regions = new ArrayList<>(properties.getRegions().keySet());
+            regions.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            return regions;
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        static class EntityCacheMetricsConfiguration {
+
+            @Bean
+            public EntityCacheMetrics entityCacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                                         CacheManager entityCacheManager,
+                                                         EntityCacheProperties properties) {
+                return new EntityCacheMetrics(entityManagerFactory, entityCacheManager, properties,
+                        regions(properties));
+            }
+
+        }
+
+    }
+
+}
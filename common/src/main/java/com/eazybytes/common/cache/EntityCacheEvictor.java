@@ -0,0 +1,71 @@
+package com.kurobytes.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Evicts cached entities changed by plain SQL, which Hibernate does not see. Inside a transaction the eviction
+ * runs after commit, so a concurrent read cannot cache the old state again in between.
+ */
+public class EntityCacheEvictor {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public EntityCacheEvictor(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * For updates that leave the natural id alone.
+     *
+     * @param entityType - Cached entity
+     * @param ids        - Identifiers of the changed rows
+     */
+    public void evict(Class<?> entityType, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<?> evicted = List.copyOf(ids);
+        afterCommit(cache -> evicted.forEach(id -> cache.evictEntityData(entityType, id)));
+    }
+
+    /**
+     * For deletes and other changes that can leave natural ids or cached query results pointing at the wrong row.
+     *
+     * @param entityType - Cached entity
+     */
+    public void evictAll(Class<?> entityType) {
+        afterCommit(cache -> {
+            cache.evictEntityData(entityType);
+            cache.evictNaturalIdData(entityType);
+            cache.evictQueryRegions();
+        });
+    }
+
+    private void afterCommit(Consumer<Cache> eviction) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) {
+            return;
+        }
+        Cache cache = factory.unwrap(SessionFactory.class).getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.accept(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.accept(cache);
+            }
+        });
+    }
+
+}
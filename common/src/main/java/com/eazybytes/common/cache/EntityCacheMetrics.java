@@ -0,0 +1,109 @@
+package com.kurobytes.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per region: {@code entity.cache.requests} (hit/miss) and {@code entity.cache.puts} from Hibernate's statistics,
+ * {@code entity.cache.hit.ratio}, the current {@code entity.cache.entries} and the configured
+ * {@code entity.cache.max.entries} and {@code entity.cache.ttl}.
+ * <p>
+ * The session factory is looked up when the meters are read, so binding does not force JPA to start early.
+ */
+public class EntityCacheMetrics implements MeterBinder {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final EntityCacheProperties properties;
+    private final List<String> regions;
+
+    public EntityCacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory, CacheManager cacheManager,
+                              EntityCacheProperties properties, List<String> regions) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.regions = List.copyOf(regions);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            FunctionCounter.builder("entity.cache.requests", this,
+                            metrics -> metrics.count(region, CacheRegionStatistics::getHitCount))
+                    .description("Second-level cache lookups")
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("entity.cache.requests", this,
+                            metrics -> metrics.count(region, CacheRegionStatistics::getMissCount))
+                    .description("Second-level cache lookups")
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("entity.cache.puts", this,
+                            metrics -> metrics.count(region, CacheRegionStatistics::getPutCount))
+                    .description("Entries written to the second-level cache")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("entity.cache.hit.ratio", this, metrics -> metrics.hitRatio(region))
+                    .description("Share of second-level cache lookups served from the cache since startup")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("entity.cache.entries", this, metrics -> metrics.entries(region))
+                    .description("Entries currently held by the region")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("entity.cache.max.entries", properties, config -> config.maxEntries(region))
+                    .description("Configured bound of the region")
+                    .tag("region", region)
+                    .register(registry);
+            TimeGauge.builder("entity.cache.ttl", properties, TimeUnit.MILLISECONDS,
+                            config -> config.timeToLive(region).toMillis())
+                    .description("Configured time to live of the region")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private double count(String region, ToLongFunction<CacheRegionStatistics> counter) {
+        CacheRegionStatistics statistics = statistics(region);
+        return statistics == null ? 0 : counter.applyAsLong(statistics);
+    }
+
+    private double hitRatio(String region) {
+        CacheRegionStatistics statistics = statistics(region);
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        long requests = statistics.getHitCount() + statistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) statistics.getHitCount() / requests;
+    }
+
+    private double entries(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        return cache == null ? Double.NaN
+                : cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private CacheRegionStatistics statistics(String region) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null || !factory.isOpen()) {
+            return null;
+        }
+        return factory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(region);
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.kurobytes.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "kurobank.entity-cache")
+@Getter
+@Setter
+public class EntityCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Default bound of a region; the least recently used entries are dropped beyond it.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * Default time an entry stays cached after it was written. Also bounds how long a change made outside
+     * Hibernate and not evicted can be served.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Regions used by the cached entities of the service, by the region name of their {@code @Cache} and
+     * {@code @NaturalIdCache}. A region missing here fails the startup instead of being created unbounded.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        private Long maxEntries;
+
+        private Duration timeToLive;
+
+    }
+
+    long maxEntries(String region) {
+        Region config = regions.get(region);
+        return config != null && config.getMaxEntries() != null ? config.getMaxEntries() : maxEntries;
+    }
+
+    Duration timeToLive(String region) {
+        Region config = regions.get(region);
+        return config != null && config.getTimeToLive() != null ? config.getTimeToLive() : timeToLive;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.kurobytes.common.cache;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Loads an entity by its {@code @NaturalId}. Unlike a derived {@code findBy...} query this goes through the
+ * natural-id cache, so a cached entity is returned without touching the database.
+ */
+public class NaturalIdLookup {
+
+    private final EntityManager entityManager;
+
+    public NaturalIdLookup(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param entityType - Entity with a single {@code @NaturalId} attribute
+     * @param naturalId  - Value of that attribute
+     * @return the entity, managed by the current transaction if there is one
+     */
+    @Transactional(readOnly = true)
+    public <T> Optional<T> find(Class<T> entityType, Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(entityType).loadOptional(naturalId);
+    }
+
+}
@@ -1,126 +1,12 @@
 package com.kurobytes.common.dialect;
 
-import org.hibernate.dialect.Dialect;
-import org.hibernate.dialect.function.StandardSQLFunction;
-import org.hibernate.dialect.identity.IdentityColumnSupport;
-import org.hibernate.dialect.identity.SQLiteIdentityColumnSupport;
-import org.hibernate.dialect.pagination.LimitHandler;
-import org.hibernate.dialect.pagination.SQLite320LimitHandler;
-import org.hibernate.type.StandardBasicTypes;
+/**
+ * SQLite dialect referenced by the services' {@code spring.jpa.database-platform}.
+ * <p>
+ * Hibernate 6 no longer lets a dialect register column types and functions in its constructor, so this keeps
+ * the class name the configuration uses and takes the type mapping, identity support and limit handling from
+ * Hibernate's community SQLite dialect.
+ */
+public class SQLiteDialect extends org.hibernate.community.dialect.SQLiteDialect {
 
-import java.sql.Types;
-
-public class SQLiteDialect extends Dialect {
-
-    public SQLiteDialect() {
-        super();
-        
-        registerColumnType(Types.BIT, "integer");
-        registerColumnType(Types.TINYINT, "tinyint");
-        registerColumnType(Types.SMALLINT, "smallint");
-        registerColumnType(Types.INTEGER, "integer");
-        registerColumnType(Types.BIGINT, "bigint");
-        registerColumnType(Types.FLOAT, "float");
-        registerColumnType(Types.REAL, "real");
-        registerColumnType(Types.DOUBLE, "double");
-        registerColumnType(Types.NUMERIC, "numeric");
-        registerColumnType(Types.DECIMAL, "decimal");
-        registerColumnType(Types.CHAR, "char");
-        registerColumnType(Types.VARCHAR, "varchar");
-        registerColumnType(Types.LONGVARCHAR, "longvarchar");
-        registerColumnType(Types.DATE, "date");
-        registerColumnType(Types.TIME, "time");
-        registerColumnType(Types.TIMESTAMP, "timestamp");
-        registerColumnType(Types.BINARY, "blob");
-        registerColumnType(Types.VARBINARY, "blob");
-        registerColumnType(Types.LONGVARBINARY, "blob");
-        registerColumnType(Types.BLOB, "blob");
-        registerColumnType(Types.CLOB, "clob");
-        registerColumnType(Types.BOOLEAN, "integer");
-
-        registerFunction("concat", new StandardSQLFunction("||", StandardBasicTypes.STRING));
-        registerFunction("mod", new StandardSQLFunction("mod", StandardBasicTypes.INTEGER));
-        registerFunction("substr", new StandardSQLFunction("substr", StandardBasicTypes.STRING));
-        registerFunction("substring", new StandardSQLFunction("substr", StandardBasicTypes.STRING));
-    }
-
-    @Override
-    public IdentityColumnSupport getIdentityColumnSupport() {
-        return new SQLiteIdentityColumnSupport();
-    }
-
-    @Override
-    public boolean hasAlterTable() {
-        return false;
-    }
-
-    @Override
-    public boolean dropConstraints() {
-        return false;
-    }
-
-    @Override
-    public String getDropForeignKeyString() {
-        return "";
-    }
-
-    @Override
-    public String getAddForeignKeyConstraintString(String constraintName, String[] foreignKey, String referencedTable, String[] primaryKey, boolean referencesPrimaryKey) {
-        return "";
-    }
-
-    @Override
-    public String getAddPrimaryKeyConstraintString(String constraintName) {
-        return "";
-    }
-
-    @Override
-    public boolean supportsIfExistsBeforeTableName() {
-        return true;
-    }
-
-    @Override
-    public boolean supportsCascadeDelete() {
-        return false;
-    }
-
-    @Override
-    public LimitHandler getLimitHandler() {
-        return SQLite320LimitHandler.INSTANCE;
-    }
-
-    @Override
-    public String getSelectGUIDString() {
-        return "select hex(randomblob(16))";
-    }
-
-    @Override
-    public boolean supportsCurrentTimestampSelection() {
-        return true;
-    }
-
-    @Override
-    public String getCurrentTimestampSelectString() {
-        return "select current_timestamp";
-    }
-
-    @Override
-    public boolean isCurrentTimestampSelectStringCallable() {
-        return false;
-    }
-
-    @Override
-    public boolean supportsUnionAll() {
-        return true;
-    }
-
-    @Override
-    public boolean supportsColumnCheck() {
-        return false;
-    }
-
-    @Override
-    public boolean supportsTableCheck() {
-        return false;
-    }
 }
@@ -5,7 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Data @AllArgsConstructor
 @Schema(
@@ -14,15 +16,17 @@ import java.time.LocalDateTime;
 )
 public class ErrorResponseDto {
 
+    private static volatile ErrorTime lastErrorTime = new ErrorTime(0, null);
+
     @Schema(
             description = "API path invoked by client"
     )
     private  String apiPath;
 
     @Schema(
-            description = "Error code representing the error happened"
+            description = "Error code representing the error happened", example = "NOT_FOUND"
     )
-    private HttpStatus errorCode;
+    private String errorCode;
 
     @Schema(
             description = "Error message representing the error happened"
@@ -30,8 +34,30 @@ public class ErrorResponseDto {
     private  String errorMessage;
 
     @Schema(
-            description = "Time representing when the error happened"
+            description = "Time representing when the error happened", example = "2024-05-01T10:15:30.123"
     )
-    private LocalDateTime errorTime;
+    private String errorTime;
+
+    /**
+     * Same JSON as when the fields were {@code HttpStatus} and {@code LocalDateTime}: the status name, and the local
+     * time in ISO form, to the millisecond. Errors raised within the same millisecond share the time string.
+     */
+    public static ErrorResponseDto of(String apiPath, HttpStatus status, String errorMessage) {
+        return new ErrorResponseDto(apiPath, status.name(), errorMessage, errorTime());
+    }
+
+    private static String errorTime() {
+        long now = System.currentTimeMillis();
+        ErrorTime last = lastErrorTime;
+        if (last.millis == now) {
+            return last.text;
+        }
+        String text = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()).toString();
+        lastErrorTime = new ErrorTime(now, text);
+        return text;
+    }
+
+    private record ErrorTime(long millis, String text) {
+    }
 
 }
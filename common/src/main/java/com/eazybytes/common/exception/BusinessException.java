@@ -0,0 +1,25 @@
+package com.kurobytes.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An expected outcome of a request - not found, already exists, a rule that does not allow it - rather than a fault.
+ * These are thrown on ordinary traffic and answered from the message alone, so no stack trace is captured.
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    protected BusinessException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * @return the status the error response is sent with
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.kurobytes.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ResourceAlreadyExistsException extends BusinessException {
+
+    public ResourceAlreadyExistsException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+
+}
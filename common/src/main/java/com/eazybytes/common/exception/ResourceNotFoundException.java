@@ -0,0 +1,30 @@
+package com.kurobytes.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ResourceNotFoundException extends BusinessException {
+
+    private final String resourceName;
+    private final String fieldName;
+    private final String fieldValue;
+    private String message;
+
+    public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
+        super(HttpStatus.NOT_FOUND, null);
+        this.resourceName = resourceName;
+        this.fieldName = fieldName;
+        this.fieldValue = fieldValue;
+    }
+
+    /**
+     * Built on first use: callers that only check for the exception never pay for the message.
+     */
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = resourceName + " not found with the given input data " + fieldName + " : '" + fieldValue + "'";
+        }
+        return message;
+    }
+
+}
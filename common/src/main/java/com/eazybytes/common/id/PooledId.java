@@ -0,0 +1,32 @@
+package com.kurobytes.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+
+/**
+ * Generates the annotated {@code Long} identifier from a pool reserved in {@code hibernate_sequences}, so inserts
+ * can be batched. {@code GenerationType.IDENTITY} cannot: Hibernate has to run each insert on persist to read the
+ * key back.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledId {
+
+    /**
+     * @return the {@code sequence_name} row the identifiers are reserved from
+     */
+    String name();
+
+    /**
+     * @return identifiers reserved per round trip; unused ones are skipped when the service stops
+     */
+    int allocationSize() default 50;
+
+}
@@ -0,0 +1,142 @@
+package com.kurobytes.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out identifiers from blocks of {@link PooledId#allocationSize()} reserved with a single upsert on
+ * {@code hibernate_sequences}.
+ * <p>
+ * The block is reserved on the connection of the persisting transaction. A separate connection, as Hibernate's
+ * table generator uses, would wait on SQLite's single write lock whenever that transaction has written already.
+ * If the transaction rolls back the reservation is undone while the block is still being handed out, so every
+ * reservation starts past the highest block this instance has seen, and a block that overlaps one is reserved
+ * again. Ids committed from such a block are above {@code next_val}, so after a restart the first reservation
+ * also starts past the highest id in the entity's table.
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    static final String CREATE_TABLE = "create table if not exists hibernate_sequences "
+            + "(sequence_name varchar(100) not null primary key, next_val bigint not null)";
+    static final String RESERVE = "insert into hibernate_sequences (sequence_name, next_val) values (?, max(?, 1) + ?) "
+            + "on conflict (sequence_name) do update set next_val = max(next_val, ?) + ? returning next_val";
+
+    private final String sequenceName;
+    private final int allocationSize;
+    private final String maxIdSql;
+    private final AtomicLong reservedUpTo = new AtomicLong();
+    private volatile boolean flooredAtMaxId;
+    private long next;
+    private long limit;
+
+    public PooledIdGenerator(PooledId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        if (config.allocationSize() < 1) {
+            throw new IllegalArgumentException("allocationSize of " + config.name() + " must be positive");
+        }
+        this.sequenceName = config.name();
+        this.allocationSize = config.allocationSize();
+        this.maxIdSql = "select coalesce(max(" + context.getProperty().getColumns().get(0).getQuotedName()
+                + "), 0) from " + context.getPersistentClass().getTable().getQuotedName();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        synchronized (this) {
+            if (next < limit) {
+                return next++;
+            }
+        }
+        long start = reserve(session);
+        synchronized (this) {
+            // 並行して予約した別スレッドのブロックが残っていれば、こちらの残りは捨てる（欠番になるだけ）
+            if (next >= limit) {
+                next = start + 1;
+                limit = start + allocationSize;
+            }
+        }
+        return start;
+    }
+
+    private long reserve(SharedSessionContractImplementor session) {
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try {
+            createTable(connection);
+            floorAtMaxId(connection);
+            while (true) {
+                long floor = reservedUpTo.get();
+                long end = reserve(connection, floor);
+                long start = end - allocationSize;
+                if (claim(start, end)) {
+                    return start;
+                }
+            }
+        } catch (SQLException ex) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(ex, "could not reserve identifiers for " + sequenceName, RESERVE);
+        }
+    }
+
+    /**
+     * @return false if the block starts below one handed out already, because the transaction that reserved
+     * that one rolled back
+     */
+    private boolean claim(long start, long end) {
+        while (true) {
+            long current = reservedUpTo.get();
+            if (start < current) {
+                return false;
+            }
+            if (reservedUpTo.compareAndSet(current, end)) {
+                return true;
+            }
+        }
+    }
+
+    private long reserve(Connection connection, long floor) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(RESERVE)) {
+            statement.setString(1, sequenceName);
+            statement.setLong(2, floor);
+            statement.setInt(3, allocationSize);
+            statement.setLong(4, floor);
+            statement.setInt(5, allocationSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private void floorAtMaxId(Connection connection) throws SQLException {
+        if (flooredAtMaxId) {
+            return;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(maxIdSql)) {
+            resultSet.next();
+            long maxId = resultSet.getLong(1);
+            reservedUpTo.accumulateAndGet(maxId + 1, Math::max);
+        }
+        flooredAtMaxId = true;
+    }
+
+    /**
+     * Runs on every reservation: SQLite DDL is transactional, so a table created by a transaction that rolled
+     * back is gone again. {@code if not exists} makes this a schema lookup once the table is there.
+     */
+    private void createTable(Connection connection) throws SQLException {
+        // schema.sql で作成済みのはずだが、ddl-auto で作ったスキーマ（テスト）にも対応する
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.kurobytes.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kurobytes.common.dto.ErrorResponseDto;
+
+import java.io.IOException;
+
+public class ErrorResponseDtoSerializer extends StreamingSerializer<ErrorResponseDto> {
+
+    private static final SerializedString API_PATH = name("apiPath");
+    private static final SerializedString ERROR_CODE = name("errorCode");
+    private static final SerializedString ERROR_MESSAGE = name("errorMessage");
+    private static final SerializedString ERROR_TIME = name("errorTime");
+
+    public ErrorResponseDtoSerializer() {
+        super(ErrorResponseDto.class);
+    }
+
+    @Override
+    public void serialize(ErrorResponseDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, API_PATH, value.getApiPath());
+        writeString(gen, ERROR_CODE, value.getErrorCode());
+        writeString(gen, ERROR_MESSAGE, value.getErrorMessage());
+        writeString(gen, ERROR_TIME, value.getErrorTime());
+        gen.writeEndObject();
+    }
+
+}
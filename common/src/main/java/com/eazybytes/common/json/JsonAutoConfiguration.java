@@ -0,0 +1,75 @@
+package com.kurobytes.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Tunes the {@link ObjectMapper} Boot builds for every service: generated property accessors, a buffer pool
+ * shared across threads and, with {@code kurobank.json.streaming-serializers=true}, hand-written serializers for
+ * {@code ErrorResponseDto} here and for each service's hottest DTOs (their {@code @JsonComponent}s).
+ * <p>
+ * Servlet services also read and write CBOR with a mapper configured like the JSON one, for the controllers that
+ * list {@code application/cbor} in {@code produces} and the WebClients that ask for it.
+ */
+@AutoConfiguration(before = JacksonAutoConfiguration.class)
+@ConditionalOnClass({ObjectMapper.class, Jackson2ObjectMapperBuilder.class})
+@EnableConfigurationProperties(JsonProperties.class)
+public class JsonAutoConfiguration {
+
+    @Bean
+    public TunedJacksonCustomizer tunedJacksonCustomizer(JsonProperties properties) {
+        return new TunedJacksonCustomizer(properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(CBORFactory.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "kurobank.json", name = "cbor", matchIfMissing = true)
+    static class CborConfiguration {
+
+        @Bean
+        public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+                Jackson2ObjectMapperBuilder builder, JsonProperties properties) {
+            return new MappingJackson2CborHttpMessageConverter(cborMapper(builder, properties));
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(WebClient.class)
+        static class WebClientCborConfiguration {
+
+            @Bean
+            public WebClientCustomizer cborWebClientCustomizer(Jackson2ObjectMapperBuilder builder,
+                                                               JsonProperties properties) {
+                ObjectMapper cborMapper = cborMapper(builder, properties);
+                return webClientBuilder -> webClientBuilder.codecs(codecs -> {
+                    codecs.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+                    codecs.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+                });
+            }
+
+        }
+
+        /**
+         * @param builder - Boot's builder, with every customizer already applied
+         */
+        private static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder, JsonProperties properties) {
+            return builder.factory(TunedJacksonCustomizer.tune(CBORFactory.builder(), properties).build()).build();
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.kurobytes.common.json;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kurobank.json")
+@Getter
+@Setter
+public class JsonProperties {
+
+    /**
+     * Read and write bean properties through generated lambdas (Blackbird) instead of reflection.
+     */
+    private boolean blackbird = true;
+
+    /**
+     * Where parsers and generators borrow their byte and char buffers from.
+     */
+    private RecyclerPool recyclerPool = RecyclerPool.SHARED;
+
+    /**
+     * Write the hottest DTOs with the hand-written {@link StreamingSerializer}s instead of bean serializers.
+     * Those serializers ignore Jackson annotations on the DTO, so keep them in step when a DTO changes.
+     */
+    private boolean streamingSerializers = false;
+
+    /**
+     * Offer CBOR next to JSON, for calls between the services that ask for it in {@code Accept}.
+     */
+    private boolean cbor = true;
+
+    public enum RecyclerPool {
+
+        /**
+         * Jackson's default: one set of buffers per thread. Each virtual thread starts with an empty set.
+         */
+        THREAD_LOCAL,
+
+        /**
+         * One pool for all threads, so buffers are reused across virtual threads.
+         */
+        SHARED
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.kurobytes.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Base for serializers that write a DTO field by field. Field names are {@link SerializedString}s, created once,
+ * so their quoted and encoded forms are computed once rather than on every write.
+ */
+public abstract class StreamingSerializer<T> extends StdSerializer<T> {
+
+    protected StreamingSerializer(Class<T> type) {
+        super(type);
+    }
+
+    protected static SerializedString name(String name) {
+        return new SerializedString(name);
+    }
+
+    protected static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializedString name, int value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    protected static void writeNumber(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.kurobytes.common.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.TSFBuilder;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.kurobytes.common.dto.ErrorResponseDto;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Applies {@link JsonProperties} on top of Boot's own {@code spring.jackson.*} settings.
+ * <ul>
+ *     <li>field names are still canonicalized per parser, but no longer interned: that is a call into the JVM's
+ *     string table for every name a parser's symbol table meets for the first time</li>
+ *     <li>decimals, such as the loan schedules' amounts, are read and written with Jackson's fast number code
+ *     instead of {@code Double.parseDouble} and {@code Double.toString}</li>
+ * </ul>
+ * Run {@code JsonSerializationBenchmark} in accounts before changing any of these.
+ */
+public class TunedJacksonCustomizer implements Jackson2ObjectMapperBuilderCustomizer, Ordered {
+
+    private final JsonProperties properties;
+
+    public TunedJacksonCustomizer(JsonProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void customize(Jackson2ObjectMapperBuilder builder) {
+        builder.factory(tune(new JsonFactoryBuilder(), properties).build());
+        if (properties.isBlackbird()) {
+            builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+        }
+        if (properties.isStreamingSerializers()) {
+            builder.serializerByType(ErrorResponseDto.class, new ErrorResponseDtoSerializer());
+        }
+    }
+
+    /**
+     * Applies the factory settings above to any format's factory builder, so binary formats get them as well.
+     */
+    public static <F extends JsonFactory, B extends TSFBuilder<F, B>> B tune(B factory, JsonProperties properties) {
+        factory.disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+                .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+                .enable(StreamReadFeature.USE_FAST_BIG_NUMBER_PARSER)
+                .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER);
+        if (properties.getRecyclerPool() == JsonProperties.RecyclerPool.SHARED) {
+            factory.recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+        }
+        return factory;
+    }
+
+    /**
+     * After Boot's customizer, so these settings win over {@code spring.jackson.*}.
+     */
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.kurobytes.common.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load and health of one service instance as seen by this client.
+ * <p>
+ * Latency is an exponentially weighted moving average decayed by elapsed time rather than by sample count,
+ * so an instance that received little traffic recently is not judged by old samples. All fields except the
+ * in-flight counter are guarded by the instance monitor; updates are a few arithmetic operations.
+ */
+public class InstanceStats {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleAt;
+    private int consecutiveFailures;
+    private int ejections;
+    private long ejectedUntil;
+    private boolean probing;
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * @return load estimate used to compare two candidates; lower is better
+     */
+    synchronized double cost() {
+        return (ewmaNanos + 1) * (inFlight.get() + 1);
+    }
+
+    synchronized double ewmaNanos() {
+        return ewmaNanos;
+    }
+
+    /**
+     * @return true unless the instance is ejected or waiting for a successful probe
+     */
+    synchronized boolean isAvailable() {
+        return ejectedUntil == 0;
+    }
+
+    /**
+     * Lets exactly one request through to an instance whose ejection has expired.
+     *
+     * @return true when the caller should send the probe request
+     */
+    synchronized boolean tryStartProbe(long now) {
+        if (ejectedUntil == 0 || now - ejectedUntil < 0 || probing) {
+            return false;
+        }
+        probing = true;
+        return true;
+    }
+
+    /**
+     * @return true when this sample ejected the instance
+     */
+    synchronized boolean requestFinished(long now, long latencyNanos, boolean failed, long decayNanos,
+                                         int failureThreshold, long baseEjectionNanos, long maxEjectionNanos,
+                                         boolean ejectionAllowed) {
+        inFlight.decrementAndGet();
+        if (latencyNanos >= 0) {
+            if (lastSampleAt == 0) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) (now - lastSampleAt) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            lastSampleAt = now;
+        }
+        if (!failed) {
+            consecutiveFailures = 0;
+            if (probing) {
+                probing = false;
+                ejectedUntil = 0;
+                ejections--;
+            }
+            return false;
+        }
+        consecutiveFailures++;
+        if (probing || consecutiveFailures >= failureThreshold && ejectedUntil == 0 && ejectionAllowed) {
+            probing = false;
+            ejections++;
+            long ejectionNanos = Math.min(maxEjectionNanos, baseEjectionNanos << Math.min(20, ejections - 1));
+            ejectedUntil = now + ejectionNanos;
+            consecutiveFailures = 0;
+            return true;
+        }
+        return false;
+    }
+
+}
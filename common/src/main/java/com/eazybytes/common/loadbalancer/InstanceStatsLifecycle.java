@@ -0,0 +1,63 @@
+package com.kurobytes.common.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Feeds request outcomes back into {@link InstanceStatsRegistry}.
+ * <p>
+ * Called by both the gateway's {@code lb://} routing and {@code @LoadBalanced} RestTemplate / WebClient
+ * clients, so every caller sees the same latency and health data for an instance.
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final InstanceStatsRegistry registry;
+
+    public InstanceStatsLifecycle(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse.hasServer()) {
+            request.getContext().setRequestStartTime(registry.now());
+            registry.requestStarted(lbResponse.getServer());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        RequestDataContext context = completionContext.getLoadBalancerRequest().getContext();
+        long latency = context.getRequestStartTime() > 0 ? registry.now() - context.getRequestStartTime() : -1;
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED;
+        ResponseData response = completionContext.getClientResponse();
+        if (!failed && response != null) {
+            HttpStatusCode status = response.getHttpStatus();
+            failed = status != null && status.is5xxServerError();
+        }
+        registry.requestFinished(lbResponse.getServer(), latency, failed);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.kurobytes.common.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link InstanceStats} of the instances of one service, keyed by host and port.
+ */
+public class InstanceStatsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    private final String serviceId;
+    private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long decayNanos;
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+    private volatile int knownInstances;
+
+    public InstanceStatsRegistry(String serviceId, PowerOfTwoChoicesProperties properties) {
+        this(serviceId, properties, System::nanoTime);
+    }
+
+    InstanceStatsRegistry(String serviceId, PowerOfTwoChoicesProperties properties, LongSupplier nanoClock) {
+        this.serviceId = serviceId;
+        this.nanoClock = nanoClock;
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.failureThreshold = properties.getConsecutiveFailures();
+        this.baseEjectionNanos = properties.getBaseEjectionTime().toNanos();
+        this.maxEjectionNanos = properties.getMaxEjectionTime().toNanos();
+        this.maxEjectionPercent = properties.getMaxEjectionPercent();
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        String key = key(instance);
+        InstanceStats instanceStats = stats.get(key);
+        return instanceStats != null ? instanceStats : stats.computeIfAbsent(key, k -> new InstanceStats());
+    }
+
+    long now() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Drops instances no longer returned by discovery.
+     */
+    void retain(List<ServiceInstance> instances) {
+        knownInstances = instances.size();
+        if (stats.size() > instances.size()) {
+            List<String> keys = instances.stream().map(InstanceStatsRegistry::key).toList();
+            stats.keySet().retainAll(keys);
+        }
+    }
+
+    void requestStarted(ServiceInstance instance) {
+        get(instance).requestStarted();
+    }
+
+    /**
+     * @param latencyNanos - Request latency, negative when unknown
+     * @param failed       - true for an I/O error or a 5xx answer
+     */
+    void requestFinished(ServiceInstance instance, long latencyNanos, boolean failed) {
+        boolean ejectionAllowed = failed && (ejectedCount() + 1) * 100 <= maxEjectionPercent * Math.max(1, knownInstances);
+        boolean ejected = get(instance).requestFinished(now(), latencyNanos, failed, decayNanos, failureThreshold,
+                baseEjectionNanos, maxEjectionNanos, ejectionAllowed);
+        if (ejected) {
+            logger.warn("Ejected {} instance {} after repeated failures", serviceId, key(instance));
+        }
+    }
+
+    private int ejectedCount() {
+        int ejected = 0;
+        for (InstanceStats instanceStats : stats.values()) {
+            if (!instanceStats.isAvailable()) {
+                ejected++;
+            }
+        }
+        return ejected;
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.kurobytes.common.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+
+/**
+ * Makes {@link PowerOfTwoChoicesLoadBalancer} the default for every load-balanced client of a service that
+ * has Spring Cloud LoadBalancer on its classpath. Set {@code kurobank.loadbalancer.enabled=false} to fall back
+ * to the round-robin default.
+ */
+@AutoConfiguration
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@ConditionalOnProperty(prefix = "kurobank.loadbalancer", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(PowerOfTwoChoicesProperties.class)
+@LoadBalancerClients(defaultConfiguration = PowerOfTwoChoicesLoadBalancerConfiguration.class)
+public class PowerOfTwoChoicesAutoConfiguration {
+}
@@ -0,0 +1,91 @@
+package com.kurobytes.common.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two instances at random and sends the request to the one with the lower
+ * {@code EWMA latency * (in-flight + 1)}.
+ * <p>
+ * Comparing two random candidates avoids the herd behaviour of always choosing the single best instance
+ * from stale data, while still steering traffic away from slow or busy instances. Ejected instances are
+ * skipped; once their ejection expires one probe request is sent and a success brings them back. If every
+ * instance is ejected the balancer falls back to all of them rather than failing outright.
+ */
+public class PowerOfTwoChoicesLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final InstanceStatsRegistry registry;
+
+    public PowerOfTwoChoicesLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                         InstanceStatsRegistry registry) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size == 0) {
+            return new EmptyResponse();
+        }
+        registry.retain(instances);
+        if (size == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        long now = registry.now();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int start = random.nextInt(size);
+        int firstIndex = -1;
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            InstanceStats stats = registry.get(instances.get(index));
+            if (stats.isAvailable()) {
+                firstIndex = index;
+                break;
+            }
+            if (stats.tryStartProbe(now)) {
+                return new DefaultResponse(instances.get(index));
+            }
+        }
+        if (firstIndex < 0) {
+            // 全台が排除中の場合は失敗させずに全台から選ぶ
+            return new DefaultResponse(instances.get(start));
+        }
+
+        int secondStart = firstIndex + 1 + random.nextInt(size - 1);
+        for (int i = 0; i < size; i++) {
+            int index = (secondStart + i) % size;
+            if (index == firstIndex) {
+                continue;
+            }
+            InstanceStats stats = registry.get(instances.get(index));
+            if (stats.isAvailable()) {
+                ServiceInstance first = instances.get(firstIndex);
+                ServiceInstance second = instances.get(index);
+                return new DefaultResponse(stats.cost() < registry.get(first).cost() ? second : first);
+            }
+        }
+        return new DefaultResponse(instances.get(firstIndex));
+    }
+
+}
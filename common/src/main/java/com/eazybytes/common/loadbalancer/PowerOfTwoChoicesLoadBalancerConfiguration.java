@@ -0,0 +1,41 @@
+package com.kurobytes.common.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer configuration, instantiated by Spring Cloud LoadBalancer in the child context of
+ * every service id. Registered through {@link PowerOfTwoChoicesAutoConfiguration}; must not be component scanned.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PowerOfTwoChoicesLoadBalancerConfiguration {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(Environment environment,
+                                                       PowerOfTwoChoicesProperties properties) {
+        return new InstanceStatsRegistry(serviceId(environment), properties);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> powerOfTwoChoicesLoadBalancer(
+            Environment environment, ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+            InstanceStatsRegistry instanceStatsRegistry) {
+        return new PowerOfTwoChoicesLoadBalancer(serviceId(environment), supplierProvider, instanceStatsRegistry);
+    }
+
+    @Bean
+    public InstanceStatsLifecycle instanceStatsLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new InstanceStatsLifecycle(instanceStatsRegistry);
+    }
+
+    private static String serviceId(Environment environment) {
+        return environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.kurobytes.common.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.loadbalancer")
+@Getter
+@Setter
+public class PowerOfTwoChoicesProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Time constant of the latency average: a sample this old weighs about a third of a fresh one.
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * Consecutive failures (errors or 5xx) that eject an instance.
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * First ejection time; doubled for each further ejection of the same instance.
+     */
+    private Duration baseEjectionTime = Duration.ofSeconds(10);
+
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    /**
+     * Never eject more than this share of a service's instances at once.
+     */
+    private int maxEjectionPercent = 50;
+
+}
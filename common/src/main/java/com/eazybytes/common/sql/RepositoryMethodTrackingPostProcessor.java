@@ -0,0 +1,42 @@
+package com.kurobytes.common.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Attributes the statements of a request to the Spring Data repository method that ran them, so an N+1 warning
+ * names {@code CardsRepository.findByMobileNumber} instead of only {@code select cards}. Timing the repository
+ * methods themselves is left to Spring Boot's {@code spring.data.repository.invocations} timer.
+ */
+class RepositoryMethodTrackingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryMethodTracker(
+                            repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private record RepositoryMethodTracker(String repository) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats == null || !stats.enterRepository(repository + "." + invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            try {
+                return invocation.proceed();
+            } finally {
+                stats.leaveRepository();
+            }
+        }
+
+    }
+
+}
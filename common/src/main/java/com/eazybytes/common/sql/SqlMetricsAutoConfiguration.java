@@ -0,0 +1,59 @@
+package com.kurobytes.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Times every SQL statement by its {@link StatementShape} and counts the statements of each HTTP request, flagging
+ * likely N+1 loads, for every service with a data source. Set {@code kurobank.sql-metrics.enabled=false} to leave
+ * the data source unwrapped.
+ */
+@AutoConfiguration
+@ConditionalOnClass({ProxyDataSourceBuilder.class, MeterRegistry.class})
+@ConditionalOnProperty(prefix = "kurobank.sql-metrics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SqlMetricsProperties.class)
+public class SqlMetricsAutoConfiguration {
+
+    @Bean
+    public static SqlStatementMetrics sqlStatementMetrics() {
+        return new SqlStatementMetrics();
+    }
+
+    @Bean
+    static SqlMetricsDataSourcePostProcessor sqlMetricsDataSourcePostProcessor(
+            ObjectProvider<SqlStatementMetrics> sqlStatementMetrics) {
+        return new SqlMetricsDataSourcePostProcessor(sqlStatementMetrics);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+    static class RepositoryTrackingConfiguration {
+
+        @Bean
+        static RepositoryMethodTrackingPostProcessor repositoryMethodTrackingPostProcessor() {
+            return new RepositoryMethodTrackingPostProcessor();
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class RequestStatsConfiguration {
+
+        @Bean
+        public SqlRequestStatsFilter sqlRequestStatsFilter(SqlMetricsProperties properties) {
+            return new SqlRequestStatsFilter(properties);
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.kurobytes.common.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps each data source so every statement, from JPA and JdbcTemplate alike, passes {@link SqlStatementMetrics}.
+ * The pool stays reachable through {@link DataSource#unwrap}, which is how the pool metrics find it.
+ */
+class SqlMetricsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementMetrics> sqlStatementMetrics;
+
+    SqlMetricsDataSourcePostProcessor(ObjectProvider<SqlStatementMetrics> sqlStatementMetrics) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(sqlStatementMetrics.getObject())
+                    .build();
+        }
+        return bean;
+    }
+
+}
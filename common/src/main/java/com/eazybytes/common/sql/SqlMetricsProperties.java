@@ -0,0 +1,24 @@
+package com.kurobytes.common.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kurobank.sql-metrics")
+@Getter
+@Setter
+public class SqlMetricsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * A request running more statements than this is logged and counted as flagged.
+     */
+    private int maxStatementsPerRequest = 25;
+
+    /**
+     * A request running one statement shape more often than this is flagged as a likely N+1 load.
+     */
+    private int maxRepeatedStatements = 10;
+
+}
@@ -0,0 +1,72 @@
+package com.kurobytes.common.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements run by the thread serving the current HTTP request. Statements run on other threads, such as
+ * {@code @Async} tasks or the card ledger writer, are not counted for the request.
+ */
+final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long elapsedNanos;
+    private String repositoryMethod;
+
+    static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void executed(StatementShape shape, long nanos) {
+        statements++;
+        elapsedNanos += nanos;
+        String statement = repositoryMethod == null ? shape.label() : shape.label() + " via " + repositoryMethod;
+        executions.merge(statement, 1, Integer::sum);
+    }
+
+    /**
+     * @param method - Repository method about to run; statements run until {@link #leaveRepository()} are
+     *               attributed to it
+     * @return false if an outer repository method is running already and keeps the attribution
+     */
+    boolean enterRepository(String method) {
+        if (repositoryMethod != null) {
+            return false;
+        }
+        repositoryMethod = method;
+        return true;
+    }
+
+    void leaveRepository() {
+        repositoryMethod = null;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the statement shape run most often, with the repository method it ran in, or null if none ran
+     */
+    Map.Entry<String, Integer> mostRepeated() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+}
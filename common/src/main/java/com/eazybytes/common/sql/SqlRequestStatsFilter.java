@@ -0,0 +1,89 @@
+package com.kurobytes.common.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each request runs into {@code sql.requests.statements} and flags requests that run
+ * more than {@code max-statements-per-request}, or the same statement shape more than
+ * {@code max-repeated-statements} times, the usual sign of an N+1 load. Flagged requests are logged and counted
+ * in {@code sql.requests.flagged}. Both are tagged with the request's URI pattern, not the URI itself.
+ */
+public class SqlRequestStatsFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlRequestStatsFilter.class);
+
+    private final SqlMetricsProperties properties;
+    private volatile MeterRegistry registry;
+
+    public SqlRequestStatsFilter(SqlMetricsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            DistributionSummary.builder("sql.requests.statements")
+                    .description("SQL statements run per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.statements());
+        }
+        Map.Entry<String, Integer> mostRepeated = stats.mostRepeated();
+        String reason;
+        if (mostRepeated != null && mostRepeated.getValue() > properties.getMaxRepeatedStatements()) {
+            reason = "repeated-statement";
+        } else if (stats.statements() > properties.getMaxStatementsPerRequest()) {
+            reason = "too-many-statements";
+        } else {
+            return;
+        }
+        logger.warn("{} {} ran {} SQL statements in {} ms, '{}' {} times ({})", request.getMethod(),
+                request.getRequestURI(), stats.statements(), TimeUnit.NANOSECONDS.toMillis(stats.elapsedNanos()),
+                mostRepeated.getKey(), mostRepeated.getValue(), reason);
+        if (meterRegistry != null) {
+            Counter.builder("sql.requests.flagged")
+                    .description("Requests that ran more SQL statements than allowed")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.kurobytes.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement sent through the instrumented data source as {@code sql.statements}, tagged with its
+ * {@link StatementShape} and outcome, and counts it for the current request. A batch is recorded once with the
+ * shape of its first statement.
+ */
+public class SqlStatementMetrics implements QueryExecutionListener, MeterBinder {
+
+    private static final String STARTED = SqlStatementMetrics.class.getName() + ".started";
+
+    private final Map<StatementShape, Timer> succeeded = new ConcurrentHashMap<>();
+    private final Map<StatementShape, Timer> failed = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        if (started == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - started;
+        StatementShape shape = StatementShape.of(queryInfoList.get(0).getQuery());
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.executed(shape, nanos);
+        }
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            Map<StatementShape, Timer> timers = execInfo.isSuccess() ? succeeded : failed;
+            timers.computeIfAbsent(shape, key -> timer(meterRegistry, key, execInfo.isSuccess()))
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, StatementShape shape, boolean success) {
+        return Timer.builder("sql.statements")
+                .description("SQL statements by operation and table")
+                .tag("operation", shape.operation())
+                .tag("table", shape.table())
+                .tag("outcome", success ? "success" : "error")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.kurobytes.common.sql;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What a SQL statement does and to which table, without its values: {@code select cards},
+ * {@code update loans}. Used as metric tags, so there are only as many shapes as a service has tables.
+ *
+ * @param operation - First keyword of the statement, {@code other} for keywords not listed
+ * @param table     - First table the statement reads or writes, {@code none} if there is none
+ */
+public record StatementShape(String operation, String table) {
+
+    private static final Set<String> OPERATIONS = Set.of("select", "insert", "update", "delete", "replace", "with");
+    private static final Pattern FROM = Pattern.compile("\\bfrom\\s+\"?([a-z_][a-z0-9_]*)");
+    private static final Pattern INTO = Pattern.compile("\\binto\\s+\"?([a-z_][a-z0-9_]*)");
+    private static final Pattern UPDATE = Pattern.compile("^update\\s+(?:or\\s+[a-z]+\\s+)?\"?([a-z_][a-z0-9_]*)");
+    private static final int MAX_CACHED = 2048;
+    private static final Map<String, StatementShape> SHAPES = new ConcurrentHashMap<>();
+
+    /**
+     * @param sql - Statement as sent to the driver
+     * @return its shape, parsed once per distinct statement text
+     */
+    public static StatementShape of(String sql) {
+        StatementShape shape = SHAPES.get(sql);
+        if (shape == null) {
+            shape = parse(sql);
+            // IN リストの長さが違う SQL は別の文字列になるので、覚える数に上限を付ける
+            if (SHAPES.size() < MAX_CACHED) {
+                SHAPES.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    static StatementShape parse(String sql) {
+        String statement = sql.strip().toLowerCase(Locale.ROOT);
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        String keyword = statement.substring(0, end);
+        if (!OPERATIONS.contains(keyword)) {
+            return new StatementShape("other", "none");
+        }
+        Pattern table = switch (keyword) {
+            case "insert", "replace" -> INTO;
+            case "update" -> UPDATE;
+            default -> FROM;
+        };
+        Matcher matcher = table.matcher(statement);
+        return new StatementShape(keyword, matcher.find() ? matcher.group(1) : "none");
+    }
+
+    public String label() {
+        return operation + " " + table;
+    }
+
+}
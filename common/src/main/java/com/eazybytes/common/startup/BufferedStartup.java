@@ -0,0 +1,28 @@
+package com.kurobytes.common.startup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+
+/**
+ * Builds a {@link SpringApplication} that records its startup steps, so {@code /actuator/startuptimeline} can
+ * show where the startup time went. The steps stay in memory after startup; a few thousand beans take well
+ * under a megabyte.
+ */
+public final class BufferedStartup {
+
+    static final int CAPACITY = 10_000;
+
+    private BufferedStartup() {
+    }
+
+    /**
+     * @param primarySource - The {@code @SpringBootApplication} class
+     * @return the application, to be {@code run}
+     */
+    public static SpringApplication application(Class<?> primarySource) {
+        SpringApplication application = new SpringApplication(primarySource);
+        application.setApplicationStartup(new BufferingApplicationStartup(CAPACITY));
+        return application;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.kurobytes.common.startup;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Registers {@link StartupTimelineEndpoint} for services started through {@link BufferedStartup}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnAvailableEndpoint(endpoint = StartupTimelineEndpoint.class)
+@Conditional(StartupTimelineAutoConfiguration.BufferingStartupCondition.class)
+public class StartupTimelineAutoConfiguration {
+
+    @Bean
+    public StartupTimelineEndpoint startupTimelineEndpoint(ConfigurableApplicationContext context) {
+        return new StartupTimelineEndpoint((BufferingApplicationStartup) context.getApplicationStartup());
+    }
+
+    static class BufferingStartupCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (context.getBeanFactory() != null
+                    && context.getBeanFactory().getApplicationStartup() instanceof BufferingApplicationStartup) {
+                return ConditionOutcome.match("application startup is buffered");
+            }
+            return ConditionOutcome.noMatch("application startup is not buffered");
+        }
+
+    }
+
+}
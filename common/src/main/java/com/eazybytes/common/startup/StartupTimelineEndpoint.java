@@ -0,0 +1,103 @@
+package com.kurobytes.common.startup;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/startuptimeline}: time to ready, the beans that took longest to create, by their own time
+ * without the beans they pulled in, and the other startup phases by total time. Unlike {@code /actuator/startup}
+ * it does not drain the recorded steps, so it can be read again.
+ */
+@Endpoint(id = "startuptimeline")
+public class StartupTimelineEndpoint implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+    private static final int DEFAULT_TOP = 20;
+
+    private final BufferingApplicationStartup applicationStartup;
+    private volatile Duration timeToReady;
+
+    public StartupTimelineEndpoint(BufferingApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        timeToReady = event.getTimeTaken();
+    }
+
+    /**
+     * @param top - Number of beans to list, 20 if not given
+     */
+    @ReadOperation
+    public Map<String, Object> timeline(@Nullable Integer top) {
+        StartupTimeline timeline = applicationStartup.getBufferedTimeline();
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTime.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+        List<BeanTime> beans = new ArrayList<>();
+        Map<String, StepTime> steps = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            if (BEAN_INSTANTIATION.equals(step.getName())) {
+                Duration self = event.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+                beans.add(new BeanTime(tag(step, "beanName"), tag(step, "beanType"), self.toNanos() / 1_000,
+                        event.getDuration().toNanos() / 1_000));
+            } else {
+                steps.merge(step.getName(), new StepTime(step.getName(), 1, event.getDuration().toNanos() / 1_000),
+                        StepTime::plus);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startTime", timeline.getStartTime());
+        result.put("timeToReadyMillis", timeToReady == null ? null : timeToReady.toMillis());
+        result.put("beansCreated", beans.size());
+        result.put("beans", beans.stream()
+                .sorted(Comparator.comparingLong(BeanTime::selfMicros).reversed())
+                .limit(top == null ? DEFAULT_TOP : top)
+                .toList());
+        result.put("steps", steps.values().stream()
+                .sorted(Comparator.comparingLong(StepTime::totalMicros).reversed())
+                .toList());
+        return result;
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+
+    public record BeanTime(String beanName, String beanType, long selfMicros, long totalMicros) {
+    }
+
+    public record StepTime(String name, int count, long totalMicros) {
+
+        StepTime plus(StepTime other) {
+            return new StepTime(name, count + other.count, totalMicros + other.totalMicros);
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.kurobytes.common.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kurobytes.common.dto.ErrorResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTests {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void businessExceptionsCarryNoStackTrace() {
+        ResourceNotFoundException exception = new ResourceNotFoundException("Card", "mobileNumber", "4354437687");
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage())
+                .isEqualTo("Card not found with the given input data mobileNumber : '4354437687'");
+    }
+
+    @Test
+    void answersWithTheStatusOfTheException() {
+        ResponseEntity<ErrorResponseDto> notFound = handler.handleBusinessException(
+                new ResourceNotFoundException("Loan", "mobileNumber", "4354437687"), request());
+        ResponseEntity<ErrorResponseDto> alreadyExists = handler.handleBusinessException(
+                new ResourceAlreadyExistsException("Loan already registered with given mobileNumber 4354437687"),
+                request());
+
+        assertThat(notFound.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(notFound.getBody().getApiPath()).isEqualTo("uri=/api/fetch");
+        assertThat(notFound.getBody().getErrorCode()).isEqualTo("NOT_FOUND");
+        assertThat(alreadyExists.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(alreadyExists.getBody().getErrorCode()).isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void errorBodyKeepsItsJsonShape() throws Exception {
+        ResponseEntity<ErrorResponseDto> response = handler.handleBusinessException(
+                new ResourceNotFoundException("Customer", "mobileNumber", "4354437687"), request());
+
+        JsonNode body = new ObjectMapper().valueToTree(response.getBody());
+
+        assertThat(body.fieldNames()).toIterable()
+                .containsExactly("apiPath", "errorCode", "errorMessage", "errorTime");
+        assertThat(body.get("errorCode").asText()).isEqualTo("NOT_FOUND");
+        assertThat(LocalDateTime.parse(body.get("errorTime").asText()))
+                .isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/fetch"));
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.kurobytes.common.id;
+
+import com.kurobytes.common.dialect.SQLiteDialect;
+import com.kurobytes.common.sql.StatementShape;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledIdGeneratorTests {
+
+    private static final int ROWS = 100;
+
+    @TempDir
+    Path directory;
+
+    private final Map<String, Integer> executions = new ConcurrentHashMap<>();
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void buildSessionFactory() {
+        sessionFactory = buildSessionFactory("create-drop");
+        executions.clear();
+    }
+
+    @AfterEach
+    void close() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void batchesInsertsOfPooledIds() {
+        inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(new PooledEntity("row " + i));
+            }
+        });
+
+        assertThat(executions).containsEntry("insert pooled_entity batch", ROWS / 25)
+                .containsEntry("insert hibernate_sequences", ROWS / 50)
+                .doesNotContainKey("insert pooled_entity");
+        assertThat(ids("PooledEntity")).hasSize(ROWS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void identityInsertsRunOneByOne() {
+        inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(new IdentityEntity("row " + i));
+            }
+        });
+
+        assertThat(executions).containsEntry("insert identity_entity", ROWS)
+                .doesNotContainKey("insert identity_entity batch");
+    }
+
+    @Test
+    void neverHandsOutABlockAgainAfterARollback() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.persist(new PooledEntity("rolled back"));
+            session.flush();
+            session.getTransaction().rollback();
+        }
+
+        inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(new PooledEntity("row " + i));
+            }
+        });
+
+        List<Long> ids = ids("PooledEntity");
+        assertThat(ids).hasSize(ROWS).doesNotHaveDuplicates();
+        try (Session session = sessionFactory.openSession()) {
+            Number nextVal = (Number) session.createNativeQuery("select next_val from hibernate_sequences "
+                    + "where sequence_name = 'pooled_entity'", Object.class).getSingleResult();
+            assertThat(nextVal.longValue()).isGreaterThan(ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+        }
+    }
+
+    @Test
+    void startsPastCommittedIdsAfterARollbackAndARestart() {
+        SessionFactory beforeRestart = buildSessionFactory("update");
+        try (Session session = beforeRestart.openSession()) {
+            session.beginTransaction();
+            session.persist(new PooledEntity("rolled back"));
+            session.flush();
+            session.getTransaction().rollback();
+        }
+        // committed from the block whose reservation was rolled back, so next_val stays below these ids
+        inTransaction(beforeRestart, session -> {
+            for (int i = 0; i < 10; i++) {
+                session.persist(new PooledEntity("before restart " + i));
+            }
+        });
+        beforeRestart.close();
+
+        SessionFactory afterRestart = buildSessionFactory("update");
+        try {
+            inTransaction(afterRestart, session -> {
+                for (int i = 0; i < 10; i++) {
+                    session.persist(new PooledEntity("after restart " + i));
+                }
+            });
+        } finally {
+            afterRestart.close();
+        }
+
+        assertThat(ids("PooledEntity")).hasSize(20).doesNotHaveDuplicates();
+    }
+
+    private SessionFactory buildSessionFactory(String hbm2ddlAuto) {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("ids.db"));
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(PooledEntity.class)
+                .addAnnotatedClass(IdentityEntity.class)
+                .setProperty(AvailableSettings.DIALECT, SQLiteDialect.class.getName())
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, hbm2ddlAuto)
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "25");
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE,
+                ProxyDataSourceBuilder.create("ids", dataSource).listener(new CountingListener()).build());
+        return configuration.buildSessionFactory();
+    }
+
+    private void inTransaction(Consumer<Session> work) {
+        inTransaction(sessionFactory, work);
+    }
+
+    private static void inTransaction(SessionFactory sessionFactory, Consumer<Session> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            work.accept(session);
+            session.getTransaction().commit();
+        }
+    }
+
+    private List<Long> ids(String entityName) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("select e.id from " + entityName + " e", Long.class).getResultList();
+        }
+    }
+
+    private class CountingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            String statement = StatementShape.of(queryInfoList.get(0).getQuery()).label();
+            executions.merge(execInfo.isBatch() ? statement + " batch" : statement, 1, Integer::sum);
+        }
+
+    }
+
+    @Entity(name = "PooledEntity")
+    @Table(name = "pooled_entity")
+    static class PooledEntity {
+
+        @Id
+        @PooledId(name = "pooled_entity")
+        Long id;
+
+        String label;
+
+        PooledEntity() {
+        }
+
+        PooledEntity(String label) {
+            this.label = label;
+        }
+
+    }
+
+    @Entity(name = "IdentityEntity")
+    @Table(name = "identity_entity")
+    static class IdentityEntity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        String label;
+
+        IdentityEntity() {
+        }
+
+        IdentityEntity(String label) {
+            this.label = label;
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.kurobytes.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.kurobytes.common.dto.ErrorResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonAutoConfigurationTests {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class, JsonAutoConfiguration.class));
+
+    @Test
+    void writesCborWithTheTunedMapper() {
+        contextRunner.run(context -> {
+            MappingJackson2CborHttpMessageConverter converter =
+                    context.getBean(MappingJackson2CborHttpMessageConverter.class);
+
+            assertThat(converter.getObjectMapper().getFactory()).isInstanceOf(CBORFactory.class);
+            assertThat(converter.getObjectMapper().getRegisteredModuleIds())
+                    .contains(new BlackbirdModule().getTypeId());
+            assertThat(context).hasSingleBean(WebClientCustomizer.class);
+
+            ErrorResponseDto error = new ErrorResponseDto("uri=/api/fetch", "NOT_FOUND", "not found",
+                    "2024-05-01T10:15:30.123");
+            byte[] cbor = converter.getObjectMapper().writeValueAsBytes(error);
+            assertThat(converter.getObjectMapper().readTree(cbor).get("errorCode").asText()).isEqualTo("NOT_FOUND");
+            assertThat(cbor).hasSizeLessThan(context.getBean(ObjectMapper.class).writeValueAsBytes(error).length);
+        });
+    }
+
+    @Test
+    void offersOnlyJsonWhenCborIsDisabled() {
+        contextRunner.withPropertyValues("kurobank.json.cbor=false")
+                .run(context -> assertThat(context).doesNotHaveBean(MappingJackson2CborHttpMessageConverter.class)
+                        .doesNotHaveBean(WebClientCustomizer.class));
+    }
+
+    @Test
+    void leavesTheReactiveGatewayOnJson() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class, JsonAutoConfiguration.class))
+                .run(context -> assertThat(context).doesNotHaveBean(MappingJackson2CborHttpMessageConverter.class)
+                        .hasSingleBean(TunedJacksonCustomizer.class));
+    }
+
+}
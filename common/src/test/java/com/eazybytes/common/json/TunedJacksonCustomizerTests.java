@@ -0,0 +1,49 @@
+package com.kurobytes.common.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.kurobytes.common.dto.ErrorResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TunedJacksonCustomizerTests {
+
+    private static final ErrorResponseDto ERROR = new ErrorResponseDto("uri=/api/fetch", "NOT_FOUND",
+            "Card not found with the given input data mobileNumber : '4354437687'", "2024-05-01T10:15:30.123");
+
+    @Test
+    void registersBlackbirdAndLeavesFieldNamesUninterned() {
+        ObjectMapper objectMapper = objectMapper(new JsonProperties());
+
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+        assertThat(objectMapper.getFactory().isEnabled(JsonFactory.Feature.INTERN_FIELD_NAMES)).isFalse();
+    }
+
+    @Test
+    void leavesOutBlackbirdWhenDisabled() {
+        JsonProperties properties = new JsonProperties();
+        properties.setBlackbird(false);
+
+        assertThat(objectMapper(properties).getRegisteredModuleIds())
+                .doesNotContain(new BlackbirdModule().getTypeId());
+    }
+
+    @Test
+    void streamingSerializerWritesTheSameJsonAsTheBeanSerializer() throws Exception {
+        JsonProperties streaming = new JsonProperties();
+        streaming.setStreamingSerializers(true);
+
+        assertThat(objectMapper(streaming).writeValueAsString(ERROR))
+                .isEqualTo(objectMapper(new JsonProperties()).writeValueAsString(ERROR));
+    }
+
+    private static ObjectMapper objectMapper(JsonProperties properties) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new TunedJacksonCustomizer(properties).customize(builder);
+        return builder.build();
+    }
+
+}
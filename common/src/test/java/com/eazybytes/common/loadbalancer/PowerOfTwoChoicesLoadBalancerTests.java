@@ -0,0 +1,100 @@
+package com.kurobytes.common.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PowerOfTwoChoicesLoadBalancerTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final ServiceInstance cards1 = instance("cards-1", 9001);
+    private final ServiceInstance cards2 = instance("cards-2", 9002);
+    private final ServiceInstance cards3 = instance("cards-3", 9003);
+    private final List<ServiceInstance> instances = List.of(cards1, cards2, cards3);
+
+    @Test
+    void avoidsTheSlowInstance() {
+        InstanceStatsRegistry registry = registry();
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer("cards", null, registry);
+        sample(registry, cards1, 10 * MILLIS, false);
+        sample(registry, cards2, 12 * MILLIS, false);
+        sample(registry, cards3, 200 * MILLIS, false);
+
+        int[] picks = new int[3];
+        for (int i = 0; i < 1_000; i++) {
+            picks[instances.indexOf(loadBalancer.choose(instances).getServer())]++;
+        }
+
+        assertThat(picks[0]).isGreaterThan(picks[1]);
+        assertThat(picks[1]).isPositive();
+        assertThat(picks[2]).isZero();
+    }
+
+    @Test
+    void ejectsAFailingInstanceAndProbesItBackIn() {
+        InstanceStatsRegistry registry = registry();
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer("cards", null, registry);
+        loadBalancer.choose(instances);
+        for (int i = 0; i < 3; i++) {
+            sample(registry, cards3, 5 * MILLIS, true);
+        }
+        assertThat(registry.get(cards3).isAvailable()).isFalse();
+        for (int i = 0; i < 300; i++) {
+            assertThat(loadBalancer.choose(instances).getServer()).isNotEqualTo(cards3);
+        }
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        int probes = 0;
+        for (int i = 0; i < 300; i++) {
+            if (loadBalancer.choose(instances).getServer() == cards3) {
+                probes++;
+            }
+        }
+        assertThat(probes).isEqualTo(1);
+
+        sample(registry, cards3, 5 * MILLIS, false);
+        assertThat(registry.get(cards3).isAvailable()).isTrue();
+    }
+
+    @Test
+    void neverEjectsMoreThanTheConfiguredShare() {
+        InstanceStatsRegistry registry = registry();
+        new PowerOfTwoChoicesLoadBalancer("cards", null, registry).choose(instances);
+
+        for (ServiceInstance instance : instances) {
+            for (int i = 0; i < 3; i++) {
+                sample(registry, instance, 5 * MILLIS, true);
+            }
+        }
+
+        long ejected = instances.stream().filter(instance -> !registry.get(instance).isAvailable()).count();
+        assertThat(ejected).isEqualTo(1);
+    }
+
+    private InstanceStatsRegistry registry() {
+        PowerOfTwoChoicesProperties properties = new PowerOfTwoChoicesProperties();
+        properties.setConsecutiveFailures(3);
+        properties.setBaseEjectionTime(Duration.ofSeconds(10));
+        properties.setMaxEjectionPercent(50);
+        return new InstanceStatsRegistry("cards", properties, clock::get);
+    }
+
+    private void sample(InstanceStatsRegistry registry, ServiceInstance instance, long latencyNanos, boolean failed) {
+        registry.requestStarted(instance);
+        clock.addAndGet(latencyNanos);
+        registry.requestFinished(instance, latencyNanos, failed);
+    }
+
+    private static ServiceInstance instance(String id, int port) {
+        return new DefaultServiceInstance(id, "cards", "localhost", port, false);
+    }
+
+}
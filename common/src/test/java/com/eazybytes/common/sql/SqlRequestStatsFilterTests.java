@@ -0,0 +1,114 @@
+package com.kurobytes.common.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlRequestStatsFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SqlRequestStatsFilter filter;
+
+    @BeforeEach
+    void createTables() {
+        SqlStatementMetrics statementMetrics = new SqlStatementMetrics();
+        statementMetrics.bindTo(meterRegistry);
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create("test", dataSource)
+                .listener(statementMetrics)
+                .build());
+        jdbcTemplate.execute("CREATE TABLE loans (loan_id integer PRIMARY KEY, mobile_number varchar(15))");
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("insert into loans (mobile_number) values (?)", Long.toString(4354437000L + i));
+        }
+        SqlMetricsProperties properties = new SqlMetricsProperties();
+        properties.setMaxStatementsPerRequest(15);
+        properties.setMaxRepeatedStatements(5);
+        filter = new SqlRequestStatsFilter(properties);
+        filter.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void timesStatementsByShape() {
+        assertThat(meterRegistry.get("sql.statements").tag("operation", "insert").tag("table", "loans")
+                .tag("outcome", "success").timer().count()).isEqualTo(20);
+        assertThat(meterRegistry.get("sql.statements").tag("operation", "other").tag("table", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsTheStatementsOfARequest() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+            jdbcTemplate.queryForObject("select count(*) from loans", Integer.class);
+            jdbcTemplate.update("update loans set mobile_number = ? where loan_id = 1", "4354437999");
+        });
+
+        assertThat(meterRegistry.get("sql.requests.statements").tag("uri", "/api/fetch").summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("sql.requests.flagged").counter()).isNull();
+    }
+
+    @Test
+    void flagsTheSameStatementRunOncePerRow() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+            for (long loanId : jdbcTemplate.queryForList("select loan_id from loans limit 8", Long.class)) {
+                jdbcTemplate.queryForObject("select mobile_number from loans where loan_id = ?", String.class,
+                        loanId);
+            }
+        });
+
+        assertThat(meterRegistry.get("sql.requests.flagged").tag("reason", "repeated-statement").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void flagsRequestsOverTheStatementLimit() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+            for (int i = 0; i < 4; i++) {
+                jdbcTemplate.queryForObject("select count(*) from loans", Integer.class);
+                jdbcTemplate.update("update loans set mobile_number = mobile_number where loan_id = 1");
+                jdbcTemplate.update("insert into loans (mobile_number) values ('4354437998')");
+                jdbcTemplate.update("delete from loans where mobile_number = '4354437998'");
+            }
+        });
+
+        assertThat(meterRegistry.get("sql.requests.flagged").tag("reason", "too-many-statements").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void parsesTheShapeOfGeneratedStatements() {
+        assertThat(StatementShape.parse("select c1_0.card_id,c1_0.amount_used from cards c1_0 where "
+                + "c1_0.card_number=?")).isEqualTo(new StatementShape("select", "cards"));
+        assertThat(StatementShape.parse("UPDATE OR IGNORE accounts SET communication_sw = 1"))
+                .isEqualTo(new StatementShape("update", "accounts"));
+        assertThat(StatementShape.parse("delete from customer where customer_id in (?, ?) returning mobile_number"))
+                .isEqualTo(new StatementShape("delete", "customer"));
+        assertThat(StatementShape.parse("select count(*) from (select 1 from loans)"))
+                .isEqualTo(new StatementShape("select", "loans"));
+        assertThat(StatementShape.parse("pragma wal_checkpoint")).isEqualTo(new StatementShape("other", "none"));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fetch");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/fetch");
+        return request;
+    }
+
+}
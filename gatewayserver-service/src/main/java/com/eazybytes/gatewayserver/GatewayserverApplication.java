@@ -1,9 +1,19 @@
 package com.kurobytes.gatewayserver;
 
+import com.kurobytes.gatewayserver.accesslog.AccessLogProperties;
+import com.kurobytes.gatewayserver.aggregation.AggregationProperties;
+import com.kurobytes.gatewayserver.cache.MicroCacheProperties;
+import com.kurobytes.gatewayserver.compression.CompressionProperties;
+import com.kurobytes.gatewayserver.concurrency.ConcurrencyLimitProperties;
+import com.kurobytes.gatewayserver.ratelimit.RateLimiterProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(value = {RateLimiterProperties.class, MicroCacheProperties.class,
+		AggregationProperties.class, ConcurrencyLimitProperties.class, CompressionProperties.class,
+		AccessLogProperties.class})
 public class GatewayserverApplication {
 
 	public static void main(String[] args) {
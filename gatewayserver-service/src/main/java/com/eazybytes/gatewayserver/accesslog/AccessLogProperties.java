@@ -0,0 +1,50 @@
+package com.kurobytes.gatewayserver.accesslog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.gateway.access-log")
+@Getter
+@Setter
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Directory of the access log files, created when missing.
+     */
+    private String directory = "logs";
+
+    private String fileName = "gateway-access.log";
+
+    /**
+     * Records buffered between the event loops and the writer, rounded up to a power of two. Records arriving
+     * while the buffer is full are dropped and counted.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Records written per batch, and per write system call.
+     */
+    private int batchSize = 512;
+
+    /**
+     * The current file is rolled once it reaches this size.
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Rolled files kept; older ones are deleted.
+     */
+    private int maxHistory = 10;
+
+    /**
+     * How long the writer sleeps when the buffer is empty.
+     */
+    private Duration idleWait = Duration.ofMillis(5);
+
+}
@@ -0,0 +1,32 @@
+package com.kurobytes.gatewayserver.accesslog;
+
+/**
+ * Preallocated slot of the {@link AccessLogRingBuffer}, overwritten in place for every request.
+ * <p>
+ * The fields are plain; they are made visible to the writer thread by the volatile write of
+ * {@link #sequence} after they are set.
+ */
+public final class AccessLogRecord {
+
+    volatile long sequence;
+
+    long epochMillis;
+    String route;
+    String method;
+    String path;
+    int status;
+    long durationMicros;
+    long upstreamMicros;
+    long bytes;
+    String correlationId;
+    String principal;
+
+    void clear() {
+        route = null;
+        method = null;
+        path = null;
+        correlationId = null;
+        principal = null;
+    }
+
+}
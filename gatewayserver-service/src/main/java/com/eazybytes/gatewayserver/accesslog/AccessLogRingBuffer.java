@@ -0,0 +1,97 @@
+package com.kurobytes.gatewayserver.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of {@link AccessLogRecord}s.
+ * <p>
+ * Producers (event-loop threads) claim a sequence with a CAS, fill the slot and publish it; they never wait.
+ * When the writer has fallen a full ring behind, {@link #offer} drops the record instead. The slots are
+ * allocated once, so logging a request allocates nothing here.
+ */
+public class AccessLogRingBuffer {
+
+    private final AccessLogRecord[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long consumed;
+
+    public AccessLogRingBuffer(int size) {
+        int capacity = size <= 1 ? 2 : Integer.highestOneBit(size - 1) << 1;
+        this.slots = new AccessLogRecord[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogRecord();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false when the buffer was full and the record was dropped
+     */
+    public boolean offer(long epochMillis, String route, String method, String path, int status,
+                         long durationMicros, long upstreamMicros, long bytes, String correlationId,
+                         String principal) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        AccessLogRecord record = slots[(int) sequence & mask];
+        record.epochMillis = epochMillis;
+        record.route = route;
+        record.method = method;
+        record.path = path;
+        record.status = status;
+        record.durationMicros = durationMicros;
+        record.upstreamMicros = upstreamMicros;
+        record.bytes = bytes;
+        record.correlationId = correlationId;
+        record.principal = principal;
+        record.sequence = sequence + 1;
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published records to {@code sink}, in order. Only the writer thread may call this.
+     *
+     * @return number of records drained
+     */
+    public int drain(Consumer<AccessLogRecord> sink, int max) {
+        long next = consumed;
+        int drained = 0;
+        while (drained < max) {
+            AccessLogRecord record = slots[(int) next & mask];
+            if (record.sequence != next + 1) {
+                break;
+            }
+            sink.accept(record);
+            record.clear();
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed = next;
+        }
+        return drained;
+    }
+
+    public long backlog() {
+        return claimed.get() - consumed;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.kurobytes.gatewayserver.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Dedicated thread that drains the {@link AccessLogRingBuffer} and appends JSON lines to the access log.
+ * <p>
+ * Records are formatted here rather than on the event loop, a batch at a time, and each batch is written with
+ * a single channel write. The file is rolled between batches once it exceeds {@code max-file-size}. I/O
+ * errors are logged and the batch is discarded, so a full disk never backs up into request handling.
+ */
+public class AccessLogWriter implements SmartLifecycle, Consumer<AccessLogRecord> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final DateTimeFormatter ROLL_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final AccessLogRingBuffer ringBuffer;
+    private final Path directory;
+    private final Path file;
+    private final int batchSize;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final long idleWaitNanos;
+    private final StringBuilder batch = new StringBuilder(64 * 1024);
+
+    private volatile boolean running;
+    private Thread thread;
+    private FileChannel channel;
+    private long fileSize;
+    private volatile long written;
+
+    public AccessLogWriter(AccessLogRingBuffer ringBuffer, AccessLogProperties properties) {
+        this.ringBuffer = ringBuffer;
+        this.directory = Path.of(properties.getDirectory());
+        this.file = directory.resolve(properties.getFileName());
+        this.batchSize = properties.getBatchSize();
+        this.maxFileSize = properties.getMaxFileSize().toBytes();
+        this.maxHistory = properties.getMaxHistory();
+        this.idleWaitNanos = properties.getIdleWait().toNanos();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "gateway-access-log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return records written to disk since startup
+     */
+    public long written() {
+        return written;
+    }
+
+    private void run() {
+        while (running) {
+            if (ringBuffer.drain(this, batchSize) == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+            } else {
+                flush();
+            }
+        }
+        // 停止時はバッファに残った分を書き切る
+        while (ringBuffer.drain(this, batchSize) > 0) {
+            flush();
+        }
+        close();
+    }
+
+    @Override
+    public void accept(AccessLogRecord record) {
+        StringBuilder line = batch;
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(record.epochMillis)).append('"');
+        appendString(line, "route", record.route);
+        appendString(line, "method", record.method);
+        appendString(line, "path", record.path);
+        line.append(",\"status\":").append(record.status);
+        line.append(",\"duration_us\":").append(record.durationMicros);
+        line.append(",\"upstream_us\":").append(record.upstreamMicros);
+        line.append(",\"bytes\":").append(record.bytes);
+        appendString(line, "correlation_id", record.correlationId);
+        appendString(line, "principal", record.principal);
+        line.append("}\n");
+        written++;
+    }
+
+    private void flush() {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(batch));
+        batch.setLength(0);
+        try {
+            if (channel == null) {
+                open();
+            } else if (fileSize + bytes.remaining() > maxFileSize) {
+                roll();
+            }
+            while (bytes.hasRemaining()) {
+                fileSize += channel.write(bytes);
+            }
+        } catch (IOException ex) {
+            logger.warn("Discarding access log batch: {}", ex.toString());
+            close();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void roll() throws IOException {
+        close();
+        String suffix = LocalDateTime.now(ZoneId.systemDefault()).format(ROLL_SUFFIX);
+        Files.move(file, directory.resolve(file.getFileName() + "." + suffix), StandardCopyOption.ATOMIC_MOVE);
+        deleteOldFiles();
+        open();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        String prefix = file.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> rolled = files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .sorted(Comparator.comparing(Path::toString).reversed())
+                    .toList();
+            for (Path old : rolled.subList(Math.min(maxHistory, rolled.size()), rolled.size())) {
+                Files.deleteIfExists(old);
+            }
+        }
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                logger.debug("Failed to close access log", ex);
+            }
+            channel = null;
+        }
+    }
+
+    private static void appendString(StringBuilder line, String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.kurobytes.gatewayserver.aggregation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.gateway.aggregation")
+@Getter
+@Setter
+public class AggregationProperties {
+
+    private Leg accounts = new Leg("http://accounts", Duration.ofMillis(1500));
+
+    private Leg cards = new Leg("http://cards", Duration.ofMillis(800));
+
+    private Leg loans = new Leg("http://loans", Duration.ofMillis(800));
+
+    @Getter
+    @Setter
+    public static class Leg {
+
+        /**
+         * Base URL of the service; {@code /api/fetch} is appended. The host is a load balancer service id.
+         */
+        private String url;
+
+        /**
+         * Upper bound for the call. Cards and loans are left out of the response when they exceed it,
+         * accounts fails the whole request.
+         */
+        private Duration timeout;
+
+        public Leg() {
+        }
+
+        public Leg(String url, Duration timeout) {
+            this.url = url;
+            this.timeout = timeout;
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.kurobytes.gatewayserver.aggregation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Builds the customer details document from accounts, cards and loans {@code /api/fetch} in parallel.
+ * <p>
+ * All three calls run on the event loop, so no thread waits for a downstream service. Accounts is required;
+ * cards and loans are best effort: a 404 leaves the field null as the accounts service does, any other
+ * failure or a timeout also leaves it null but reports the leg as missing so callers can tell.
+ * <p>
+ * Every leg emits exactly one value or an error. {@link Mono#zip} completes empty as soon as one source does,
+ * which would end the exchange without a status, so an accounts answer without a body is turned into a 404.
+ */
+@Component
+public class CustomerDetailsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerDetailsAggregator.class);
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String CARDS = "cards";
+    public static final String LOANS = "loans";
+
+    /**
+     * Marks a best-effort leg that failed, as opposed to one that answered 404.
+     */
+    private static final JsonNode FAILED = MissingNode.getInstance();
+
+    private final WebClient webClient;
+    private final AggregationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public CustomerDetailsAggregator(WebClient.Builder webClientBuilder, AggregationProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param mobileNumber   - Mobile number of the customer
+     * @param forwardHeaders - Adds trace headers to every downstream request
+     * @return the merged document; fails with {@link WebClientResponseException} or {@link TimeoutException}
+     * when the accounts call does, and with a 404 {@link WebClientResponseException} when it has no body
+     */
+    public Mono<Result> aggregate(String mobileNumber, Consumer<HttpHeaders> forwardHeaders) {
+        Mono<ObjectNode> accounts = fetch(ACCOUNTS, properties.getAccounts(), mobileNumber, forwardHeaders)
+                .switchIfEmpty(Mono.error(() -> WebClientResponseException.create(HttpStatus.NOT_FOUND,
+                        "Accounts service returned no customer details", HttpHeaders.EMPTY, new byte[0],
+                        null, null)));
+        Mono<JsonNode> cards = optional(CARDS, fetch(CARDS, properties.getCards(), mobileNumber, forwardHeaders));
+        Mono<JsonNode> loans = optional(LOANS, fetch(LOANS, properties.getLoans(), mobileNumber, forwardHeaders));
+        return Mono.zip(accounts, cards, loans).map(legs -> {
+            ObjectNode customerDetails = legs.getT1();
+            List<String> missing = new ArrayList<>(2);
+            merge(customerDetails, "loansDto", legs.getT3(), LOANS, missing);
+            merge(customerDetails, "cardsDto", legs.getT2(), CARDS, missing);
+            return new Result(customerDetails, missing);
+        });
+    }
+
+    private Mono<ObjectNode> fetch(String leg, AggregationProperties.Leg config, String mobileNumber,
+                                   Consumer<HttpHeaders> forwardHeaders) {
+        long start = System.nanoTime();
+        return webClient.get()
+                .uri(config.getUrl() + "/api/fetch?mobileNumber={mobileNumber}", mobileNumber)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(forwardHeaders)
+                .retrieve()
+                .bodyToMono(ObjectNode.class)
+                .timeout(config.getTimeout())
+                .doOnSuccess(body -> record(leg, "success", start))
+                .doOnError(ex -> record(leg, ex instanceof TimeoutException ? "timeout" : "error", start));
+    }
+
+    private static Mono<JsonNode> optional(String leg, Mono<ObjectNode> call) {
+        return call.<JsonNode>map(node -> node)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.just(NullNode.getInstance()))
+                .onErrorResume(ex -> {
+                    logger.warn("Leaving {} out of customer details: {}", leg, ex.toString());
+                    return Mono.just(FAILED);
+                })
+                .defaultIfEmpty(NullNode.getInstance());
+    }
+
+    private static void merge(ObjectNode customerDetails, String field, JsonNode value, String leg,
+                              List<String> missing) {
+        if (value == FAILED) {
+            missing.add(leg);
+            customerDetails.putNull(field);
+        } else {
+            customerDetails.set(field, value);
+        }
+    }
+
+    private void record(String leg, String outcome, long start) {
+        timers.computeIfAbsent(leg + '|' + outcome, key -> Timer.builder("gateway.aggregation.leg")
+                        .description("Downstream calls made for the customer details aggregation")
+                        .tag("leg", leg)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param customerDetails - Same shape as the accounts service CustomerDetailsDto
+     * @param missingLegs     - Services left out because they failed or timed out
+     */
+    public record Result(ObjectNode customerDetails, List<String> missingLegs) {
+
+        public boolean partial() {
+            return !missingLegs.isEmpty();
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.kurobytes.gatewayserver.cache;
+
+import com.kurobytes.gatewayserver.filters.FilterUtility;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Immutable copy of an upstream response held by the {@link MicroCache}.
+ *
+ * @param status    - Upstream status code
+ * @param headers   - End-to-end headers of the upstream response
+ * @param body      - Full response body
+ * @param etag      - Strong entity tag, taken from upstream or computed from the body
+ * @param createdAt - Creation time in {@link System#nanoTime()} units
+ * @param ttlNanos  - Time to live in nanoseconds
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag,
+                             long createdAt, long ttlNanos) {
+
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(), HttpHeaders.DATE.toLowerCase(), "keep-alive",
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.ETAG.toLowerCase(),
+            FilterUtility.CORRELATION_ID, FilterUtility.TRACEPARENT);
+
+    public static CachedResponse of(HttpStatusCode status, HttpHeaders upstreamHeaders, byte[] body, long ttlNanos) {
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+        String etag = upstreamHeaders.getETag();
+        if (etag == null) {
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            etag = "\"" + Long.toHexString(crc.getValue()) + '-' + Integer.toHexString(body.length) + "\"";
+        }
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+                System.nanoTime(), ttlNanos);
+    }
+
+    /**
+     * @return approximate memory held by this entry, used to enforce the byte bound of the cache
+     */
+    public int weight() {
+        return body.length + etag.length() + 256;
+    }
+
+    public long ageSeconds() {
+        return (System.nanoTime() - createdAt) / 1_000_000_000L;
+    }
+
+    /**
+     * @param ifNoneMatch - Value of the {@code If-None-Match} request header, may be null
+     * @return true when the client already holds the current representation
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
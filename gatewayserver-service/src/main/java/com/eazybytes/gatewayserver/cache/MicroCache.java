@@ -0,0 +1,116 @@
+package com.kurobytes.gatewayserver.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Byte-bounded response store shared by every route using the {@code MicroCache} filter.
+ * <p>
+ * Besides the cached entries it tracks the upstream calls currently in flight, so that concurrent misses
+ * for the same key wait for one upstream response instead of all hitting the service.
+ */
+@Component
+public class MicroCache {
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inflight = new ConcurrentHashMap<>();
+    private final int maxEntryBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter collapsed;
+    private final Counter notModified;
+
+    public MicroCache(MicroCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntryBytes = properties.getMaxEntryBytes();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, CachedResponse value) -> key.length() * 2 + value.weight())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.collapsed = counter(meterRegistry, "collapsed");
+        this.notModified = counter(meterRegistry, "not_modified");
+        Gauge.builder("gateway.cache.size.bytes", entries, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Weighted size of the gateway micro-cache")
+                .register(meterRegistry);
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public boolean fits(long bodyBytes) {
+        return bodyBytes <= maxEntryBytes;
+    }
+
+    /**
+     * Registers the caller as the one fetching {@code key} from upstream.
+     *
+     * @return null when the caller became the leader and must call {@link #complete}, otherwise a Mono
+     * that emits the leader's response, or completes empty if the leader could not cache it
+     */
+    public Mono<CachedResponse> joinInflight(String key, Sinks.One<CachedResponse> leader) {
+        Sinks.One<CachedResponse> existing = inflight.putIfAbsent(key, leader);
+        if (existing == null) {
+            misses.increment();
+            return null;
+        }
+        collapsed.increment();
+        return existing.asMono();
+    }
+
+    /**
+     * Publishes the leader's response to waiting requests and stores it when present.
+     */
+    public void complete(String key, Sinks.One<CachedResponse> leader, CachedResponse response) {
+        if (response != null) {
+            entries.put(key, response);
+            leader.tryEmitValue(response);
+        } else {
+            leader.tryEmitEmpty();
+        }
+        inflight.remove(key, leader);
+    }
+
+    public void recordHit(boolean notModifiedResponse) {
+        (notModifiedResponse ? notModified : hits).increment();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.cache.requests")
+                .description("Requests handled by the gateway micro-cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.kurobytes.gatewayserver.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kurobank.gateway.micro-cache")
+@Getter
+@Setter
+public class MicroCacheProperties {
+
+    /**
+     * Upper bound of cached response bodies and keys, in bytes, shared by all routes.
+     */
+    private long maxBytes = 16 * 1024 * 1024;
+
+    /**
+     * Responses with a larger body are passed through without being cached.
+     */
+    private int maxEntryBytes = 256 * 1024;
+
+}
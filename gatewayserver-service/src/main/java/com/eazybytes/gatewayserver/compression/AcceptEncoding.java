@@ -0,0 +1,70 @@
+package com.kurobytes.gatewayserver.compression;
+
+/**
+ * Minimal {@code Accept-Encoding} parser, scanning the header without splitting it into strings.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param header - Value of the Accept-Encoding header, may be null
+     * @param coding - Content coding to look up, lower case
+     * @return the q-value the client gives {@code coding}, falling back to {@code *}; 0 when not acceptable
+     */
+    public static double quality(String header, String coding) {
+        if (header == null || header.isEmpty()) {
+            return 0;
+        }
+        double wildcard = 0;
+        int length = header.length();
+        int start = 0;
+        while (start < length) {
+            int end = header.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int semicolon = header.indexOf(';', start);
+            int tokenEnd = semicolon >= 0 && semicolon < end ? semicolon : end;
+            int tokenStart = skipWhitespace(header, start, tokenEnd);
+            int tokenLast = tokenEnd;
+            while (tokenLast > tokenStart && Character.isWhitespace(header.charAt(tokenLast - 1))) {
+                tokenLast--;
+            }
+            double q = tokenEnd < end ? parseQuality(header, tokenEnd + 1, end) : 1.0;
+            int tokenLength = tokenLast - tokenStart;
+            if (tokenLength == coding.length() && header.regionMatches(true, tokenStart, coding, 0, tokenLength)) {
+                return q;
+            }
+            if (tokenLength == 1 && header.charAt(tokenStart) == '*') {
+                wildcard = q;
+            }
+            start = end + 1;
+        }
+        return wildcard;
+    }
+
+    private static double parseQuality(String header, int from, int to) {
+        int index = skipWhitespace(header, from, to);
+        if (index + 1 < to && (header.charAt(index) == 'q' || header.charAt(index) == 'Q')
+                && header.charAt(index + 1) == '=') {
+            try {
+                return Double.parseDouble(header.substring(index + 2, to).trim());
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+        return 1.0;
+    }
+
+    private static int skipWhitespace(String header, int from, int to) {
+        int index = from;
+        while (index < to && Character.isWhitespace(header.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+}
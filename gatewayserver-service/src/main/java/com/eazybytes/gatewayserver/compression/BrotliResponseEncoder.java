@@ -0,0 +1,67 @@
+package com.kurobytes.gatewayserver.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Brotli encoder backed by brotli4j, the native library Netty uses as well.
+ * <p>
+ * brotli4j finishes its native encoder state with every stream, so unlike gzip there is no context to keep;
+ * only the input copy array is reused per thread.
+ */
+public class BrotliResponseEncoder implements ResponseEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrotliResponseEncoder.class);
+
+    private final Encoder.Parameters parameters;
+    private final ThreadLocal<byte[]> inputs = ThreadLocal.withInitial(() -> new byte[16 * 1024]);
+
+    public BrotliResponseEncoder(int quality) {
+        this.parameters = new Encoder.Parameters().setQuality(quality).setMode(Encoder.Mode.TEXT);
+    }
+
+    /**
+     * @return true when the native library could be loaded on this platform
+     */
+    public static boolean isAvailable() {
+        if (Brotli4jLoader.isAvailable()) {
+            return true;
+        }
+        logger.warn("Brotli is not available, responses are only compressed with gzip",
+                Brotli4jLoader.getUnavailabilityCause());
+        return false;
+    }
+
+    @Override
+    public String encoding() {
+        return "br";
+    }
+
+    @Override
+    public DataBuffer encode(DataBuffer input, DataBufferFactory factory) {
+        int length = input.readableByteCount();
+        byte[] bytes = inputs.get();
+        if (bytes.length < length) {
+            bytes = new byte[Integer.highestOneBit(length - 1) << 1];
+            inputs.set(bytes);
+        }
+        int readPosition = input.readPosition();
+        input.read(bytes, 0, length);
+        input.readPosition(readPosition);
+        byte[] compressed;
+        try {
+            compressed = Encoder.compress(bytes, 0, length, parameters);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return factory.allocateBuffer(compressed.length).write(compressed);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.kurobytes.gatewayserver.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code gateway.compression.*} meters, tagged by content coding.
+ * <p>
+ * {@code gateway.compression.cost} is the compression time per KB of input; together with
+ * {@code gateway.compression.bytes.saved} it shows whether {@code min-response-size} is set well.
+ */
+public class CompressionMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private final Counter skippedSmall;
+
+    public CompressionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.skippedSmall = Counter.builder("gateway.compression.skipped")
+                .description("Eligible responses sent uncompressed because they were below min-response-size")
+                .register(meterRegistry);
+    }
+
+    public void recordCompressed(String encoding, int inputBytes, int outputBytes, long nanos) {
+        Meters encodingMeters = meters.computeIfAbsent(encoding, this::create);
+        encodingMeters.cost.record(nanos * 1024.0 / Math.max(1, inputBytes));
+        encodingMeters.bytesIn.increment(inputBytes);
+        encodingMeters.bytesOut.increment(outputBytes);
+        encodingMeters.bytesSaved.increment(Math.max(0, inputBytes - outputBytes));
+    }
+
+    public void recordSkipped() {
+        skippedSmall.increment();
+    }
+
+    private Meters create(String encoding) {
+        DistributionSummary cost = DistributionSummary.builder("gateway.compression.cost")
+                .description("Compression time per KB of response body")
+                .baseUnit("nanoseconds")
+                .tag("encoding", encoding)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Counter bytesIn = Counter.builder("gateway.compression.bytes.in").baseUnit("bytes")
+                .tag("encoding", encoding).register(meterRegistry);
+        Counter bytesOut = Counter.builder("gateway.compression.bytes.out").baseUnit("bytes")
+                .tag("encoding", encoding).register(meterRegistry);
+        Counter bytesSaved = Counter.builder("gateway.compression.bytes.saved").baseUnit("bytes")
+                .tag("encoding", encoding).register(meterRegistry);
+        return new Meters(cost, bytesIn, bytesOut, bytesSaved);
+    }
+
+    private record Meters(DistributionSummary cost, Counter bytesIn, Counter bytesOut, Counter bytesSaved) {
+    }
+
+}
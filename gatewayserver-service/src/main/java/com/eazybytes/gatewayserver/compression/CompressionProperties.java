@@ -0,0 +1,43 @@
+package com.kurobytes.gatewayserver.compression;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "kurobank.gateway.compression")
+@Getter
+@Setter
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Smaller bodies are sent as is; compressing them costs more CPU than the bytes it saves.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Content types that are compressed. Types ending in {@code +json} are always included.
+     */
+    private List<String> mimeTypes = List.of("application/json", "application/problem+json", "application/xml",
+            "text/plain", "text/html", "text/css", "application/javascript");
+
+    /**
+     * Deflate level, 1 (fastest) to 9 (smallest).
+     */
+    private int gzipLevel = 6;
+
+    /**
+     * Brotli quality, 0 (fastest) to 11 (smallest). Values above 5 are rarely worth it for dynamic responses.
+     */
+    private int brotliQuality = 4;
+
+    /**
+     * Offer brotli when the native library is available on this platform.
+     */
+    private boolean brotliEnabled = true;
+
+}
@@ -0,0 +1,96 @@
+package com.kurobytes.gatewayserver.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip encoder that keeps one {@link Deflater}, CRC and scratch array per thread.
+ * <p>
+ * Responses are compressed on the Netty event loops, a small fixed set of threads, so the native deflate
+ * state is created once per loop and reset between responses instead of allocated for each one. The body is
+ * read straight from its (usually direct) buffers and the output is written into a buffer of the response's
+ * own allocator.
+ */
+public class GzipResponseEncoder implements ResponseEncoder {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final ThreadLocal<Context> contexts;
+
+    public GzipResponseEncoder(int level) {
+        this.contexts = ThreadLocal.withInitial(() -> new Context(new Deflater(level, true)));
+    }
+
+    @Override
+    public String encoding() {
+        return "gzip";
+    }
+
+    @Override
+    public DataBuffer encode(DataBuffer input, DataBufferFactory factory) {
+        Context context = contexts.get();
+        Deflater deflater = context.deflater;
+        CRC32 crc = context.crc;
+        deflater.reset();
+        crc.reset();
+        DataBuffer output = factory.allocateBuffer(Math.max(64, input.readableByteCount() / 3));
+        try {
+            output.write(HEADER);
+            try (DataBuffer.ByteBufferIterator buffers = input.readableByteBuffers()) {
+                while (buffers.hasNext()) {
+                    ByteBuffer buffer = buffers.next();
+                    crc.update(buffer.duplicate());
+                    deflater.setInput(buffer);
+                    while (!deflater.needsInput()) {
+                        drain(deflater, context.scratch, output);
+                    }
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(deflater, context.scratch, output);
+            }
+            writeIntLittleEndian(output, (int) crc.getValue());
+            writeIntLittleEndian(output, input.readableByteCount());
+            return output;
+        } catch (RuntimeException ex) {
+            DataBufferUtils.release(output);
+            throw ex;
+        } finally {
+            // 次のレスポンスまで入力バッファへの参照を残さない
+            deflater.setInput(HEADER, 0, 0);
+        }
+    }
+
+    private static void drain(Deflater deflater, byte[] scratch, DataBuffer output) {
+        int length = deflater.deflate(scratch, 0, scratch.length, Deflater.NO_FLUSH);
+        if (length > 0) {
+            output.write(scratch, 0, length);
+        }
+    }
+
+    private static void writeIntLittleEndian(DataBuffer output, int value) {
+        output.write((byte) value);
+        output.write((byte) (value >>> 8));
+        output.write((byte) (value >>> 16));
+        output.write((byte) (value >>> 24));
+    }
+
+    private static final class Context {
+
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final byte[] scratch = new byte[16 * 1024];
+
+        private Context(Deflater deflater) {
+            this.deflater = deflater;
+        }
+
+    }
+
+}
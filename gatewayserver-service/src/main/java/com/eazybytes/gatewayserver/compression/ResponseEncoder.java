@@ -0,0 +1,23 @@
+package com.kurobytes.gatewayserver.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+/**
+ * Compresses a complete response body for one {@code Content-Encoding}.
+ */
+public interface ResponseEncoder {
+
+    /**
+     * @return the content coding token, e.g. {@code gzip}
+     */
+    String encoding();
+
+    /**
+     * @param input   - Body to compress; read without moving its read position and not released
+     * @param factory - Factory of the response, so the output comes from the same (pooled) allocator
+     * @return compressed body owned by the caller
+     */
+    DataBuffer encode(DataBuffer input, DataBufferFactory factory);
+
+}
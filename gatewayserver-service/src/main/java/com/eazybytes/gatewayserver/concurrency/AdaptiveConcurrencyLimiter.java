@@ -0,0 +1,58 @@
+package com.kurobytes.gatewayserver.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits upstream calls of one route while fewer than {@link VegasLimit#getLimit()} are in flight.
+ * <p>
+ * Admission is a single CAS on the in-flight counter; only completed calls take the limit's lock to feed
+ * their latency back into the estimate.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final VegasLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(VegasLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return true when the call may proceed; the caller must then call exactly one of the release methods
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a completed call and updates the limit with its latency.
+     */
+    public void release(long rttNanos, boolean didDrop) {
+        int current = inFlight.getAndDecrement();
+        limit.onSample(rttNanos, current, didDrop);
+    }
+
+    /**
+     * Releases a call whose latency says nothing about the upstream, e.g. one cancelled by the client.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
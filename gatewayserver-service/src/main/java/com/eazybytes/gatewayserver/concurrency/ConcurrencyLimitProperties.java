@@ -0,0 +1,44 @@
+package com.kurobytes.gatewayserver.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "kurobank.gateway.concurrency-limit")
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Concurrent upstream calls allowed per route before any latency has been observed.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * The limit never drops below this value, so a route always keeps some capacity to recover.
+     */
+    private int minLimit = 4;
+
+    /**
+     * The limit never grows above this value.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Weight of a new limit estimate, between 0 (never move) and 1 (no smoothing).
+     */
+    private double smoothing = 0.5;
+
+    /**
+     * The latency floor is re-learned roughly every {@code probeMultiplier * limit} samples.
+     */
+    private int probeMultiplier = 30;
+
+    /**
+     * Value of the Retry-After header sent with a rejection.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+}
@@ -0,0 +1,65 @@
+package com.kurobytes.gatewayserver.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per route, created on the route's first request together with its
+ * {@code gateway.concurrency.*} meters.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiterRegistry(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param routeId  - Gateway route id
+     * @param maxLimit - Route specific upper bound, 0 to use the default
+     */
+    public RouteLimiter get(String routeId, int maxLimit) {
+        RouteLimiter limiter = limiters.get(routeId);
+        return limiter != null ? limiter : limiters.computeIfAbsent(routeId, id -> create(id, maxLimit));
+    }
+
+    public ConcurrencyLimitProperties getProperties() {
+        return properties;
+    }
+
+    private RouteLimiter create(String routeId, int maxLimit) {
+        int upperBound = maxLimit > 0 ? maxLimit : properties.getMaxLimit();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new VegasLimit(
+                Math.min(properties.getInitialLimit(), upperBound), properties.getMinLimit(), upperBound,
+                properties.getSmoothing(), properties.getProbeMultiplier()));
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of the route")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Upstream calls of the route currently in flight")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Counter accepted = Counter.builder("gateway.concurrency.requests")
+                .tag("route", routeId).tag("outcome", "accepted")
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.concurrency.requests")
+                .tag("route", routeId).tag("outcome", "rejected")
+                .register(meterRegistry);
+        return new RouteLimiter(limiter, accepted, rejected);
+    }
+
+    public record RouteLimiter(AdaptiveConcurrencyLimiter limiter, Counter accepted, Counter rejected) {
+    }
+
+}
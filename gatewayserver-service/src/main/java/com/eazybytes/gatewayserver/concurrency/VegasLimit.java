@@ -0,0 +1,97 @@
+package com.kurobytes.gatewayserver.concurrency;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Concurrency limit estimated with the TCP Vegas approach.
+ * <p>
+ * The lowest latency seen is taken as the upstream's no-load latency. From the ratio between that floor and
+ * the latency of a sample, {@code limit * (1 - floor / rtt)} estimates how many requests are queued inside
+ * the service: a small queue grows the limit, a large one shrinks it, and a dropped request (timeout or
+ * overload status) backs it off multiplicatively. Because the floor can be stale after a deployment or a
+ * scale-out, it is periodically reset and learned again.
+ */
+public class VegasLimit {
+
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int probeMultiplier;
+
+    private double estimatedLimit;
+    private volatile int limit;
+    private long rttNoLoad;
+    private long probeCountdown;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int probeMultiplier) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.probeMultiplier = probeMultiplier;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.probeCountdown = nextProbeCountdown();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return current latency floor in nanoseconds, 0 until the first sample
+     */
+    public synchronized long getRttNoLoad() {
+        return rttNoLoad;
+    }
+
+    /**
+     * @param rttNanos - Upstream latency of the completed request
+     * @param inFlight - Requests in flight when it completed, including itself
+     * @param didDrop  - true when the request timed out or the service reported overload
+     * @return the new limit
+     */
+    public synchronized int onSample(long rttNanos, int inFlight, boolean didDrop) {
+        if (--probeCountdown <= 0) {
+            probeCountdown = nextProbeCountdown();
+            rttNoLoad = rttNanos;
+            return limit;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return limit;
+        }
+
+        double current = estimatedLimit;
+        double log = Math.log10(Math.max(1, current));
+        double newLimit;
+        if (didDrop) {
+            newLimit = current * DROP_BACKOFF;
+        } else if (inFlight * 2 < current) {
+            // 上限に達していない間は遅延が limit の妥当性を示さない
+            return limit;
+        } else {
+            double queue = Math.ceil(current * (1 - (double) rttNoLoad / rttNanos));
+            if (queue <= log) {
+                newLimit = current + 6 * log;
+            } else if (queue < 3 * log) {
+                newLimit = current + log;
+            } else if (queue > 6 * log) {
+                newLimit = current - log;
+            } else {
+                return limit;
+            }
+        }
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        estimatedLimit = (1 - smoothing) * current + smoothing * newLimit;
+        limit = (int) estimatedLimit;
+        return limit;
+    }
+
+    private long nextProbeCountdown() {
+        double jitter = 0.5 + ThreadLocalRandom.current().nextDouble() * 0.5;
+        return Math.max(1, (long) (probeMultiplier * Math.max(1, estimatedLimit) * jitter));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.kurobytes.gatewayserver.config;
+
+import com.kurobytes.gatewayserver.accesslog.AccessLogProperties;
+import com.kurobytes.gatewayserver.accesslog.AccessLogRingBuffer;
+import com.kurobytes.gatewayserver.accesslog.AccessLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "kurobank.gateway.access-log", name = "enabled", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean
+    public AccessLogRingBuffer accessLogRingBuffer(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(properties.getBufferSize());
+        FunctionCounter.builder("gateway.accesslog.dropped", ringBuffer, AccessLogRingBuffer::dropped)
+                .description("Access log records dropped because the writer fell behind")
+                .register(meterRegistry);
+        Gauge.builder("gateway.accesslog.backlog", ringBuffer, AccessLogRingBuffer::backlog)
+                .description("Access log records waiting for the writer thread")
+                .register(meterRegistry);
+        return ringBuffer;
+    }
+
+    @Bean
+    public AccessLogWriter accessLogWriter(AccessLogRingBuffer accessLogRingBuffer, AccessLogProperties properties,
+                                           MeterRegistry meterRegistry) {
+        AccessLogWriter writer = new AccessLogWriter(accessLogRingBuffer, properties);
+        FunctionCounter.builder("gateway.accesslog.written", writer, AccessLogWriter::written)
+                .description("Access log records written to disk")
+                .register(meterRegistry);
+        return writer;
+    }
+
+}
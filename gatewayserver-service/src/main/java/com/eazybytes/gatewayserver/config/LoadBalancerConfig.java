@@ -0,0 +1,20 @@
+package com.kurobytes.gatewayserver.config;
+
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoadBalancerConfig {
+
+    /**
+     * Resolves the host of every WebClient request as a service id, the same way {@code lb://} routes are,
+     * so the aggregation calls share instance selection and outlier data with the routes.
+     */
+    @Bean
+    public WebClientCustomizer loadBalancerWebClientCustomizer(ReactorLoadBalancerExchangeFilterFunction lbFunction) {
+        return webClientBuilder -> webClientBuilder.filter(lbFunction);
+    }
+
+}
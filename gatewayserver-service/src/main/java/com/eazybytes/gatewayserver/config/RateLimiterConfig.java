@@ -0,0 +1,65 @@
+package com.kurobytes.gatewayserver.config;
+
+import com.kurobytes.gatewayserver.ratelimit.LocalTokenBucketStore;
+import com.kurobytes.gatewayserver.ratelimit.RateLimiterProperties;
+import com.kurobytes.gatewayserver.ratelimit.RedisTokenBucketStore;
+import com.kurobytes.gatewayserver.ratelimit.TokenBucketRateLimiter;
+import com.kurobytes.gatewayserver.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+@Configuration
+public class RateLimiterConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "kurobank.gateway.rate-limiter", name = "mode", havingValue = "local",
+            matchIfMissing = true)
+    public TokenBucketStore localTokenBucketStore(RateLimiterProperties properties, MeterRegistry meterRegistry) {
+        LocalTokenBucketStore store = new LocalTokenBucketStore(properties.getStripes(), properties.getMaxTrackedKeys());
+        Gauge.builder("gateway.ratelimit.tracked.keys", store, LocalTokenBucketStore::trackedKeys)
+                .description("Client/route keys currently tracked by the in-memory rate limiter")
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "kurobank.gateway.rate-limiter", name = "mode", havingValue = "redis")
+    public TokenBucketStore redisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate) {
+        return new RedisTokenBucketStore(redisTemplate);
+    }
+
+    @Bean
+    @Primary
+    public TokenBucketRateLimiter tokenBucketRateLimiter(TokenBucketStore tokenBucketStore,
+                                                         RateLimiterProperties properties,
+                                                         MeterRegistry meterRegistry,
+                                                         ConfigurationService configurationService) {
+        return new TokenBucketRateLimiter(tokenBucketStore, properties, meterRegistry, configurationService);
+    }
+
+    /**
+     * Rate limits authenticated callers by their JWT subject and anonymous callers by client IP.
+     */
+    @Bean
+    public KeyResolver principalOrIpKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .map(Principal::getName)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+                    return remoteAddress == null || remoteAddress.getAddress() == null
+                            ? "anonymous" : remoteAddress.getAddress().getHostAddress();
+                }));
+    }
+
+}
@@ -26,6 +26,7 @@ public class SecurityConfig {
                 .pathMatchers("/kurobank/accounts/**").hasRole("ACCOUNTS")
                 .pathMatchers("/kurobank/cards/**").hasRole("CARDS")
                 .pathMatchers("/kurobank/loans/**").hasRole("LOANS")
+                .pathMatchers("/kurobank/aggregate/**").hasRole("ACCOUNTS")
                 .anyExchange().authenticated()) // その他は認証必須
                 .oauth2ResourceServer(oAuth2ResourceServerSpec -> oAuth2ResourceServerSpec
                         .jwt(jwtSpec -> jwtSpec.jwtAuthenticationConverter(grantedAuthoritiesExtractor())));
@@ -0,0 +1,74 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.kurobytes.gatewayserver.accesslog.AccessLogRingBuffer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * Records one access log entry per request into the {@link AccessLogRingBuffer}.
+ * <p>
+ * The event loop only copies a few references and numbers into a preallocated slot; formatting and file I/O
+ * happen on the access log writer thread. {@code duration_us} is the gateway total: measured from the point
+ * the gateway starts routing the request until the response completes, so it includes the filter chain, the
+ * proxied call and writing the body. {@code upstream_us} is the proxied call alone, as measured by
+ * {@link UpstreamTimingFilter} (-1 when the gateway answered itself). {@code bytes} is the response
+ * Content-Length (-1 when the body was streamed without one).
+ */
+@Component
+@ConditionalOnProperty(prefix = "kurobank.gateway.access-log", name = "enabled", matchIfMissing = true)
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = TraceFilter.ORDER + 1;
+
+    private final AccessLogRingBuffer ringBuffer;
+
+    public AccessLogFilter(AccessLogRingBuffer ringBuffer) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty("-")
+                .flatMap(principal -> chain.filter(exchange).doFinally(signal -> record(exchange, principal, start)));
+    }
+
+    private void record(ServerWebExchange exchange, String principal, long start) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        TraceContext traceContext = exchange.getAttribute(FilterUtility.TRACE_CONTEXT_ATTR);
+        HttpStatusCode status = response.getStatusCode();
+        Long upstreamNanos = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR);
+        ringBuffer.offer(System.currentTimeMillis(),
+                route == null ? null : route.getId(),
+                request.getMethod().name(),
+                request.getPath().value(),
+                status == null ? 0 : status.value(),
+                (System.nanoTime() - start) / 1_000,
+                upstreamNanos == null ? -1 : upstreamNanos / 1_000,
+                response.getHeaders().getContentLength(),
+                traceContext == null ? null : traceContext.correlationId(),
+                principal);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.kurobytes.gatewayserver.concurrency.AdaptiveConcurrencyLimiter;
+import com.kurobytes.gatewayserver.concurrency.ConcurrencyLimiterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Caps the upstream calls in flight per route with an adaptive limit.
+ * <p>
+ * Calls over the limit are rejected with 503 and {@code Retry-After} before anything is sent upstream, so an
+ * overloaded service sees its queue drain instead of grow. Timeouts and 503/504 answers count as drops and
+ * shrink the limit.
+ */
+@Component
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final ConcurrencyLimiterRegistry registry;
+
+    public AdaptiveConcurrencyLimitGatewayFilterFactory(ConcurrencyLimiterRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String retryAfter = Long.toString(Math.max(1, registry.getProperties().getRetryAfter().toSeconds()));
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            ConcurrencyLimiterRegistry.RouteLimiter routeLimiter =
+                    registry.get(route == null ? "unknown" : route.getId(), config.getMaxLimit());
+            AdaptiveConcurrencyLimiter limiter = routeLimiter.limiter();
+            if (!limiter.tryAcquire()) {
+                routeLimiter.rejected().increment();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+                return response.setComplete();
+            }
+            routeLimiter.accepted().increment();
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limiter.releaseWithoutSample();
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean didDrop = signal == SignalType.ON_ERROR || status != null
+                        && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                        || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+                limiter.release(System.nanoTime() - start, didDrop);
+            });
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        /**
+         * Route specific upper bound of the limit; 0 keeps kurobank.gateway.concurrency-limit.max-limit.
+         */
+        private int maxLimit;
+
+    }
+
+}
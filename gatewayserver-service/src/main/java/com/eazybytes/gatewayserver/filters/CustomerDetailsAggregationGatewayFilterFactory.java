@@ -0,0 +1,123 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kurobytes.gatewayserver.aggregation.CustomerDetailsAggregator;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the route with the customer details document built by {@link CustomerDetailsAggregator},
+ * instead of proxying to the accounts service which would make the cards and loans calls itself.
+ * <p>
+ * The upstream URI of the route is never called. When cards or loans are left out the response carries
+ * the {@value #PARTIAL_HEADER} header listing them.
+ */
+@Component
+public class CustomerDetailsAggregationGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    public static final String PARTIAL_HEADER = "kurobank-partial-response";
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("[0-9]{10}");
+
+    private final CustomerDetailsAggregator aggregator;
+    private final ObjectMapper objectMapper;
+
+    public CustomerDetailsAggregationGatewayFilterFactory(CustomerDetailsAggregator aggregator,
+                                                         ObjectMapper objectMapper) {
+        super(Object.class);
+        this.aggregator = aggregator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            ServerWebExchangeUtils.setAlreadyRouted(exchange);
+            String mobileNumber = exchange.getRequest().getQueryParams().getFirst("mobileNumber");
+            if (mobileNumber == null || !MOBILE_NUMBER.matcher(mobileNumber).matches()) {
+                return writeError(exchange, HttpStatus.BAD_REQUEST, "Mobile number must be 10 digits");
+            }
+            TraceContext traceContext = exchange.getAttribute(FilterUtility.TRACE_CONTEXT_ATTR);
+            return aggregator.aggregate(mobileNumber, headers -> {
+                        if (traceContext != null) {
+                            headers.set(FilterUtility.CORRELATION_ID, traceContext.correlationId());
+                            headers.set(FilterUtility.TRACEPARENT, traceContext.traceparent());
+                        }
+                    })
+                    .flatMap(result -> {
+                        if (result.partial()) {
+                            HttpHeaders headers = exchange.getResponse().getHeaders();
+                            headers.set(PARTIAL_HEADER, String.join(",", result.missingLegs()));
+                            // 欠けたレスポンスはマイクロキャッシュに載せない
+                            headers.setCacheControl("no-store");
+                        }
+                        return write(exchange, HttpStatus.OK, result.customerDetails());
+                    })
+                    .onErrorResume(WebClientResponseException.class, ex -> relay(exchange, ex))
+                    .onErrorResume(TimeoutException.class, ex -> writeError(exchange, HttpStatus.GATEWAY_TIMEOUT,
+                            "Accounts service did not answer in time"))
+                    .onErrorResume(ex -> writeError(exchange, HttpStatus.BAD_GATEWAY,
+                            "Accounts service is unavailable"));
+        };
+    }
+
+    /**
+     * Passes an accounts error (e.g. 404 for an unknown mobile number) through unchanged.
+     */
+    private Mono<Void> relay(ServerWebExchange exchange, WebClientResponseException ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(ex.getStatusCode());
+        MediaType contentType = ex.getHeaders().getContentType();
+        if (contentType != null) {
+            response.getHeaders().setContentType(contentType);
+        }
+        byte[] body = ex.getResponseBodyAsByteArray();
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Writes the same fields as the services' ErrorResponseDto.
+     */
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String message) {
+        ObjectNode error = objectMapper.createObjectNode()
+                .put("apiPath", "uri=" + exchange.getRequest().getPath().value())
+                .put("errorCode", status.name())
+                .put("errorMessage", message)
+                .put("errorTime", LocalDateTime.now().toString());
+        return write(exchange, status, error);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, HttpStatusCode status, JsonNode body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(bytes.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+}
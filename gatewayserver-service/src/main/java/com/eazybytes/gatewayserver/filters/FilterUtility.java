@@ -1,31 +1,13 @@
 package com.kurobytes.gatewayserver.filters;
 
-import org.springframework.stereotype.Component;
-import org.springframework.web.server.ServerWebExchange;
+public final class FilterUtility {
 
-import org.springframework.http.HttpHeaders;
-import java.util.List;
-
-@Component
-public class FilterUtility {
-
-    public static final String CORRELATION_ID = "kurobank-correlation-id";
-
-    public String getCorrelationId(HttpHeaders requestHeaders) {
-        if (requestHeaders.get(CORRELATION_ID) != null) {
-            List<String> requestHeaderList = requestHeaders.get(CORRELATION_ID);
-            return requestHeaderList.stream().findFirst().get();
-        } else {
-            return null;
-        }
+    private FilterUtility() {
+        // restrict instantiation
     }
 
-    public ServerWebExchange setRequestHeader(ServerWebExchange exchange, String name, String value) {
-        return exchange.mutate().request(exchange.getRequest().mutate().header(name, value).build()).build();
-    }
-
-    public ServerWebExchange setCorrelationId(ServerWebExchange exchange, String correlationId) {
-        return this.setRequestHeader(exchange, CORRELATION_ID, correlationId);
-    }
+    public static final String CORRELATION_ID = "kurobank-correlation-id";
+    public static final String TRACEPARENT = "traceparent";
+    public static final String TRACE_CONTEXT_ATTR = FilterUtility.class.getName() + ".traceContext";
 
 }
@@ -0,0 +1,282 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.kurobytes.gatewayserver.cache.CachedResponse;
+import com.kurobytes.gatewayserver.cache.MicroCache;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived response cache for idempotent GET endpoints.
+ * <p>
+ * Entries are keyed on path, query string, principal and the normalized {@code Accept} header, so one
+ * customer never sees another customer's data and a CBOR client never gets a cached JSON body. Responses that
+ * vary on any other request header are not stored. Requests carrying a matching {@code If-None-Match} are answered with 304 straight from the gateway,
+ * and concurrent misses for the same key share a single upstream call.
+ * <p>
+ * The filter runs just before {@link NettyWriteResponseFilter}, whatever its position in the route, so the
+ * response it decorates is the one the proxied body is written to. Cache hits are therefore answered before
+ * the route's rate and concurrency limiters: they cost the upstream nothing.
+ */
+@Component
+public class MicroCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<MicroCacheGatewayFilterFactory.Config> {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(MicroCacheGatewayFilterFactory.class);
+
+    private final MicroCache microCache;
+
+    public MicroCacheGatewayFilterFactory(MicroCache microCache) {
+        super(Config.class);
+        this.microCache = microCache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> patterns = config.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        long ttlNanos = config.getTtl().toNanos();
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || !matches(patterns, request)
+                    || request.getHeaders().getCacheControl() != null
+                    && request.getHeaders().getCacheControl().contains("no-cache")) {
+                return chain.filter(exchange);
+            }
+            return exchange.getPrincipal()
+                    .map(Principal::getName)
+                    .defaultIfEmpty("")
+                    .flatMap(principal -> serve(exchange, chain, cacheKey(request, principal), ttlNanos));
+        }, ORDER);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, String key, long ttlNanos) {
+        CachedResponse cached = microCache.get(key);
+        if (cached != null) {
+            return write(exchange, cached);
+        }
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        Mono<CachedResponse> pending = microCache.joinInflight(key, leader);
+        if (pending != null) {
+            return pending.map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.isPresent()
+                            ? write(exchange, response.get())
+                            : chain.filter(exchange));
+        }
+        CapturingResponse capturingResponse = new CapturingResponse(exchange, key, ttlNanos, leader);
+        return chain.filter(exchange.mutate().response(capturingResponse).build())
+                .doFinally(signal -> capturingResponse.completeIfPending());
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.addAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds()));
+        boolean notModified = cached.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        microCache.recordHit(notModified);
+        if (notModified) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean matches(List<PathPattern> patterns, ServerHttpRequest request) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return patterns.isEmpty();
+    }
+
+    private static String cacheKey(ServerHttpRequest request, String principal) {
+        String query = request.getURI().getRawQuery();
+        return request.getPath().value() + '?' + (query == null ? "" : query) + '|' + principal
+                + '|' + normalizedAccept(request.getHeaders().get(HttpHeaders.ACCEPT));
+    }
+
+    /**
+     * Media ranges in a canonical order, without whitespace and in lower case, so equivalent
+     * {@code Accept} headers share an entry.
+     */
+    private static String normalizedAccept(List<String> accept) {
+        if (accept == null) {
+            return "";
+        }
+        return accept.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(range -> StringUtils.trimAllWhitespace(range).toLowerCase(Locale.ROOT))
+                .filter(range -> !range.isEmpty())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * The key only distinguishes requests by {@code Accept}; a response selected on any other header must not
+     * be stored.
+     */
+    private static boolean variesOnlyOnAccept(HttpHeaders headers) {
+        for (String vary : headers.getVary()) {
+            if (!HttpHeaders.ACCEPT.equalsIgnoreCase(vary.trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the upstream body while it is written to the client, then hands it to waiting requests. Copying
+     * stops as soon as the body grows past {@code max-entry-bytes}; the rest is streamed through untouched.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final long ttlNanos;
+        private final Sinks.One<CachedResponse> leader;
+        private boolean completed;
+
+        CapturingResponse(ServerWebExchange exchange, String key, long ttlNanos, Sinks.One<CachedResponse> leader) {
+            super(exchange.getResponse());
+            this.key = key;
+            this.ttlNanos = ttlNanos;
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!cacheable()) {
+                completeIfPending();
+                return super.writeWith(body);
+            }
+            BodyCopy copy = new BodyCopy();
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (copy.copying() && !copy.append(buffer)) {
+                            logger.debug("Response for {} is larger than the cache entry limit", key);
+                            completeIfPending();
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        byte[] bytes = copy.bytes();
+                        complete(bytes == null
+                                ? null : CachedResponse.of(getStatusCode(), getHeaders(), bytes, ttlNanos));
+                    }));
+        }
+
+        void completeIfPending() {
+            complete(null);
+        }
+
+        private synchronized void complete(CachedResponse cached) {
+            if (!completed) {
+                completed = true;
+                microCache.complete(key, leader, cached);
+            }
+        }
+
+        private boolean cacheable() {
+            HttpHeaders headers = getHeaders();
+            String cacheControl = headers.getCacheControl();
+            boolean cacheable = HttpStatus.OK.equals(getStatusCode())
+                    && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                    && variesOnlyOnAccept(headers)
+                    && microCache.fits(Math.max(headers.getContentLength(), 0))
+                    && (cacheControl == null || !cacheControl.contains("no-store"));
+            if (!cacheable) {
+                logger.debug("Response for {} is not cacheable", key);
+            }
+            return cacheable;
+        }
+
+        /**
+         * Body bytes seen so far, dropped once they no longer fit in a cache entry.
+         */
+        private class BodyCopy {
+
+            private byte[] bytes = new byte[0];
+            private int length;
+
+            boolean copying() {
+                return bytes != null;
+            }
+
+            /**
+             * @return false when the body became too large to cache; nothing is copied from then on
+             */
+            boolean append(DataBuffer buffer) {
+                int readable = buffer.readableByteCount();
+                if (!microCache.fits(length + readable)) {
+                    bytes = null;
+                    return false;
+                }
+                if (length + readable > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, Math.max(length + readable, bytes.length * 2));
+                }
+                int readPosition = buffer.readPosition();
+                buffer.read(bytes, length, readable);
+                buffer.readPosition(readPosition);
+                length += readable;
+                return true;
+            }
+
+            byte[] bytes() {
+                return bytes == null ? null : Arrays.copyOf(bytes, length);
+            }
+
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        /**
+         * How long a response stays in the cache.
+         */
+        private Duration ttl = Duration.ofSeconds(2);
+
+        /**
+         * Request paths to cache; every GET on the route is cached when empty.
+         */
+        private List<String> paths = List.of();
+
+    }
+
+}
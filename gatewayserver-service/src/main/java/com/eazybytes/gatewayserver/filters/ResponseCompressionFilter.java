@@ -0,0 +1,163 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.kurobytes.gatewayserver.compression.AcceptEncoding;
+import com.kurobytes.gatewayserver.compression.BrotliResponseEncoder;
+import com.kurobytes.gatewayserver.compression.CompressionMetrics;
+import com.kurobytes.gatewayserver.compression.CompressionProperties;
+import com.kurobytes.gatewayserver.compression.GzipResponseEncoder;
+import com.kurobytes.gatewayserver.compression.ResponseEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Compresses response bodies with brotli or gzip, whichever the client prefers in {@code Accept-Encoding}
+ * (brotli on a tie).
+ * <p>
+ * Only bodies of an allowed content type and at least {@code min-response-size} bytes are compressed, and
+ * never when upstream already encoded the body or sent {@code Cache-Control: no-transform}. The response
+ * decorator sits outside the micro-cache's, so the cache keeps identity bodies and every cache hit is
+ * compressed for the client that asked for it.
+ */
+@Component
+public class ResponseCompressionFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = MicroCacheGatewayFilterFactory.ORDER - 1;
+
+    private final boolean enabled;
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final ResponseEncoder gzip;
+    private final ResponseEncoder brotli;
+    private final CompressionMetrics metrics;
+
+    public ResponseCompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.minResponseSize = (int) properties.getMinResponseSize().toBytes();
+        this.mimeTypes = properties.getMimeTypes().stream().map(MediaType::parseMediaType).toList();
+        this.gzip = new GzipResponseEncoder(properties.getGzipLevel());
+        this.brotli = properties.isBrotliEnabled() && BrotliResponseEncoder.isAvailable()
+                ? new BrotliResponseEncoder(properties.getBrotliQuality()) : null;
+        this.metrics = new CompressionMetrics(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return chain.filter(exchange);
+        }
+        ResponseEncoder encoder = negotiate(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange.getResponse(), encoder)).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private ResponseEncoder negotiate(String acceptEncoding) {
+        double gzipQuality = AcceptEncoding.quality(acceptEncoding, "gzip");
+        double brotliQuality = brotli == null ? 0 : AcceptEncoding.quality(acceptEncoding, "br");
+        if (brotliQuality > 0 && brotliQuality >= gzipQuality) {
+            return brotli;
+        }
+        return gzipQuality > 0 ? gzip : null;
+    }
+
+    private boolean compressible(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        if ("json".equals(contentType.getSubtypeSuffix())) {
+            return true;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.isCompatibleWith(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseEncoder encoder;
+
+        CompressingResponse(ServerHttpResponse delegate, ResponseEncoder encoder) {
+            super(delegate);
+            this.encoder = encoder;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!eligible(headers)) {
+                return super.writeWith(body);
+            }
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (encoder == null) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                int size = joined.readableByteCount();
+                if (size < minResponseSize) {
+                    metrics.recordSkipped();
+                    return super.writeWith(Mono.just(joined));
+                }
+                long start = System.nanoTime();
+                DataBuffer compressed;
+                try {
+                    compressed = encoder.encode(joined, bufferFactory());
+                } catch (RuntimeException ex) {
+                    DataBufferUtils.release(joined);
+                    return Mono.error(ex);
+                }
+                metrics.recordCompressed(encoder.encoding(), size, compressed.readableByteCount(),
+                        System.nanoTime() - start);
+                DataBufferUtils.release(joined);
+
+                headers.set(HttpHeaders.CONTENT_ENCODING, encoder.encoding());
+                headers.setContentLength(compressed.readableByteCount());
+                String etag = headers.getETag();
+                if (etag != null && !etag.startsWith("W/")) {
+                    // 表現が変わるため強いETagは弱いETagに落とす
+                    headers.setETag("W/" + etag);
+                }
+                return super.writeWith(Mono.just(compressed));
+            });
+        }
+
+        private boolean eligible(HttpHeaders headers) {
+            HttpStatusCode status = getStatusCode();
+            if (status != null && (status.value() == HttpStatus.NO_CONTENT.value()
+                    || status.value() == HttpStatus.NOT_MODIFIED.value())) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            return !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                    && (cacheControl == null || !cacheControl.contains("no-transform"))
+                    && compressible(headers.getContentType());
+        }
+
+    }
+
+}
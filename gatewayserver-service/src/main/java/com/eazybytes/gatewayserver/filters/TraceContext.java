@@ -0,0 +1,13 @@
+package com.kurobytes.gatewayserver.filters;
+
+/**
+ * Trace identifiers resolved once per request by {@link TraceFilter}.
+ *
+ * @param correlationId        - Value of the kurobank-correlation-id header
+ * @param traceparent          - W3C traceparent value
+ * @param forwardCorrelationId - true when the gateway generated the correlation id and must send it upstream
+ * @param forwardTraceparent   - true when the gateway generated the traceparent and must send it upstream
+ */
+public record TraceContext(String correlationId, String traceparent,
+                           boolean forwardCorrelationId, boolean forwardTraceparent) {
+}
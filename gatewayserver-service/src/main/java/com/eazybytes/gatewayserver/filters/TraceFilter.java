@@ -0,0 +1,57 @@
+package com.kurobytes.gatewayserver.filters;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resolves the correlation id and W3C traceparent of every request in a single pass.
+ * <p>
+ * Incoming values are kept; missing ones are generated by {@link TraceIdGenerator}. The request is not
+ * rebuilt: generated values are stored as an exchange attribute and added to the upstream call by
+ * {@link TraceHeadersFilter}, and the correlation id is set on the response before the chain runs so it is
+ * also present on responses produced by the gateway itself (rate limiting, cache hits, fallbacks).
+ */
+@Component
+public class TraceFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        String correlationId = requestHeaders.getFirst(FilterUtility.CORRELATION_ID);
+        String traceparent = requestHeaders.getFirst(FilterUtility.TRACEPARENT);
+        boolean generateCorrelationId = correlationId == null;
+        boolean generateTraceparent = !TraceIdGenerator.isValidTraceparent(traceparent);
+
+        if (generateCorrelationId || generateTraceparent) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long high = TraceIdGenerator.nextHigh(random);
+            long low = TraceIdGenerator.nextLow(random);
+            if (generateCorrelationId) {
+                correlationId = TraceIdGenerator.correlationId(high, low);
+            }
+            if (generateTraceparent) {
+                traceparent = TraceIdGenerator.traceparent(high, low, random.nextLong());
+            }
+        }
+
+        exchange.getAttributes().put(FilterUtility.TRACE_CONTEXT_ATTR,
+                new TraceContext(correlationId, traceparent, generateCorrelationId, generateTraceparent));
+        exchange.getResponse().getHeaders().set(FilterUtility.CORRELATION_ID, correlationId);
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.kurobytes.gatewayserver.filters;
+
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Adds the trace headers generated by {@link TraceFilter} to the request sent upstream.
+ * <p>
+ * Runs last among the request {@link HttpHeadersFilter}s, after the hop-by-hop filter has already copied
+ * the incoming headers into a writable instance, so no further copy is needed here.
+ */
+@Component
+public class TraceHeadersFilter implements HttpHeadersFilter, Ordered {
+
+    @Override
+    public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+        TraceContext traceContext = exchange.getAttribute(FilterUtility.TRACE_CONTEXT_ATTR);
+        if (traceContext == null) {
+            return input;
+        }
+        if (traceContext.forwardCorrelationId()) {
+            input.set(FilterUtility.CORRELATION_ID, traceContext.correlationId());
+        }
+        if (traceContext.forwardTraceparent()) {
+            input.set(FilterUtility.TRACEPARENT, traceContext.traceparent());
+        }
+        return input;
+    }
+
+    @Override
+    public boolean supports(Type type) {
+        return type == Type.REQUEST;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+}
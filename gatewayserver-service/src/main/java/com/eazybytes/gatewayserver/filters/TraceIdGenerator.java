@@ -0,0 +1,92 @@
+package com.kurobytes.gatewayserver.filters;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered identifiers without going through {@code SecureRandom}.
+ * <p>
+ * Ids follow the UUIDv7 layout: 48 bits of epoch milliseconds followed by random bits from
+ * {@link ThreadLocalRandom}. They sort by creation time and are unique enough for tracing, but they are
+ * not meant to be unguessable.
+ */
+public final class TraceIdGenerator {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private TraceIdGenerator() {
+        // restrict instantiation
+    }
+
+    /**
+     * @return the high 64 bits of a new id: timestamp, version 7 and 12 random bits
+     */
+    public static long nextHigh(ThreadLocalRandom random) {
+        return (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+    }
+
+    /**
+     * @return the low 64 bits of a new id: IETF variant and 62 random bits
+     */
+    public static long nextLow(ThreadLocalRandom random) {
+        return (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+
+    public static String correlationId(long high, long low) {
+        return new UUID(high, low).toString();
+    }
+
+    /**
+     * @return a sampled W3C {@code traceparent} value whose trace id is the given 128-bit id
+     */
+    public static String traceparent(long high, long low, long spanId) {
+        byte[] value = new byte[55];
+        value[0] = '0';
+        value[1] = '0';
+        value[2] = '-';
+        writeHex(value, 3, high);
+        writeHex(value, 19, low);
+        value[35] = '-';
+        writeHex(value, 36, spanId == 0 ? 1 : spanId);
+        value[52] = '-';
+        value[53] = '0';
+        value[54] = '1';
+        return new String(value, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Checks the {@code 00-<32 hex>-<16 hex>-<2 hex>} shape without allocating. An all-zero trace id or parent
+     * id is invalid as well: W3C Trace Context requires a new traceparent in its place.
+     */
+    public static boolean isValidTraceparent(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55 || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return false;
+        }
+        boolean traceIdSet = false;
+        boolean parentIdSet = false;
+        for (int i = 0; i < 55; i++) {
+            if (i == 2 || i == 35 || i == 52) {
+                continue;
+            }
+            char c = traceparent.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+            if (c != '0') {
+                traceIdSet |= i > 2 && i < 35;
+                parentIdSet |= i > 35 && i < 52;
+            }
+        }
+        return traceIdSet && parentIdSet && !traceparent.startsWith("ff");
+    }
+
+    private static void writeHex(byte[] target, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+}
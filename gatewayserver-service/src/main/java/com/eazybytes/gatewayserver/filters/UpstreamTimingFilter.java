@@ -0,0 +1,40 @@
+package com.kurobytes.gatewayserver.filters;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures the proxied call for the access log's {@code upstream_us} field.
+ * <p>
+ * Runs just before the routing filters, after load balancing and every route filter, and stops when the
+ * routing filter completes, i.e. when the upstream response headers have arrived. Requests the gateway
+ * answers itself (cache hits, rate limiting, aggregation) never reach this filter and have no upstream time.
+ */
+@Component
+@ConditionalOnProperty(prefix = "kurobank.gateway.access-log", name = "enabled", matchIfMissing = true)
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyRoutingFilter.ORDER - 10;
+
+    public static final String UPSTREAM_NANOS_ATTR = UpstreamTimingFilter.class.getName() + ".upstreamNanos";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        // doFinally would run after the access log's own doFinally has already read the attribute
+        return chain.filter(exchange).doOnTerminate(
+                () -> exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+}
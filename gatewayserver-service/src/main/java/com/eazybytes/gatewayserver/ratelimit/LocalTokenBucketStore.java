@@ -0,0 +1,105 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets, one {@link AtomicLong} per key updated with a CAS loop.
+ * <p>
+ * Keys are spread over a fixed number of stripes and every stripe holds at most
+ * {@code maxTrackedKeys / stripes} keys. When a stripe is full, buckets that have refilled completely are
+ * dropped first: a full bucket behaves exactly like a missing one, so this eviction never changes a decision.
+ * Only when every key in the stripe is active is an arbitrary key dropped, which can let that client burst again.
+ */
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int stripeMask;
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+
+    public LocalTokenBucketStore(int stripes, int maxTrackedKeys) {
+        this(stripes, maxTrackedKeys, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    LocalTokenBucketStore(int stripes, int maxTrackedKeys, LongSupplier nanoClock) {
+        int stripeCount = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.maxKeysPerStripe = Math.max(1, maxTrackedKeys / stripeCount);
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Decision> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        return Mono.just(consume(key, replenishRate, burstCapacity, requestedTokens));
+    }
+
+    @Override
+    public String mode() {
+        return "local";
+    }
+
+    Decision consume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        long interval = NANOS_PER_SECOND / replenishRate;
+        long window = interval * burstCapacity;
+        long increment = interval * requestedTokens;
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long arrival = bucket.get();
+            long base = arrival - now > 0 ? arrival : now;
+            long nextArrival = base + increment;
+            if (nextArrival - now > window) {
+                return new Decision(false, (window - (base - now)) / interval);
+            }
+            if (bucket.compareAndSet(arrival, nextArrival)) {
+                return new Decision(true, (window - (nextArrival - now)) / interval);
+            }
+        }
+    }
+
+    /**
+     * @return number of keys currently tracked across all stripes
+     */
+    public int trackedKeys() {
+        int total = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        int hash = key.hashCode();
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[(hash ^ (hash >>> 16)) & stripeMask];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            evict(stripe, now);
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void evict(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        Iterator<String> keys = stripe.keySet().iterator();
+        while (stripe.size() >= maxKeysPerStripe && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kurobank.gateway.rate-limiter")
+@Getter
+@Setter
+public class RateLimiterProperties {
+
+    /**
+     * LOCAL keeps the buckets in gateway memory, REDIS shares them across all gateway replicas.
+     */
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * Default tokens added per second when a route does not override it.
+     */
+    private int replenishRate = 50;
+
+    /**
+     * Default maximum burst when a route does not override it.
+     */
+    private int burstCapacity = 100;
+
+    /**
+     * Number of independent key stripes, rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * Upper bound of client/route keys tracked in memory across all stripes.
+     */
+    private int maxTrackedKeys = 100_000;
+
+    public enum Mode {
+        LOCAL, REDIS
+    }
+
+}
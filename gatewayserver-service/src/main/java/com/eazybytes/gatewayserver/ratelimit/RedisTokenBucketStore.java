@@ -0,0 +1,63 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by every gateway replica through Redis.
+ * <p>
+ * The same GCRA update as {@link LocalTokenBucketStore} runs atomically inside a Lua script and uses the
+ * Redis clock, so replicas with skewed clocks still agree on the quota. When Redis is unreachable the
+ * request is allowed, matching the behaviour of Spring Cloud Gateway's own {@code RedisRateLimiter}.
+ */
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketStore.class);
+
+    static final String KEY_PREFIX = "kurobank_rate_limiter.";
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private static final RedisScript<List<Long>> SCRIPT = gcraScript();
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Decision> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens) {
+        List<String> args = List.of(Long.toString(MICROS_PER_SECOND / replenishRate),
+                Integer.toString(burstCapacity), Integer.toString(requestedTokens));
+        return redisTemplate.execute(SCRIPT, List.of(KEY_PREFIX + key), args)
+                .next()
+                .map(result -> new Decision(result.get(0) == 1L, result.get(1)))
+                .onErrorResume(throwable -> {
+                    logger.warn("Rate limiter could not reach Redis, allowing request : {}", throwable.getMessage());
+                    return Mono.just(new Decision(true, -1));
+                });
+    }
+
+    @Override
+    public String mode() {
+        return "redis";
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> gcraScript() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/gcra_rate_limiter.lua")));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+
+}
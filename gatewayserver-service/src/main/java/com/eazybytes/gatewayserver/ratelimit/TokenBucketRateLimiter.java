@@ -0,0 +1,108 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RequestRateLimiter} implementation backed by a {@link TokenBucketStore}.
+ * <p>
+ * Rates can be overridden per route through the filter arguments, e.g.
+ * {@code token-bucket-rate-limiter.replenish-rate: 20}. Missing values fall back to
+ * {@link RateLimiterProperties}.
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private final TokenBucketStore store;
+    private final RateLimiterProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(TokenBucketStore store, RateLimiterProperties properties,
+                                  MeterRegistry meterRegistry, ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config routeConfig = getConfig().get(routeId);
+        int replenishRate = resolve(routeConfig == null ? 0 : routeConfig.getReplenishRate(), properties.getReplenishRate());
+        int burstCapacity = resolve(routeConfig == null ? 0 : routeConfig.getBurstCapacity(), properties.getBurstCapacity());
+        int requestedTokens = resolve(routeConfig == null ? 0 : routeConfig.getRequestedTokens(), 1);
+        RouteMeters meters = meters(routeId);
+
+        long start = System.nanoTime();
+        return store.tryConsume(routeId + ':' + id, replenishRate, burstCapacity, requestedTokens)
+                .map(decision -> {
+                    meters.decision.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    (decision.allowed() ? meters.allowed : meters.denied).increment();
+                    return new Response(decision.allowed(), Map.of(
+                            REMAINING_HEADER, Long.toString(decision.tokensRemaining()),
+                            REPLENISH_RATE_HEADER, Integer.toString(replenishRate),
+                            BURST_CAPACITY_HEADER, Integer.toString(burstCapacity),
+                            REQUESTED_TOKENS_HEADER, Integer.toString(requestedTokens)));
+                });
+    }
+
+    private static int resolve(int routeValue, int defaultValue) {
+        return routeValue > 0 ? routeValue : defaultValue;
+    }
+
+    private RouteMeters meters(String routeId) {
+        RouteMeters meters = routeMeters.get(routeId);
+        return meters != null ? meters : routeMeters.computeIfAbsent(routeId, this::createMeters);
+    }
+
+    private RouteMeters createMeters(String routeId) {
+        Timer decision = Timer.builder("gateway.ratelimit.decision")
+                .description("Time taken to decide whether a request is within its rate limit")
+                .tag("route", routeId)
+                .tag("mode", store.mode())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+        Counter allowed = Counter.builder("gateway.ratelimit.requests")
+                .tag("route", routeId).tag("outcome", "allowed")
+                .register(meterRegistry);
+        Counter denied = Counter.builder("gateway.ratelimit.requests")
+                .tag("route", routeId).tag("outcome", "denied")
+                .register(meterRegistry);
+        return new RouteMeters(decision, allowed, denied);
+    }
+
+    private record RouteMeters(Timer decision, Counter allowed, Counter denied) {
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        private int replenishRate;
+
+        private int burstCapacity;
+
+        private int requestedTokens;
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds the token bucket state for every client/route key.
+ * <p>
+ * Buckets are kept as a GCRA "theoretical arrival time", which is equivalent to a token bucket
+ * but needs only a single number per key.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * @param key             - Route and client key
+     * @param replenishRate   - Tokens added per second
+     * @param burstCapacity   - Maximum number of tokens in the bucket
+     * @param requestedTokens - Tokens consumed by this request
+     * @return the decision together with the tokens left in the bucket
+     */
+    Mono<Decision> tryConsume(String key, int replenishRate, int burstCapacity, int requestedTokens);
+
+    /**
+     * @return the name of the store used as a metric tag
+     */
+    String mode();
+
+    record Decision(boolean allowed, long tokensRemaining) {
+    }
+
+}
@@ -0,0 +1,26 @@
+-- GCRA token bucket: KEYS[1] holds the theoretical arrival time in microseconds.
+-- ARGV[1] = microseconds per token, ARGV[2] = burst capacity, ARGV[3] = requested tokens.
+-- Returns {allowed (1/0), tokens remaining}.
+redis.replicate_commands()
+
+local key = KEYS[1]
+local interval = tonumber(ARGV[1])
+local burst = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local window = interval * burst
+
+local arrival = tonumber(redis.call('GET', key))
+if arrival == nil or arrival < now then
+  arrival = now
+end
+
+local next_arrival = arrival + interval * requested
+if next_arrival - now > window then
+  return {0, math.floor((window - (arrival - now)) / interval)}
+end
+
+redis.call('SET', key, string.format('%d', next_arrival), 'PX', math.ceil(window / 1000) + 1)
+return {1, math.floor((window - (next_arrival - now)) / interval)}
@@ -0,0 +1,47 @@
+package com.kurobytes.gatewayserver.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTests {
+
+    @Test
+    void drainsRecordsInOrder() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertThat(offer(ringBuffer, "/kurobank/cards/api/fetch?" + i)).isTrue();
+        }
+
+        List<String> paths = new ArrayList<>();
+        assertThat(ringBuffer.drain(record -> paths.add(record.path), 3)).isEqualTo(3);
+        assertThat(ringBuffer.drain(record -> paths.add(record.path), 10)).isEqualTo(2);
+
+        assertThat(paths).containsExactly("/kurobank/cards/api/fetch?0", "/kurobank/cards/api/fetch?1",
+                "/kurobank/cards/api/fetch?2", "/kurobank/cards/api/fetch?3", "/kurobank/cards/api/fetch?4");
+        assertThat(ringBuffer.backlog()).isZero();
+    }
+
+    @Test
+    void dropsInsteadOfBlockingWhenFull() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(offer(ringBuffer, "/a")).isTrue();
+        }
+
+        assertThat(offer(ringBuffer, "/b")).isFalse();
+        assertThat(ringBuffer.dropped()).isEqualTo(1);
+
+        ringBuffer.drain(record -> { }, 1);
+        assertThat(offer(ringBuffer, "/c")).isTrue();
+    }
+
+    private static boolean offer(AccessLogRingBuffer ringBuffer, String path) {
+        return ringBuffer.offer(System.currentTimeMillis(), "cards", "GET", path, 200, 1_500, 1_200, 128,
+                "0190f3c6-7d2a-7b3e-9c41-5e2f1a0b3c4d", "alice");
+    }
+
+}
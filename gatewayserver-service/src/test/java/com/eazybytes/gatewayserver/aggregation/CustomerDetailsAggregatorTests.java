@@ -0,0 +1,137 @@
+package com.kurobytes.gatewayserver.aggregation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerDetailsAggregatorTests {
+
+    private static final String ACCOUNTS_BODY = "{\"name\":\"Kuro\",\"mobileNumber\":\"4354437687\",\"accountsDto\":{}}";
+    private static final String CARDS_BODY = "{\"mobileNumber\":\"4354437687\",\"cardNumber\":\"100646930341\"}";
+    private static final String LOANS_BODY = "{\"mobileNumber\":\"4354437687\",\"loanNumber\":\"548732457654\"}";
+
+    private final Map<String, Mono<ClientResponse>> responses = new HashMap<>();
+
+    @Test
+    void mergesAllThreeLegs() {
+        respond("accounts", ok(ACCOUNTS_BODY));
+        respond("cards", ok(CARDS_BODY));
+        respond("loans", ok(LOANS_BODY));
+
+        CustomerDetailsAggregator.Result result = aggregate();
+
+        assertThat(result.partial()).isFalse();
+        assertThat(result.customerDetails().path("name").asText()).isEqualTo("Kuro");
+        assertThat(result.customerDetails().path("cardsDto").path("cardNumber").asText()).isEqualTo("100646930341");
+        assertThat(result.customerDetails().path("loansDto").path("loanNumber").asText()).isEqualTo("548732457654");
+    }
+
+    @Test
+    void leavesOutCardsAndLoansWhenTheyAreDown() {
+        respond("accounts", ok(ACCOUNTS_BODY));
+        respond("cards", Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        respond("loans", Mono.error(new IllegalStateException("Connection refused")));
+
+        CustomerDetailsAggregator.Result result = aggregate();
+
+        assertThat(result.missingLegs()).containsExactlyInAnyOrder("cards", "loans");
+        assertThat(result.customerDetails().get("cardsDto").isNull()).isTrue();
+        assertThat(result.customerDetails().get("loansDto").isNull()).isTrue();
+    }
+
+    @Test
+    void setsANotFoundLegToNullWithoutReportingItMissing() {
+        respond("accounts", ok(ACCOUNTS_BODY));
+        respond("cards", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+        respond("loans", ok(LOANS_BODY));
+
+        CustomerDetailsAggregator.Result result = aggregate();
+
+        assertThat(result.partial()).isFalse();
+        assertThat(result.customerDetails().get("cardsDto").isNull()).isTrue();
+        assertThat(result.customerDetails().path("loansDto").path("loanNumber").asText()).isEqualTo("548732457654");
+    }
+
+    @Test
+    void setsAnEmptyLegToNull() {
+        respond("accounts", ok(ACCOUNTS_BODY));
+        respond("cards", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+        respond("loans", ok(LOANS_BODY));
+
+        CustomerDetailsAggregator.Result result = aggregate();
+
+        assertThat(result.partial()).isFalse();
+        assertThat(result.customerDetails().get("cardsDto").isNull()).isTrue();
+    }
+
+    @Test
+    void reportsASlowLegMissing() {
+        respond("accounts", ok(ACCOUNTS_BODY));
+        respond("cards", Mono.never());
+        respond("loans", ok(LOANS_BODY));
+
+        CustomerDetailsAggregator.Result result = aggregate();
+
+        assertThat(result.missingLegs()).containsExactly("cards");
+        assertThat(result.customerDetails().get("cardsDto").isNull()).isTrue();
+    }
+
+    @Test
+    void failsWithNotFoundWhenAccountsHasNoBody() {
+        respond("accounts", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+        respond("cards", ok(CARDS_BODY));
+        respond("loans", ok(LOANS_BODY));
+
+        assertThatThrownBy(this::aggregate).isInstanceOf(WebClientResponseException.NotFound.class);
+    }
+
+    @Test
+    void failsWithTimeoutWhenAccountsIsSlow() {
+        respond("accounts", Mono.never());
+        respond("cards", ok(CARDS_BODY));
+        respond("loans", ok(LOANS_BODY));
+
+        assertThatThrownBy(this::aggregate).hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    private CustomerDetailsAggregator.Result aggregate() {
+        return aggregator().aggregate("4354437687", headers -> {
+        }).block(Duration.ofSeconds(5));
+    }
+
+    private void respond(String host, Mono<ClientResponse> response) {
+        responses.put(host, response);
+    }
+
+    private CustomerDetailsAggregator aggregator() {
+        AggregationProperties properties = new AggregationProperties();
+        properties.getAccounts().setTimeout(Duration.ofMillis(200));
+        properties.getCards().setTimeout(Duration.ofMillis(100));
+        properties.getLoans().setTimeout(Duration.ofMillis(100));
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .exchangeFunction(request -> responses.get(request.url().getHost()));
+        return new CustomerDetailsAggregator(webClientBuilder, properties, new SimpleMeterRegistry());
+    }
+
+    private static Mono<ClientResponse> ok(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.kurobytes.gatewayserver.benchmark;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kurobytes.gatewayserver.aggregation.AggregationProperties;
+import com.kurobytes.gatewayserver.aggregation.CustomerDetailsAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway-side fan-out against the accounts-side aggregation of customer details.
+ * <p>
+ * Three stub services answer {@code /api/fetch} after {@code downstreamLatencyMs}. The accounts-side variant
+ * makes one more hop to a stub that, like {@code CustomersServiceImpl}, blocks a request thread while two
+ * blocking calls run on a 10-20 thread task executor.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class CustomerDetailsAggregationBenchmark {
+
+    private static final String MOBILE_NUMBER = "4354437687";
+    private static final String ACCOUNTS_JSON = """
+            {"name":"Kuro Bytes","email":"tutor@kurobytes.com","mobileNumber":"4354437687",\
+            "accountsDto":{"accountNumber":1234567890,"accountType":"Savings","branchAddress":"123 Main Street"}}""";
+    private static final String CARDS_JSON = """
+            {"mobileNumber":"4354437687","cardNumber":"100646930341","cardType":"Credit Card",\
+            "totalLimit":100000,"amountUsed":1000,"availableAmount":99000}""";
+    private static final String LOANS_JSON = """
+            {"mobileNumber":"4354437687","loanNumber":"548732457654","loanType":"Home Loan",\
+            "totalLoan":100000,"amountPaid":1000,"outstandingAmount":99000}""";
+
+    @Param({"20"})
+    public int downstreamLatencyMs;
+
+    private DisposableServer accounts;
+    private DisposableServer cards;
+    private DisposableServer loans;
+    private DisposableServer accountsAggregation;
+    private ThreadPoolExecutor taskExecutor;
+    private CustomerDetailsAggregator aggregator;
+    private WebClient webClient;
+
+    @Setup(Level.Trial)
+    public void startServices() {
+        Duration latency = Duration.ofMillis(downstreamLatencyMs);
+        accounts = stub(ACCOUNTS_JSON, latency);
+        cards = stub(CARDS_JSON, latency);
+        loans = stub(LOANS_JSON, latency);
+
+        taskExecutor = new ThreadPoolExecutor(10, 20, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(100),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        HttpClient blockingClient = HttpClient.newHttpClient();
+        String cardsUrl = "http://localhost:" + cards.port() + "/api/fetch?mobileNumber=" + MOBILE_NUMBER;
+        String loansUrl = "http://localhost:" + loans.port() + "/api/fetch?mobileNumber=" + MOBILE_NUMBER;
+        accountsAggregation = HttpServer.create().port(0)
+                .route(routes -> routes.get("/api/fetchCustomerDetails", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(latency)
+                                .then(Mono.fromCallable(() -> {
+                                    CompletableFuture<String> loansFuture = CompletableFuture.supplyAsync(
+                                            () -> get(blockingClient, loansUrl), taskExecutor);
+                                    CompletableFuture<String> cardsFuture = CompletableFuture.supplyAsync(
+                                            () -> get(blockingClient, cardsUrl), taskExecutor);
+                                    CompletableFuture.allOf(loansFuture, cardsFuture).join();
+                                    return ACCOUNTS_JSON.substring(0, ACCOUNTS_JSON.length() - 1)
+                                            + ",\"loansDto\":" + loansFuture.join()
+                                            + ",\"cardsDto\":" + cardsFuture.join() + '}';
+                                }).subscribeOn(Schedulers.boundedElastic())))))
+                .bindNow();
+
+        AggregationProperties properties = new AggregationProperties();
+        properties.getAccounts().setUrl("http://localhost:" + accounts.port());
+        properties.getCards().setUrl("http://localhost:" + cards.port());
+        properties.getLoans().setUrl("http://localhost:" + loans.port());
+        aggregator = new CustomerDetailsAggregator(WebClient.builder(), properties, new SimpleMeterRegistry());
+        webClient = WebClient.create("http://localhost:" + accountsAggregation.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServices() {
+        accountsAggregation.disposeNow();
+        accounts.disposeNow();
+        cards.disposeNow();
+        loans.disposeNow();
+        taskExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object gatewayFanOut() {
+        return aggregator.aggregate(MOBILE_NUMBER, headers -> { }).block();
+    }
+
+    @Benchmark
+    public Object accountsSideAggregation() {
+        return webClient.get()
+                .uri("/api/fetchCustomerDetails?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+                .retrieve()
+                .bodyToMono(ObjectNode.class)
+                .block();
+    }
+
+    private static DisposableServer stub(String json, Duration latency) {
+        return HttpServer.create().port(0)
+                .route(routes -> routes.get("/api/fetch", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(latency).thenReturn(json))))
+                .bindNow();
+    }
+
+    private static String get(HttpClient client, String url) {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerDetailsAggregationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.kurobytes.gatewayserver.benchmark;
+
+import com.kurobytes.gatewayserver.filters.FilterUtility;
+import com.kurobytes.gatewayserver.filters.TraceFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former RequestTraceFilter + ResponseTraceFilter pair with {@link TraceFilter}.
+ * <p>
+ * Run with {@code main} to get the {@code gc.alloc.rate.norm} column (bytes allocated per request).
+ * Every benchmark builds a fresh mock exchange; {@link #exchangeOnly()} measures that baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraceFilterBenchmark {
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    private final TraceFilter traceFilter = new TraceFilter();
+
+    @Benchmark
+    public Object exchangeOnly() {
+        return newExchange(false);
+    }
+
+    @Benchmark
+    public Object legacyGeneratedId() {
+        return legacyFilters(newExchange(false)).block();
+    }
+
+    @Benchmark
+    public Object traceFilterGeneratedId() {
+        return traceFilter.filter(newExchange(false), chain).block();
+    }
+
+    @Benchmark
+    public Object legacyIncomingId() {
+        return legacyFilters(newExchange(true)).block();
+    }
+
+    @Benchmark
+    public Object traceFilterIncomingId() {
+        return traceFilter.filter(newExchange(true), chain).block();
+    }
+
+    private static MockServerWebExchange newExchange(boolean withTraceHeaders) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/kurobank/cards/api/fetch");
+        if (withTraceHeaders) {
+            request.header(FilterUtility.CORRELATION_ID, "0190f3c6-7d2a-7b3e-9c41-5e2f1a0b3c4d")
+                    .header(FilterUtility.TRACEPARENT, "00-0190f3c67d2a7b3e9c415e2f1a0b3c4d-9c415e2f1a0b3c4d-01");
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    /**
+     * Logic of the RequestTraceFilter / ResponseTraceFilter pair this filter replaced.
+     */
+    private Mono<Void> legacyFilters(ServerWebExchange exchange) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        if (legacyCorrelationId(requestHeaders) == null) {
+            String correlationId = UUID.randomUUID().toString();
+            exchange = exchange.mutate()
+                    .request(exchange.getRequest().mutate().header(FilterUtility.CORRELATION_ID, correlationId).build())
+                    .build();
+        }
+        ServerWebExchange mutated = exchange;
+        return chain.filter(mutated).then(Mono.fromRunnable(() -> {
+            String correlationId = legacyCorrelationId(mutated.getRequest().getHeaders());
+            if (!mutated.getResponse().getHeaders().containsKey(FilterUtility.CORRELATION_ID)) {
+                mutated.getResponse().getHeaders().add(FilterUtility.CORRELATION_ID, correlationId);
+            }
+        }));
+    }
+
+    private static String legacyCorrelationId(HttpHeaders requestHeaders) {
+        if (requestHeaders.get(FilterUtility.CORRELATION_ID) != null) {
+            List<String> requestHeaderList = requestHeaders.get(FilterUtility.CORRELATION_ID);
+            return requestHeaderList.stream().findFirst().get();
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TraceFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.kurobytes.gatewayserver.compression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipResponseEncoderTests {
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Test
+    void producesStandardGzipAndReusesTheDeflater() throws IOException {
+        GzipResponseEncoder encoder = new GzipResponseEncoder(6);
+        String json = "{\"mobileNumber\":\"4354437687\",\"cardType\":\"Credit Card\"}".repeat(200);
+        DataBuffer input = bufferFactory.wrap(json.getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 3; i++) {
+            DataBuffer output = encoder.encode(input, bufferFactory);
+            byte[] compressed = new byte[output.readableByteCount()];
+            output.read(compressed);
+
+            assertThat(compressed.length).isLessThan(json.length() / 10);
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(json);
+            }
+        }
+        assertThat(input.readableByteCount()).isEqualTo(json.length());
+    }
+
+    @Test
+    void readsAcceptEncodingQualities() {
+        assertThat(AcceptEncoding.quality("gzip, deflate, br", "br")).isEqualTo(1.0);
+        assertThat(AcceptEncoding.quality("gzip;q=0.8, br;q=0.5", "gzip")).isEqualTo(0.8);
+        assertThat(AcceptEncoding.quality("br;q=0, *;q=0.3", "br")).isZero();
+        assertThat(AcceptEncoding.quality("identity, *;q=0.3", "gzip")).isEqualTo(0.3);
+        assertThat(AcceptEncoding.quality(null, "gzip")).isZero();
+    }
+
+}
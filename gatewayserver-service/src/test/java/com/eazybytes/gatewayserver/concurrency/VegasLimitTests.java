@@ -0,0 +1,60 @@
+package com.kurobytes.gatewayserver.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VegasLimitTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void growsWhileLatencyStaysAtTheFloor() {
+        VegasLimit limit = new VegasLimit(10, 2, 100, 1.0, 1_000);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(20 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(10);
+        assertThat(limit.getRttNoLoad()).isEqualTo(20 * MILLIS);
+    }
+
+    @Test
+    void shrinksWhenRequestsQueueUpstream() {
+        VegasLimit limit = new VegasLimit(50, 2, 100, 1.0, 1_000);
+        limit.onSample(20 * MILLIS, 50, false);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(200 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(50).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void backsOffOnDropsButKeepsTheMinimum() {
+        VegasLimit limit = new VegasLimit(50, 4, 100, 1.0, 1_000);
+        limit.onSample(20 * MILLIS, 50, false);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(20 * MILLIS, limit.getLimit(), true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void limiterRejectsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new VegasLimit(2, 1, 10, 1.0, 1_000));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.releaseWithoutSample();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+}
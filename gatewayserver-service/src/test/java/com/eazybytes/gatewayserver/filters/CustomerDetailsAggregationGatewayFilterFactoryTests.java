@@ -0,0 +1,117 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kurobytes.gatewayserver.aggregation.AggregationProperties;
+import com.kurobytes.gatewayserver.aggregation.CustomerDetailsAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerDetailsAggregationGatewayFilterFactoryTests {
+
+    private static final String ACCOUNTS_BODY = "{\"name\":\"Kuro\",\"mobileNumber\":\"4354437687\",\"accountsDto\":{}}";
+    private static final String LOANS_BODY = "{\"mobileNumber\":\"4354437687\",\"loanNumber\":\"548732457654\"}";
+
+    private final Map<String, Mono<ClientResponse>> responses = new HashMap<>();
+
+    @Test
+    void answersWithThePartialDocumentWhenALegIsDown() {
+        responses.put("accounts", json(HttpStatus.OK, ACCOUNTS_BODY));
+        responses.put("cards", Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        responses.put("loans", json(HttpStatus.OK, LOANS_BODY));
+
+        MockServerWebExchange exchange = filter("4354437687");
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.getFirst(CustomerDetailsAggregationGatewayFilterFactory.PARTIAL_HEADER)).isEqualTo("cards");
+        assertThat(headers.getCacheControl()).isEqualTo("no-store");
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .contains("\"cardsDto\":null")
+                .contains("548732457654");
+    }
+
+    @Test
+    void relaysAnAccountsNotFound() {
+        responses.put("accounts", json(HttpStatus.NOT_FOUND, "{\"errorCode\":\"NOT_FOUND\"}"));
+        responses.put("cards", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+        responses.put("loans", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+
+        MockServerWebExchange exchange = filter("4354437687");
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"errorCode\":\"NOT_FOUND\"}");
+    }
+
+    @Test
+    void answersNotFoundWhenAccountsHasNoBody() {
+        responses.put("accounts", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+        responses.put("cards", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+        responses.put("loans", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        MockServerWebExchange exchange = filter("4354437687");
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void answersGatewayTimeoutWhenAccountsIsSlow() {
+        responses.put("accounts", Mono.never());
+        responses.put("cards", json(HttpStatus.OK, "{}"));
+        responses.put("loans", json(HttpStatus.OK, LOANS_BODY));
+
+        MockServerWebExchange exchange = filter("4354437687");
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("GATEWAY_TIMEOUT");
+    }
+
+    @Test
+    void rejectsAnInvalidMobileNumber() {
+        MockServerWebExchange exchange = filter("12345");
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(responses).isEmpty();
+    }
+
+    private MockServerWebExchange filter(String mobileNumber) {
+        AggregationProperties properties = new AggregationProperties();
+        properties.getAccounts().setTimeout(Duration.ofMillis(200));
+        properties.getCards().setTimeout(Duration.ofMillis(100));
+        properties.getLoans().setTimeout(Duration.ofMillis(100));
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .exchangeFunction(request -> responses.get(request.url().getHost()));
+        CustomerDetailsAggregator aggregator =
+                new CustomerDetailsAggregator(webClientBuilder, properties, new SimpleMeterRegistry());
+        GatewayFilter filter = new CustomerDetailsAggregationGatewayFilterFactory(aggregator, new ObjectMapper())
+                .apply(new Object());
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/kurobank/aggregate/api/fetchCustomerDetails")
+                .queryParam("mobileNumber", mobileNumber));
+        filter.filter(exchange, unused -> Mono.empty()).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.kurobytes.gatewayserver.filters;
+
+import com.kurobytes.gatewayserver.cache.MicroCache;
+import com.kurobytes.gatewayserver.cache.MicroCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicroCacheGatewayFilterFactoryTests {
+
+    private static final String BODY = "{\"mobileNumber\":\"4354437687\",\"cardNumber\":\"100646930341\"}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        MicroCacheProperties properties = new MicroCacheProperties();
+        properties.setMaxEntryBytes(256);
+        MicroCacheGatewayFilterFactory factory =
+                new MicroCacheGatewayFilterFactory(new MicroCache(properties, new SimpleMeterRegistry()));
+        MicroCacheGatewayFilterFactory.Config config = new MicroCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        filter = factory.apply(config);
+    }
+
+    @Test
+    void runsBeforeTheProxiedBodyIsWritten() {
+        assertThat(((Ordered) filter).getOrder()).isLessThan(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER);
+    }
+
+    @Test
+    void answersTheSecondRequestFromTheCache() {
+        GatewayFilterChain upstream = upstream(BODY, new HttpHeaders(), Mono.empty());
+
+        MockServerWebExchange first = exchange();
+        filter.filter(first, upstream).block();
+        MockServerWebExchange second = exchange();
+        filter.filter(second, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getETag()).isNotNull();
+        assertThat(second.getResponse().getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("0");
+    }
+
+    @Test
+    void answersAMatchingIfNoneMatchWithNotModified() {
+        GatewayFilterChain upstream = upstream(BODY, new HttpHeaders(), Mono.empty());
+        filter.filter(exchange(), upstream).block();
+        MockServerWebExchange hit = exchange();
+        filter.filter(hit, upstream).block();
+
+        MockServerWebExchange revalidation = MockServerWebExchange.from(request()
+                .header(HttpHeaders.IF_NONE_MATCH, hit.getResponse().getHeaders().getETag()));
+        filter.filter(revalidation, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(revalidation.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidation.getResponse().getBodyAsString().block()).isNullOrEmpty();
+    }
+
+    @Test
+    void doesNotStoreNoStoreResponses() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-store");
+        GatewayFilterChain upstream = upstream(BODY, headers, Mono.empty());
+
+        filter.filter(exchange(), upstream).block();
+        MockServerWebExchange second = exchange();
+        filter.filter(second, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void keepsSeparateEntriesPerAcceptedMediaType() {
+        GatewayFilterChain upstream = upstream(BODY, new HttpHeaders(), Mono.empty());
+
+        filter.filter(MockServerWebExchange.from(request().accept(MediaType.APPLICATION_JSON)), upstream).block();
+        filter.filter(MockServerWebExchange.from(request().accept(MediaType.APPLICATION_CBOR)), upstream).block();
+        filter.filter(MockServerWebExchange.from(request().header(HttpHeaders.ACCEPT, " Application/JSON ")),
+                upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void doesNotStoreResponsesThatVaryOnOtherHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE));
+        GatewayFilterChain upstream = upstream(BODY, headers, Mono.empty());
+
+        filter.filter(exchange(), upstream).block();
+        filter.filter(exchange(), upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void streamsBodiesLargerThanAnEntryWithoutStoringThem() {
+        String body = BODY.repeat(10);
+        GatewayFilterChain upstream = upstream(body, new HttpHeaders(), Mono.empty());
+
+        MockServerWebExchange first = exchange();
+        filter.filter(first, upstream).block();
+        filter.filter(exchange(), upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(body);
+    }
+
+    @Test
+    void collapsesConcurrentMissesIntoOneUpstreamCall() {
+        Sinks.Empty<Void> upstreamAnswers = Sinks.empty();
+        GatewayFilterChain upstream = upstream(BODY, new HttpHeaders(), upstreamAnswers.asMono());
+
+        MockServerWebExchange leader = exchange();
+        CompletableFuture<Void> leaderDone = filter.filter(leader, upstream).toFuture();
+        MockServerWebExchange waiter = exchange();
+        CompletableFuture<Void> waiterDone = filter.filter(waiter, upstream).toFuture();
+        assertThat(waiterDone).isNotDone();
+
+        upstreamAnswers.tryEmitEmpty();
+        leaderDone.join();
+        waiterDone.join();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(waiter.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    private GatewayFilterChain upstream(String body, HttpHeaders headers, Mono<Void> answered) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return answered.then(Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                response.getHeaders().addAll(headers);
+                return response.writeWith(Mono.just(response.bufferFactory()
+                        .wrap(body.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(request());
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> request() {
+        return MockServerHttpRequest.get("/kurobank/cards/api/fetch").queryParam("mobileNumber", "4354437687");
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.kurobytes.gatewayserver.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceFilterTests {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final TraceFilter filter = new TraceFilter();
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Test
+    void keepsValidIncomingValues() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch")
+                .header(FilterUtility.CORRELATION_ID, "abc-123")
+                .header(FilterUtility.TRACEPARENT, TRACEPARENT));
+
+        filter.filter(exchange, chain).block();
+
+        TraceContext traceContext = exchange.getAttribute(FilterUtility.TRACE_CONTEXT_ATTR);
+        assertThat(traceContext).isEqualTo(new TraceContext("abc-123", TRACEPARENT, false, false));
+        assertThat(exchange.getResponse().getHeaders().getFirst(FilterUtility.CORRELATION_ID)).isEqualTo("abc-123");
+    }
+
+    @Test
+    void generatesMissingValuesAndReturnsTheCorrelationId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch"));
+
+        filter.filter(exchange, chain).block();
+
+        TraceContext traceContext = exchange.getAttribute(FilterUtility.TRACE_CONTEXT_ATTR);
+        assertThat(traceContext.forwardCorrelationId()).isTrue();
+        assertThat(traceContext.forwardTraceparent()).isTrue();
+        assertThat(TraceIdGenerator.isValidTraceparent(traceContext.traceparent())).isTrue();
+        assertThat(exchange.getResponse().getHeaders().getFirst(FilterUtility.CORRELATION_ID))
+                .isEqualTo(traceContext.correlationId());
+        assertThat(traceContext.traceparent().substring(3, 35))
+                .isEqualTo(traceContext.correlationId().replace("-", ""));
+    }
+
+    @Test
+    void replacesMalformedAndAllZeroTraceparents() {
+        for (String invalid : new String[] {"garbage",
+                "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"}) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch")
+                    .header(FilterUtility.CORRELATION_ID, "abc-123")
+                    .header(FilterUtility.TRACEPARENT, invalid));
+
+            filter.filter(exchange, chain).block();
+
+            TraceContext traceContext = exchange.getAttribute(FilterUtility.TRACE_CONTEXT_ATTR);
+            assertThat(traceContext.forwardTraceparent()).isTrue();
+            assertThat(traceContext.forwardCorrelationId()).isFalse();
+            assertThat(traceContext.traceparent()).isNotEqualTo(invalid);
+            assertThat(TraceIdGenerator.isValidTraceparent(traceContext.traceparent())).isTrue();
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.kurobytes.gatewayserver.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceIdGeneratorTests {
+
+    private static final String VALID = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void acceptsAWellFormedTraceparent() {
+        assertThat(TraceIdGenerator.isValidTraceparent(VALID)).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedTraceparents() {
+        assertThat(TraceIdGenerator.isValidTraceparent(null)).isFalse();
+        assertThat(TraceIdGenerator.isValidTraceparent("")).isFalse();
+        assertThat(TraceIdGenerator.isValidTraceparent(VALID.substring(1))).isFalse();
+        assertThat(TraceIdGenerator.isValidTraceparent(VALID.toUpperCase())).isFalse();
+        assertThat(TraceIdGenerator.isValidTraceparent(VALID.replace('-', '_'))).isFalse();
+        assertThat(TraceIdGenerator.isValidTraceparent("ff" + VALID.substring(2))).isFalse();
+    }
+
+    @Test
+    void rejectsAllZeroTraceAndParentIds() {
+        assertThat(TraceIdGenerator.isValidTraceparent(
+                "00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isFalse();
+        assertThat(TraceIdGenerator.isValidTraceparent(
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isFalse();
+    }
+
+    @Test
+    void generatesValidIds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = TraceIdGenerator.nextHigh(random);
+        long low = TraceIdGenerator.nextLow(random);
+
+        String traceparent = TraceIdGenerator.traceparent(high, low, 0);
+        UUID correlationId = UUID.fromString(TraceIdGenerator.correlationId(high, low));
+
+        assertThat(TraceIdGenerator.isValidTraceparent(traceparent)).isTrue();
+        assertThat(traceparent.substring(3, 35)).isEqualTo(correlationId.toString().replace("-", ""));
+        assertThat(correlationId.version()).isEqualTo(7);
+        assertThat(correlationId.variant()).isEqualTo(2);
+    }
+
+}
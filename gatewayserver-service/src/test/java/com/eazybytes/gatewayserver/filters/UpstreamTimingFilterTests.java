@@ -0,0 +1,47 @@
+package com.kurobytes.gatewayserver.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamTimingFilterTests {
+
+    private final UpstreamTimingFilter filter = new UpstreamTimingFilter();
+
+    @Test
+    void recordsTheTimeSpentInTheRoutingFilters() {
+        MockServerWebExchange exchange =
+                MockServerWebExchange.from(MockServerHttpRequest.get("/kurobank/cards/api/fetch"));
+
+        filter.filter(exchange, routed -> Mono.delay(Duration.ofMillis(20)).then()).block();
+
+        Long upstreamNanos = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR);
+        assertThat(upstreamNanos).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    @Test
+    void isVisibleToTheOuterFiltersWhenTheyComplete() {
+        MockServerWebExchange exchange =
+                MockServerWebExchange.from(MockServerHttpRequest.get("/kurobank/cards/api/fetch"));
+        Long[] seen = new Long[1];
+
+        filter.filter(exchange, routed -> Mono.empty())
+                .doFinally(signal -> seen[0] = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR))
+                .block();
+
+        assertThat(seen[0]).isNotNull();
+    }
+
+    @Test
+    void runsAfterTheRouteFiltersAndBeforeRouting() {
+        assertThat(filter.getOrder()).isGreaterThan(AccessLogFilter.ORDER)
+                .isLessThan(NettyRoutingFilter.ORDER);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenBucketStoreTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenRejectsUntilRefilled() {
+        LocalTokenBucketStore store = new LocalTokenBucketStore(4, 100, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.consume("cards:alice", 10, 5, 1).allowed()).isTrue();
+        }
+        assertThat(store.consume("cards:alice", 10, 5, 1).allowed()).isFalse();
+
+        clock.addAndGet(100_000_000L);
+        TokenBucketStore.Decision decision = store.consume("cards:alice", 10, 5, 1);
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.tokensRemaining()).isZero();
+    }
+
+    @Test
+    void keepsClientsAndRoutesIndependent() {
+        LocalTokenBucketStore store = new LocalTokenBucketStore(4, 100, clock::get);
+
+        assertThat(store.consume("cards:alice", 1, 1, 1).allowed()).isTrue();
+        assertThat(store.consume("cards:alice", 1, 1, 1).allowed()).isFalse();
+        assertThat(store.consume("cards:bob", 1, 1, 1).allowed()).isTrue();
+        assertThat(store.consume("loans:alice", 1, 1, 1).allowed()).isTrue();
+    }
+
+    @Test
+    void boundsTrackedKeys() {
+        LocalTokenBucketStore store = new LocalTokenBucketStore(2, 10, clock::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            store.consume("accounts:client-" + i, 1, 10, 1);
+        }
+
+        assertThat(store.trackedKeys()).isLessThanOrEqualTo(10);
+    }
+
+}
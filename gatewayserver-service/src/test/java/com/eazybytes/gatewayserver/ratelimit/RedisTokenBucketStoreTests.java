@@ -0,0 +1,55 @@
+package com.kurobytes.gatewayserver.ratelimit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisTokenBucketStoreTests {
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static LettuceConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void sharesQuotaAcrossGatewayInstances() {
+        ReactiveStringRedisTemplate redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        RedisTokenBucketStore gatewayA = new RedisTokenBucketStore(redisTemplate);
+        RedisTokenBucketStore gatewayB = new RedisTokenBucketStore(redisTemplate);
+
+        StepVerifier.create(gatewayA.tryConsume("cards:alice", 1, 2, 1))
+                .assertNext(decision -> assertThat(decision.allowed()).isTrue())
+                .verifyComplete();
+        StepVerifier.create(gatewayB.tryConsume("cards:alice", 1, 2, 1))
+                .assertNext(decision -> assertThat(decision.allowed()).isTrue())
+                .verifyComplete();
+        StepVerifier.create(gatewayA.tryConsume("cards:alice", 1, 2, 1))
+                .assertNext(decision -> {
+                    assertThat(decision.allowed()).isFalse();
+                    assertThat(decision.tokensRemaining()).isZero();
+                })
+                .verifyComplete();
+    }
+
+}
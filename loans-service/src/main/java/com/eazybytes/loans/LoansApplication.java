@@ -1,22 +1,27 @@
 package com.kurobytes.loans;
 
+import com.kurobytes.common.startup.BufferedStartup;
+import com.kurobytes.loans.amortization.AmortizationProperties;
 import com.kurobytes.loans.dto.LoansContactInfoDto;
+import com.kurobytes.loans.repayment.RepaymentImportProperties;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
-import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 /*@ComponentScans({ @ComponentScan("com.kurobytes.loans.controller") })
 @EnableJpaRepositories("com.kurobytes.loans.repository")
 @EntityScan("com.kurobytes.loans.model")*/
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = {LoansContactInfoDto.class})
+@EnableScheduling
+@EnableConfigurationProperties(value = {LoansContactInfoDto.class, AmortizationProperties.class,
+		RepaymentImportProperties.class})
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Loans microservice REST API Documentation",
@@ -40,6 +45,6 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 public class LoansApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(LoansApplication.class, args);
+		BufferedStartup.application(LoansApplication.class).run(args);
 	}
 }
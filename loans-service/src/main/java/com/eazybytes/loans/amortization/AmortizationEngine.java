@@ -0,0 +1,79 @@
+package com.kurobytes.loans.amortization;
+
+import java.time.YearMonth;
+
+/**
+ * Level-payment (annuity) amortization in fixed-point minor units.
+ * <p>
+ * The installment is derived once per loan from the annuity formula, using {@link StrictMath} so the result is
+ * identical on every platform, and rounded to the minor unit. Every installment is then split with integer
+ * arithmetic: interest is the balance times the monthly rate rounded half-up, principal is the remainder, and
+ * the last installment absorbs the rounding residue so the balance always ends at exactly zero.
+ */
+public final class AmortizationEngine {
+
+    /** Annual rate in basis points / 12 months, i.e. the monthly rate denominator */
+    private static final long MONTHLY_BPS_DENOMINATOR = 12 * 10_000L;
+
+    private AmortizationEngine() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param principal     - Amount to amortize in minor units
+     * @param annualRateBps - Nominal annual interest rate in basis points (850 = 8.50%)
+     * @param periods       - Number of monthly installments
+     * @return regular monthly installment in minor units
+     */
+    public static long installment(long principal, int annualRateBps, int periods) {
+        if (annualRateBps == 0) {
+            return (principal + periods - 1) / periods;
+        }
+        double monthlyRate = annualRateBps / (double) MONTHLY_BPS_DENOMINATOR;
+        return Math.round(principal * monthlyRate / (1 - StrictMath.pow(1 + monthlyRate, -periods)));
+    }
+
+    /**
+     * Writes the schedule into {@code out}, overwriting the previous one.
+     *
+     * @param principal     - Amount to amortize in minor units
+     * @param annualRateBps - Nominal annual interest rate in basis points
+     * @param periods       - Number of monthly installments
+     * @param out           - Buffer receiving the installments
+     * @return number of installments written, which is less than {@code periods} only when rounding paid the loan
+     * off early
+     */
+    public static int schedule(long principal, int annualRateBps, int periods, ScheduleBuffer out) {
+        out.ensureCapacity(periods);
+        long installment = installment(principal, annualRateBps, periods);
+        long balance = principal;
+        int period = 0;
+        while (balance > 0 && period < periods) {
+            long interest = (balance * annualRateBps + MONTHLY_BPS_DENOMINATOR / 2) / MONTHLY_BPS_DENOMINATOR;
+            long principalPart = installment - interest;
+            if (period == periods - 1 || principalPart >= balance) {
+                principalPart = balance;
+            }
+            balance -= principalPart;
+            out.payment[period] = principalPart + interest;
+            out.interest[period] = interest;
+            out.principal[period] = principalPart;
+            out.balance[period] = balance;
+            period++;
+        }
+        out.periods = period;
+        return period;
+    }
+
+    /**
+     * @return months since 0000-01, used as a compact month index in {@link LoanBook} and {@link CashFlowProjection}
+     */
+    public static int epochMonth(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    public static YearMonth toYearMonth(int epochMonth) {
+        return YearMonth.of(Math.floorDiv(epochMonth, 12), Math.floorMod(epochMonth, 12) + 1);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.kurobytes.loans.amortization;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "kurobank.loans.amortization")
+@Getter @Setter
+public class AmortizationProperties {
+
+    /**
+     * Worker threads of the portfolio fork/join pool.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Loans computed sequentially by one fork/join leaf; also the granularity of the streamed results.
+     */
+    private int leafSize = 4096;
+
+}
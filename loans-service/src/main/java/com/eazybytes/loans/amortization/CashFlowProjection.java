@@ -0,0 +1,51 @@
+package com.kurobytes.loans.amortization;
+
+/**
+ * Projected principal and interest collections per calendar month, in minor units. Index {@code i} is the epoch
+ * month {@code firstMonth + i}.
+ */
+public final class CashFlowProjection {
+
+    private final int firstMonth;
+    private final long[] principal;
+    private final long[] interest;
+
+    public CashFlowProjection(int firstMonth, int months) {
+        this.firstMonth = firstMonth;
+        this.principal = new long[Math.max(months, 0)];
+        this.interest = new long[Math.max(months, 0)];
+    }
+
+    void add(ScheduleBuffer schedule, int loanFirstMonth) {
+        int offset = loanFirstMonth - firstMonth;
+        for (int i = 0; i < schedule.periods; i++) {
+            principal[offset + i] += schedule.principal[i];
+            interest[offset + i] += schedule.interest[i];
+        }
+    }
+
+    CashFlowProjection merge(CashFlowProjection other) {
+        for (int i = 0; i < principal.length; i++) {
+            principal[i] += other.principal[i];
+            interest[i] += other.interest[i];
+        }
+        return this;
+    }
+
+    public int firstMonth() {
+        return firstMonth;
+    }
+
+    public int months() {
+        return principal.length;
+    }
+
+    public long principal(int index) {
+        return principal[index];
+    }
+
+    public long interest(int index) {
+        return interest[index];
+    }
+
+}
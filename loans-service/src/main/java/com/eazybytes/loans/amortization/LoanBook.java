@@ -0,0 +1,97 @@
+package com.kurobytes.loans.amortization;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented snapshot of the loans to amortize. Index {@code i} of every array describes the same loan, so
+ * a portfolio run walks contiguous primitive arrays instead of a list of entities.
+ */
+public final class LoanBook {
+
+    private String[] loanNumbers;
+    private long[] principal;
+    private int[] annualRateBps;
+    private int[] periods;
+    private int[] firstMonth;
+    private int size;
+
+    public LoanBook(int capacity) {
+        capacity = Math.max(capacity, 16);
+        loanNumbers = new String[capacity];
+        principal = new long[capacity];
+        annualRateBps = new int[capacity];
+        periods = new int[capacity];
+        firstMonth = new int[capacity];
+    }
+
+    /**
+     * @param loanNumber    - Loan Number
+     * @param principal     - Outstanding amount in minor units
+     * @param annualRateBps - Nominal annual interest rate in basis points
+     * @param periods       - Remaining monthly installments
+     * @param firstMonth    - {@link AmortizationEngine#epochMonth} of the first remaining installment
+     */
+    public void add(String loanNumber, long principal, int annualRateBps, int periods, int firstMonth) {
+        if (size == loanNumbers.length) {
+            int capacity = size * 2;
+            this.loanNumbers = Arrays.copyOf(this.loanNumbers, capacity);
+            this.principal = Arrays.copyOf(this.principal, capacity);
+            this.annualRateBps = Arrays.copyOf(this.annualRateBps, capacity);
+            this.periods = Arrays.copyOf(this.periods, capacity);
+            this.firstMonth = Arrays.copyOf(this.firstMonth, capacity);
+        }
+        this.loanNumbers[size] = loanNumber;
+        this.principal[size] = principal;
+        this.annualRateBps[size] = annualRateBps;
+        this.periods[size] = periods;
+        this.firstMonth[size] = firstMonth;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String loanNumber(int index) {
+        return loanNumbers[index];
+    }
+
+    public long principal(int index) {
+        return principal[index];
+    }
+
+    public int annualRateBps(int index) {
+        return annualRateBps[index];
+    }
+
+    public int periods(int index) {
+        return periods[index];
+    }
+
+    public int firstMonth(int index) {
+        return firstMonth[index];
+    }
+
+    /**
+     * @return the earliest first installment month, or 0 for an empty book
+     */
+    public int minFirstMonth() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, firstMonth[i]);
+        }
+        return size == 0 ? 0 : min;
+    }
+
+    /**
+     * @return the month after the last scheduled installment of any loan
+     */
+    public int endMonth() {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, firstMonth[i] + periods[i]);
+        }
+        return max;
+    }
+
+}
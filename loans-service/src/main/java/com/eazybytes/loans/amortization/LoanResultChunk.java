@@ -0,0 +1,16 @@
+package com.kurobytes.loans.amortization;
+
+/**
+ * Per-loan results of one contiguous range {@code [from, to)} of a {@link LoanBook}, handed to the portfolio
+ * sink as soon as the fork/join leaf that computed them finishes. Arrays are indexed by {@code index - from}.
+ *
+ * @param book          - Book the indices refer to
+ * @param from          - First loan index, inclusive
+ * @param to            - Last loan index, exclusive
+ * @param installment   - Regular installment per loan in minor units
+ * @param totalInterest - Interest over the remaining schedule per loan in minor units
+ * @param lastMonth     - Epoch month of the final installment per loan
+ */
+public record LoanResultChunk(LoanBook book, int from, int to, long[] installment, long[] totalInterest,
+                              int[] lastMonth) {
+}
@@ -0,0 +1,60 @@
+package com.kurobytes.loans.amortization;
+
+import com.kurobytes.loans.constants.LoansConstants;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Adds {@code interest_rate_bps} and {@code term_months} to a {@code loans} table created before they existed.
+ * {@code schema.sql} only declares them inside {@code CREATE TABLE IF NOT EXISTS}, and SQLite has no
+ * {@code ADD COLUMN IF NOT EXISTS}, so the current columns are read from {@code PRAGMA table_info} and only the
+ * missing ones are altered in. Existing loans take the new-loan defaults.
+ */
+@Component
+public class LoanTermsMigration implements InitializingBean {
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("interest_rate_bps", "int NOT NULL DEFAULT " + LoansConstants.NEW_LOAN_INTEREST_RATE_BPS),
+            new Column("term_months", "int NOT NULL DEFAULT " + LoansConstants.NEW_LOAN_TERM_MONTHS));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoanTermsMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * ddl-auto: validate が列不足で起動を止めないよう、エンティティマネージャより先に実行する
+     */
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor loanTermsMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(LoanTermsMigration.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Set<String> existing = new HashSet<>(
+                jdbcTemplate.query("PRAGMA table_info(loans)", (rs, rowNum) -> rs.getString("name")));
+        if (existing.isEmpty()) {
+            // テーブル自体がなければ schema.sql が新しい定義で作る
+            return;
+        }
+        for (Column column : COLUMNS) {
+            if (!existing.contains(column.name())) {
+                jdbcTemplate.execute("ALTER TABLE loans ADD COLUMN " + column.name() + " " + column.definition());
+            }
+        }
+    }
+
+    private record Column(String name, String definition) {
+    }
+
+}
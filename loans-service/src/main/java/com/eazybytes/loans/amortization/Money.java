@@ -0,0 +1,46 @@
+package com.kurobytes.loans.amortization;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money: amounts are {@code long} minor units (cents). Conversion to {@link BigDecimal} happens only
+ * at the API edge.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_UNIT = 100;
+
+    private Money() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param units - Whole currency units as stored on {@code Loans}
+     * @return the same amount in minor units
+     */
+    public static long fromUnits(long units) {
+        return units * MINOR_PER_UNIT;
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Appends {@code minor} as a plain decimal (e.g. {@code 1234.05}) without allocating.
+     */
+    public static StringBuilder append(StringBuilder out, long minor) {
+        if (minor < 0) {
+            out.append('-');
+            minor = -minor;
+        }
+        long fraction = minor % MINOR_PER_UNIT;
+        out.append(minor / MINOR_PER_UNIT).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+}
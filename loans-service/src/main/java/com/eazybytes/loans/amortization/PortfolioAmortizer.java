@@ -0,0 +1,106 @@
+package com.kurobytes.loans.amortization;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Amortizes every loan of a {@link LoanBook} on a dedicated fork/join pool.
+ * <p>
+ * The book is split in halves down to {@code leaf-size} loans. Each leaf reuses one {@link ScheduleBuffer} per
+ * worker thread, hands its per-loan results to the sink as a {@link LoanResultChunk} and returns a partial
+ * {@link CashFlowProjection}; partial projections are summed on join. The sink is called concurrently from the
+ * workers, in no particular order.
+ */
+@Component
+public class PortfolioAmortizer implements DisposableBean {
+
+    private static final int INITIAL_BUFFER_PERIODS = 480;
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+    private final ThreadLocal<ScheduleBuffer> buffers =
+            ThreadLocal.withInitial(() -> new ScheduleBuffer(INITIAL_BUFFER_PERIODS));
+
+    @Autowired
+    public PortfolioAmortizer(AmortizationProperties properties) {
+        this(properties.getParallelism(), properties.getLeafSize());
+    }
+
+    public PortfolioAmortizer(int parallelism, int leafSize) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.leafSize = leafSize;
+    }
+
+    /**
+     * @param book - Loans to amortize
+     * @param sink - Receives the per-loan results, one chunk per leaf; must be thread-safe
+     * @return projected monthly collections over the whole book
+     */
+    public CashFlowProjection project(LoanBook book, Consumer<LoanResultChunk> sink) {
+        int firstMonth = book.minFirstMonth();
+        int months = book.endMonth() - firstMonth;
+        return pool.invoke(new Range(book, 0, book.size(), firstMonth, months, sink));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private class Range extends RecursiveTask<CashFlowProjection> {
+
+        private final LoanBook book;
+        private final int from;
+        private final int to;
+        private final int firstMonth;
+        private final int months;
+        private final Consumer<LoanResultChunk> sink;
+
+        Range(LoanBook book, int from, int to, int firstMonth, int months, Consumer<LoanResultChunk> sink) {
+            this.book = book;
+            this.from = from;
+            this.to = to;
+            this.firstMonth = firstMonth;
+            this.months = months;
+            this.sink = sink;
+        }
+
+        @Override
+        protected CashFlowProjection compute() {
+            if (to - from <= leafSize) {
+                return computeLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            Range left = new Range(book, from, mid, firstMonth, months, sink);
+            left.fork();
+            CashFlowProjection right = new Range(book, mid, to, firstMonth, months, sink).compute();
+            return left.join().merge(right);
+        }
+
+        private CashFlowProjection computeLeaf() {
+            ScheduleBuffer buffer = buffers.get();
+            CashFlowProjection projection = new CashFlowProjection(firstMonth, months);
+            int count = to - from;
+            long[] installment = new long[count];
+            long[] totalInterest = new long[count];
+            int[] lastMonth = new int[count];
+            for (int i = from; i < to; i++) {
+                int periods = AmortizationEngine.schedule(book.principal(i), book.annualRateBps(i), book.periods(i),
+                        buffer);
+                projection.add(buffer, book.firstMonth(i));
+                installment[i - from] = buffer.installment();
+                totalInterest[i - from] = buffer.totalInterest();
+                lastMonth[i - from] = book.firstMonth(i) + periods - 1;
+            }
+            sink.accept(new LoanResultChunk(book, from, to, installment, totalInterest, lastMonth));
+            return projection;
+        }
+
+    }
+
+}
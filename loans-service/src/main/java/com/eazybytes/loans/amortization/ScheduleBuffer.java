@@ -0,0 +1,76 @@
+package com.kurobytes.loans.amortization;
+
+import java.util.Arrays;
+
+/**
+ * Reusable primitive arrays an {@link AmortizationEngine} schedule is written into. A worker keeps one buffer
+ * and overwrites it for every loan, so computing a schedule does not allocate once the buffer is large enough.
+ * All amounts are in minor units.
+ */
+public final class ScheduleBuffer {
+
+    long[] payment;
+    long[] interest;
+    long[] principal;
+    long[] balance;
+    int periods;
+
+    public ScheduleBuffer(int capacity) {
+        payment = new long[capacity];
+        interest = new long[capacity];
+        principal = new long[capacity];
+        balance = new long[capacity];
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > payment.length) {
+            int newCapacity = Math.max(capacity, payment.length * 2);
+            payment = Arrays.copyOf(payment, newCapacity);
+            interest = Arrays.copyOf(interest, newCapacity);
+            principal = Arrays.copyOf(principal, newCapacity);
+            balance = Arrays.copyOf(balance, newCapacity);
+        }
+    }
+
+    /**
+     * @return number of installments of the last computed schedule
+     */
+    public int periods() {
+        return periods;
+    }
+
+    public long payment(int period) {
+        return payment[period];
+    }
+
+    public long interest(int period) {
+        return interest[period];
+    }
+
+    public long principal(int period) {
+        return principal[period];
+    }
+
+    /**
+     * @return outstanding balance after the installment of {@code period}
+     */
+    public long balance(int period) {
+        return balance[period];
+    }
+
+    /**
+     * @return regular installment of the last computed schedule (the final one may be smaller)
+     */
+    public long installment() {
+        return periods == 0 ? 0 : payment[0];
+    }
+
+    public long totalInterest() {
+        long total = 0;
+        for (int i = 0; i < periods; i++) {
+            total += interest[i];
+        }
+        return total;
+    }
+
+}
@@ -8,6 +8,8 @@ public final class LoansConstants {
 
     public static final String  HOME_LOAN = "Home Loan";
     public static final int  NEW_LOAN_LIMIT = 1_00_000;
+    public static final int  NEW_LOAN_INTEREST_RATE_BPS = 850;
+    public static final int  NEW_LOAN_TERM_MONTHS = 240;
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Loan created successfully";
     public static final String  STATUS_200 = "200";
@@ -0,0 +1,116 @@
+package com.kurobytes.loans.controller;
+
+import com.kurobytes.common.dto.ErrorResponseDto;
+import com.kurobytes.loans.dto.CashFlowDto;
+import com.kurobytes.loans.dto.LoanScheduleDto;
+import com.kurobytes.loans.service.IAmortizationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * @author Kuro Bytes
+ */
+
+@Tag(
+        name = "Amortization REST APIs for Loans in KuroBank",
+        description = "REST APIs in KuroBank to compute loan schedules and projected portfolio cash flows"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@Validated
+public class AmortizationController {
+
+    private IAmortizationService iAmortizationService;
+
+    public AmortizationController(IAmortizationService iAmortizationService) {
+        this.iAmortizationService = iAmortizationService;
+    }
+
+    @Operation(
+            summary = "Fetch Loan Schedule REST API",
+            description = "REST API to fetch the remaining amortization schedule of a loan based on a mobile number"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/schedule")
+    public ResponseEntity<LoanScheduleDto> fetchLoanSchedule(@RequestParam
+                                                             @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                             String mobileNumber) {
+        LoanScheduleDto loanScheduleDto = iAmortizationService.fetchSchedule(mobileNumber);
+        return ResponseEntity.status(HttpStatus.OK).body(loanScheduleDto);
+    }
+
+    @Operation(
+            summary = "Portfolio Cash Flows REST API",
+            description = "REST API to project monthly principal and interest collections over every loan"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/portfolio/cash-flows")
+    public ResponseEntity<List<CashFlowDto>> projectCashFlows() {
+        return ResponseEntity.status(HttpStatus.OK).body(iAmortizationService.projectCashFlows());
+    }
+
+    @Operation(
+            summary = "Portfolio Schedules REST API",
+            description = "REST API streaming installment, total interest and payoff month of every loan as NDJSON"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping(path = "/portfolio/schedules", produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamSchedules() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(iAmortizationService::streamSchedules);
+    }
+
+}
@@ -4,6 +4,8 @@ import com.kurobytes.common.dto.ErrorResponseDto;
 import com.kurobytes.loans.constants.LoansConstants;
 import com.kurobytes.loans.dto.LoansContactInfoDto;
 import com.kurobytes.loans.dto.LoansDto;
+import com.kurobytes.loans.dto.LoansPageDto;
+import com.kurobytes.loans.dto.PortfolioSummaryDto;
 import com.kurobytes.loans.dto.ResponseDto;
 import com.kurobytes.loans.service.ILoansService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +15,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +38,7 @@ import org.springframework.web.bind.annotation.*;
         description = "CRUD REST APIs in KuroBank to CREATE, UPDATE, FETCH AND DELETE loan details"
 )
 @RestController
-@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @Validated
 public class LoansController {
 
@@ -112,6 +116,35 @@ public class LoansController {
         return ResponseEntity.status(HttpStatus.OK).body(loansDto);
     }
 
+    @Operation(
+            summary = "Fetch All Loans REST API",
+            description = "REST API to page through all loans ordered by loan ID, used to rebuild read models"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/fetch-all")
+    public ResponseEntity<LoansPageDto> fetchAllLoans(@RequestParam(defaultValue = "0")
+                                                      @Min(value = 0, message = "afterLoanId must not be negative")
+                                                      long afterLoanId,
+                                                      @RequestParam(defaultValue = "500")
+                                                      @Min(value = 1, message = "limit must be at least 1")
+                                                      @Max(value = 1000, message = "limit must be at most 1000")
+                                                      int limit) {
+        LoansPageDto loansPageDto = iLoansService.fetchLoansPage(afterLoanId, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(loansPageDto);
+    }
+
     @Operation(
             summary = "Update Loan Details REST API",
             description = "REST API to update loan details based on a loan number"
@@ -186,6 +219,28 @@ public class LoansController {
         }
     }
 
+    @Operation(
+            summary = "Fetch Portfolio Summary REST API",
+            description = "REST API to fetch outstanding and paid totals by loan type and by creation month"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/portfolio/summary")
+    public ResponseEntity<PortfolioSummaryDto> fetchPortfolioSummary() {
+        return ResponseEntity.status(HttpStatus.OK).body(iLoansService.fetchPortfolioSummary());
+    }
+
     @Operation(
             summary = "Get Build information",
             description = "Get Build information that is deployed into cards microservice"
@@ -0,0 +1,147 @@
+package com.kurobytes.loans.controller;
+
+import com.kurobytes.common.dto.ErrorResponseDto;
+import com.kurobytes.loans.dto.RepaymentImportDto;
+import com.kurobytes.loans.service.IRepaymentImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author Kuro Bytes
+ */
+
+@Tag(
+        name = "Repayment Import REST APIs for Loans in KuroBank",
+        description = "REST APIs in KuroBank to import bank repayment files and report their progress"
+)
+@RestController
+@RequestMapping(path = "/api/repayments", produces = {MediaType.APPLICATION_JSON_VALUE})
+@Validated
+public class RepaymentImportController {
+
+    private static final String FILE_NAME_REGEXP = "[A-Za-z0-9][A-Za-z0-9._-]{0,127}";
+    private static final String FILE_NAME_MESSAGE = "File name must be a plain file name inside the import directory";
+
+    private IRepaymentImportService iRepaymentImportService;
+
+    public RepaymentImportController(IRepaymentImportService iRepaymentImportService) {
+        this.iRepaymentImportService = iRepaymentImportService;
+    }
+
+    @Operation(
+            summary = "Start Repayment Import REST API",
+            description = "REST API to apply a repayment file of loanNumber,amount lines in the background. "
+                    + "An interrupted import resumes from its last committed batch"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "HTTP Status Accepted"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/import")
+    public ResponseEntity<RepaymentImportDto> startImport(@RequestParam
+                                                          @Pattern(regexp = FILE_NAME_REGEXP, message = FILE_NAME_MESSAGE)
+                                                          String fileName) {
+        RepaymentImportDto repaymentImportDto = iRepaymentImportService.startImport(fileName);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(repaymentImportDto);
+    }
+
+    @Operation(
+            summary = "Fetch Repayment Import REST API",
+            description = "REST API to fetch the progress of a repayment file import"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/import")
+    public ResponseEntity<RepaymentImportDto> fetchImport(@RequestParam
+                                                          @Pattern(regexp = FILE_NAME_REGEXP, message = FILE_NAME_MESSAGE)
+                                                          String fileName) {
+        return ResponseEntity.status(HttpStatus.OK).body(iRepaymentImportService.fetchImport(fileName));
+    }
+
+    @Operation(
+            summary = "Rejected Repayment Lines REST API",
+            description = "REST API streaming the rejected lines of a repayment file import as tab separated text"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping(path = "/import/rejected", produces = {MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamRejected(@RequestParam
+                                                                @Pattern(regexp = FILE_NAME_REGEXP, message = FILE_NAME_MESSAGE)
+                                                                String fileName) {
+        // 404はストリーム開始前に返したいので、存在確認を先に済ませる
+        iRepaymentImportService.fetchImport(fileName);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(out -> iRepaymentImportService.streamRejected(fileName, out));
+    }
+
+}
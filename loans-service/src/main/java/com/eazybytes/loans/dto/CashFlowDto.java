@@ -0,0 +1,25 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Schema(name = "CashFlow",
+        description = "Schema to hold the projected collections of the loan portfolio for one month"
+)
+@Data @AllArgsConstructor @NoArgsConstructor
+public class CashFlowDto {
+
+    @Schema(description = "Calendar month", example = "2026-11")
+    private String month;
+
+    @Schema(description = "Principal scheduled to be repaid", example = "1594900.00")
+    private BigDecimal principal;
+
+    @Schema(description = "Interest scheduled to be collected", example = "7083300.00")
+    private BigDecimal interest;
+
+}
@@ -0,0 +1,34 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Schema(name = "Installment",
+        description = "Schema to hold one monthly installment of a loan schedule"
+)
+@Data @AllArgsConstructor @NoArgsConstructor
+public class InstallmentDto {
+
+    @Schema(description = "Installment number, starting at 1", example = "1")
+    private int period;
+
+    @Schema(description = "Month the installment is due", example = "2026-11")
+    private String month;
+
+    @Schema(description = "Amount due", example = "867.82")
+    private BigDecimal payment;
+
+    @Schema(description = "Interest part of the installment", example = "708.33")
+    private BigDecimal interest;
+
+    @Schema(description = "Principal part of the installment", example = "159.49")
+    private BigDecimal principal;
+
+    @Schema(description = "Outstanding amount after the installment", example = "99840.51")
+    private BigDecimal balance;
+
+}
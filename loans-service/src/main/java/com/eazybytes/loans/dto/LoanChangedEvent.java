@@ -0,0 +1,26 @@
+package com.kurobytes.loans.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Published on {@code loan-events}, keyed by mobile number so that the events of one customer stay in order.
+ * {@code loansDto} is the full loan state after the change and is null for {@code LOAN_DELETED}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanChangedEvent {
+    public static final String LOAN_CREATED = "LOAN_CREATED";
+    public static final String LOAN_UPDATED = "LOAN_UPDATED";
+    public static final String LOAN_DELETED = "LOAN_DELETED";
+
+    private String eventId;
+    private String eventType;
+    private Instant occurredAt;
+    private String mobileNumber;
+    private LoansDto loansDto;
+}
@@ -0,0 +1,30 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(name = "LoanSchedule",
+        description = "Schema to hold the remaining amortization schedule of a loan"
+)
+@Data
+public class LoanScheduleDto {
+
+    @Schema(description = "Loan Number of the customer", example = "548732457654")
+    private String loanNumber;
+
+    @Schema(description = "Nominal annual interest rate in basis points", example = "850")
+    private int interestRateBps;
+
+    @Schema(description = "Regular monthly installment", example = "867.82")
+    private BigDecimal installment;
+
+    @Schema(description = "Interest over the remaining schedule", example = "108276.80")
+    private BigDecimal totalInterest;
+
+    @Schema(description = "Remaining installments")
+    private List<InstallmentDto> installments;
+
+}
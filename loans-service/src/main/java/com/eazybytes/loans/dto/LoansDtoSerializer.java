@@ -0,0 +1,39 @@
+package com.kurobytes.loans.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kurobytes.common.json.StreamingSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+@JsonComponent
+@ConditionalOnProperty(prefix = "kurobank.json", name = "streaming-serializers", havingValue = "true")
+public class LoansDtoSerializer extends StreamingSerializer<LoansDto> {
+
+    private static final SerializedString MOBILE_NUMBER = name("mobileNumber");
+    private static final SerializedString LOAN_NUMBER = name("loanNumber");
+    private static final SerializedString LOAN_TYPE = name("loanType");
+    private static final SerializedString TOTAL_LOAN = name("totalLoan");
+    private static final SerializedString AMOUNT_PAID = name("amountPaid");
+    private static final SerializedString OUTSTANDING_AMOUNT = name("outstandingAmount");
+
+    public LoansDtoSerializer() {
+        super(LoansDto.class);
+    }
+
+    @Override
+    public void serialize(LoansDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, MOBILE_NUMBER, value.getMobileNumber());
+        writeString(gen, LOAN_NUMBER, value.getLoanNumber());
+        writeString(gen, LOAN_TYPE, value.getLoanType());
+        writeNumber(gen, TOTAL_LOAN, value.getTotalLoan());
+        writeNumber(gen, AMOUNT_PAID, value.getAmountPaid());
+        writeNumber(gen, OUTSTANDING_AMOUNT, value.getOutstandingAmount());
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(name = "LoansPage",
+        description = "Schema to hold one page of loans ordered by loan ID"
+)
+@Data
+public class LoansPageDto {
+
+    @Schema(
+            description = "Loans in the page"
+    )
+    private List<LoansDto> loans = new ArrayList<>();
+
+    @Schema(
+            description = "Loan ID to pass as afterLoanId for the next page, absent on the last page", example = "500"
+    )
+    private Long nextAfterLoanId;
+
+}
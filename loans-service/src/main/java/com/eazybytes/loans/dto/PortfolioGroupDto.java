@@ -0,0 +1,26 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(name = "PortfolioGroup",
+        description = "Schema to hold the loan totals of one portfolio group"
+)
+@Data @AllArgsConstructor @NoArgsConstructor
+public class PortfolioGroupDto {
+
+    @Schema(description = "Loan type or creation month (yyyy-MM) of the group", example = "Home Loan")
+    private String group;
+
+    @Schema(description = "Number of loans in the group", example = "120")
+    private long loanCount;
+
+    @Schema(description = "Sum of the outstanding amounts", example = "11880000")
+    private long totalOutstanding;
+
+    @Schema(description = "Sum of the amounts paid", example = "120000")
+    private long totalAmountPaid;
+
+}
@@ -0,0 +1,21 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(name = "PortfolioSummary",
+        description = "Schema to hold the loan portfolio totals by loan type and by creation month"
+)
+@Data
+public class PortfolioSummaryDto {
+
+    @Schema(description = "Totals per loan type")
+    private List<PortfolioGroupDto> byLoanType = new ArrayList<>();
+
+    @Schema(description = "Totals per creation month")
+    private List<PortfolioGroupDto> byCreatedMonth = new ArrayList<>();
+
+}
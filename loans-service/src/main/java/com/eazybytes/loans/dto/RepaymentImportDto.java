@@ -0,0 +1,41 @@
+package com.kurobytes.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Schema(name = "RepaymentImport",
+        description = "Schema to hold the progress of a repayment file import"
+)
+@Data
+public class RepaymentImportDto {
+
+    @Schema(description = "File name inside the import directory", example = "repayments-20260131.csv")
+    private String fileName;
+
+    @Schema(description = "QUEUED, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Size of the file in bytes", example = "104857600")
+    private long fileSize;
+
+    @Schema(description = "Bytes committed so far", example = "52428800")
+    private long bytesProcessed;
+
+    @Schema(description = "Last committed line", example = "2500000")
+    private long lineNumber;
+
+    @Schema(description = "Repayments applied", example = "2499990")
+    private long applied;
+
+    @Schema(description = "Lines rejected", example = "10")
+    private long rejected;
+
+    @Schema(description = "When the import was first started")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "When the last batch was committed")
+    private LocalDateTime updatedAt;
+
+}
@@ -1,12 +1,19 @@
 package com.kurobytes.loans.entity;
 
+import com.kurobytes.common.id.PooledId;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "loans")
+@NaturalIdCache(region = "loans-natural-id")
 @Getter
 @Setter
 @ToString
@@ -15,11 +22,12 @@ import lombok.*;
 public class Loans extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(name = "loans")
     private Long loanId;
 
     private String mobileNumber;
 
+    @NaturalId
     private String loanNumber;
 
     private String loanType;
@@ -30,4 +38,9 @@ public class Loans extends BaseEntity {
 
     private int outstandingAmount;
 
+    /** Nominal annual interest rate in basis points (850 = 8.50%) */
+    private int interestRateBps;
+
+    private int termMonths;
+
 }
@@ -1,12 +1,10 @@
 package com.kurobytes.loans.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import com.kurobytes.common.exception.ResourceAlreadyExistsException;
 
-@ResponseStatus(value = HttpStatus.BAD_REQUEST)
-public class LoanAlreadyExistsException extends RuntimeException {
+public class LoanAlreadyExistsException extends ResourceAlreadyExistsException {
 
-    public LoanAlreadyExistsException(String message){
+    public LoanAlreadyExistsException(String message) {
         super(message);
     }
 
@@ -0,0 +1,13 @@
+package com.kurobytes.loans.portfolio;
+
+/**
+ * Grouping of a {@code loan_portfolio_aggregate} row.
+ */
+public enum AggregateDimension {
+
+    /** {@code group_key} is the loan type, e.g. "Home Loan" */
+    LOAN_TYPE,
+    /** {@code group_key} is the creation month as yyyy-MM */
+    CREATED_MONTH
+
+}
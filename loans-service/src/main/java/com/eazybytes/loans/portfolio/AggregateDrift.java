@@ -0,0 +1,10 @@
+package com.kurobytes.loans.portfolio;
+
+/**
+ * A group whose stored aggregate differs from a full scan of {@code loans}.
+ *
+ * @param expected - Totals recomputed from {@code loans}, null when the group has no loans
+ * @param actual   - Stored totals, null when the row is missing
+ */
+public record AggregateDrift(AggregateRow expected, AggregateRow actual) {
+}
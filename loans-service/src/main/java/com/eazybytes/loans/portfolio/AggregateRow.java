@@ -0,0 +1,14 @@
+package com.kurobytes.loans.portfolio;
+
+/**
+ * One {@code loan_portfolio_aggregate} row.
+ *
+ * @param dimension        - Grouping of the row
+ * @param groupKey         - Loan type or creation month
+ * @param loanCount        - Loans in the group
+ * @param totalOutstanding - Sum of the outstanding amounts
+ * @param totalAmountPaid  - Sum of the amounts paid
+ */
+public record AggregateRow(AggregateDimension dimension, String groupKey, long loanCount, long totalOutstanding,
+                           long totalAmountPaid) {
+}
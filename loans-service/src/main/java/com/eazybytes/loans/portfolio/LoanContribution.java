@@ -0,0 +1,27 @@
+package com.kurobytes.loans.portfolio;
+
+import com.kurobytes.loans.entity.Loans;
+
+import java.time.YearMonth;
+
+/**
+ * What one loan adds to the portfolio aggregates.
+ *
+ * @param loanType     - Loan type group
+ * @param createdMonth - Creation month group
+ * @param outstanding  - Outstanding amount
+ * @param amountPaid   - Amount paid
+ */
+public record LoanContribution(String loanType, YearMonth createdMonth, long outstanding, long amountPaid) {
+
+    public static LoanContribution of(Loans loans) {
+        YearMonth createdMonth = loans.getCreatedAt() == null ? YearMonth.now() : YearMonth.from(loans.getCreatedAt());
+        return new LoanContribution(loans.getLoanType(), createdMonth, loans.getOutstandingAmount(),
+                loans.getAmountPaid());
+    }
+
+    String groupKey(AggregateDimension dimension) {
+        return dimension == AggregateDimension.LOAN_TYPE ? loanType : createdMonth.toString();
+    }
+
+}
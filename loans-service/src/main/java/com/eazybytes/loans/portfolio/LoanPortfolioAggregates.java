@@ -0,0 +1,168 @@
+package com.kurobytes.loans.portfolio;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Materialised totals of the loan portfolio by loan type and by creation month.
+ * <p>
+ * {@link #onChange} applies the difference a create, update or delete makes as upserts in the caller's
+ * transaction, so the aggregates commit or roll back together with the loan and the summary never needs a scan
+ * of {@code loans}. {@link #drift()} and {@link #rebuild()} are the recovery path for rows that went wrong anyway
+ * (manual SQL, restored backups).
+ */
+@Component
+public class LoanPortfolioAggregates {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanPortfolioAggregates.class);
+
+    private static final String UPSERT_SQL = "insert into loan_portfolio_aggregate "
+            + "(dimension, group_key, loan_count, total_outstanding, total_amount_paid) values (?, ?, ?, ?, ?) "
+            + "on conflict(dimension, group_key) do update set loan_count = loan_count + excluded.loan_count, "
+            + "total_outstanding = total_outstanding + excluded.total_outstanding, "
+            + "total_amount_paid = total_amount_paid + excluded.total_amount_paid";
+    private static final String SUMMARY_SQL = "select dimension, group_key, loan_count, total_outstanding, "
+            + "total_amount_paid from loan_portfolio_aggregate where loan_count <> 0 order by dimension, group_key";
+    private static final String SCAN_SQL = "select loan_type, created_at, outstanding_amount, amount_paid from loans";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer rebuildTimer;
+    private final AtomicInteger driftedGroups = new AtomicInteger();
+
+    public LoanPortfolioAggregates(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildTimer = Timer.builder("loans.portfolio.rebuild")
+                .description("Time to recompute the portfolio aggregates from loans")
+                .register(meterRegistry);
+        Gauge.builder("loans.portfolio.drift.groups", driftedGroups, AtomicInteger::get)
+                .description("Aggregate groups that differed from loans at the last drift check")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param before - Contribution of the loan before the change, null for a new loan
+     * @param after  - Contribution of the loan after the change, null for a deleted loan
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onChange(LoanContribution before, LoanContribution after) {
+        Map<GroupKey, long[]> deltas = new LinkedHashMap<>();
+        if (before != null) {
+            accumulate(deltas, before, -1);
+        }
+        if (after != null) {
+            accumulate(deltas, after, 1);
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0) {
+                rows.add(new Object[]{key.dimension().name(), key.groupKey(), delta[0], delta[1], delta[2]});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * @return every non-empty group, read straight from the aggregate table
+     */
+    @Transactional(readOnly = true)
+    public List<AggregateRow> summary() {
+        return jdbcTemplate.query(SUMMARY_SQL, (rs, rowNum) -> new AggregateRow(
+                AggregateDimension.valueOf(rs.getString(1)), rs.getString(2), rs.getLong(3), rs.getLong(4),
+                rs.getLong(5)));
+    }
+
+    /**
+     * Replaces every aggregate row with totals recomputed from {@code loans}.
+     *
+     * @return number of groups written
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.nanoTime();
+        // 先にDELETEして書き込みロックを取り、集計中に他の書き込みが割り込まないようにする
+        jdbcTemplate.update("delete from loan_portfolio_aggregate");
+        Map<GroupKey, long[]> totals = scan();
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> rows.add(new Object[]{key.dimension().name(), key.groupKey(),
+                total[0], total[1], total[2]}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        driftedGroups.set(0);
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.info("Rebuilt {} loan portfolio aggregate groups", rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Compares the stored aggregates with a full scan of {@code loans}, read in one snapshot.
+     *
+     * @return groups that differ, empty when the aggregates are consistent
+     */
+    @Transactional(readOnly = true)
+    public List<AggregateDrift> drift() {
+        Map<GroupKey, long[]> expected = scan();
+        Map<GroupKey, AggregateRow> actual = new HashMap<>();
+        for (AggregateRow row : summary()) {
+            actual.put(new GroupKey(row.dimension(), row.groupKey()), row);
+        }
+        List<AggregateDrift> drifts = new ArrayList<>();
+        expected.forEach((key, total) -> {
+            AggregateRow expectedRow = new AggregateRow(key.dimension(), key.groupKey(), total[0], total[1], total[2]);
+            AggregateRow actualRow = actual.remove(key);
+            if (!Objects.equals(expectedRow, actualRow)) {
+                drifts.add(new AggregateDrift(expectedRow, actualRow));
+            }
+        });
+        actual.values().forEach(row -> drifts.add(new AggregateDrift(null, row)));
+        driftedGroups.set(drifts.size());
+        if (!drifts.isEmpty()) {
+            logger.warn("Loan portfolio aggregates drifted in {} groups", drifts.size());
+        }
+        return drifts;
+    }
+
+    private Map<GroupKey, long[]> scan() {
+        Map<GroupKey, long[]> totals = new HashMap<>();
+        jdbcTemplate.query(SCAN_SQL, rs -> {
+            Timestamp createdAt = rs.getTimestamp(2);
+            LoanContribution contribution = new LoanContribution(rs.getString(1),
+                    createdAt == null ? YearMonth.now() : YearMonth.from(createdAt.toLocalDateTime()),
+                    rs.getLong(3), rs.getLong(4));
+            accumulate(totals, contribution, 1);
+        });
+        return totals;
+    }
+
+    private static void accumulate(Map<GroupKey, long[]> totals, LoanContribution contribution, int sign) {
+        for (AggregateDimension dimension : AggregateDimension.values()) {
+            long[] total = totals.computeIfAbsent(new GroupKey(dimension, contribution.groupKey(dimension)),
+                    key -> new long[3]);
+            total[0] += sign;
+            total[1] += sign * contribution.outstanding();
+            total[2] += sign * contribution.amountPaid();
+        }
+    }
+
+    private record GroupKey(AggregateDimension dimension, String groupKey) {
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.kurobytes.loans.portfolio;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/loanportfolio}: drift check on read, full rebuild of the aggregates on write.
+ */
+@Component
+@Endpoint(id = "loanportfolio")
+public class LoanPortfolioEndpoint {
+
+    private final LoanPortfolioAggregates aggregates;
+
+    public LoanPortfolioEndpoint(LoanPortfolioAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    @ReadOperation
+    public List<AggregateDrift> drift() {
+        return aggregates.drift();
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("groups", aggregates.rebuild());
+    }
+
+}
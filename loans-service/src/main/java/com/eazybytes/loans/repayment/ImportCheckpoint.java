@@ -0,0 +1,21 @@
+package com.kurobytes.loans.repayment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a repayment import as committed with its last batch.
+ *
+ * @param fileName   - File name inside the import directory
+ * @param fileSize   - Size of the file when the import started
+ * @param byteOffset - Offset just after the last committed line
+ * @param lineNumber - Last committed line
+ * @param applied    - Repayments applied so far
+ * @param rejected   - Lines rejected so far
+ * @param status     - Import status
+ * @param startedAt  - When the import was first started
+ * @param updatedAt  - When the last batch was committed
+ */
+public record ImportCheckpoint(String fileName, long fileSize, long byteOffset, long lineNumber, long applied,
+                               long rejected, ImportStatus status, LocalDateTime startedAt,
+                               LocalDateTime updatedAt) {
+}
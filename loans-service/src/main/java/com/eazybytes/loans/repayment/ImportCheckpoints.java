@@ -0,0 +1,78 @@
+package com.kurobytes.loans.repayment;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code repayment_import} and {@code repayment_import_rejected} access. Checkpoints and rejected lines are
+ * written in the transaction of the batch they belong to, so a resumed import neither repeats nor loses lines.
+ */
+@Component
+public class ImportCheckpoints {
+
+    private static final String COLUMNS = "file_name, file_size, byte_offset, line_number, applied, rejected, "
+            + "status, started_at, updated_at";
+    private static final RowMapper<ImportCheckpoint> MAPPER = (rs, rowNum) -> new ImportCheckpoint(
+            rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6),
+            ImportStatus.valueOf(rs.getString(7)), rs.getTimestamp(8).toLocalDateTime(),
+            rs.getTimestamp(9).toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportCheckpoints(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<ImportCheckpoint> find(String fileName) {
+        return jdbcTemplate.query("select " + COLUMNS + " from repayment_import where file_name = ?", MAPPER,
+                fileName).stream().findFirst();
+    }
+
+    public List<ImportCheckpoint> findByStatus(ImportStatus status) {
+        return jdbcTemplate.query("select " + COLUMNS + " from repayment_import where status = ?", MAPPER,
+                status.name());
+    }
+
+    void start(String fileName, long fileSize) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("insert into repayment_import (" + COLUMNS + ") values (?, ?, 0, 0, 0, 0, ?, ?, ?) "
+                + "on conflict(file_name) do update set status = excluded.status, updated_at = excluded.updated_at",
+                fileName, fileSize, ImportStatus.RUNNING.name(), now, now);
+    }
+
+    void advance(String fileName, RepaymentBatch batch, long applied) {
+        jdbcTemplate.update("update repayment_import set byte_offset = ?, line_number = ?, applied = applied + ?, "
+                        + "rejected = rejected + ?, updated_at = ? where file_name = ?",
+                batch.endOffset, batch.lastLineNumber, applied, batch.rejected.size(),
+                new Timestamp(System.currentTimeMillis()), fileName);
+        if (!batch.rejected.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(batch.rejected.size());
+            for (RejectedLine rejected : batch.rejected) {
+                rows.add(new Object[]{fileName, rejected.lineNumber(), rejected.reason(), rejected.line()});
+            }
+            jdbcTemplate.batchUpdate("insert into repayment_import_rejected (file_name, line_number, reason, line) "
+                    + "values (?, ?, ?, ?)", rows);
+        }
+    }
+
+    void finish(String fileName, ImportStatus status) {
+        jdbcTemplate.update("update repayment_import set status = ?, updated_at = ? where file_name = ?",
+                status.name(), new Timestamp(System.currentTimeMillis()), fileName);
+    }
+
+    /**
+     * Streams the rejected lines of an import in line order.
+     */
+    public void forEachRejected(String fileName, RowCallbackHandler handler) {
+        jdbcTemplate.query("select line_number, reason, line from repayment_import_rejected where file_name = ? "
+                + "order by line_number", handler, fileName);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.kurobytes.loans.repayment;
+
+public enum ImportStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED
+
+}
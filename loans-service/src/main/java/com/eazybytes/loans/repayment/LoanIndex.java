@@ -0,0 +1,104 @@
+package com.kurobytes.loans.repayment;
+
+import com.kurobytes.loans.portfolio.LoanContribution;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loan number to portfolio group lookup for an import, so the aggregates can be adjusted without reading each
+ * repaid loan. Each entry packs the numeric loan number and the group id into one long; the sorted array is
+ * searched without allocating.
+ */
+final class LoanIndex {
+
+    private static final int GROUP_BITS = 23;
+    private static final long MAX_LOAN_NUMBER = 999_999_999_999L;
+
+    private final long[] entries;
+    private final List<LoanContribution> groups;
+
+    private LoanIndex(long[] entries, List<LoanContribution> groups) {
+        this.entries = entries;
+        this.groups = groups;
+    }
+
+    static LoanIndex load(JdbcTemplate jdbcTemplate) {
+        Map<LoanContribution, Integer> groupIds = new HashMap<>();
+        List<LoanContribution> groups = new ArrayList<>();
+        long[][] entries = {new long[1024]};
+        int[] size = {0};
+        jdbcTemplate.query("select loan_number, loan_type, created_at from loans", rs -> {
+            long loanNumber = parseLoanNumber(rs.getString(1));
+            if (loanNumber < 0) {
+                return;
+            }
+            Timestamp createdAt = rs.getTimestamp(3);
+            LoanContribution group = new LoanContribution(rs.getString(2),
+                    createdAt == null ? YearMonth.now() : YearMonth.from(createdAt.toLocalDateTime()), 0, 0);
+            int groupId = groupIds.computeIfAbsent(group, key -> {
+                groups.add(key);
+                return groups.size() - 1;
+            });
+            if (size[0] == entries[0].length) {
+                entries[0] = Arrays.copyOf(entries[0], size[0] * 2);
+            }
+            entries[0][size[0]++] = (loanNumber << GROUP_BITS) | groupId;
+        });
+        long[] sorted = Arrays.copyOf(entries[0], size[0]);
+        Arrays.sort(sorted);
+        return new LoanIndex(sorted, groups);
+    }
+
+    /**
+     * @return group id of the loan, -1 when no such loan exists
+     */
+    int find(long loanNumber) {
+        int index = Arrays.binarySearch(entries, loanNumber << GROUP_BITS);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index < entries.length && entries[index] >>> GROUP_BITS == loanNumber) {
+            return (int) (entries[index] & ((1L << GROUP_BITS) - 1));
+        }
+        return -1;
+    }
+
+    /**
+     * @return loan type and creation month of the group; the amounts are 0
+     */
+    LoanContribution group(int groupId) {
+        return groups.get(groupId);
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * @return the loan number as a long, -1 when it is not 1-12 digits without a leading zero. The repayment
+     * UPDATE binds the number as an integer, which only matches the text column in that canonical form, so other
+     * loans cannot be repaid by file and their lines are rejected as unknown.
+     */
+    private static long parseLoanNumber(String loanNumber) {
+        if (loanNumber == null || loanNumber.isEmpty() || loanNumber.length() > 12 || loanNumber.charAt(0) == '0') {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < loanNumber.length(); i++) {
+            char c = loanNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= MAX_LOAN_NUMBER ? value : -1;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.kurobytes.loans.repayment;
+
+/**
+ * @param lineNumber - 1-based line number in the file
+ * @param reason     - Why the line was not applied
+ * @param line       - Line content, truncated
+ */
+public record RejectedLine(long lineNumber, String reason, String line) {
+}
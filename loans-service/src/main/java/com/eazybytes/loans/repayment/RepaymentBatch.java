@@ -0,0 +1,48 @@
+package com.kurobytes.loans.repayment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed repayments of one batch in primitive arrays, reused for every batch of an import.
+ */
+final class RepaymentBatch {
+
+    final long[] lineNumber;
+    final long[] loanNumber;
+    final long[] amount;
+    final int[] group;
+    final List<RejectedLine> rejected = new ArrayList<>();
+    int size;
+
+    /** File offset just after the last line of the batch, where a resumed import starts */
+    long endOffset;
+
+    /** Number of the last line of the batch */
+    long lastLineNumber;
+
+    RepaymentBatch(int capacity) {
+        lineNumber = new long[capacity];
+        loanNumber = new long[capacity];
+        amount = new long[capacity];
+        group = new int[capacity];
+    }
+
+    int capacity() {
+        return lineNumber.length;
+    }
+
+    void add(long lineNumber, long loanNumber, long amount, int group) {
+        this.lineNumber[size] = lineNumber;
+        this.loanNumber[size] = loanNumber;
+        this.amount[size] = amount;
+        this.group[size] = group;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+        rejected.clear();
+    }
+
+}
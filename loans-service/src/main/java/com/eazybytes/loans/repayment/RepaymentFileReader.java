@@ -0,0 +1,183 @@
+package com.kurobytes.loans.repayment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a repayment file of {@code <loanNumber>,<amount>} lines through one reusable byte buffer.
+ * <p>
+ * Fields are parsed straight from the bytes into longs; a String is only created for the text of a rejected
+ * line. Blank lines and lines starting with {@code #} are skipped. The reader can start at any line boundary,
+ * which is how an import resumes from its checkpoint.
+ */
+final class RepaymentFileReader implements Closeable {
+
+    private static final int MAX_LOAN_NUMBER_DIGITS = 12;
+    private static final int MAX_AMOUNT_DIGITS = 9;
+    private static final int MAX_REJECTED_TEXT = 200;
+
+    private final FileChannel channel;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private long bufferOffset;
+    private int position;
+    private int limit;
+    private long lineNumber;
+    private boolean eof;
+
+    /**
+     * @param file       - Repayment file
+     * @param offset     - Byte offset of the first line to read
+     * @param lineNumber - Number of lines before {@code offset}
+     * @param bufferSize - Read buffer size, also the longest accepted line
+     */
+    RepaymentFileReader(Path file, long offset, long lineNumber, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.channel.position(offset);
+        this.bytes = new byte[bufferSize];
+        this.buffer = ByteBuffer.wrap(bytes);
+        this.bufferOffset = offset;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Reads up to {@code batch.capacity()} lines into the batch, replacing its previous content.
+     *
+     * @return false once the file is exhausted and no line was read
+     */
+    boolean next(RepaymentBatch batch, LoanIndex index) throws IOException {
+        batch.clear();
+        int lines = 0;
+        while (lines < batch.capacity()) {
+            int end = indexOfNewline(position);
+            if (end < 0) {
+                if (position == 0 && limit == bytes.length) {
+                    // 1行がバッファに収まらない
+                    batch.rejected.add(new RejectedLine(++lineNumber, "Line too long", text(0, limit)));
+                    discardLine();
+                    lines++;
+                    continue;
+                }
+                if (!eof) {
+                    fill();
+                    continue;
+                }
+                if (position == limit) {
+                    break;
+                }
+                end = limit;
+            }
+            int start = position;
+            position = end < limit ? end + 1 : limit;
+            lineNumber++;
+            lines++;
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+            if (end > start && bytes[start] != '#') {
+                parse(batch, index, start, end);
+            }
+        }
+        batch.endOffset = bufferOffset + position;
+        batch.lastLineNumber = lineNumber;
+        return lines > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void parse(RepaymentBatch batch, LoanIndex index, int from, int to) {
+        long loanNumber = 0;
+        int i = from;
+        for (; i < to && bytes[i] != ','; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || i - from == MAX_LOAN_NUMBER_DIGITS) {
+                reject(batch, "Malformed loan number", from, to);
+                return;
+            }
+            loanNumber = loanNumber * 10 + digit;
+        }
+        if (i == from || i == to) {
+            reject(batch, "Expected <loanNumber>,<amount>", from, to);
+            return;
+        }
+        int amountFrom = ++i;
+        long amount = 0;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || i - amountFrom == MAX_AMOUNT_DIGITS) {
+                reject(batch, "Amount must be a whole number", from, to);
+                return;
+            }
+            amount = amount * 10 + digit;
+        }
+        if (amount == 0) {
+            reject(batch, "Amount must be greater than zero", from, to);
+            return;
+        }
+        int group = index.find(loanNumber);
+        if (group < 0) {
+            reject(batch, "Unknown loan number", from, to);
+            return;
+        }
+        batch.add(lineNumber, loanNumber, amount, group);
+    }
+
+    private void reject(RepaymentBatch batch, String reason, int from, int to) {
+        batch.rejected.add(new RejectedLine(lineNumber, reason, text(from, to)));
+    }
+
+    private String text(int from, int to) {
+        return new String(bytes, from, Math.min(to - from, MAX_REJECTED_TEXT), StandardCharsets.UTF_8);
+    }
+
+    private int indexOfNewline(int from) {
+        for (int i = from; i < limit; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads more after them.
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        System.arraycopy(bytes, position, bytes, 0, remaining);
+        bufferOffset += position;
+        position = 0;
+        limit = remaining;
+        buffer.limit(bytes.length).position(limit);
+        int read = channel.read(buffer);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private void discardLine() throws IOException {
+        while (true) {
+            int end = indexOfNewline(position);
+            if (end >= 0) {
+                position = end + 1;
+                return;
+            }
+            position = limit;
+            if (eof) {
+                return;
+            }
+            fill();
+        }
+    }
+
+}
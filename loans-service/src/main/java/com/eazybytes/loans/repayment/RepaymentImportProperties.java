@@ -0,0 +1,27 @@
+package com.kurobytes.loans.repayment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "kurobank.loans.repayment-import")
+@Getter @Setter
+public class RepaymentImportProperties {
+
+    /**
+     * Directory the bank files are dropped into; imports can only name files inside it.
+     */
+    private String directory = "/data/repayments";
+
+    /**
+     * Lines applied and checkpointed per transaction.
+     */
+    private int batchSize = 5000;
+
+    /**
+     * Read buffer; also the longest line accepted.
+     */
+    private DataSize bufferSize = DataSize.ofMegabytes(1);
+
+}
@@ -0,0 +1,218 @@
+package com.kurobytes.loans.repayment;
+
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import com.kurobytes.loans.entity.Loans;
+import com.kurobytes.loans.portfolio.LoanContribution;
+import com.kurobytes.loans.portfolio.LoanPortfolioAggregates;
+import com.kurobytes.loans.service.LoanEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Applies a repayment file in batches of {@code batch-size} lines.
+ * <p>
+ * Each batch is one transaction: a JDBC batch of conditional UPDATEs (a repayment larger than the outstanding
+ * amount matches no row and is rejected), the portfolio aggregate deltas, the rejected lines and the checkpoint.
+ * The repaid loans are evicted from the second-level cache and handed to the {@link LoanEventPublisher} once the
+ * batch commits.
+ * A restarted import therefore continues at the first line of the first uncommitted batch. A file that was
+ * imported completely is not applied again.
+ */
+@Component
+public class RepaymentImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepaymentImporter.class);
+
+    private static final String REPAY_SQL = "update loans set amount_paid = amount_paid + ?, "
+            + "outstanding_amount = outstanding_amount - ?, updated_at = ?, updated_by = ? "
+            + "where loan_number = ? and outstanding_amount >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportCheckpoints checkpoints;
+    private final LoanPortfolioAggregates aggregates;
+    private final LoanEventPublisher loanEventPublisher;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final AuditorAware<String> auditorAware;
+    private final Path directory;
+    private final int batchSize;
+    private final int bufferSize;
+    private final Timer batchTimer;
+    private final Counter appliedCounter;
+    private final Counter rejectedCounter;
+
+    public RepaymentImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ImportCheckpoints checkpoints, LoanPortfolioAggregates aggregates,
+                             LoanEventPublisher loanEventPublisher, EntityCacheEvictor entityCacheEvictor,
+                             AuditorAware<String> auditorAware, RepaymentImportProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpoints = checkpoints;
+        this.aggregates = aggregates;
+        this.loanEventPublisher = loanEventPublisher;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.auditorAware = auditorAware;
+        this.directory = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+        this.batchSize = properties.getBatchSize();
+        this.bufferSize = (int) properties.getBufferSize().toBytes();
+        this.batchTimer = Timer.builder("loans.repayment.import.batch")
+                .description("Time to apply and commit one batch of repayment lines")
+                .register(meterRegistry);
+        this.appliedCounter = Counter.builder("loans.repayment.import.lines")
+                .tag("outcome", "applied")
+                .description("Repayment lines processed by file import")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("loans.repayment.import.lines")
+                .tag("outcome", "rejected")
+                .description("Repayment lines processed by file import")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param fileName - Name of a file inside the import directory
+     * @return resolved path, rejecting names that point outside the directory
+     */
+    public Path resolve(String fileName) {
+        Path file = directory.resolve(fileName).normalize();
+        if (!directory.equals(file.getParent())) {
+            throw new IllegalArgumentException("Repayment file must be inside " + directory);
+        }
+        return file;
+    }
+
+    /**
+     * Imports the file from its last checkpoint, or from the start when it was never imported.
+     *
+     * @param fileName      - Name of a file inside the import directory
+     * @param stopRequested - Checked between batches; when true the import stops and stays RUNNING so it is
+     *                      resumed on the next start
+     * @return the last checkpoint
+     */
+    public ImportCheckpoint importFile(String fileName, BooleanSupplier stopRequested) throws IOException {
+        Path file = resolve(fileName);
+        long fileSize = Files.size(file);
+        Optional<ImportCheckpoint> checkpoint = checkpoints.find(fileName);
+        if (checkpoint.isPresent()) {
+            if (checkpoint.get().status() == ImportStatus.COMPLETED) {
+                return checkpoint.get();
+            }
+            if (checkpoint.get().fileSize() != fileSize) {
+                throw new IllegalStateException("Repayment file " + fileName + " changed since its import started");
+            }
+        }
+        checkpoints.start(fileName, fileSize);
+        long offset = checkpoint.map(ImportCheckpoint::byteOffset).orElse(0L);
+        long lineNumber = checkpoint.map(ImportCheckpoint::lineNumber).orElse(0L);
+        if (offset > 0) {
+            logger.info("Resuming repayment import of {} at line {}", fileName, lineNumber + 1);
+        }
+
+        LoanIndex index = LoanIndex.load(jdbcTemplate);
+        RepaymentBatch batch = new RepaymentBatch(batchSize);
+        long[] groupAmounts = new long[index.groupCount()];
+        boolean stopped = false;
+        try (RepaymentFileReader reader = new RepaymentFileReader(file, offset, lineNumber, bufferSize)) {
+            while (true) {
+                if (stopRequested.getAsBoolean()) {
+                    stopped = true;
+                    break;
+                }
+                if (!reader.next(batch, index)) {
+                    break;
+                }
+                long start = System.nanoTime();
+                long applied = transactionTemplate.execute(status -> apply(fileName, batch, index, groupAmounts));
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                appliedCounter.increment(applied);
+                rejectedCounter.increment(batch.rejected.size());
+            }
+        } catch (IOException | RuntimeException ex) {
+            checkpoints.finish(fileName, ImportStatus.FAILED);
+            throw ex;
+        }
+        if (!stopped) {
+            checkpoints.finish(fileName, ImportStatus.COMPLETED);
+        }
+        return checkpoints.find(fileName).orElseThrow();
+    }
+
+    private long apply(String fileName, RepaymentBatch batch, LoanIndex index, long[] groupAmounts) {
+        int[] counts = batch.size == 0 ? new int[0] : update(batch);
+        List<String> repaidLoans = new ArrayList<>();
+        for (int i = 0; i < batch.size; i++) {
+            if (counts[i] > 0) {
+                repaidLoans.add(Long.toString(batch.loanNumber[i]));
+                groupAmounts[batch.group[i]] += batch.amount[i];
+            } else {
+                batch.rejected.add(new RejectedLine(batch.lineNumber[i], "Amount exceeds outstanding amount",
+                        batch.loanNumber[i] + "," + batch.amount[i]));
+            }
+        }
+        for (int group = 0; group < groupAmounts.length; group++) {
+            long amount = groupAmounts[group];
+            if (amount != 0) {
+                LoanContribution key = index.group(group);
+                aggregates.onChange(new LoanContribution(key.loanType(), key.createdMonth(), amount, 0),
+                        new LoanContribution(key.loanType(), key.createdMonth(), 0, amount));
+                groupAmounts[group] = 0;
+            }
+        }
+        checkpoints.advance(fileName, batch, repaidLoans.size());
+        evict(repaidLoans);
+        loanEventPublisher.balancesChanged(repaidLoans);
+        return repaidLoans.size();
+    }
+
+    private void evict(List<String> repaidLoans) {
+        if (repaidLoans.isEmpty()) {
+            return;
+        }
+        List<Long> loanIds = jdbcTemplate.queryForList("select loan_id from loans where loan_number in ("
+                + String.join(", ", Collections.nCopies(repaidLoans.size(), "?")) + ")", Long.class,
+                repaidLoans.toArray());
+        entityCacheEvictor.evict(Loans.class, loanIds);
+    }
+
+    private int[] update(RepaymentBatch batch) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        return jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(REPAY_SQL)) {
+                for (int i = 0; i < batch.size; i++) {
+                    statement.setLong(1, batch.amount[i]);
+                    statement.setLong(2, batch.amount[i]);
+                    statement.setTimestamp(3, now);
+                    statement.setString(4, auditor);
+                    // loan_number はTEXT列だが、整数で渡しても比較時にTEXTへ変換されインデックスが使われる
+                    statement.setLong(5, batch.loanNumber[i]);
+                    statement.setLong(6, batch.amount[i]);
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+}
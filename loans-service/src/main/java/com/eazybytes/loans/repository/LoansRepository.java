@@ -1,16 +1,25 @@
 package com.kurobytes.loans.repository;
 
 import com.kurobytes.loans.entity.Loans;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LoansRepository extends JpaRepository<Loans, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Loans> findByMobileNumber(String mobileNumber);
 
-    Optional<Loans> findByLoanNumber(String loanNumber);
+    List<Loans> findByLoanNumberIn(Collection<String> loanNumbers);
+
+    List<Loans> findByLoanIdGreaterThanOrderByLoanIdAsc(Long loanId, Limit limit);
 
 }
@@ -0,0 +1,32 @@
+package com.kurobytes.loans.service;
+
+import com.kurobytes.loans.dto.CashFlowDto;
+import com.kurobytes.loans.dto.LoanScheduleDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface IAmortizationService {
+
+    /**
+     *
+     * @param mobileNumber - Input mobile Number
+     * @return remaining amortization schedule of the customer's loan
+     */
+    LoanScheduleDto fetchSchedule(String mobileNumber);
+
+    /**
+     *
+     * @return projected monthly principal and interest collections over every loan
+     */
+    List<CashFlowDto> projectCashFlows();
+
+    /**
+     * Writes one JSON line per loan while the portfolio is being computed.
+     *
+     * @param out - Response stream
+     */
+    void streamSchedules(OutputStream out) throws IOException;
+
+}
@@ -1,6 +1,8 @@
 package com.kurobytes.loans.service;
 
 import com.kurobytes.loans.dto.LoansDto;
+import com.kurobytes.loans.dto.LoansPageDto;
+import com.kurobytes.loans.dto.PortfolioSummaryDto;
 
 public interface ILoansService {
 
@@ -31,4 +33,18 @@ public interface ILoansService {
      */
     boolean deleteLoan(String mobileNumber);
 
+    /**
+     *
+     * @return outstanding and paid totals by loan type and by creation month
+     */
+    PortfolioSummaryDto fetchPortfolioSummary();
+
+    /**
+     *
+     * @param afterLoanId - Loan ID after which the page starts, 0 for the first page
+     * @param limit - Maximum number of loans in the page
+     * @return loans ordered by loan ID, used to rebuild read models in other services
+     */
+    LoansPageDto fetchLoansPage(long afterLoanId, int limit);
+
 }
@@ -0,0 +1,32 @@
+package com.kurobytes.loans.service;
+
+import com.kurobytes.loans.dto.RepaymentImportDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IRepaymentImportService {
+
+    /**
+     *
+     * @param fileName - Name of a file inside the import directory
+     * @return progress of the import, which runs in the background
+     */
+    RepaymentImportDto startImport(String fileName);
+
+    /**
+     *
+     * @param fileName - Name of an imported file
+     * @return progress of the import
+     */
+    RepaymentImportDto fetchImport(String fileName);
+
+    /**
+     * Writes the rejected lines of an import as tab separated text, in line order.
+     *
+     * @param fileName - Name of an imported file
+     * @param out      - Response stream
+     */
+    void streamRejected(String fileName, OutputStream out) throws IOException;
+
+}
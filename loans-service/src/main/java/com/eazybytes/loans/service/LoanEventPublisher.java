@@ -0,0 +1,128 @@
+package com.kurobytes.loans.service;
+
+import com.kurobytes.loans.dto.LoanChangedEvent;
+import com.kurobytes.loans.dto.LoansDto;
+import com.kurobytes.loans.entity.Loans;
+import com.kurobytes.loans.mapper.LoansMapper;
+import com.kurobytes.loans.repository.LoansRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes {@link LoanChangedEvent}s for the customer 360 read model in accounts.
+ * <p>
+ * Events are sent after the change commits and {@code occurredAt} is taken at that point, so an event never
+ * carries a time older than the state it describes. Repayments applied by the file import only mark their
+ * loans; {@link #flushBalances()} reads the marked loans back and publishes one event per loan, however many
+ * repayment lines touched it. Sending is best effort: a lost event is repaired by the read model's rebuild.
+ */
+@Service
+public class LoanEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanEventPublisher.class);
+
+    public static final String BINDING = "loan-events";
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final StreamBridge streamBridge;
+    private final LoansRepository loansRepository;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> changedBalances = ConcurrentHashMap.newKeySet();
+
+    public LoanEventPublisher(StreamBridge streamBridge, LoansRepository loansRepository,
+                              MeterRegistry meterRegistry) {
+        this.streamBridge = streamBridge;
+        this.loansRepository = loansRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param eventType - {@link LoanChangedEvent#LOAN_CREATED} or {@link LoanChangedEvent#LOAN_UPDATED}
+     * @param loans     - Loan state as written by the current transaction
+     */
+    public void loanChanged(String eventType, Loans loans) {
+        LoansDto loansDto = LoansMapper.mapToLoansDto(loans, new LoansDto());
+        afterCommit(() -> send(eventType, Instant.now(), loansDto.getMobileNumber(), loansDto));
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted loan
+     */
+    public void loanDeleted(String mobileNumber) {
+        afterCommit(() -> send(LoanChangedEvent.LOAN_DELETED, Instant.now(), mobileNumber, null));
+    }
+
+    /**
+     * @param loanNumbers - Loans whose paid and outstanding amounts change when the current transaction commits
+     */
+    public void balancesChanged(Collection<String> loanNumbers) {
+        if (!loanNumbers.isEmpty()) {
+            afterCommit(() -> changedBalances.addAll(loanNumbers));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kurobank.loans.events.balance-flush-interval:PT0.2S}")
+    public void flushBalances() {
+        if (changedBalances.isEmpty()) {
+            return;
+        }
+        List<String> loanNumbers = new ArrayList<>(changedBalances);
+        changedBalances.removeAll(loanNumbers);
+        // 読み取り前に時刻を採る：読んだ行はこの時刻以降の状態なので、古いイベントが新しい状態を上書きしない
+        Instant readAt = Instant.now();
+        for (int from = 0; from < loanNumbers.size(); from += FLUSH_CHUNK_SIZE) {
+            List<String> chunk = loanNumbers.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, loanNumbers.size()));
+            for (Loans loans : loansRepository.findByLoanNumberIn(chunk)) {
+                send(LoanChangedEvent.LOAN_UPDATED, readAt, loans.getMobileNumber(),
+                        LoansMapper.mapToLoansDto(loans, new LoansDto()));
+            }
+        }
+    }
+
+    private void send(String eventType, Instant occurredAt, String mobileNumber, LoansDto loansDto) {
+        LoanChangedEvent event = new LoanChangedEvent(UUID.randomUUID().toString(), eventType, occurredAt,
+                mobileNumber, loansDto);
+        boolean sent;
+        try {
+            sent = streamBridge.send(BINDING, MessageBuilder.withPayload(event)
+                    .setHeader(KafkaHeaders.KEY, mobileNumber.getBytes(StandardCharsets.UTF_8))
+                    .build());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to publish {} for mobile number {}", eventType, mobileNumber, ex);
+            sent = false;
+        }
+        meterRegistry.counter(sent ? "events.published" : "events.failed", "event.type", eventType).increment();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
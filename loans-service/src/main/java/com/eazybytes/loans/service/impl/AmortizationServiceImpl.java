@@ -0,0 +1,152 @@
+package com.kurobytes.loans.service.impl;
+
+import com.kurobytes.common.exception.ResourceNotFoundException;
+import com.kurobytes.loans.amortization.AmortizationEngine;
+import com.kurobytes.loans.amortization.CashFlowProjection;
+import com.kurobytes.loans.amortization.LoanBook;
+import com.kurobytes.loans.amortization.LoanResultChunk;
+import com.kurobytes.loans.amortization.Money;
+import com.kurobytes.loans.amortization.PortfolioAmortizer;
+import com.kurobytes.loans.amortization.ScheduleBuffer;
+import com.kurobytes.loans.dto.CashFlowDto;
+import com.kurobytes.loans.dto.InstallmentDto;
+import com.kurobytes.loans.dto.LoanScheduleDto;
+import com.kurobytes.loans.entity.Loans;
+import com.kurobytes.loans.repository.LoansRepository;
+import com.kurobytes.loans.service.IAmortizationService;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class AmortizationServiceImpl implements IAmortizationService {
+
+    private static final String LOAN_BOOK_SQL = "select loan_number, outstanding_amount, interest_rate_bps, "
+            + "term_months, created_at from loans where outstanding_amount > 0";
+
+    private LoansRepository loansRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PortfolioAmortizer portfolioAmortizer;
+
+    /**
+     * @param mobileNumber - Input mobile Number
+     * @return remaining amortization schedule of the outstanding amount, starting next month
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LoanScheduleDto fetchSchedule(String mobileNumber) {
+        Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
+        );
+        YearMonth current = YearMonth.now();
+        int periods = remainingPeriods(loans.getTermMonths(), loans.getCreatedAt(), current);
+        ScheduleBuffer schedule = new ScheduleBuffer(periods);
+        AmortizationEngine.schedule(Money.fromUnits(loans.getOutstandingAmount()), loans.getInterestRateBps(),
+                periods, schedule);
+
+        List<InstallmentDto> installments = new ArrayList<>(schedule.periods());
+        for (int i = 0; i < schedule.periods(); i++) {
+            installments.add(new InstallmentDto(i + 1, current.plusMonths(i + 1).toString(),
+                    Money.toDecimal(schedule.payment(i)), Money.toDecimal(schedule.interest(i)),
+                    Money.toDecimal(schedule.principal(i)), Money.toDecimal(schedule.balance(i))));
+        }
+        LoanScheduleDto loanScheduleDto = new LoanScheduleDto();
+        loanScheduleDto.setLoanNumber(loans.getLoanNumber());
+        loanScheduleDto.setInterestRateBps(loans.getInterestRateBps());
+        loanScheduleDto.setInstallment(Money.toDecimal(schedule.installment()));
+        loanScheduleDto.setTotalInterest(Money.toDecimal(schedule.totalInterest()));
+        loanScheduleDto.setInstallments(installments);
+        return loanScheduleDto;
+    }
+
+    /**
+     * @return projected monthly collections, computed in parallel over every loan with an outstanding amount
+     */
+    @Override
+    public List<CashFlowDto> projectCashFlows() {
+        CashFlowProjection projection = portfolioAmortizer.project(loadLoanBook(), chunk -> { });
+        List<CashFlowDto> cashFlows = new ArrayList<>(projection.months());
+        for (int i = 0; i < projection.months(); i++) {
+            cashFlows.add(new CashFlowDto(AmortizationEngine.toYearMonth(projection.firstMonth() + i).toString(),
+                    Money.toDecimal(projection.principal(i)), Money.toDecimal(projection.interest(i))));
+        }
+        return cashFlows;
+    }
+
+    /**
+     * @param out - Response stream receiving one JSON line per loan, a leaf of the fork/join run at a time
+     */
+    @Override
+    public void streamSchedules(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            portfolioAmortizer.project(loadLoanBook(), chunk -> {
+                StringBuilder lines = appendLines(new StringBuilder((chunk.to() - chunk.from()) * 128), chunk);
+                // 複数のワーカーから呼ばれるので、チャンク単位でまとめて書き出す
+                synchronized (writer) {
+                    try {
+                        writer.append(lines);
+                        writer.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    private LoanBook loadLoanBook() {
+        YearMonth current = YearMonth.now();
+        int firstMonth = AmortizationEngine.epochMonth(current.plusMonths(1));
+        LoanBook book = new LoanBook(1024);
+        jdbcTemplate.query(LOAN_BOOK_SQL, rs -> {
+            Timestamp createdAt = rs.getTimestamp(5);
+            int periods = remainingPeriods(rs.getInt(4), createdAt == null ? null : createdAt.toLocalDateTime(),
+                    current);
+            book.add(rs.getString(1), Money.fromUnits(rs.getInt(2)), rs.getInt(3), periods, firstMonth);
+        });
+        return book;
+    }
+
+    private static StringBuilder appendLines(StringBuilder lines, LoanResultChunk chunk) {
+        for (int i = chunk.from(); i < chunk.to(); i++) {
+            int index = i - chunk.from();
+            lines.append("{\"loanNumber\":\"").append(chunk.book().loanNumber(i)).append("\",\"installment\":");
+            Money.append(lines, chunk.installment()[index]).append(",\"totalInterest\":");
+            Money.append(lines, chunk.totalInterest()[index]).append(",\"payoffMonth\":\"")
+                    .append(AmortizationEngine.toYearMonth(chunk.lastMonth()[index])).append("\"}\n");
+        }
+        return lines;
+    }
+
+    /**
+     * @return installments left on the term, counting from the creation month; at least 1 so an overdue loan is
+     * scheduled for full repayment next month
+     */
+    private static int remainingPeriods(int termMonths, LocalDateTime createdAt, YearMonth current) {
+        int elapsed = createdAt == null ? 0 : (int) ChronoUnit.MONTHS.between(YearMonth.from(createdAt), current);
+        return Math.max(1, termMonths - elapsed);
+    }
+
+}
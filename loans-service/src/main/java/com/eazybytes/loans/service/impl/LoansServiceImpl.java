@@ -1,16 +1,29 @@
 package com.kurobytes.loans.service.impl;
 
+import com.kurobytes.common.cache.NaturalIdLookup;
+import com.kurobytes.common.exception.ResourceNotFoundException;
 import com.kurobytes.loans.constants.LoansConstants;
+import com.kurobytes.loans.dto.LoanChangedEvent;
 import com.kurobytes.loans.dto.LoansDto;
+import com.kurobytes.loans.dto.LoansPageDto;
+import com.kurobytes.loans.dto.PortfolioGroupDto;
+import com.kurobytes.loans.dto.PortfolioSummaryDto;
 import com.kurobytes.loans.entity.Loans;
 import com.kurobytes.loans.exception.LoanAlreadyExistsException;
-import com.kurobytes.loans.exception.ResourceNotFoundException;
 import com.kurobytes.loans.mapper.LoansMapper;
+import com.kurobytes.loans.portfolio.AggregateDimension;
+import com.kurobytes.loans.portfolio.AggregateRow;
+import com.kurobytes.loans.portfolio.LoanContribution;
+import com.kurobytes.loans.portfolio.LoanPortfolioAggregates;
 import com.kurobytes.loans.repository.LoansRepository;
 import com.kurobytes.loans.service.ILoansService;
+import com.kurobytes.loans.service.LoanEventPublisher;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
@@ -20,16 +33,25 @@ public class LoansServiceImpl implements ILoansService {
 
     private LoansRepository loansRepository;
 
+    private LoanPortfolioAggregates loanPortfolioAggregates;
+
+    private LoanEventPublisher loanEventPublisher;
+
+    private NaturalIdLookup naturalIdLookup;
+
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
+    @Transactional
     public void createLoan(String mobileNumber) {
         Optional<Loans> optionalLoans= loansRepository.findByMobileNumber(mobileNumber);
         if(optionalLoans.isPresent()){
             throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
         }
-        loansRepository.save(createNewLoan(mobileNumber));
+        Loans savedLoan = loansRepository.save(createNewLoan(mobileNumber));
+        loanPortfolioAggregates.onChange(null, LoanContribution.of(savedLoan));
+        loanEventPublisher.loanChanged(LoanChangedEvent.LOAN_CREATED, savedLoan);
     }
 
     /**
@@ -45,6 +67,8 @@ public class LoansServiceImpl implements ILoansService {
         newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
         newLoan.setAmountPaid(0);
         newLoan.setOutstandingAmount(LoansConstants.NEW_LOAN_LIMIT);
+        newLoan.setInterestRateBps(LoansConstants.NEW_LOAN_INTEREST_RATE_BPS);
+        newLoan.setTermMonths(LoansConstants.NEW_LOAN_TERM_MONTHS);
         return newLoan;
     }
 
@@ -67,11 +91,15 @@ public class LoansServiceImpl implements ILoansService {
      * @return boolean indicating if the update of loan details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateLoan(LoansDto loansDto) {
-        Loans loans = loansRepository.findByLoanNumber(loansDto.getLoanNumber()).orElseThrow(
+        Loans loans = naturalIdLookup.find(Loans.class, loansDto.getLoanNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "LoanNumber", loansDto.getLoanNumber()));
+        LoanContribution before = LoanContribution.of(loans);
         LoansMapper.mapToLoans(loansDto, loans);
         loansRepository.save(loans);
+        loanPortfolioAggregates.onChange(before, LoanContribution.of(loans));
+        loanEventPublisher.loanChanged(LoanChangedEvent.LOAN_UPDATED, loans);
         return  true;
     }
 
@@ -80,13 +108,49 @@ public class LoansServiceImpl implements ILoansService {
      * @return boolean indicating if the delete of loan details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteLoan(String mobileNumber) {
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
         loansRepository.deleteById(loans.getLoanId());
+        loanPortfolioAggregates.onChange(LoanContribution.of(loans), null);
+        loanEventPublisher.loanDeleted(mobileNumber);
         return true;
     }
 
+    /**
+     * @return totals read from the maintained aggregate rows, in O(groups) rather than a scan of loans
+     */
+    @Override
+    public PortfolioSummaryDto fetchPortfolioSummary() {
+        PortfolioSummaryDto portfolioSummaryDto = new PortfolioSummaryDto();
+        for (AggregateRow row : loanPortfolioAggregates.summary()) {
+            PortfolioGroupDto group = new PortfolioGroupDto(row.groupKey(), row.loanCount(), row.totalOutstanding(),
+                    row.totalAmountPaid());
+            if (row.dimension() == AggregateDimension.LOAN_TYPE) {
+                portfolioSummaryDto.getByLoanType().add(group);
+            } else {
+                portfolioSummaryDto.getByCreatedMonth().add(group);
+            }
+        }
+        return portfolioSummaryDto;
+    }
+
+    /**
+     * @param afterLoanId - Loan ID after which the page starts, 0 for the first page
+     * @param limit - Maximum number of loans in the page
+     * @return loans ordered by loan ID with the ID to continue after, null on the last page
+     */
+    @Override
+    public LoansPageDto fetchLoansPage(long afterLoanId, int limit) {
+        List<Loans> page = loansRepository.findByLoanIdGreaterThanOrderByLoanIdAsc(afterLoanId, Limit.of(limit));
+        LoansPageDto loansPageDto = new LoansPageDto();
+        page.forEach(loans -> loansPageDto.getLoans().add(LoansMapper.mapToLoansDto(loans, new LoansDto())));
+        if (page.size() == limit) {
+            loansPageDto.setNextAfterLoanId(page.get(page.size() - 1).getLoanId());
+        }
+        return loansPageDto;
+    }
 
 }
@@ -0,0 +1,157 @@
+package com.kurobytes.loans.service.impl;
+
+import com.kurobytes.common.exception.ResourceNotFoundException;
+import com.kurobytes.loans.dto.RepaymentImportDto;
+import com.kurobytes.loans.repayment.ImportCheckpoint;
+import com.kurobytes.loans.repayment.ImportCheckpoints;
+import com.kurobytes.loans.repayment.ImportStatus;
+import com.kurobytes.loans.repayment.RepaymentImporter;
+import com.kurobytes.loans.service.IRepaymentImportService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class RepaymentImportServiceImpl implements IRepaymentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepaymentImportServiceImpl.class);
+
+    private final RepaymentImporter repaymentImporter;
+    private final ImportCheckpoints importCheckpoints;
+    // SQLiteは書き込みが1本なので、インポートも1本ずつ流す
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "loans-repayment-import"));
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public RepaymentImportServiceImpl(RepaymentImporter repaymentImporter, ImportCheckpoints importCheckpoints) {
+        this.repaymentImporter = repaymentImporter;
+        this.importCheckpoints = importCheckpoints;
+    }
+
+    /**
+     * @param fileName - Name of a file inside the import directory
+     * @return progress of the import; a file that was already imported completely is not queued again
+     */
+    @Override
+    public RepaymentImportDto startImport(String fileName) {
+        if (!Files.isRegularFile(repaymentImporter.resolve(fileName))) {
+            throw new ResourceNotFoundException("Repayment file", "fileName", fileName);
+        }
+        boolean completed = importCheckpoints.find(fileName)
+                .map(checkpoint -> checkpoint.status() == ImportStatus.COMPLETED).orElse(false);
+        if (!completed) {
+            submit(fileName);
+        }
+        return fetchImport(fileName);
+    }
+
+    /**
+     * @param fileName - Name of an imported file
+     * @return progress of the import, QUEUED while it waits for an earlier import to finish
+     */
+    @Override
+    public RepaymentImportDto fetchImport(String fileName) {
+        ImportCheckpoint checkpoint = importCheckpoints.find(fileName).orElse(null);
+        boolean waiting = queued.contains(fileName)
+                && (checkpoint == null || checkpoint.status() != ImportStatus.RUNNING);
+        if (checkpoint == null && !waiting) {
+            throw new ResourceNotFoundException("Repayment import", "fileName", fileName);
+        }
+        RepaymentImportDto repaymentImportDto = new RepaymentImportDto();
+        repaymentImportDto.setFileName(fileName);
+        repaymentImportDto.setStatus(waiting ? "QUEUED" : checkpoint.status().name());
+        if (checkpoint != null) {
+            repaymentImportDto.setFileSize(checkpoint.fileSize());
+            repaymentImportDto.setBytesProcessed(checkpoint.byteOffset());
+            repaymentImportDto.setLineNumber(checkpoint.lineNumber());
+            repaymentImportDto.setApplied(checkpoint.applied());
+            repaymentImportDto.setRejected(checkpoint.rejected());
+            repaymentImportDto.setStartedAt(checkpoint.startedAt());
+            repaymentImportDto.setUpdatedAt(checkpoint.updatedAt());
+        }
+        return repaymentImportDto;
+    }
+
+    /**
+     * @param fileName - Name of an imported file
+     * @param out      - Response stream receiving a header and one {@code line, reason, text} row per line
+     */
+    @Override
+    public void streamRejected(String fileName, OutputStream out) throws IOException {
+        if (importCheckpoints.find(fileName).isEmpty()) {
+            throw new ResourceNotFoundException("Repayment import", "fileName", fileName);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write("line\treason\ttext\n");
+        try {
+            importCheckpoints.forEachRejected(fileName, rs -> {
+                try {
+                    writer.append(Long.toString(rs.getLong(1))).append('\t')
+                            .append(rs.getString(2)).append('\t')
+                            .append(rs.getString(3)).append('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Resumes the imports that were still running when the service stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeImports() {
+        for (ImportCheckpoint checkpoint : importCheckpoints.findByStatus(ImportStatus.RUNNING)) {
+            submit(checkpoint.fileName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 実行中のバッチをコミットさせてから止める。状態はRUNNINGのまま残り、次回起動時に再開される
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Repayment import did not stop in time; it resumes from its last checkpoint");
+        }
+    }
+
+    private void submit(String fileName) {
+        if (!queued.add(fileName)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                ImportCheckpoint checkpoint = repaymentImporter.importFile(fileName, () -> stopping);
+                logger.info("Repayment import of {} {}: {} applied, {} rejected", fileName,
+                        checkpoint.status(), checkpoint.applied(), checkpoint.rejected());
+            } catch (Exception ex) {
+                logger.error("Repayment import of {} failed", fileName, ex);
+            } finally {
+                queued.remove(fileName);
+            }
+        });
+    }
+
+}
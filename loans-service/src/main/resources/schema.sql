@@ -1,3 +1,4 @@
+-- interest_rate_bps / term_months がない既存の loans には LoanTermsMigration が起動時に列を追加する
 CREATE TABLE IF NOT EXISTS `loans` (
   `loan_id` int NOT NULL AUTO_INCREMENT,
   `mobile_number` varchar(15) NOT NULL,
@@ -6,9 +7,52 @@ CREATE TABLE IF NOT EXISTS `loans` (
   `total_loan` int NOT NULL,
   `amount_paid` int NOT NULL,
   `outstanding_amount` int NOT NULL,
+  `interest_rate_bps` int NOT NULL DEFAULT 850,
+  `term_months` int NOT NULL DEFAULT 240,
   `created_at` date NOT NULL,
   `created_by` varchar(20) NOT NULL,
   `updated_at` date DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
   PRIMARY KEY (`loan_id`)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS `loan_portfolio_aggregate` (
+  `dimension` varchar(20) NOT NULL,
+  `group_key` varchar(100) NOT NULL,
+  `loan_count` int NOT NULL,
+  `total_outstanding` bigint NOT NULL,
+  `total_amount_paid` bigint NOT NULL,
+  PRIMARY KEY (`dimension`, `group_key`)
+);
+
+CREATE INDEX IF NOT EXISTS `loans_loan_number` ON `loans` (`loan_number`);
+
+CREATE TABLE IF NOT EXISTS `repayment_import` (
+  `file_name` varchar(255) NOT NULL PRIMARY KEY,
+  `file_size` bigint NOT NULL,
+  `byte_offset` bigint NOT NULL,
+  `line_number` bigint NOT NULL,
+  `applied` bigint NOT NULL,
+  `rejected` bigint NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `started_at` timestamp NOT NULL,
+  `updated_at` timestamp NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `repayment_import_rejected` (
+  `file_name` varchar(255) NOT NULL,
+  `line_number` bigint NOT NULL,
+  `reason` varchar(100) NOT NULL,
+  `line` varchar(255) NOT NULL,
+  PRIMARY KEY (`file_name`, `line_number`)
+);
+
+CREATE TABLE IF NOT EXISTS `hibernate_sequences` (
+  `sequence_name` varchar(100) NOT NULL PRIMARY KEY,
+  `next_val` bigint NOT NULL
+);
+
+-- 毎回の起動で MAX(id) + 1 まで引き上げる（ロールバックで next_val が採番済みの ID より下に残ることがある）
+INSERT INTO `hibernate_sequences` (`sequence_name`, `next_val`)
+  SELECT 'loans', COALESCE(MAX(`loan_id`), 0) + 1 FROM `loans` WHERE true
+  ON CONFLICT(`sequence_name`) DO UPDATE SET `next_val` = MAX(`next_val`, excluded.`next_val`);
@@ -0,0 +1,72 @@
+package com.kurobytes.loans.amortization;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmortizationEngineTests {
+
+    @Test
+    void levelPaymentScheduleEndsAtZero() {
+        ScheduleBuffer schedule = new ScheduleBuffer(12);
+
+        int periods = AmortizationEngine.schedule(Money.fromUnits(100_000), 1200, 12, schedule);
+
+        assertThat(periods).isEqualTo(12);
+        assertThat(schedule.installment()).isEqualTo(888_488);
+        assertThat(schedule.interest(0)).isEqualTo(100_000);
+        assertThat(schedule.balance(11)).isZero();
+        assertThat(schedule.payment(11)).isEqualTo(888_485);
+        long principal = 0;
+        for (int i = 0; i < periods; i++) {
+            principal += schedule.principal(i);
+            assertThat(schedule.payment(i)).isEqualTo(schedule.principal(i) + schedule.interest(i));
+        }
+        assertThat(principal).isEqualTo(Money.fromUnits(100_000));
+    }
+
+    @Test
+    void zeroRateSplitsPrincipalEvenly() {
+        ScheduleBuffer schedule = new ScheduleBuffer(1);
+
+        int periods = AmortizationEngine.schedule(Money.fromUnits(100_000), 0, 7, schedule);
+
+        assertThat(periods).isEqualTo(7);
+        assertThat(schedule.installment()).isEqualTo(1_428_572);
+        assertThat(schedule.payment(6)).isEqualTo(1_428_568);
+        assertThat(schedule.totalInterest()).isZero();
+    }
+
+    @Test
+    void portfolioProjectionCollectsEveryPrincipal() {
+        LoanBook book = new LoanBook(0);
+        int firstMonth = AmortizationEngine.epochMonth(YearMonth.of(2026, 11));
+        long totalPrincipal = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long principal = Money.fromUnits(10_000 + i);
+            book.add(Integer.toString(i), principal, 500 + i % 1000, 12 + i % 348, firstMonth + i % 24);
+            totalPrincipal += principal;
+        }
+        AtomicInteger streamed = new AtomicInteger();
+        PortfolioAmortizer amortizer = new PortfolioAmortizer(4, 512);
+
+        CashFlowProjection projection;
+        try {
+            projection = amortizer.project(book, chunk -> streamed.addAndGet(chunk.to() - chunk.from()));
+        } finally {
+            amortizer.destroy();
+        }
+
+        long collected = 0;
+        for (int i = 0; i < projection.months(); i++) {
+            collected += projection.principal(i);
+        }
+        assertThat(collected).isEqualTo(totalPrincipal);
+        assertThat(streamed.get()).isEqualTo(book.size());
+        assertThat(projection.firstMonth()).isEqualTo(firstMonth);
+    }
+
+}
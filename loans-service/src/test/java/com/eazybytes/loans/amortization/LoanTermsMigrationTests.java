@@ -0,0 +1,62 @@
+package com.kurobytes.loans.amortization;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanTermsMigrationTests {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createDataSource() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void closeDataSource() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void addsTheMissingColumnsWithTheNewLoanDefaults() {
+        jdbcTemplate.execute("CREATE TABLE loans (loan_id integer PRIMARY KEY, loan_number varchar(100) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO loans (loan_id, loan_number) VALUES (1, 'L-1')");
+
+        new LoanTermsMigration(dataSource).afterPropertiesSet();
+
+        Map<String, Object> loan = jdbcTemplate.queryForMap(
+                "SELECT interest_rate_bps, term_months FROM loans WHERE loan_id = 1");
+        assertThat(loan).containsEntry("interest_rate_bps", 850).containsEntry("term_months", 240);
+    }
+
+    @Test
+    void runsAgainWithoutAlteringTheTable() {
+        jdbcTemplate.execute("CREATE TABLE loans (loan_id integer PRIMARY KEY, "
+                + "interest_rate_bps int NOT NULL DEFAULT 500)");
+        LoanTermsMigration migration = new LoanTermsMigration(dataSource);
+
+        migration.afterPropertiesSet();
+        migration.afterPropertiesSet();
+
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM pragma_table_info('loans')", String.class))
+                .containsExactly("loan_id", "interest_rate_bps", "term_months");
+    }
+
+    @Test
+    void leavesAMissingTableToTheSchemaScript() {
+        new LoanTermsMigration(dataSource).afterPropertiesSet();
+
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM sqlite_master WHERE type = 'table'", String.class))
+                .isEmpty();
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.kurobytes.loans.benchmark;
+
+import com.kurobytes.loans.amortization.AmortizationEngine;
+import com.kurobytes.loans.amortization.LoanBook;
+import com.kurobytes.loans.amortization.Money;
+import com.kurobytes.loans.amortization.PortfolioAmortizer;
+import com.kurobytes.loans.amortization.ScheduleBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules and projected cash flows for {@code loans} synthetic loans (1-30 years, 3-15%), on a fork/join pool
+ * of {@code parallelism} workers. Run on the target box with {@code -p parallelism=1,<cores>} to get the
+ * speed-up; {@link #singleSchedule()} is the per-loan cost with a reused buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class PortfolioAmortizationBenchmark {
+
+    @Param({"1000000"})
+    public int loans;
+
+    @Param({"1", "8"})
+    public int parallelism;
+
+    @Param({"4096"})
+    public int leafSize;
+
+    private LoanBook book;
+    private PortfolioAmortizer amortizer;
+    private final ScheduleBuffer buffer = new ScheduleBuffer(360);
+
+    @Setup(Level.Trial)
+    public void createBook() {
+        SplittableRandom random = new SplittableRandom(42);
+        int firstMonth = AmortizationEngine.epochMonth(YearMonth.of(2026, 11));
+        book = new LoanBook(loans);
+        for (int i = 0; i < loans; i++) {
+            book.add(Long.toString(100000000000L + i), Money.fromUnits(random.nextInt(10_000, 5_000_000)),
+                    random.nextInt(300, 1500), random.nextInt(12, 361), firstMonth + random.nextInt(12));
+        }
+        amortizer = new PortfolioAmortizer(parallelism, leafSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        amortizer.destroy();
+    }
+
+    @Benchmark
+    public Object portfolio(Blackhole blackhole) {
+        return amortizer.project(book, blackhole::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long singleSchedule() {
+        return AmortizationEngine.schedule(Money.fromUnits(100_000), 850, 240, buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PortfolioAmortizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
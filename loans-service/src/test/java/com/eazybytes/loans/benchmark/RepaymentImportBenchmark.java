@@ -0,0 +1,142 @@
+package com.kurobytes.loans.benchmark;
+
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import com.kurobytes.loans.portfolio.LoanPortfolioAggregates;
+import com.kurobytes.loans.repayment.ImportCheckpoint;
+import com.kurobytes.loans.repayment.ImportCheckpoints;
+import com.kurobytes.loans.repayment.RepaymentImportProperties;
+import com.kurobytes.loans.repayment.RepaymentImporter;
+import com.kurobytes.loans.service.LoanEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * One import of a {@value #LINES}-line repayment file into a WAL-mode SQLite file holding {@code loans} loans,
+ * reported per line: 10 us/op is 100k records/s. Each iteration restores the loans and forgets the checkpoint.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(RepaymentImportBenchmark.LINES)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class RepaymentImportBenchmark {
+
+    static final int LINES = 1_000_000;
+    private static final String FILE_NAME = "repayments.csv";
+
+    @Param({"100000"})
+    public int loans;
+
+    @Param({"1000", "5000", "20000"})
+    public int batchSize;
+
+    private Path directory;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private RepaymentImporter importer;
+
+    @Setup(Level.Trial)
+    public void createDatabase() throws IOException {
+        directory = Files.createTempDirectory("repayment-import");
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + directory.resolve("app.db")
+                + "?journal_mode=WAL&synchronous=NORMAL", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE loans (loan_id integer PRIMARY KEY AUTOINCREMENT, "
+                + "loan_number varchar(100) NOT NULL, loan_type varchar(100) NOT NULL, created_at timestamp, "
+                + "outstanding_amount int NOT NULL, amount_paid int NOT NULL, updated_at timestamp, "
+                + "updated_by varchar(20))");
+        jdbcTemplate.execute("CREATE INDEX loans_loan_number ON loans (loan_number)");
+        jdbcTemplate.execute("CREATE TABLE loan_portfolio_aggregate (dimension varchar(20) NOT NULL, "
+                + "group_key varchar(100) NOT NULL, loan_count int NOT NULL, total_outstanding bigint NOT NULL, "
+                + "total_amount_paid bigint NOT NULL, PRIMARY KEY (dimension, group_key))");
+        jdbcTemplate.execute("CREATE TABLE repayment_import (file_name varchar(255) NOT NULL PRIMARY KEY, "
+                + "file_size bigint NOT NULL, byte_offset bigint NOT NULL, line_number bigint NOT NULL, "
+                + "applied bigint NOT NULL, rejected bigint NOT NULL, status varchar(20) NOT NULL, "
+                + "started_at timestamp NOT NULL, updated_at timestamp NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE repayment_import_rejected (file_name varchar(255) NOT NULL, "
+                + "line_number bigint NOT NULL, reason varchar(100) NOT NULL, line varchar(255) NOT NULL, "
+                + "PRIMARY KEY (file_name, line_number))");
+        jdbcTemplate.update("with recursive seq(n) as (select 0 union all select n + 1 from seq where n + 1 < ?) "
+                + "insert into loans (loan_number, loan_type, created_at, outstanding_amount, amount_paid) "
+                + "select 100000000000 + n, case n % 3 when 0 then 'Home Loan' when 1 then 'Car Loan' "
+                + "else 'Personal Loan' end, 1767225600000 + (n % 12) * 2678400000, 1000000000, 0 from seq", loans);
+
+        SplittableRandom random = new SplittableRandom(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(FILE_NAME))) {
+            for (int i = 0; i < LINES; i++) {
+                writer.append(Long.toString(100000000000L + random.nextInt(loans))).append(',')
+                        .append(Integer.toString(random.nextInt(1, 1000))).append('\n');
+            }
+        }
+
+        LoanPortfolioAggregates aggregates = new LoanPortfolioAggregates(jdbcTemplate, new SimpleMeterRegistry());
+        aggregates.rebuild();
+        RepaymentImportProperties properties = new RepaymentImportProperties();
+        properties.setDirectory(directory.toString());
+        properties.setBatchSize(batchSize);
+        importer = new RepaymentImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new ImportCheckpoints(jdbcTemplate), aggregates, mock(LoanEventPublisher.class),
+                mock(EntityCacheEvictor.class), () -> Optional.of("LOANS_MS"), properties, new SimpleMeterRegistry());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetImport() {
+        jdbcTemplate.update("update loans set outstanding_amount = 1000000000, amount_paid = 0");
+        jdbcTemplate.update("delete from repayment_import");
+        jdbcTemplate.update("delete from repayment_import_rejected");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDatabase() throws IOException {
+        dataSource.destroy();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public ImportCheckpoint importFile() throws IOException {
+        return importer.importFile(FILE_NAME, () -> false);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RepaymentImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
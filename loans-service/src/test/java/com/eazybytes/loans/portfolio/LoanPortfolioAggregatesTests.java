@@ -0,0 +1,89 @@
+package com.kurobytes.loans.portfolio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanPortfolioAggregatesTests {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LoanPortfolioAggregates aggregates;
+
+    @BeforeEach
+    void createTables() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE loans (loan_type varchar(100), created_at timestamp, "
+                + "outstanding_amount int, amount_paid int)");
+        jdbcTemplate.execute("CREATE TABLE loan_portfolio_aggregate (dimension varchar(20) NOT NULL, "
+                + "group_key varchar(100) NOT NULL, loan_count int NOT NULL, total_outstanding bigint NOT NULL, "
+                + "total_amount_paid bigint NOT NULL, PRIMARY KEY (dimension, group_key))");
+        aggregates = new LoanPortfolioAggregates(jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void deltasMatchAFullScan() {
+        LoanContribution home = insert("Home Loan", LocalDateTime.of(2026, 9, 3, 10, 0), 100_000, 0);
+        aggregates.onChange(null, home);
+        LoanContribution car = insert("Car Loan", LocalDateTime.of(2026, 10, 1, 9, 0), 50_000, 0);
+        aggregates.onChange(null, car);
+
+        // 車のローンを一部返済した後、種別を変更
+        LoanContribution repaid = new LoanContribution("Personal Loan", car.createdMonth(), 40_000, 10_000);
+        jdbcTemplate.update("update loans set loan_type = ?, outstanding_amount = ?, amount_paid = ? "
+                + "where loan_type = ?", "Personal Loan", 40_000, 10_000, "Car Loan");
+        aggregates.onChange(car, repaid);
+
+        assertThat(aggregates.drift()).isEmpty();
+        assertThat(aggregates.summary()).containsExactly(
+                new AggregateRow(AggregateDimension.CREATED_MONTH, "2026-09", 1, 100_000, 0),
+                new AggregateRow(AggregateDimension.CREATED_MONTH, "2026-10", 1, 40_000, 10_000),
+                new AggregateRow(AggregateDimension.LOAN_TYPE, "Home Loan", 1, 100_000, 0),
+                new AggregateRow(AggregateDimension.LOAN_TYPE, "Personal Loan", 1, 40_000, 10_000));
+    }
+
+    @Test
+    void deletedLoanLeavesNoGroup() {
+        LoanContribution home = insert("Home Loan", LocalDateTime.of(2026, 9, 3, 10, 0), 100_000, 0);
+        aggregates.onChange(null, home);
+
+        jdbcTemplate.update("delete from loans");
+        aggregates.onChange(home, null);
+
+        assertThat(aggregates.summary()).isEmpty();
+        assertThat(aggregates.drift()).isEmpty();
+    }
+
+    @Test
+    void rebuildRepairsDrift() {
+        insert("Home Loan", LocalDateTime.of(2026, 9, 3, 10, 0), 100_000, 0);
+        jdbcTemplate.update("insert into loan_portfolio_aggregate values ('LOAN_TYPE', 'Car Loan', 3, 1, 1)");
+
+        assertThat(aggregates.drift()).hasSize(3);
+
+        assertThat(aggregates.rebuild()).isEqualTo(2);
+        assertThat(aggregates.drift()).isEmpty();
+    }
+
+    private LoanContribution insert(String loanType, LocalDateTime createdAt, int outstanding, int amountPaid) {
+        jdbcTemplate.update("insert into loans values (?, ?, ?, ?)", loanType, Timestamp.valueOf(createdAt),
+                outstanding, amountPaid);
+        return new LoanContribution(loanType, YearMonth.from(createdAt), outstanding, amountPaid);
+    }
+
+}
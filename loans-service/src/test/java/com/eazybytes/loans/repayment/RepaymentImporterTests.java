@@ -0,0 +1,164 @@
+package com.kurobytes.loans.repayment;
+
+import com.kurobytes.common.cache.EntityCacheEvictor;
+import com.kurobytes.loans.portfolio.LoanPortfolioAggregates;
+import com.kurobytes.loans.service.LoanEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class RepaymentImporterTests {
+
+    private static final String FILE_NAME = "repayments.csv";
+
+    @TempDir
+    Path directory;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LoanPortfolioAggregates aggregates;
+    private ImportCheckpoints checkpoints;
+    private RepaymentImporter importer;
+
+    @BeforeEach
+    void createTables() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE loans (loan_id integer PRIMARY KEY, loan_number varchar(100), "
+                + "loan_type varchar(100), created_at timestamp, outstanding_amount int, amount_paid int, "
+                + "updated_at timestamp, updated_by varchar(20))");
+        jdbcTemplate.execute("CREATE TABLE loan_portfolio_aggregate (dimension varchar(20) NOT NULL, "
+                + "group_key varchar(100) NOT NULL, loan_count int NOT NULL, total_outstanding bigint NOT NULL, "
+                + "total_amount_paid bigint NOT NULL, PRIMARY KEY (dimension, group_key))");
+        jdbcTemplate.execute("CREATE TABLE repayment_import (file_name varchar(255) NOT NULL PRIMARY KEY, "
+                + "file_size bigint NOT NULL, byte_offset bigint NOT NULL, line_number bigint NOT NULL, "
+                + "applied bigint NOT NULL, rejected bigint NOT NULL, status varchar(20) NOT NULL, "
+                + "started_at timestamp NOT NULL, updated_at timestamp NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE repayment_import_rejected (file_name varchar(255) NOT NULL, "
+                + "line_number bigint NOT NULL, reason varchar(100) NOT NULL, line varchar(255) NOT NULL, "
+                + "PRIMARY KEY (file_name, line_number))");
+        aggregates = new LoanPortfolioAggregates(jdbcTemplate, new SimpleMeterRegistry());
+        checkpoints = new ImportCheckpoints(jdbcTemplate);
+
+        RepaymentImportProperties properties = new RepaymentImportProperties();
+        properties.setDirectory(directory.toString());
+        properties.setBatchSize(2);
+        properties.setBufferSize(DataSize.ofBytes(64));
+        importer = new RepaymentImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource), checkpoints,
+                aggregates, mock(LoanEventPublisher.class), mock(EntityCacheEvictor.class), () -> Optional.of("LOANS_MS"),
+                properties, new SimpleMeterRegistry());
+
+        insert("100000000001", "Home Loan", 100_000);
+        insert("100000000002", "Car Loan", 50_000);
+        aggregates.rebuild();
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void appliesValidLinesAndReportsTheRest() throws IOException {
+        write("""
+                # loanNumber,amount
+                100000000001,1000
+                100000000002,60000
+                100000000003,10
+                10000000000x,10
+                100000000002,0
+
+                100000000002,2500
+                """);
+
+        ImportCheckpoint checkpoint = importer.importFile(FILE_NAME, () -> false);
+
+        assertThat(checkpoint.status()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(checkpoint.applied()).isEqualTo(2);
+        assertThat(checkpoint.rejected()).isEqualTo(4);
+        assertThat(checkpoint.byteOffset()).isEqualTo(Files.size(directory.resolve(FILE_NAME)));
+        assertThat(outstanding("100000000001")).isEqualTo(99_000);
+        assertThat(outstanding("100000000002")).isEqualTo(47_500);
+        assertThat(rejectedReasons()).containsExactly(
+                "3 Amount exceeds outstanding amount",
+                "4 Unknown loan number",
+                "5 Malformed loan number",
+                "6 Amount must be greater than zero");
+        assertThat(aggregates.drift()).isEmpty();
+    }
+
+    @Test
+    void resumesFromTheLastCommittedBatch() throws IOException {
+        write("""
+                100000000001,100
+                100000000002,200
+                100000000001,300
+                100000000002,400
+                100000000001,500
+                """);
+        AtomicInteger batches = new AtomicInteger();
+
+        ImportCheckpoint stopped = importer.importFile(FILE_NAME, () -> batches.getAndIncrement() == 1);
+        assertThat(stopped.status()).isEqualTo(ImportStatus.RUNNING);
+        assertThat(stopped.lineNumber()).isEqualTo(2);
+
+        ImportCheckpoint completed = importer.importFile(FILE_NAME, () -> false);
+        assertThat(completed.status()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(completed.applied()).isEqualTo(5);
+        assertThat(outstanding("100000000001")).isEqualTo(99_100);
+        assertThat(outstanding("100000000002")).isEqualTo(49_400);
+
+        // 完了済みのファイルは二重に適用しない
+        importer.importFile(FILE_NAME, () -> false);
+        assertThat(outstanding("100000000001")).isEqualTo(99_100);
+        assertThat(aggregates.drift()).isEmpty();
+    }
+
+    @Test
+    void rejectsFilesOutsideTheImportDirectory() {
+        assertThatThrownBy(() -> importer.resolve("../app.db")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void insert(String loanNumber, String loanType, int totalLoan) {
+        jdbcTemplate.update("insert into loans (loan_number, loan_type, created_at, outstanding_amount, amount_paid) "
+                + "values (?, ?, ?, ?, 0)", loanNumber, loanType, Timestamp.valueOf(LocalDateTime.now()), totalLoan);
+    }
+
+    private void write(String content) throws IOException {
+        Files.writeString(directory.resolve(FILE_NAME), content);
+    }
+
+    private int outstanding(String loanNumber) {
+        return jdbcTemplate.queryForObject("select outstanding_amount from loans where loan_number = ?",
+                Integer.class, loanNumber);
+    }
+
+    private List<String> rejectedReasons() {
+        List<String> reasons = new ArrayList<>();
+        checkpoints.forEachRejected(FILE_NAME, rs -> {
+            reasons.add(rs.getLong(1) + " " + rs.getString(2));
+        });
+        return reasons;
+    }
+
+}
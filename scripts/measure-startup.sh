@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Time to ready and RSS of accounts, cards and loans in each startup mode.
+#
+#   mvn -Paot clean package -DskipTests && scripts/measure-startup.sh [runs]
+#
+# Modes: default, lazy (profile), aot (-Dspring.aot.enabled=true), cds (archive trained with
+# -Dspring.context.exit=onRefresh), aot+cds. Time to ready is measured from launch until
+# /actuator/health/readiness answers UP; RSS is read right after. Kafka need not be running.
+set -euo pipefail
+
+RUNS=${1:-5}
+SERVICES=("accounts:8080" "cards:9000" "loans:8090")
+MODES=(default lazy aot cds aot+cds)
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+now_ms() { date +%s%3N; }
+
+# $1 service, $2 jar, $3 port, $4 mode -> "<millis> <rss kB>"
+measure() {
+  local service=$1 jar=$2 port=$3 mode=$4 db="$WORK/$1.db"
+  local flags=(-Dspring.datasource.url="jdbc:sqlite:$db" -Dspring.jpa.hibernate.ddl-auto=none
+    -Dserver.port="$port")
+  case $mode in
+    lazy) flags+=(-Dspring.profiles.active=lazy) ;;
+    aot) flags+=(-Dspring.aot.enabled=true) ;;
+    cds) flags+=(-XX:SharedArchiveFile="$WORK/$service.jsa") ;;
+    aot+cds) flags+=(-Dspring.aot.enabled=true -XX:SharedArchiveFile="$WORK/$service-aot.jsa") ;;
+  esac
+  local start pid
+  start=$(now_ms)
+  java "${flags[@]}" -jar "$jar" > "$WORK/$service-$mode.log" 2>&1 &
+  pid=$!
+  until curl -fs "http://localhost:$port/actuator/health/readiness" 2>/dev/null | grep -q UP; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$service ($mode) did not start:" >&2
+      tail -n 20 "$WORK/$service-$mode.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local elapsed=$(( $(now_ms) - start ))
+  local rss
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$db"
+  echo "$elapsed $rss"
+}
+
+# $1 service, $2 jar, $3 archive, extra JVM flags
+train() {
+  local service=$1 jar=$2 archive=$3
+  shift 3
+  java "$@" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+    -Dspring.datasource.url="jdbc:sqlite:$WORK/$service-training.db" -Dspring.jpa.hibernate.ddl-auto=none \
+    -jar "$jar" > "$WORK/$service-training.log" 2>&1
+}
+
+printf '%-10s %-9s %12s %12s\n' service mode ready_ms rss_mb
+for entry in "${SERVICES[@]}"; do
+  service=${entry%%:*}
+  port=${entry##*:}
+  jar=$(ls "$service-service"/target/"$service"-*.jar | head -n 1)
+  # CDS は展開済みのレイアウトでしか効かない
+  java -Djarmode=tools -jar "$jar" extract --destination "$WORK/$service" > /dev/null
+  extracted="$WORK/$service/$(basename "$jar")"
+  train "$service" "$extracted" "$WORK/$service.jsa"
+  train "$service" "$extracted" "$WORK/$service-aot.jsa" -Dspring.aot.enabled=true
+  for mode in "${MODES[@]}"; do
+    total_ms=0
+    total_rss=0
+    for _ in $(seq "$RUNS"); do
+      read -r ms rss < <(measure "$service" "$extracted" "$port" "$mode")
+      total_ms=$((total_ms + ms))
+      total_rss=$((total_rss + rss))
+    done
+    printf '%-10s %-9s %12d %12d\n' "$service" "$mode" $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+  done
+done